@@ -32,12 +32,23 @@ public class ContentValidatorApiConfiguration {
         scenarioLoader = new ScenarioLoader();
         scenarioLoader.setScenarioFilePath(scenarioDir);
         scenarioLoader.setCcdaParser(ccdaParser);
+        scenarioLoader.setLoaderThreads(environment.getProperty("content.scenarioLoaderThreads", Integer.class,
+                Runtime.getRuntime().availableProcessors()));
+        scenarioLoader.setSnapshotFile(environment.getProperty("content.scenarioSnapshotFile"));
+        scenarioLoader.setHotReload(environment.getProperty("content.scenarioHotReload", Boolean.class, false));
         return scenarioLoader;
     }
 
+    // The models of the first load only, hot reloads are published to the ScenarioRegistry bean
     @Autowired
     @Bean
     public HashMap<String, CCDARefModel> refModelHashMap(ScenarioLoader scenarioLoader){
         return scenarioLoader.getRefModelHashMap();
     }
+
+    @Autowired
+    @Bean
+    public ScenarioRegistry scenarioRegistry(ScenarioLoader scenarioLoader){
+        return scenarioLoader.getScenarioRegistry();
+    }
 }
@@ -3,29 +3,73 @@ package org.sitenv.contentvalidator.configuration;
 import org.apache.commons.io.FilenameUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.sitenv.contentvalidator.dto.enums.SeverityLevel;
 import org.sitenv.contentvalidator.model.CCDARefModel;
 import org.sitenv.contentvalidator.parsers.CCDAParser;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.InitializingBean;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Created by Brian on 8/15/2016.
  */
-public class ScenarioLoader implements InitializingBean {
+public class ScenarioLoader implements InitializingBean, DisposableBean {
     private String scenarioFilePath;
     private CCDAParser ccdaParser;
     private HashMap<String, CCDARefModel> refModelHashMap = new HashMap<>();
-    
+    private final ScenarioRegistry scenarioRegistry = new ScenarioRegistry();
+    private int loaderThreads = Runtime.getRuntime().availableProcessors();
+    private String snapshotFile;
+    private boolean hotReload;
+    private long reloadQuietMillis = 500;
+
+    // Every scenario file currently loaded, by file name, guarded by this
+    private final Map<String, LoadedScenario> loadedFiles = new LinkedHashMap<>();
+    private volatile ScenarioReloadMetrics reloadMetrics = ScenarioReloadMetrics.NONE;
+    private WatchService watchService;
+    private Thread watcher;
+
 	private static Logger log = LoggerFactory.getLogger(ScenarioLoader.class.getName());
 
     @Override
     public void afterPropertiesSet() throws Exception {
         loadScenarioFiles(scenarioFilePath, ccdaParser);
+        if (hotReload) {
+            startWatching();
+        }
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        stopWatching();
     }
 
     public void setScenarioFilePath(String scenarioFilePath) {
@@ -36,14 +80,59 @@ public class ScenarioLoader implements InitializingBean {
         this.ccdaParser = ccdaParser;
     }
 
+    /*
+     * Number of scenario files read and parsed at the same time, defaults to the number of processors
+     */
+    public void setLoaderThreads(int loaderThreads) {
+        this.loaderThreads = loaderThreads;
+    }
+
+    /*
+     * Where the binary snapshot of the loaded models is kept, see ScenarioSnapshot. No snapshot is used when not set.
+     */
+    public void setSnapshotFile(String snapshotFile) {
+        this.snapshotFile = snapshotFile;
+    }
+
+    /*
+     * Watch the scenario directory after the first load and reload the files that are added, changed or deleted
+     */
+    public void setHotReload(boolean hotReload) {
+        this.hotReload = hotReload;
+    }
+
+    /*
+     * How long the directory has to stay quiet before a reload, so a file still being copied is only parsed once
+     */
+    public void setReloadQuietMillis(long reloadQuietMillis) {
+        this.reloadQuietMillis = reloadQuietMillis;
+    }
+
+    /*
+     * The models of the first load, filled in before the bean is handed out and never changed after it.
+     * Hot reloads only reach the registry, which is what validations should read.
+     */
     public HashMap<String, CCDARefModel> getRefModelHashMap() {
         return refModelHashMap;
     }
 
+    public ScenarioRegistry getScenarioRegistry() {
+        return scenarioRegistry;
+    }
+
+    public ScenarioReloadMetrics getReloadMetrics() {
+        return reloadMetrics;
+    }
+
     public CCDARefModel getRefModel(String scenario){
-       return refModelHashMap.get(scenario);
+       return scenarioRegistry.getModels().get(scenario);
     }
 
+    /*
+     * Reads and parses the scenario files on a bounded pool. The models are only published once every file is done,
+     * in one step and in directory listing order, so nothing sees a partly loaded set.
+     * With a snapshot file, unchanged scenarios come from the snapshot, and it is rewritten when anything was parsed.
+     */
     private void loadScenarioFiles(String scenarioFilePath, CCDAParser ccdaParser) throws IOException{
         System.out.println("LOADING SCENARIO FILES AT " + scenarioFilePath);
         File dir = new File(scenarioFilePath);
@@ -51,30 +140,354 @@ public class ScenarioLoader implements InitializingBean {
             throw new IOException("Directory to Load is a file and not a directory");
         } else {
             File[] list = dir.listFiles();
+            if (list == null) {
+                throw new IOException("Unable to list scenario files at " + scenarioFilePath);
+            }
+            List<File> files = new ArrayList<>();
             for (File file : list) {
-                if (!file.isDirectory() && !file.isHidden()) {
-                	
-                	log.info("Parsing File : " + file.getName());
-                    byte[] encoded = Files.readAllBytes(Paths.get(file.toURI()));
-                    
-                    boolean curesUpdate = false; 
-                    boolean svap2022 = false;                    
-                    final String svapMatch = "svap_uscdiv2";
-                    String fileName = file.getName();
-                    if (fileName.contains(svapMatch)) {
-                    	svap2022 = true;
-                    } else {
-                    	curesUpdate = true;
+                if (isScenarioFile(file)) {
+                    files.add(file);
+                }
+            }
+
+            long start = System.nanoTime();
+            ScenarioSnapshot snapshot = snapshotFile == null ? null : ScenarioSnapshot.read(Paths.get(snapshotFile));
+            List<LoadedScenario> loaded = loadOnPool(files, ccdaParser, snapshot, false);
+            synchronized (this) {
+                loadedFiles.clear();
+                for (LoadedScenario scenario : loaded) {
+                    loadedFiles.put(scenario.fileName, scenario);
+                }
+                publish();
+                refModelHashMap.putAll(scenarioRegistry.getModels());
+            }
+            logTimingReport(loaded, poolSize(files), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            if (snapshot != null && snapshotChanged(snapshot, loaded)) {
+                writeSnapshot(loaded);
+            }
+        }
+    }
+
+    /*
+     * Parses the named files in the scenario directory again, dropping the ones that are gone, and swaps the result
+     * into the registry in one step. Validations already holding the previous snapshot keep using it.
+     * A changed file that does not read or parse, as when it is only partly written, keeps the model it had.
+     */
+    public void reloadScenarioFiles(Collection<String> fileNames) throws IOException {
+        reloadScenarioFiles(fileNames, System.nanoTime());
+    }
+
+    private synchronized void reloadScenarioFiles(Collection<String> fileNames, long since) throws IOException {
+        List<File> changed = new ArrayList<>();
+        List<String> removed = new ArrayList<>();
+        for (String fileName : new LinkedHashSet<>(fileNames)) {
+            File file = new File(scenarioFilePath, fileName);
+            if (isScenarioFile(file)) {
+                changed.add(file);
+            } else if (loadedFiles.containsKey(fileName)) {
+                removed.add(fileName);
+            }
+        }
+        if (changed.isEmpty() && removed.isEmpty()) {
+            return;
+        }
+
+        // Changed files are always parsed, with a snapshot file they also get a new entry in it
+        ScenarioSnapshot snapshot = snapshotFile == null ? null : ScenarioSnapshot.empty();
+        List<LoadedScenario> loaded = loadOnPool(changed, ccdaParser, snapshot, true);
+        for (String fileName : removed) {
+            loadedFiles.remove(fileName);
+        }
+        Map<String, Long> parseMillis = new LinkedHashMap<>();
+        List<String> failed = new ArrayList<>();
+        for (LoadedScenario scenario : loaded) {
+            parseMillis.put(scenario.fileName, scenario.millis);
+            if (scenario.model == null) {
+                failed.add(scenario.fileName);
+                log.error("Scenario file " + scenario.fileName + " did not load, "
+                        + (loadedFiles.containsKey(scenario.fileName) ? "keeping its previous model" : "it is not published"));
+            } else {
+                loadedFiles.put(scenario.fileName, scenario);
+            }
+        }
+        publish();
+
+        long latencyMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - since);
+        reloadMetrics = reloadMetrics.next(latencyMillis, parseMillis, removed, failed);
+        log.info("Reloaded " + (loaded.size() - failed.size()) + " scenario files and removed " + removed.size() + " in "
+                + latencyMillis + " ms: " + reloadMetrics);
+        if (snapshotFile != null) {
+            writeSnapshot(loadedFiles.values());
+        }
+    }
+
+    /*
+     * Publishes the loaded files in load order, a later file wins when two share a model name, as they always have
+     */
+    private void publish() {
+        HashMap<String, CCDARefModel> models = new HashMap<>();
+        for (LoadedScenario scenario : loadedFiles.values()) {
+            models.put(scenario.modelName, scenario.model);
+        }
+        scenarioRegistry.publish(models);
+    }
+
+    private static boolean isScenarioFile(File file) {
+        return file.isFile() && !file.isHidden();
+    }
+
+    private int poolSize(List<File> files) {
+        return Math.max(1, Math.min(loaderThreads, files.size()));
+    }
+
+    /*
+     * Loads the files side by side and returns them in the order given. On a reload a file that cannot be read
+     * comes back with a null model instead of failing the others.
+     */
+    private List<LoadedScenario> loadOnPool(List<File> files, CCDAParser ccdaParser, ScenarioSnapshot snapshot,
+            boolean reload) throws IOException {
+        ExecutorService executor = Executors.newFixedThreadPool(poolSize(files), loaderThreadFactory());
+        List<LoadedScenario> loaded = new ArrayList<>();
+        try {
+            List<Future<LoadedScenario>> futures = new ArrayList<>();
+            for (File file : files) {
+                futures.add(executor.submit(() -> reload ? reloadScenarioFile(file, ccdaParser, snapshot)
+                        : loadScenarioFile(file, ccdaParser, snapshot)));
+            }
+            for (Future<LoadedScenario> future : futures) {
+                loaded.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted loading scenario files at " + scenarioFilePath);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IOException("Failed to load scenario files at " + scenarioFilePath, cause);
+        } finally {
+            executor.shutdownNow();
+        }
+        return loaded;
+    }
+
+    private static boolean snapshotChanged(ScenarioSnapshot snapshot, List<LoadedScenario> loaded) {
+        int entries = 0;
+        for (LoadedScenario scenario : loaded) {
+            if (scenario.snapshotEntry != null) {
+                entries++;
+                if (!scenario.fromSnapshot) {
+                    return true;
+                }
+            }
+        }
+        return entries != snapshot.size();
+    }
+
+    private void writeSnapshot(Collection<LoadedScenario> loaded) {
+        List<ScenarioSnapshot.Entry> entries = new ArrayList<>();
+        for (LoadedScenario scenario : loaded) {
+            if (scenario.snapshotEntry != null) {
+                entries.add(scenario.snapshotEntry);
+            }
+        }
+        try {
+            ScenarioSnapshot.write(Paths.get(snapshotFile), entries);
+        } catch (IOException e) {
+            log.warn("Unable to write scenario snapshot " + snapshotFile + ": " + e);
+        }
+    }
+
+    /*
+     * A file that cannot be read fails the load, as it always has, a file that does not parse loads as a null model
+     */
+    private static LoadedScenario loadScenarioFile(File file, CCDAParser ccdaParser, ScenarioSnapshot snapshot)
+            throws IOException {
+        boolean curesUpdate = false; 
+        boolean svap2022 = false;                    
+        final String svapMatch = "svap_uscdiv2";
+        String fileName = file.getName();
+        if (fileName.contains(svapMatch)) {
+        	svap2022 = true;
+        } else {
+        	curesUpdate = true;
+        }
+        
+        // Note: This does NOT accommodate for 2015 Edition yet, but, as far as we know, we never have to rebuild 2015 (will sunset first)
+        // But, if we had to rebuild as is, we would need to hard code curesUpdate and svap2022 to false here...or finish the impl to handle that. 
+        // Right now though, the file names are identical, so we'd either have to change names, or use a different loading system (like directory, etc.)
+        String modelName = FilenameUtils.getBaseName(fileName);
+        long start = System.nanoTime();
+        CCDARefModel m = null;
+        ScenarioSnapshot.Entry entry = null;
+        boolean fromSnapshot = false;
+        if (snapshot == null) {
+            log.info("Parsing File : " + fileName);
+            m = ccdaParser.parse(Files.readAllBytes(file.toPath()), SeverityLevel.INFO, curesUpdate, svap2022);
+        } else {
+            byte[] content = Files.readAllBytes(file.toPath());
+            entry = snapshot.find(fileName, content);
+            m = entry == null ? null : ScenarioSnapshot.readModel(entry);
+            fromSnapshot = m != null;
+            if (!fromSnapshot) {
+                log.info("Parsing File : " + fileName);
+                m = ccdaParser.parse(content, SeverityLevel.INFO, curesUpdate, svap2022);
+                entry = m == null ? null : snapshotEntry(fileName, content, m);
+            }
+        }
+        if (m != null) {
+            // Reference models are only read from here on
+            m.freeze();
+        }
+        long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        return new LoadedScenario(fileName, modelName, m, file.length(), millis, entry, fromSnapshot);
+    }
+
+    private static LoadedScenario reloadScenarioFile(File file, CCDAParser ccdaParser, ScenarioSnapshot snapshot) {
+        try {
+            return loadScenarioFile(file, ccdaParser, snapshot);
+        } catch (IOException e) {
+            log.error("Unable to read scenario file " + file, e);
+            return new LoadedScenario(file.getName(), FilenameUtils.getBaseName(file.getName()), null, file.length(), 0,
+                    null, false);
+        }
+    }
+
+    private static ScenarioSnapshot.Entry snapshotEntry(String fileName, byte[] content, CCDARefModel model) {
+        try {
+            return ScenarioSnapshot.Entry.of(fileName, content, model);
+        } catch (IOException e) {
+            log.warn("Unable to add scenario " + fileName + " to the snapshot: " + e);
+            return null;
+        }
+    }
+
+    /*
+     * One line per file, slowest first, after a summary of the whole load
+     */
+    private static void logTimingReport(List<LoadedScenario> loaded, int threads, long elapsedMillis) {
+        List<LoadedScenario> slowestFirst = new ArrayList<>(loaded);
+        slowestFirst.sort(Comparator.comparingLong((LoadedScenario scenario) -> scenario.millis).reversed());
+        long parseMillis = 0;
+        int failed = 0;
+        int fromSnapshot = 0;
+        for (LoadedScenario scenario : loaded) {
+            parseMillis += scenario.millis;
+            if (scenario.model == null) {
+                failed++;
+            } else if (scenario.fromSnapshot) {
+                fromSnapshot++;
+            }
+        }
+        log.info("Loaded " + loaded.size() + " scenario files in " + elapsedMillis + " ms on " + threads + " threads, "
+                + parseMillis + " ms of parsing, " + fromSnapshot + " from snapshot, " + failed + " failed");
+        for (LoadedScenario scenario : slowestFirst) {
+            log.info(String.format("%8d ms %10d bytes  %s%s", scenario.millis, scenario.bytes, scenario.fileName,
+                    scenario.model == null ? "  FAILED TO PARSE" : scenario.fromSnapshot ? "  (snapshot)" : ""));
+        }
+    }
+
+    private void startWatching() throws IOException {
+        watchService = FileSystems.getDefault().newWatchService();
+        Paths.get(scenarioFilePath).register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+        watcher = new Thread(this::watch, "scenario-watcher");
+        watcher.setDaemon(true);
+        watcher.start();
+        log.info("Watching " + scenarioFilePath + " for scenario changes");
+    }
+
+    private void stopWatching() throws IOException, InterruptedException {
+        if (watchService != null) {
+            watchService.close();
+            watcher.interrupt();
+            watcher.join(TimeUnit.SECONDS.toMillis(10));
+            watchService = null;
+            watcher = null;
+        }
+    }
+
+    private void watch() {
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                long since = System.nanoTime();
+                Set<String> fileNames = new LinkedHashSet<>();
+                boolean rescan = false;
+                while (key != null) {
+                    for (WatchEvent<?> event : key.pollEvents()) {
+                        if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                            rescan = true;
+                        } else {
+                            fileNames.add(((Path) event.context()).getFileName().toString());
+                        }
+                    }
+                    if (!key.reset()) {
+                        log.warn("Scenario directory " + scenarioFilePath + " is no longer watched");
+                        return;
                     }
-                    
-                    // Note: This does NOT accommodate for 2015 Edition yet, but, as far as we know, we never have to rebuild 2015 (will sunset first)
-                    // But, if we had to rebuild as is, we would need to hard code curesUpdate and svap2022 to false here...or finish the impl to handle that. 
-                    // Right now though, the file names are identical, so we'd either have to change names, or use a different loading system (like directory, etc.)
-                    String modelName = FilenameUtils.getBaseName(fileName);
-                    CCDARefModel m = ccdaParser.parse(new String(encoded, "UTF-8"), curesUpdate, svap2022);
-                    refModelHashMap.put(modelName, m);
+                    key = watchService.poll(reloadQuietMillis, TimeUnit.MILLISECONDS);
                 }
+                if (rescan) {
+                    fileNames.addAll(currentFileNames());
+                }
+                try {
+                    reloadScenarioFiles(fileNames, since);
+                } catch (IOException | RuntimeException e) {
+                    log.error("Unable to reload scenario files " + fileNames, e);
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            log.info("Stopped watching " + scenarioFilePath);
+        }
+    }
+
+    /*
+     * Events were lost, so every file there is now or was before is reloaded
+     */
+    private synchronized Set<String> currentFileNames() {
+        Set<String> fileNames = new LinkedHashSet<>(loadedFiles.keySet());
+        String[] list = new File(scenarioFilePath).list();
+        if (list != null) {
+            for (String fileName : list) {
+                fileNames.add(fileName);
             }
         }
+        return fileNames;
+    }
+
+    private static ThreadFactory loaderThreadFactory() {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "scenario-loader-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private static final class LoadedScenario {
+        private final String fileName;
+        private final String modelName;
+        private final CCDARefModel model;
+        private final long bytes;
+        private final long millis;
+        private final ScenarioSnapshot.Entry snapshotEntry;
+        private final boolean fromSnapshot;
+
+        LoadedScenario(String fileName, String modelName, CCDARefModel model, long bytes, long millis,
+                ScenarioSnapshot.Entry snapshotEntry, boolean fromSnapshot) {
+            this.fileName = fileName;
+            this.modelName = modelName;
+            this.model = model;
+            this.bytes = bytes;
+            this.millis = millis;
+            this.snapshotEntry = snapshotEntry;
+            this.fromSnapshot = fromSnapshot;
+        }
     }
 }
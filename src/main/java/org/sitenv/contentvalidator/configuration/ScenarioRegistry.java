@@ -0,0 +1,62 @@
+package org.sitenv.contentvalidator.configuration;
+
+import org.sitenv.contentvalidator.model.CCDARefModel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/*
+ * The reference models validations are compared against. Each publish swaps in a new unmodifiable map together with
+ * the resolver for its names, so a validation that read the models once keeps a consistent set however often
+ * the scenarios are reloaded.
+ */
+public class ScenarioRegistry {
+
+    private static Logger log = LoggerFactory.getLogger(ScenarioRegistry.class.getName());
+
+    private volatile Published published = new Published(Collections.<String, CCDARefModel>emptyMap());
+
+    public ScenarioRegistry() {
+    }
+
+    public ScenarioRegistry(Map<String, CCDARefModel> models) {
+        publish(models);
+    }
+
+    /*
+     * The models as last published, never changes after it is returned
+     */
+    public Map<String, CCDARefModel> getModels() {
+        return published.models;
+    }
+
+    public void publish(Map<String, CCDARefModel> models) {
+        published = new Published(Collections.unmodifiableMap(new HashMap<>(models)));
+    }
+
+    /*
+     * The model of the scenario the reference file name refers to, see ScenarioResolver, or null
+     */
+    public CCDARefModel resolve(String referenceFileName) {
+        Published current = published;
+        String scenario = current.resolver.resolve(referenceFileName);
+        if (scenario == null) {
+            return null;
+        }
+        log.info("Returning Content Model for Comparison " + scenario);
+        return current.models.get(scenario);
+    }
+
+    private static final class Published {
+        private final Map<String, CCDARefModel> models;
+        private final ScenarioResolver resolver;
+
+        Published(Map<String, CCDARefModel> models) {
+            this.models = models;
+            this.resolver = new ScenarioResolver(models.keySet());
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package org.sitenv.contentvalidator.configuration;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/*
+ * What the scenario hot reload has done so far, replaced as a whole after every reload.
+ * Latency runs from the first change seen to the new models being published, the parse time is per changed file.
+ * A changed file that failed to load is counted, and the model it had before is kept.
+ */
+public final class ScenarioReloadMetrics {
+
+    static final ScenarioReloadMetrics NONE = new ScenarioReloadMetrics(0, 0, 0, Collections.<String, Long>emptyMap(),
+            Collections.<String>emptyList(), 0, Collections.<String>emptyList());
+
+    private final long reloadCount;
+    private final long lastReloadMillis;
+    private final long totalReloadMillis;
+    private final Map<String, Long> lastParseMillis;
+    private final List<String> lastRemoved;
+    private final long failedCount;
+    private final List<String> lastFailed;
+
+    private ScenarioReloadMetrics(long reloadCount, long lastReloadMillis, long totalReloadMillis,
+            Map<String, Long> lastParseMillis, List<String> lastRemoved, long failedCount, List<String> lastFailed) {
+        this.reloadCount = reloadCount;
+        this.lastReloadMillis = lastReloadMillis;
+        this.totalReloadMillis = totalReloadMillis;
+        this.lastParseMillis = lastParseMillis;
+        this.lastRemoved = lastRemoved;
+        this.failedCount = failedCount;
+        this.lastFailed = lastFailed;
+    }
+
+    ScenarioReloadMetrics next(long reloadMillis, Map<String, Long> parseMillis, List<String> removed,
+            List<String> failed) {
+        return new ScenarioReloadMetrics(reloadCount + 1, reloadMillis, totalReloadMillis + reloadMillis,
+                Collections.unmodifiableMap(new LinkedHashMap<>(parseMillis)), Collections.unmodifiableList(removed),
+                failedCount + failed.size(), Collections.unmodifiableList(failed));
+    }
+
+    public long getReloadCount() {
+        return reloadCount;
+    }
+
+    public long getLastReloadMillis() {
+        return lastReloadMillis;
+    }
+
+    public long getTotalReloadMillis() {
+        return totalReloadMillis;
+    }
+
+    /*
+     * Parse time of each file the last reload parsed, by file name
+     */
+    public Map<String, Long> getLastParseMillis() {
+        return lastParseMillis;
+    }
+
+    /*
+     * Files the last reload dropped because they were deleted
+     */
+    public List<String> getLastRemoved() {
+        return lastRemoved;
+    }
+
+    /*
+     * Number of changed files that failed to load over all reloads
+     */
+    public long getFailedCount() {
+        return failedCount;
+    }
+
+    /*
+     * Files the last reload could not read or parse, their previous models are still published
+     */
+    public List<String> getLastFailed() {
+        return lastFailed;
+    }
+
+    @Override
+    public String toString() {
+        return "reloads " + reloadCount + ", last " + lastReloadMillis + " ms, total " + totalReloadMillis
+                + " ms, parsed " + lastParseMillis + ", removed " + lastRemoved + ", failed " + lastFailed
+                + " (" + failedCount + " in all)";
+    }
+}
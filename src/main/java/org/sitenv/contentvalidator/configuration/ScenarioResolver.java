@@ -0,0 +1,100 @@
+package org.sitenv.contentvalidator.configuration;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+
+/*
+ * Finds the scenario a reference file name refers to, that is the scenario name the file name contains.
+ * An exact match wins, otherwise the longest scenario name found in the file name, and between names of the same
+ * length the one that sorts first. Lookups go through an Aho-Corasick automaton over the scenario names,
+ * so a lookup costs one pass over the file name whatever the number of scenarios.
+ */
+public final class ScenarioResolver {
+
+    private final Set<String> names;
+    private final Node root = new Node();
+
+    public ScenarioResolver(Collection<String> scenarioNames) {
+        names = new HashSet<>(scenarioNames);
+        for (String name : names) {
+            Node node = root;
+            for (int i = 0; i < name.length(); i++) {
+                node = node.children.computeIfAbsent(name.charAt(i), c -> new Node());
+            }
+            node.best = better(node.best, name);
+        }
+        linkFailures();
+    }
+
+    /*
+     * The matching scenario name, or null when the file name contains none of them
+     */
+    public String resolve(String fileName) {
+        if (names.contains(fileName)) {
+            return fileName;
+        }
+        String best = root.best;
+        Node node = root;
+        for (int i = 0; i < fileName.length(); i++) {
+            char c = fileName.charAt(i);
+            while (node != root && !node.children.containsKey(c)) {
+                node = node.failure;
+            }
+            node = node.children.getOrDefault(c, root);
+            best = better(best, node.best);
+        }
+        return best;
+    }
+
+    /*
+     * Breadth first, so a node's failure target is done before the node, and each node ends up with the best name
+     * ending at it, its own or one reached through its failure links
+     */
+    private void linkFailures() {
+        Queue<Node> queue = new ArrayDeque<>();
+        for (Node child : root.children.values()) {
+            child.failure = root;
+            child.best = better(child.best, root.best);
+            queue.add(child);
+        }
+        while (!queue.isEmpty()) {
+            Node node = queue.remove();
+            for (Map.Entry<Character, Node> entry : node.children.entrySet()) {
+                char c = entry.getKey();
+                Node child = entry.getValue();
+                Node failure = node.failure;
+                while (failure != root && !failure.children.containsKey(c)) {
+                    failure = failure.failure;
+                }
+                child.failure = failure.children.getOrDefault(c, root);
+                child.best = better(child.best, child.failure.best);
+                queue.add(child);
+            }
+        }
+    }
+
+    private static String better(String a, String b) {
+        if (a == null) {
+            return b;
+        }
+        if (b == null) {
+            return a;
+        }
+        if (a.length() != b.length()) {
+            return a.length() > b.length() ? a : b;
+        }
+        return a.compareTo(b) <= 0 ? a : b;
+    }
+
+    private static final class Node {
+        private final Map<Character, Node> children = new HashMap<>();
+        private Node failure;
+        // Best scenario name ending at this node
+        private String best;
+    }
+}
@@ -0,0 +1,255 @@
+package org.sitenv.contentvalidator.configuration;
+
+import org.sitenv.contentvalidator.model.CCDARefModel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InvalidClassException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.net.URISyntaxException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.CodeSource;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/*
+ * Binary snapshot of loaded reference models, one entry per scenario file keyed by file name, size and SHA-256 of the content.
+ * Each model is serialized on its own, so an entry that no longer reads only sends that scenario back to XML parsing.
+ * The snapshot records the build that wrote it and is ignored as a whole once the application has been rebuilt,
+ * since a parser change can alter the models without changing the files.
+ */
+public final class ScenarioSnapshot {
+
+    private static Logger log = LoggerFactory.getLogger(ScenarioSnapshot.class.getName());
+
+    private static final int FORMAT = 1;
+    private static final ScenarioSnapshot EMPTY = new ScenarioSnapshot(Collections.<String, Entry>emptyMap());
+
+    private final Map<String, Entry> entries;
+
+    private ScenarioSnapshot(Map<String, Entry> entries) {
+        this.entries = entries;
+    }
+
+    /*
+     * A scenario file and its serialized model
+     */
+    public static final class Entry {
+        private final String fileName;
+        private final long size;
+        private final byte[] sha256;
+        private final byte[] model;
+
+        Entry(String fileName, long size, byte[] sha256, byte[] model) {
+            this.fileName = fileName;
+            this.size = size;
+            this.sha256 = sha256;
+            this.model = model;
+        }
+
+        public String getFileName() {
+            return fileName;
+        }
+
+        /*
+         * Serializes a freshly parsed model into an entry for the next snapshot
+         */
+        public static Entry of(String fileName, byte[] content, CCDARefModel model) throws IOException {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+                out.writeObject(model);
+            }
+            return new Entry(fileName, content.length, sha256(content), bytes.toByteArray());
+        }
+    }
+
+    /*
+     * Reads the snapshot, or returns an empty one when the file is missing, unreadable or written by another build
+     */
+    public static ScenarioSnapshot read(Path file) {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != FORMAT || !buildFingerprint().equals(in.readUTF())) {
+                log.info("Ignoring scenario snapshot " + file + " written by another build");
+                return EMPTY;
+            }
+            int count = in.readInt();
+            Map<String, Entry> entries = new HashMap<>();
+            for (int i = 0; i < count; i++) {
+                String fileName = in.readUTF();
+                long size = in.readLong();
+                byte[] sha256 = new byte[in.readInt()];
+                in.readFully(sha256);
+                byte[] model = new byte[in.readInt()];
+                in.readFully(model);
+                entries.put(fileName, new Entry(fileName, size, sha256, model));
+            }
+            log.info("Read " + entries.size() + " scenarios from snapshot " + file);
+            return new ScenarioSnapshot(entries);
+        } catch (NoSuchFileException e) {
+            log.info("No scenario snapshot at " + file + " yet");
+        } catch (IOException | RuntimeException e) {
+            log.warn("Ignoring unreadable scenario snapshot " + file + ": " + e);
+        }
+        return EMPTY;
+    }
+
+    /*
+     * Writes the entries to a temporary file next to the snapshot and moves it into place, so a reader never sees half a snapshot
+     */
+    public static void write(Path file, Collection<Entry> entries) throws IOException {
+        Path dir = file.toAbsolutePath().getParent();
+        Files.createDirectories(dir);
+        Path temp = Files.createTempFile(dir, file.getFileName().toString(), ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                out.writeInt(FORMAT);
+                out.writeUTF(buildFingerprint());
+                out.writeInt(entries.size());
+                for (Entry entry : entries) {
+                    out.writeUTF(entry.fileName);
+                    out.writeLong(entry.size);
+                    out.writeInt(entry.sha256.length);
+                    out.write(entry.sha256);
+                    out.writeInt(entry.model.length);
+                    out.write(entry.model);
+                }
+            }
+            try {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        log.info("Wrote " + entries.size() + " scenarios to snapshot " + file);
+    }
+
+    /*
+     * A snapshot without entries, for loads that parse every file but still want the entries for the next snapshot
+     */
+    public static ScenarioSnapshot empty() {
+        return EMPTY;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /*
+     * The entry for the file when its size and content hash still match, otherwise null
+     */
+    public Entry find(String fileName, byte[] content) {
+        Entry entry = entries.get(fileName);
+        if (entry == null || entry.size != content.length || !Arrays.equals(entry.sha256, sha256(content))) {
+            return null;
+        }
+        return entry;
+    }
+
+    /*
+     * The model stored in the entry, or null when it does not deserialize with the current model classes
+     */
+    public static CCDARefModel readModel(Entry entry) {
+        try (ObjectInputStream in = new ModelInputStream(new ByteArrayInputStream(entry.model))) {
+            return (CCDARefModel) in.readObject();
+        } catch (IOException | ClassNotFoundException | ClassCastException e) {
+            log.warn("Scenario " + entry.fileName + " in the snapshot no longer reads, parsing it again: " + e);
+            return null;
+        }
+    }
+
+    static byte[] sha256(byte[] content) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(content);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /*
+     * Size and modification time of the jar, or of the newest class file when running from a classes directory
+     */
+    private static String buildFingerprint() throws IOException {
+        CodeSource codeSource = ScenarioSnapshot.class.getProtectionDomain().getCodeSource();
+        if (codeSource == null || codeSource.getLocation() == null) {
+            return "unknown";
+        }
+        Path location;
+        try {
+            location = Paths.get(codeSource.getLocation().toURI());
+        } catch (URISyntaxException | IllegalArgumentException e) {
+            return codeSource.getLocation().toString();
+        }
+        if (!Files.isDirectory(location)) {
+            return location + ":" + Files.size(location) + ":" + Files.getLastModifiedTime(location).toMillis();
+        }
+        long newest = 0;
+        long count = 0;
+        try (Stream<Path> classes = Files.walk(location)) {
+            for (Path path : (Iterable<Path>) classes.filter(p -> p.toString().endsWith(".class"))::iterator) {
+                newest = Math.max(newest, Files.getLastModifiedTime(path).toMillis());
+                count++;
+            }
+        }
+        return location + ":" + count + ":" + newest;
+    }
+
+    /*
+     * Only resolves the classes a reference model is built from
+     */
+    private static final class ModelInputStream extends ObjectInputStream {
+
+        ModelInputStream(InputStream in) throws IOException {
+            super(in);
+        }
+
+        // The JDK types a model holds besides its own classes, the boxed types with their superclass Number
+        private static final Set<String> JDK_CLASSES = new HashSet<>(Arrays.asList(
+                "java.lang.String", "java.lang.Boolean", "java.lang.Character", "java.lang.Number", "java.lang.Byte",
+                "java.lang.Short", "java.lang.Integer", "java.lang.Long", "java.lang.Float", "java.lang.Double",
+                "java.lang.Enum", "java.util.ArrayList", "java.util.HashMap", "java.util.LinkedHashMap",
+                "java.util.HashSet"));
+
+        @Override
+        protected Class<?> resolveClass(ObjectStreamClass desc) throws IOException, ClassNotFoundException {
+            String name = desc.getName();
+            while (name.startsWith("[")) {
+                name = name.substring(1);
+            }
+            if (name.startsWith("L") && name.endsWith(";")) {
+                name = name.substring(1, name.length() - 1);
+            }
+            // One character left is a primitive array
+            if (name.length() > 1 && !JDK_CLASSES.contains(name)
+                    && !name.startsWith("org.sitenv.contentvalidator.model.")
+                    && !name.startsWith("org.sitenv.contentvalidator.dto.enums.")) {
+                throw new InvalidClassException(desc.getName(), "not part of a reference model");
+            }
+            return super.resolveClass(desc);
+        }
+    }
+}
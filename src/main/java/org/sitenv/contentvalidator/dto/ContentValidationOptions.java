@@ -0,0 +1,55 @@
+package org.sitenv.contentvalidator.dto;
+
+/*
+ * How much of the comparison a validation runs. With an error budget the comparison stops once that many errors
+ * are found, for callers that only need to know whether a submission passes or want its first few errors.
+ * With parallel comparison the sections are compared side by side, the results are the same as in order.
+ * With both, the sections are handed to the pool only as it frees up, so few of them run past a spent budget.
+ */
+public final class ContentValidationOptions {
+
+    public static final ContentValidationOptions ALL = new ContentValidationOptions(0, false);
+
+    private final int errorBudget;
+    private final boolean parallelComparison;
+
+    private ContentValidationOptions(int errorBudget, boolean parallelComparison) {
+        this.errorBudget = errorBudget;
+        this.parallelComparison = parallelComparison;
+    }
+
+    /*
+     * Stops at the first error
+     */
+    public static ContentValidationOptions failFast() {
+        return errorBudget(1);
+    }
+
+    /*
+     * Stops once the given number of errors is found
+     */
+    public static ContentValidationOptions errorBudget(int errors) {
+        if (errors < 1) {
+            throw new IllegalArgumentException("The error budget must be at least 1, was " + errors);
+        }
+        return new ContentValidationOptions(errors, false);
+    }
+
+    /*
+     * The same options, comparing the sections side by side on the common fork/join pool
+     */
+    public ContentValidationOptions withParallelComparison() {
+        return new ContentValidationOptions(errorBudget, true);
+    }
+
+    /*
+     * The number of errors the comparison stops at, or 0 when it always runs to the end
+     */
+    public int getErrorBudget() {
+        return errorBudget;
+    }
+
+    public boolean isParallelComparison() {
+        return parallelComparison;
+    }
+}
@@ -1,12 +1,18 @@
 package org.sitenv.contentvalidator.dto;
 
+import org.sitenv.contentvalidator.dto.enums.ContentValidationMessage;
 import org.sitenv.contentvalidator.dto.enums.ContentValidationResultLevel;
 
+import java.io.Serializable;
+
 /**
  * Created by Brian on 2/14/2016.
  */
-public class ContentValidationResult {
+public class ContentValidationResult implements Serializable {
     private String message;
+    // Set instead of the message by the comparison helpers, the message is rendered on the first read
+    private ContentValidationMessage template;
+    private Object[] arguments;
     private ContentValidationResultLevel contentValidationResultLevel;
     private String xpath;
     private String lineNumber;
@@ -18,12 +24,26 @@ public class ContentValidationResult {
         this.lineNumber = lineNumber;
     }
 
+    public ContentValidationResult(ContentValidationMessage template, ContentValidationResultLevel contentValidationResultLevel,
+                                   String xpath, String lineNumber, Object... arguments) {
+        this.template = template;
+        this.arguments = arguments;
+        this.contentValidationResultLevel = contentValidationResultLevel;
+        this.xpath = xpath;
+        this.lineNumber = lineNumber;
+    }
+
     public String getMessage() {
+        if (message == null && template != null) {
+            message = template.render(arguments);
+        }
         return message;
     }
 
     public void setMessage(String message) {
         this.message = message;
+        this.template = null;
+        this.arguments = null;
     }
 
     public ContentValidationResultLevel getContentValidationResultLevel() {
@@ -0,0 +1,19 @@
+package org.sitenv.contentvalidator.dto;
+
+import java.util.ArrayList;
+
+/*
+ * The results of a validation, truncated when the comparison stopped at the error budget of its options
+ * before it was done, so that more issues may exist than are listed
+ */
+public class ContentValidationResults extends ArrayList<ContentValidationResult> {
+    private boolean truncated;
+
+    public boolean isTruncated() {
+        return truncated;
+    }
+
+    public void setTruncated(boolean truncated) {
+        this.truncated = truncated;
+    }
+}
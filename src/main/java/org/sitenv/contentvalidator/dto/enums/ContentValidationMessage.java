@@ -0,0 +1,149 @@
+package org.sitenv.contentvalidator.dto.enums;
+
+/*
+ * Message templates of the comparison helpers and the section compare methods. {n} stands for the n-th argument,
+ * rendered as String.valueOf would, so a rendered message reads exactly as the concatenation it replaces.
+ * Arguments are kept in the serializable result until the message is read, so pass only strings and boxed primitives.
+ */
+public enum ContentValidationMessage {
+    SCENARIO_DOES_NOT_REQUIRE("The scenario does not require {0} data, but submitted file does have {0} data"),
+    SCENARIO_REQUIRES("The scenario requires {0} data, but submitted file does not contain {0} data"),
+    STRING_MISMATCH("The String value ({0}) does not match the string value ({1}) in submitted C-CDA for: {2}"),
+    TEMPLATE_ID_MISSING("The {0} : element - template id, Root Value = {1} and Extension Value = {2} "
+            + "is not present in the submitted CCDA's "),
+    TEMPLATE_IDS_NOT_REQUIRED("The scenario does not require {0} template ids, but submitted file does contain {0} template ids"),
+    TEMPLATE_IDS_REQUIRED("The scenario requires {0} template ids, but submitted file does not containt {0} template ids"),
+
+    PROVENANCE_ORG_NAME_MISMATCH("The scenario requires Provenance Org Name of: ({0}) for: {1}, "
+            + "but submitted file contains Provenance Org Name of: ({2}) which does not match."),
+    PROVENANCE_ORG_NAME_MISSING("The scenario requires Provenance Org Name as part of: {0} data, "
+            + "but submitted file does not contain Provenance Org Name as part of: {0} which does not match."),
+    PROVENANCE_ORG_NAME_INLINE_MISMATCH("The scenario requires Provenance Org Name of: ({0}) for: {1}, "
+            + "but submitted file contains Provenance Org Name of: ({2}) which does not match the inline author data."),
+    PROVENANCE_ORG_NAME_LINKED_MISMATCH("The scenario requires Provenance Org Name ({0}) as part of: {1} data, "
+            + "but submitted file contains Provenance Org Name ({2}) in the linked reference, which does not match."),
+    PROVENANCE_ORG_NAME_LINKED_MISSING("The scenario requires Provenance Org Name as part of: {0} data, "
+            + "but submitted file does not contain Provenance Org Name as part of: {0} "
+            + "which does not match since the linked reference or id link is missing or invalid."),
+
+    CODE_MISMATCH("The {0} : Code = {1} does not match the submitted CCDA : code = {2}"),
+    CODE_SYSTEM_MISMATCH("The {0} : Code = {1} , CodeSystem = {2} do not match the submitted CCDA : code = {3} "
+            + ", and CodeSystem = {4}"),
+    CODE_NULL_FLAVOR_MISMATCH("The {0} : Code = {1} , CodeSystem = {2} , NullFlavor = {3} do not match the submitted CCDA "
+            + ": code = {4} , and CodeSystem = {5} , and NullFlavor = {6}"),
+
+    QUANTITY_MISMATCH("The {0} : Value PQ - value = {1} and Units = {2}  , do not match the submitted CCDA "
+            + ": Value PQ - value = {3} , and Units = {4}."),
+    QUANTITY_TOLERANCE_MISMATCH("The {0} : Value PQ - value = {1} and Units = {2}  , do not match the submitted CCDA "
+            + ": Value PQ - value = {3} , and Units = {4}. If the CEHRT vendor believes the submitted C-CDA values are "
+            + "accurate, please work with your ATL to verify the values submitted explaining the reason for not matching."),
+    QUANTITY_STRING_MISMATCH("The {0} : Value PQ - value = {1}  , does not match the submitted CCDA : ST - value = {2}"),
+    QUANTITY_STRING_TEST_DATA_MISMATCH("The {0} : Value PQ - value = {1}  , does not match the test data provided "
+            + ": ST - value = {2}"),
+
+    LOW_TIME_MISMATCH("The {0} (Effective Time: low time value) is {1} , "
+            + "but submitted CCDA (Effective Time: low time value) is {2} which does not match "),
+    LOW_TIME_MISSING("The {0} (low time value) is required, but submitted CCDA does not contain the (low time value) for {0}"),
+    HIGH_TIME_MISMATCH("The {0} (Effective Time: High time value) is {1} , "
+            + "but submitted CCDA (Effective Time: High time value) is {2} which does not match "),
+    HIGH_TIME_MISSING("The {0} (high time value) is required, but submitted CCDA does not contain the (high time value) for {0}"),
+    VALUE_TIME_MISMATCH("The {0} ( Time Value ) is : {1} , but submitted CCDA ( Time Value ) is : {2} which does not match "),
+    VALUE_TIME_EXACT_MISMATCH("The {0} (Effective Time: Value ) is {1} , "
+            + "but submitted CCDA (Effective Time: Value ) is {2} which does not match "),
+    VALUE_TIME_MISSING("The {0} (value time element ) is required, "
+            + "but submitted CCDA does not contain the (value time element) for {0}"),
+    VALUE_TIME_NOT_REQUIRED("The {0} (value time element) is not required, "
+            + "but submitted CCDA contains the (value time element) for {0}"),
+    PROVENANCE_TIME_DATE_INVALID("The {0} Provenance (Time: Value) {1} at {2}, is invalid. "
+            + "Please ensure the value starts with an 8-digit date. The invalid date portion of the value is {3}."),
+    PROVENANCE_TIME_DATE_INVALID_AT_INDEX("The {0} Provenance (Time: Value) {1} at {2} index {3}, is invalid. "
+            + "Please ensure the value starts with an 8-digit date. The invalid date portion of the value is {4}."),
+    PROVENANCE_TIME_ZONE_INVALID("The {0} Provenance (Time: Value) {1} at {2} is invalid. "
+            + "Please ensure the time and time-zone starts with a 4 or 6-digit time, followed by a '+' or a '-', "
+            + "and finally, a 4-digit time-zone. The invalid time and time-zone portion of the value is {3}."),
+    PROVENANCE_TIME_ZONE_INVALID_AT_INDEX("The {0} Provenance (Time: Value) {1} at {2} index {3} is invalid. "
+            + "Please ensure the time and time-zone starts with a 4 or 6-digit time, followed by a '+' or a '-', "
+            + "and finally, a 4-digit time-zone. The invalid time and time-zone portion of the value is {4}."),
+
+    // The per-section compare methods, {0} of the two CODED_ templates names the kind of data
+    CODED_DATA_NOT_MATCHED("The scenario contains {0} with code {1} , "
+            + "however there is no matching data in the submitted CCDA. "),
+    CODED_ENTRY_NOT_MATCHED("The scenario contains {0} with code {1} , "
+            + "however there is no matching data in the submitted CCDA."),
+    ENCOUNTER_DIAGNOSIS_NOT_MATCHED("The scenario contains Encounter Diagnosis data with code(s) {0} , "
+            + "however there is no matching data in the submitted CCDA. "),
+    CARE_TEAM_MEMBER_NOT_MATCHED("The scenario contains Care Team Member data with name {0} , "
+            + "however there is no matching data in the submitted CCDA. "),
+    DIAGNOSIS_ACT_DATE_NOT_MATCHED("The scenario contains Date of Diagnosis Act data {0} , "
+            + "however there is no matching data in the submitted CCDA. "),
+    ALLERGY_NOT_MATCHED("The scenario contains Allergy observation for {0} Code: {1} , "
+            + "however there is no matching data in the submitted CCDA. "),
+    NO_KNOWN_ALLERGIES_NOT_MATCHED("The scenario contains Allergy observation for  No Known Allergies  , "
+            + "however there is no matching data in the submitted CCDA. "),
+    ALLERGY_REACTION_NOT_MATCHED("The scenario contains Allergy Reaction for {0} , however there is no matching "
+            + "Allergy Reaction (Entry Template Ids + Code) in the submitted CCDA. "),
+    ALLERGY_SEVERITY_NOT_MATCHED("The scenario contains Allergy Reaction and Severity for {0} , however there is "
+            + "no matching Allergy Severity within the Reaction entry's entryRelationship in the submitted CCDA. "),
+    ALLERGY_SEVERITY_NOT_REQUIRED("The scenario does not contain Severity within the Allergy Reaction {0} , however "
+            + "there is an Allergy Severity within the Reaction entry's entryRelationship in the submitted CCDA. "),
+    PROBLEM_OBSERVATION_NOT_MATCHED("The scenario contains problem observation for {0} Code: {1} , "
+            + "however there is no matching observation in the submitted CCDA. "),
+    UNKNOWN_PROBLEM_OBSERVATION_NOT_MATCHED("The scenario contains problem observation for  Unknown Observation  , "
+            + "however there is no matching observation in the submitted CCDA. "),
+    NOTES_NOT_MATCHED("The scenario requires data related to patient's Notes for {0} , "
+            + "but the submitted C-CDA does not contain corresponding clinical Notes data."),
+    UDI_MISSING("The scenario requires data related to patient's UDI: Root = {0} Extension = {1}, "
+            + "but the submitted C-CDA does not contain UDI data."),
+
+    PROVENANCE_TIME_NOT_FOUND("The scenario requires {0} Provenance data of time which was not found in the submitted data. "
+            + "The scenario time value is {1} and a submitted time value should at a minimum match "
+            + "the 8-digit date portion of the data."),
+    PROVENANCE_TIME_OR_ORG_NAME_NOT_FOUND("The scenario requires {0} Provenance data of time "
+            + "and/or representedOrganization/name which was not found in the submitted data. "
+            + "The scenario time value is {1} and a submitted time value should at a minimum match "
+            + "the 8-digit date portion of the data. The scenario representedOrganization/name value is {2} "
+            + "and a submitted name should match. One or all of the prior issues exist and must be resolved."),
+    AUTHOR_COUNT_MISMATCH("The scenario requires a total of {0} Author Entries for {1}, "
+            + "however the submitted data had only {2} entries."),
+    PROVENANCE_MISSING("The scenario requires Provenance data for {0} "
+            + "however the submitted file does not contain the Provenance data for {0}."),
+
+    PATIENT_RACE_CODE_MISSING("Patient Race Code = {0} expected but, submitted file does not contain the expected race code"),
+    PATIENT_GRANULAR_RACE_CODE_MISSING("Patient Granular Race Code = {0} expected in sdtc:raceCode extension but, "
+            + "submitted file does not contain the expected granular race code"),
+    PATIENT_ETHNICITY_MISMATCH("Patient Ethnicity code Expected = {0} but, submitted file contains ethnicity code of {1}"),
+    PATIENT_DOB_MISMATCH("Patient Date of Birth Expected = {0} but, submitted file contains Date of Birth of {1}"),
+    PATIENT_LANGUAGE_MISSING("Patient Language = {0} expected but, submitted file does not contain the expected language code"),
+    PATIENT_FIRST_NAME_MISMATCH("Patient First Name Expected = {0} but, submitted file contains first name of {1}"),
+    PATIENT_LAST_NAME_MISMATCH("Patient Last Name Expected = {0} but, submitted file contains last name of {1}"),
+    PATIENT_MIDDLE_NAME_MISMATCH("Patient Middle Name Expected = {0} but, submitted file contains middle name of {1}"),
+    PATIENT_PREVIOUS_NAME_MISMATCH("Patient Previous Name Expected = {0} but, submitted file contains previous name of {1}"),
+    PATIENT_SUFFIX_MISMATCH("Patient Suffix Expected = {0} but, submitted file contains suffix of {1}"),
+    PATIENT_TELECOM_MISMATCH("Patient Telecom in the submitted file does not match the expected Telecom. "
+            + "The following values are expected: telecom/@use = {0} and telecom/@value = {1}");
+
+    private final String template;
+
+    ContentValidationMessage(String template) {
+        this.template = template;
+    }
+
+    public String getTemplate() {
+        return template;
+    }
+
+    public String render(Object... arguments) {
+        StringBuilder message = new StringBuilder(template.length() + 16 * arguments.length);
+        int length = template.length();
+        for (int i = 0; i < length; i++) {
+            char c = template.charAt(i);
+            if (c == '{' && i + 2 < length && Character.isDigit(template.charAt(i + 1)) && template.charAt(i + 2) == '}') {
+                message.append(String.valueOf(arguments[template.charAt(i + 1) - '0']));
+                i += 2;
+            } else {
+                message.append(c);
+            }
+        }
+        return message.toString();
+    }
+}
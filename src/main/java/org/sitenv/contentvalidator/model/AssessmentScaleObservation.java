@@ -1,16 +1,18 @@
 package org.sitenv.contentvalidator.model;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Map;
 
 import org.sitenv.contentvalidator.dto.ContentValidationResult;
+import org.sitenv.contentvalidator.dto.enums.ContentValidationMessage;
 import org.sitenv.contentvalidator.dto.enums.ContentValidationResultLevel;
 import org.sitenv.contentvalidator.parsers.ParserUtilities;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-public class AssessmentScaleObservation {
+public class AssessmentScaleObservation implements Serializable {
 	
 	private static Logger log = LoggerFactory.getLogger(AssessmentScaleObservation.class.getName());
 		
@@ -165,9 +167,8 @@ public class AssessmentScaleObservation {
 			}
 			else {
 				
-				String error = "The scenario contains SDOH data with code " + entry.getKey() + 
-						" , however there is no matching data in the submitted CCDA.";
-				ContentValidationResult rs = new ContentValidationResult(error, ContentValidationResultLevel.ERROR, "/ClinicalDocument", "0" );
+				ContentValidationResult rs = new ContentValidationResult(ContentValidationMessage.CODED_ENTRY_NOT_MATCHED,
+						ContentValidationResultLevel.ERROR, "/ClinicalDocument", "0", "SDOH data", entry.getKey());
 				results.add(rs);
 			}
 			
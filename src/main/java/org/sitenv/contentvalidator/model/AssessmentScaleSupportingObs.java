@@ -1,5 +1,6 @@
 package org.sitenv.contentvalidator.model;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 
 import org.sitenv.contentvalidator.dto.ContentValidationResult;
@@ -7,7 +8,7 @@ import org.sitenv.contentvalidator.parsers.ParserUtilities;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-public class AssessmentScaleSupportingObs {
+public class AssessmentScaleSupportingObs implements Serializable {
 	
 	private static Logger log = LoggerFactory.getLogger(AssessmentScaleObservation.class.getName());
 
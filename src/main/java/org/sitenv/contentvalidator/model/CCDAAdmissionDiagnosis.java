@@ -1,11 +1,12 @@
 package org.sitenv.contentvalidator.model;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-public class CCDAAdmissionDiagnosis {
+public class CCDAAdmissionDiagnosis implements Serializable {
 
 	private static Logger log = LoggerFactory.getLogger(CCDAAdmissionDiagnosis.class.getName());
 
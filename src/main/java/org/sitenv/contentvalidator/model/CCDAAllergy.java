@@ -3,15 +3,17 @@ package org.sitenv.contentvalidator.model;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.sitenv.contentvalidator.dto.ContentValidationResult;
+import org.sitenv.contentvalidator.dto.enums.ContentValidationMessage;
 import org.sitenv.contentvalidator.dto.enums.ContentValidationResultLevel;
 import org.sitenv.contentvalidator.dto.enums.SeverityLevel;
 import org.sitenv.contentvalidator.parsers.ParserUtilities;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Map;
 
-public class CCDAAllergy {
+public class CCDAAllergy implements Serializable {
 	
 	private static Logger log = LoggerFactory.getLogger(CCDAAllergy.class.getName());
 
@@ -105,10 +107,11 @@ public class CCDAAllergy {
 		}
 		else {
 			
-			String error = "The scenario contains Allergy observation for " + 
-							((refAl.getAllergySubstance() != null)?((refAl.getAllergySubstance().getDisplayName()) + " Code: " + refAl.getAllergySubstance().getCode()):" No Known Allergies ") +
-							" , however there is no matching data in the submitted CCDA. ";
-			ContentValidationResult rs = new ContentValidationResult(error, ContentValidationResultLevel.ERROR, "/ClinicalDocument", "0" );
+			ContentValidationResult rs = (refAl.getAllergySubstance() != null)
+					? new ContentValidationResult(ContentValidationMessage.ALLERGY_NOT_MATCHED, ContentValidationResultLevel.ERROR,
+							"/ClinicalDocument", "0", refAl.getAllergySubstance().getDisplayName(), refAl.getAllergySubstance().getCode())
+					: new ContentValidationResult(ContentValidationMessage.NO_KNOWN_ALLERGIES_NOT_MATCHED,
+							ContentValidationResultLevel.ERROR, "/ClinicalDocument", "0");
 			results.add(rs);
 		}
 		
@@ -6,9 +6,10 @@ import org.sitenv.contentvalidator.dto.ContentValidationResult;
 import org.sitenv.contentvalidator.dto.enums.ContentValidationResultLevel;
 import org.sitenv.contentvalidator.parsers.ParserUtilities;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 
-public class CCDAAllergyConcern {
+public class CCDAAllergyConcern implements Serializable {
 	
 	private static Logger log = LoggerFactory.getLogger(CCDAAllergyConcern.class.getName());
 
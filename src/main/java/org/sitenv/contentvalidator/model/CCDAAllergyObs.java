@@ -3,14 +3,16 @@ package org.sitenv.contentvalidator.model;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.sitenv.contentvalidator.dto.ContentValidationResult;
+import org.sitenv.contentvalidator.dto.enums.ContentValidationMessage;
 import org.sitenv.contentvalidator.dto.enums.ContentValidationResultLevel;
 import org.sitenv.contentvalidator.dto.enums.SeverityLevel;
 import org.sitenv.contentvalidator.parsers.ParserUtilities;
 import org.sitenv.contentvalidator.service.ContentValidatorService;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 
-public class CCDAAllergyObs {
+public class CCDAAllergyObs implements Serializable {
 
 	private static Logger log = LoggerFactory.getLogger(CCDAAllergyObs.class.getName());
 	
@@ -53,9 +55,8 @@ public class CCDAAllergyObs {
 				
 				CCDAAllergyReaction reactionFound = subObs.getReaction(reactions.get(i), allergyObsContext, results);
 				if(reactionFound == null) {
-					String error = "The scenario contains Allergy Reaction for " + allergyObsContext +
-							" , however there is no matching Allergy Reaction (Entry Template Ids + Code) in the submitted CCDA. ";
-					ContentValidationResult rs = new ContentValidationResult(error, ContentValidationResultLevel.WARNING, "/ClinicalDocument", "0" );
+					ContentValidationResult rs = new ContentValidationResult(ContentValidationMessage.ALLERGY_REACTION_NOT_MATCHED,
+							ContentValidationResultLevel.WARNING, "/ClinicalDocument", "0", allergyObsContext);
 					results.add(rs);
 				}
 				else {
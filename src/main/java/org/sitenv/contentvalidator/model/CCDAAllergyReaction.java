@@ -3,12 +3,14 @@ package org.sitenv.contentvalidator.model;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.sitenv.contentvalidator.dto.ContentValidationResult;
+import org.sitenv.contentvalidator.dto.enums.ContentValidationMessage;
 import org.sitenv.contentvalidator.dto.enums.ContentValidationResultLevel;
 import org.sitenv.contentvalidator.parsers.ParserUtilities;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 
-public class CCDAAllergyReaction {
+public class CCDAAllergyReaction implements Serializable {
 	
 	private static Logger log = LoggerFactory.getLogger(CCDAAllergyReaction.class.getName());
 	
@@ -60,22 +62,19 @@ public class CCDAAllergyReaction {
 		    	// Do nothing.
 		    }
 		    else {
-		    	String error = "The scenario contains Allergy Reaction and Severity for " + allergyObsContext +
-				" , however there is no matching Allergy Severity within the Reaction entry's entryRelationship in the submitted CCDA. ";
-		    	ContentValidationResult rs = new ContentValidationResult(error, ContentValidationResultLevel.WARNING, "/ClinicalDocument", "0" );
+		    	ContentValidationResult rs = new ContentValidationResult(ContentValidationMessage.ALLERGY_SEVERITY_NOT_MATCHED,
+		    			ContentValidationResultLevel.WARNING, "/ClinicalDocument", "0", allergyObsContext);
 		    	results.add(rs);
 		    }
 		}
 		else if(refSeverity != null && severity == null) {
-			String error = "The scenario contains Allergy Reaction and Severity for " + allergyObsContext +
-					" , however there is no matching Allergy Severity within the Reaction entry's entryRelationship in the submitted CCDA. ";
-			ContentValidationResult rs = new ContentValidationResult(error, ContentValidationResultLevel.WARNING, "/ClinicalDocument", "0" );
+			ContentValidationResult rs = new ContentValidationResult(ContentValidationMessage.ALLERGY_SEVERITY_NOT_MATCHED,
+					ContentValidationResultLevel.WARNING, "/ClinicalDocument", "0", allergyObsContext);
 			results.add(rs);
 		}
 		else if(refSeverity == null && severity != null) {
-			String error = "The scenario does not contain Severity within the Allergy Reaction " + allergyObsContext +
-					" , however there is an Allergy Severity within the Reaction entry's entryRelationship in the submitted CCDA. ";
-			ContentValidationResult rs = new ContentValidationResult(error, ContentValidationResultLevel.WARNING, "/ClinicalDocument", "0" );
+			ContentValidationResult rs = new ContentValidationResult(ContentValidationMessage.ALLERGY_SEVERITY_NOT_REQUIRED,
+					ContentValidationResultLevel.WARNING, "/ClinicalDocument", "0", allergyObsContext);
 			results.add(rs);
 		}
 		else {
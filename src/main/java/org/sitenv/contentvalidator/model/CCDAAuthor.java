@@ -1,16 +1,18 @@
 package org.sitenv.contentvalidator.model;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Arrays;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.sitenv.contentvalidator.dto.ContentValidationResult;
+import org.sitenv.contentvalidator.dto.enums.ContentValidationMessage;
 import org.sitenv.contentvalidator.dto.enums.ContentValidationResultLevel;
 import org.sitenv.contentvalidator.parsers.CCDAConstants;
 import org.sitenv.contentvalidator.parsers.ParserUtilities;
 
-public class CCDAAuthor {
+public class CCDAAuthor implements Serializable {
 	
 	private static Logger log = LoggerFactory.getLogger(CCDAAuthor.class.getName());
 	
@@ -227,16 +229,13 @@ public class CCDAAuthor {
 							final boolean isOrgNameNonNullAndPopulated = curRefAuth.getOrgName() != null
 									&& curRefAuth.getOrgName().getValue() != null
 									&& !curRefAuth.getOrgName().getValue().isEmpty();
-							String message = "The scenario requires " + elName
-									+ " Provenance data of time" + (isOrgNameNonNullAndPopulated ? " and/or representedOrganization/name" : "") 
-									+ " which was not found in the submitted data. "
-									+ "The scenario time value is " + curRefAuth.getEffTime().getValue().getValue()
-									+ " and a submitted time value should at a minimum match the 8-digit date portion of the data."
-									+ (isOrgNameNonNullAndPopulated ? " The scenario representedOrganization/name value is " + curRefAuth.getOrgName().getValue()
-									+ " and a submitted name should match. One or all of the prior issues exist and must be resolved." : "");																						
-								
-							ContentValidationResult rs = new ContentValidationResult(message,
-									ContentValidationResultLevel.ERROR, "/ClinicalDocument", "0");
+							ContentValidationResult rs = isOrgNameNonNullAndPopulated
+									? new ContentValidationResult(ContentValidationMessage.PROVENANCE_TIME_OR_ORG_NAME_NOT_FOUND,
+											ContentValidationResultLevel.ERROR, "/ClinicalDocument", "0", elName,
+											curRefAuth.getEffTime().getValue().getValue(), curRefAuth.getOrgName().getValue())
+									: new ContentValidationResult(ContentValidationMessage.PROVENANCE_TIME_NOT_FOUND,
+											ContentValidationResultLevel.ERROR, "/ClinicalDocument", "0", elName,
+											curRefAuth.getEffTime().getValue().getValue());
 							results.add(rs);
 						} else {
 							log.info(
@@ -290,10 +289,9 @@ public class CCDAAuthor {
 			// It's invalid to fire an error if ref is less than or equal to sub auth size
 			if (refAuths != null && subAuths != null && 
 					!(refAuths.size() <= subAuths.size())) {
-				ContentValidationResult rs = new ContentValidationResult(
-						"The scenario requires a total of " + refAuths.size() + " Author Entries for " + elName
-								+ ", however the submitted data had only " + subAuths.size() + " entries.",
-						ContentValidationResultLevel.ERROR, "/ClinicalDocument", "0");
+				ContentValidationResult rs = new ContentValidationResult(ContentValidationMessage.AUTHOR_COUNT_MISMATCH,
+						ContentValidationResultLevel.ERROR, "/ClinicalDocument", "0", refAuths.size(), elName,
+						subAuths.size());
 						results.add(rs);
 			}
 			
@@ -321,69 +319,53 @@ public class CCDAAuthor {
 		return author.templateIds == null || author.templateIds.isEmpty();
     }    
     
+    /*
+     * Whether a submitted author matches the time and the organization name, probed with the match predicates
+     * so that searching builds no messages, the one error reported for a miss is built by compareAuthors
+     */
     public static boolean isProvenancePresent(CCDAEffTime effTime, CCDADataElement refOrgName, ArrayList<CCDAAuthor> subAuths) {
     	log.info("enter isProvenancePresent(...)");
     	
-    	boolean isProvenanceMatched = false;
-    	String elName = "Comparing Author Provenance Data";
-    	ArrayList<ContentValidationResult> contentValidationResults = new ArrayList<ContentValidationResult>();
-    	
     	if (subAuths == null) {
-    		log.info("subAuths is null, skipping: " + elName);
-    	} else {
-	    	for(CCDAAuthor curSubAuth : subAuths) {
-	    		// TODO: Consider adding check if appropriate and updating tests as needed
-//	    		if (isAuthorOfTypeProvenance(curSubAuth)) {
-		    		ParserUtilities.compareEffectiveTimeValue(effTime, curSubAuth.getEffTime(), contentValidationResults, elName);	    		
-		    		ParserUtilities.compareDataElementText(refOrgName, curSubAuth.getOrgName(), contentValidationResults, elName);
-		    		
-		    		if (contentValidationResults != null && contentValidationResults.size() == 0 ) {	    			
-		    			log.info(" Matched Provenance Data ");
-		    			isProvenanceMatched = true;
-		    			break;
-		    		} else {
-		    			contentValidationResults.clear();
-		    		}
-//	    		}
-	    	}
-		}
-    	
-    	return isProvenanceMatched;
+    		log.info("subAuths is null, skipping: Comparing Author Provenance Data");
+    		return false;
+    	}
+    	for (int i = 0; i < subAuths.size(); i++) {
+    		CCDAAuthor curSubAuth = subAuths.get(i);
+    		// TODO: Consider adding isAuthorOfTypeProvenance check if appropriate and updating tests as needed
+    		if (ParserUtilities.effectiveTimeValueMatches(effTime, curSubAuth.getEffTime())
+    				&& ParserUtilities.dataElementTextMatches(refOrgName, curSubAuth.getOrgName())) {
+    			log.info(" Matched Provenance Data ");
+    			return true;
+    		}
+    	}
+    	return false;
     }
     
+	/*
+	 * As isProvenancePresent, with the organization name taken from the author the submitted author links to
+	 */
 	public static boolean isProvenancePresentInReferencesWithData(CCDAEffTime effTime, CCDADataElement curRefAuthOrgName,
 			ArrayList<CCDAAuthor> subAuths, ArrayList<CCDAAuthor> authorsWithLinkedReferenceData) {
 		log.info("Checking current author(s) have a link and the linked reference (in authorsWithLinkedReferenceData) has valid data");
 		
-    	boolean isProvenanceMatched = false;
-    	String elName = "Comparing Author Provenance Data and cross-checking references";
-    	ArrayList<ContentValidationResult> contentValidationResults = new ArrayList<ContentValidationResult>();
-    	
 		if (subAuths == null) {
-			log.info("subAuths is null, skipping: " + elName);
-		} else {
-			for (CCDAAuthor curSubAuth : subAuths) {
-				ParserUtilities.compareEffectiveTimeValue(effTime, curSubAuth.getEffTime(), contentValidationResults, elName);
-				
-				CCDAAuthor curLinkedSubAuth = findLinkedSubAuth(authorsWithLinkedReferenceData, curSubAuth);
-				// We still need to run this (compareDataElementText) a 2nd time because the time and name issues (among others) are not separated
-				// TODO: We could consider separating out the issues so that we can either cache the data element result instead of re-running,
-				// or, not have to because we return individual errors up front that can't be fixed by a link (like orgName can/time cannot).
-				// However, there are complications/reasons it is combined, where the increase in logic to adhere to the reqs 
-				// (only need at least one valid match from lists in sub to scenario) may make the performance improvement moot
-				ParserUtilities.compareDataElementText(curRefAuthOrgName, curLinkedSubAuth.getOrgName(), contentValidationResults, elName);
-
-				if (contentValidationResults != null && contentValidationResults.size() == 0) {
+			log.info("subAuths is null, skipping: Comparing Author Provenance Data and cross-checking references");
+			return false;
+		}
+		CCDALinkedAuthors linkedAuthors = CCDALinkedAuthors.of(authorsWithLinkedReferenceData);
+		for (int i = 0; i < subAuths.size(); i++) {
+			CCDAAuthor curSubAuth = subAuths.get(i);
+			if (ParserUtilities.effectiveTimeValueMatches(effTime, curSubAuth.getEffTime())) {
+				CCDAAuthor curLinkedSubAuth = linkedAuthors != null ? linkedAuthors.find(curSubAuth) : null;
+				if (ParserUtilities.dataElementTextMatches(curRefAuthOrgName,
+						curLinkedSubAuth != null ? curLinkedSubAuth.getOrgName() : null)) {
 					log.info(" Matched Provenance Data ");
-					isProvenanceMatched = true;
-					break;
-				} else {
-					contentValidationResults.clear();
+					return true;
 				}
 			}
 		}
-    	
-    	return isProvenanceMatched;
+		return false;
     }
 	
 	/**
@@ -391,36 +373,18 @@ public class CCDAAuthor {
 	 */
 	public static CCDAAuthor findLinkedSubAuth(ArrayList<CCDAAuthor> authorsWithLinkedReferenceData,
 			CCDAAuthor curSubAuth) {
-		CCDAAuthor linkedSubAuth = new CCDAAuthor();
-		
-		if (curSubAuth != null && curSubAuth.getAuthorIds() != null && authorsWithLinkedReferenceData != null) {
-			for (CCDAII curSubAuthId : curSubAuth.getAuthorIds()) {
-				if (curSubAuthId.getRootValue() != null && curSubAuthId.getExtValue() != null) {
-
-					for (CCDAAuthor curLinkableAuth : authorsWithLinkedReferenceData) {
-						if (curLinkableAuth.getAuthorIds() != null) {
-							for (CCDAII curLinkableAuthId : curLinkableAuth.getAuthorIds()) {
-								
-								if (curLinkableAuthId.getRootValue() != null && curLinkableAuthId.getExtValue() != null) {
-									if (curSubAuthId.getRootValue().equals(curLinkableAuthId.getRootValue())
-											&& curSubAuthId.getExtValue().equals(curLinkableAuthId.getExtValue())) {
-										log.info("Found a linked author match. "
-												+ "Returning the linked author to compare instead of the inline one.");
-										log.info("Linked author: ");
-										curLinkableAuth.log();
-										return curLinkableAuth;
-									}
-								}
-								
-							}
-						}
-					}
-
-				}
-			}
+		CCDAAuthor linkedSubAuth = authorsWithLinkedReferenceData != null
+				? CCDALinkedAuthors.of(authorsWithLinkedReferenceData).find(curSubAuth)
+				: null;
+		if (linkedSubAuth != null) {
+			log.info("Found a linked author match. "
+					+ "Returning the linked author to compare instead of the inline one.");
+			log.info("Linked author: ");
+			linkedSubAuth.log();
+			return linkedSubAuth;
 		}
 		
-		return linkedSubAuth;
+		return new CCDAAuthor();
 	}
     
     // This does not seem to be used....
@@ -460,10 +424,8 @@ public class CCDAAuthor {
 		if (refAuthor != null && subAuthor != null) {
 			refAuthor.matches(subAuthor, results, elName);
 		} else if (refAuthor != null && subAuthor == null) {
-			ContentValidationResult rs = new ContentValidationResult(
-					"The scenario requires Provenance data for " + elName
-							+ " however the submitted file does not contain the Provenance data for " + elName + ".",
-					ContentValidationResultLevel.ERROR, "/ClinicalDocument", "0");
+			ContentValidationResult rs = new ContentValidationResult(ContentValidationMessage.PROVENANCE_MISSING,
+					ContentValidationResultLevel.ERROR, "/ClinicalDocument", "0", elName);
 			results.add(rs);
 		} else {
 			log.info("Author is null in the reference data, nothing to do");
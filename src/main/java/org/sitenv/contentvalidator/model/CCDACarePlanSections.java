@@ -1,5 +1,6 @@
 package org.sitenv.contentvalidator.model;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 
 import org.slf4j.Logger;
@@ -8,7 +9,7 @@ import org.sitenv.contentvalidator.dto.ContentValidationResult;
 import org.sitenv.contentvalidator.dto.enums.ContentValidationResultLevel;
 import org.sitenv.contentvalidator.parsers.CCDAConstants;
 
-public class CCDACarePlanSections {
+public class CCDACarePlanSections implements Serializable {
 	
 	private static Logger log = LoggerFactory.getLogger(CCDACarePlanSections.class.getName());
 	private static String INTERVENTIONS_SECTION_V3 = "Interventions Section (V3) 2.16.840.1.113883.10.20.21.2.3:2015-08-01";
@@ -1,5 +1,6 @@
 package org.sitenv.contentvalidator.model;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Map;
@@ -7,9 +8,10 @@ import java.util.Map;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.sitenv.contentvalidator.dto.ContentValidationResult;
+import org.sitenv.contentvalidator.dto.enums.ContentValidationMessage;
 import org.sitenv.contentvalidator.dto.enums.ContentValidationResultLevel;
 
-public class CCDACareTeamMemberAct {
+public class CCDACareTeamMemberAct implements Serializable {
 	
 	private static Logger log = LoggerFactory.getLogger(CCDACareTeamMemberAct.class.getName());
 
@@ -142,9 +144,8 @@ public class CCDACareTeamMemberAct {
 
 			} else {
 				// Error
-				String error = "The scenario contains Care Team Member data with name " + ent.getKey() +
-						" , however there is no matching data in the submitted CCDA. ";
-				ContentValidationResult rs = new ContentValidationResult(error, ContentValidationResultLevel.WARNING, "/ClinicalDocument", "0" );
+				ContentValidationResult rs = new ContentValidationResult(ContentValidationMessage.CARE_TEAM_MEMBER_NOT_MATCHED,
+						ContentValidationResultLevel.WARNING, "/ClinicalDocument", "0", ent.getKey());
 				results.add(rs);
 			}
 		}
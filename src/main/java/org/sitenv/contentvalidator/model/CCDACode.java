@@ -3,6 +3,7 @@ package org.sitenv.contentvalidator.model;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.sitenv.contentvalidator.dto.ContentValidationResult;
+import org.sitenv.contentvalidator.dto.enums.ContentValidationMessage;
 import org.sitenv.contentvalidator.dto.enums.ContentValidationResultLevel;
 
 import java.util.ArrayList;
@@ -34,14 +35,14 @@ public class CCDACode extends CCDADataElement {
 		}
 		else
 		{
-			String error = "The " + elementName + " : Code = " + ((code != null)?code:"None Specified") 
-				       + " , CodeSystem = " + ((codeSystem != null)?codeSystem:"None Specified")
-				       + " , NullFlavor = " + ((nullFlavor != null)?nullFlavor:"None Specified")
-				       + " do not match the submitted CCDA : code = " + ((cd.getCode() != null)?cd.getCode():"None Specified") 
-				       + " , and CodeSystem = " + ((cd.getCodeSystem() != null)?cd.getCodeSystem():"None Specified")
-				       + " , and NullFlavor = " + ((cd.getNullFlavor() != null)?cd.getNullFlavor():"None Specified");
-
-			ContentValidationResult rs = new ContentValidationResult(error, ContentValidationResultLevel.ERROR, "/ClinicalDocument", "0" );
+			ContentValidationResult rs = new ContentValidationResult(ContentValidationMessage.CODE_NULL_FLAVOR_MISMATCH,
+					ContentValidationResultLevel.ERROR, "/ClinicalDocument", "0", elementName,
+					(code != null)?code:"None Specified",
+					(codeSystem != null)?codeSystem:"None Specified",
+					(nullFlavor != null)?nullFlavor:"None Specified",
+					(cd.getCode() != null)?cd.getCode():"None Specified",
+					(cd.getCodeSystem() != null)?cd.getCodeSystem():"None Specified",
+					(cd.getNullFlavor() != null)?cd.getNullFlavor():"None Specified");
 			results.add(rs);
 			return false;
 		}
@@ -59,12 +60,12 @@ public class CCDACode extends CCDADataElement {
 		}
 		else
 		{
-			String error = "The " + elementName + " : Code = " + ((code != null)?code:"None Specified") 
-				       + " , CodeSystem = " + ((codeSystem != null)?codeSystem:"None Specified")
-				       + " do not match the submitted CCDA : code = " + ((cd.getCode() != null)?cd.getCode():"None Specified") 
-				       + " , and CodeSystem = " + ((cd.getCodeSystem() != null)?cd.getCodeSystem():"None Specified");
-
-			ContentValidationResult rs = new ContentValidationResult(error, ContentValidationResultLevel.ERROR, "/ClinicalDocument", "0" );
+			ContentValidationResult rs = new ContentValidationResult(ContentValidationMessage.CODE_SYSTEM_MISMATCH,
+					ContentValidationResultLevel.ERROR, "/ClinicalDocument", "0", elementName,
+					(code != null)?code:"None Specified",
+					(codeSystem != null)?codeSystem:"None Specified",
+					(cd.getCode() != null)?cd.getCode():"None Specified",
+					(cd.getCodeSystem() != null)?cd.getCodeSystem():"None Specified");
 			results.add(rs);
 			return false;
 		}
@@ -79,10 +80,10 @@ public class CCDACode extends CCDADataElement {
 		}
 		else 
 		{
-			String error = "The " + elementName + " : Code = " + ((code != null)?code:"None Specified") 
-				       + " does not match the submitted CCDA : code = " + ((cd.getCode() != null)?cd.getCode():"None Specified"); 
-				       
-			ContentValidationResult rs = new ContentValidationResult(error, ContentValidationResultLevel.ERROR, "/ClinicalDocument", "0" );
+			ContentValidationResult rs = new ContentValidationResult(ContentValidationMessage.CODE_MISMATCH,
+					ContentValidationResultLevel.ERROR, "/ClinicalDocument", "0", elementName,
+					(code != null)?code:"None Specified",
+					(cd.getCode() != null)?cd.getCode():"None Specified");
 			results.add(rs);
 			return false;
 			
@@ -0,0 +1,75 @@
+package org.sitenv.contentvalidator.model;
+
+import java.util.HashSet;
+
+import org.sitenv.contentvalidator.parsers.ParserUtilities;
+
+/*
+ * The codes of a group of coded elements, their own codes and their translations alike, keyed by code and code system
+ * so that finding a code among them is one lookup instead of a scan over every element and translation.
+ * Codes and code systems are compared ignoring case, as CCDACode.isCodePresent compares them.
+ */
+public class CCDACodeIndex {
+
+	private final HashSet<String> keys = new HashSet<String>();
+
+	/*
+	 * Adds the code and its translations
+	 */
+	public void add(CCDACode code) {
+		if (code == null) {
+			return;
+		}
+		addKey(code);
+		if (code.getTranslations() != null) {
+			for (CCDACode trans : code.getTranslations()) {
+				addKey(trans);
+			}
+		}
+	}
+
+	/*
+	 * Whether the code is one of the indexed codes or translations
+	 */
+	public boolean contains(CCDACode code) {
+		String key = key(code);
+		return key != null && keys.contains(key);
+	}
+
+	/*
+	 * Whether the code or one of its translations is one of the indexed codes or translations, which is when
+	 * ParserUtilities.compareCodesAndTranlations finds it for one of the indexed codes
+	 */
+	public boolean containsCodeOrTranslation(CCDACode code) {
+		if (code == null) {
+			return false;
+		}
+		if (contains(code)) {
+			return true;
+		}
+		if (code.getTranslations() != null) {
+			for (CCDACode trans : code.getTranslations()) {
+				if (contains(trans)) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	private void addKey(CCDACode code) {
+		String key = key(code);
+		if (key != null) {
+			keys.add(key);
+		}
+	}
+
+	// The length of the code keeps the boundary between the code and the code system, whatever characters they hold
+	private static String key(CCDACode code) {
+		if (code == null || code.getCode() == null || code.getCodeSystem() == null) {
+			return null;
+		}
+		return code.getCode().length() + ":" + ParserUtilities.foldCase(code.getCode())
+				+ ParserUtilities.foldCase(code.getCodeSystem());
+	}
+}
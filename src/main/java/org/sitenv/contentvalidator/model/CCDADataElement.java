@@ -2,9 +2,10 @@ package org.sitenv.contentvalidator.model;
 
 import org.sitenv.contentvalidator.dto.ContentValidationResult;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 
-public class CCDADataElement {
+public class CCDADataElement implements Serializable {
 
 	private String  value;
 	private Integer lineNumber;
@@ -1,5 +1,6 @@
 package org.sitenv.contentvalidator.model;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Map;
@@ -10,7 +11,7 @@ import org.sitenv.contentvalidator.dto.ContentValidationResult;
 import org.sitenv.contentvalidator.dto.enums.ContentValidationResultLevel;
 import org.sitenv.contentvalidator.parsers.ParserUtilities;
 
-public class CCDADischargeMedication {
+public class CCDADischargeMedication implements Serializable {
 	
 	private static Logger log = LoggerFactory.getLogger(CCDAMedication.class.getName());
 		
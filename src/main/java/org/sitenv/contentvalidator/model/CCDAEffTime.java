@@ -3,13 +3,15 @@ package org.sitenv.contentvalidator.model;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.sitenv.contentvalidator.dto.ContentValidationResult;
+import org.sitenv.contentvalidator.dto.enums.ContentValidationMessage;
 import org.sitenv.contentvalidator.dto.enums.ContentValidationResultLevel;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
-public class CCDAEffTime {
+public class CCDAEffTime implements Serializable {
 	
 	private static Logger log = LoggerFactory.getLogger(CCDAEffTime.class.getName());
 
@@ -21,6 +23,14 @@ public class CCDAEffTime {
 	private Boolean         valuePresent;
 	private String 			singleAdministration;
 	
+	// The values of low, high and value parsed when they are set, parsed again should the element's value change
+	private transient HL7Timestamp lowTime;
+	private transient HL7Timestamp highTime;
+	private transient HL7Timestamp valueTime;
+	
+	// Only used to render the invalid date message, which has always shown the matcher rather than the date
+	private static final Pattern BASE_DATE_PATTERN = Pattern.compile("^[0-9]{8}$");
+	
 	public Boolean hasValidData() {
 		
 		if( (lowPresent || highPresent || valuePresent) )
@@ -31,29 +41,18 @@ public class CCDAEffTime {
 	
 	public void compare(CCDAEffTime subTime, ArrayList<ContentValidationResult> results, String elementName) {
 		
-		String refTime;
-		String submittedtime;
 		log.info(" Comparing Effective Times for " + elementName);
 		
 		// Compare low time values
 		if(lowPresent && subTime.getLowPresent() ) {
 
-			if(low.getValue().length() >= 8)
-				refTime = low.getValue().substring(0,8);
-			else 
-				refTime = low.getValue();
-			
-			if(subTime.getLow().getValue().length() >= 8)
-				submittedtime = subTime.getLow().getValue().substring(0,8);
-			else 
-				submittedtime = subTime.getLow().getValue();
-			
-			if(refTime.equalsIgnoreCase(submittedtime) ) {
+			if(getLowTime().datePrefixMatches(subTime.getLowTime())) {
 				log.info("Low Time element matches");
 			}
 			else {
-				String error = "The " + elementName + " (Effective Time: low time value) is " + low.getValue() + " , but submitted CCDA (Effective Time: low time value) is " + subTime.getLow().getValue() + " which does not match ";
-				ContentValidationResult rs = new ContentValidationResult(error, ContentValidationResultLevel.ERROR, "/ClinicalDocument", "0" );
+				ContentValidationResult rs = new ContentValidationResult(ContentValidationMessage.LOW_TIME_MISMATCH,
+						ContentValidationResultLevel.ERROR, "/ClinicalDocument", "0", elementName, low.getValue(),
+						subTime.getLow().getValue());
 				results.add(rs);
 			}
 			
@@ -61,8 +60,8 @@ public class CCDAEffTime {
 		}
 		else if(lowPresent && !subTime.getLowPresent()) {
 			
-			String error = "The " + elementName + " (low time value) is required, but submitted CCDA does not contain the (low time value) for " + elementName;
-			ContentValidationResult rs = new ContentValidationResult(error, ContentValidationResultLevel.ERROR, "/ClinicalDocument", "0" );
+			ContentValidationResult rs = new ContentValidationResult(ContentValidationMessage.LOW_TIME_MISSING,
+					ContentValidationResultLevel.ERROR, "/ClinicalDocument", "0", elementName);
 			results.add(rs);
 		}
 		/* Removed for ticket SITE-3611: else if(!lowPresent && subTime.getLowPresent()) {
@@ -78,30 +77,21 @@ public class CCDAEffTime {
 		// Compare High Times values
 		if(highPresent && subTime.getHighPresent() ) {
 
-			if(high.getValue().length() >= 8)
-				refTime = high.getValue().substring(0,8);
-			else 
-				refTime = high.getValue();
-			
-			if(subTime.getHigh().getValue().length() >= 8)
-				submittedtime = subTime.getHigh().getValue().substring(0,8);
-			else 
-				submittedtime = subTime.getHigh().getValue();
-			
-			if(refTime.equalsIgnoreCase(submittedtime) ) {
+			if(getHighTime().datePrefixMatches(subTime.getHighTime())) {
 				log.info("High Time element matches");
 			}
 			else {
-				String error = "The " + elementName + " (Effective Time: High time value) is " + high.getValue() + " , but submitted CCDA (Effective Time: High time value) is " + subTime.getHigh().getValue() + " which does not match ";
-				ContentValidationResult rs = new ContentValidationResult(error, ContentValidationResultLevel.ERROR, "/ClinicalDocument", "0" );
+				ContentValidationResult rs = new ContentValidationResult(ContentValidationMessage.HIGH_TIME_MISMATCH,
+						ContentValidationResultLevel.ERROR, "/ClinicalDocument", "0", elementName, high.getValue(),
+						subTime.getHigh().getValue());
 				results.add(rs);
 			}
 						
 		}
 		else if(highPresent && !subTime.getHighPresent()) {
 			
-			String error = "The " + elementName + " (high time value) is required, but submitted CCDA does not contain the (high time value) for " + elementName;
-			ContentValidationResult rs = new ContentValidationResult(error, ContentValidationResultLevel.ERROR, "/ClinicalDocument", "0" );
+			ContentValidationResult rs = new ContentValidationResult(ContentValidationMessage.HIGH_TIME_MISSING,
+					ContentValidationResultLevel.ERROR, "/ClinicalDocument", "0", elementName);
 			results.add(rs);
 		}
 		/* Removed for ticket SITE-3611: else if(!highPresent && subTime.getHighPresent()) {
@@ -118,49 +108,32 @@ public class CCDAEffTime {
 	
 	public void compareValueElement(CCDAEffTime subTime, ArrayList<ContentValidationResult> results, String elementName) {
 		
-		String refTime;
-		String submittedtime;
 		log.info(" Comparing Effective Times for " + elementName);
 			 
 		// Compare Time value element
 		if(valuePresent && subTime.getValuePresent() ) {
 
-			if(value.getValue().length() >= 8)
-				refTime = value.getValue().substring(0,8);
-			else 
-				refTime = value.getValue();
-
-			if(subTime.getValue().getValue().length() >= 8)
-				submittedtime = subTime.getValue().getValue().substring(0,8);
-			else 
-				submittedtime = subTime.getValue().getValue();
-
-			if(refTime.equalsIgnoreCase(submittedtime) ) {
+			if(getValueTime().datePrefixMatches(subTime.getValueTime())) {
 				log.info("Value Time element matches");
 			}
 			else {
-				String error = "The " + elementName + " ( Time Value ) is : " + value.getValue()
-						+ " , but submitted CCDA ( Time Value ) is : " + subTime.getValue().getValue()
-						+ " which does not match ";
-				ContentValidationResult rs = new ContentValidationResult(error, ContentValidationResultLevel.ERROR, "/ClinicalDocument", "0" );
+				ContentValidationResult rs = new ContentValidationResult(ContentValidationMessage.VALUE_TIME_MISMATCH,
+						ContentValidationResultLevel.ERROR, "/ClinicalDocument", "0", elementName, value.getValue(),
+						subTime.getValue().getValue());
 				results.add(rs);
 			}
 
 		}
 		else if(valuePresent && !subTime.getValuePresent()) {
 
-			String error = "The " + elementName
-					+ " (value time element ) is required, but submitted CCDA does not contain the (value time element) for "
-					+ elementName;
-			ContentValidationResult rs = new ContentValidationResult(error, ContentValidationResultLevel.ERROR, "/ClinicalDocument", "0" );
+			ContentValidationResult rs = new ContentValidationResult(ContentValidationMessage.VALUE_TIME_MISSING,
+					ContentValidationResultLevel.ERROR, "/ClinicalDocument", "0", elementName);
 			results.add(rs);
 		}
 		else if(!valuePresent && subTime.getValuePresent()) {
 
-			String error = "The " + elementName
-					+ " (value time element) is not required, but submitted CCDA contains the (value time element) for "
-					+ elementName;
-			ContentValidationResult rs = new ContentValidationResult(error, ContentValidationResultLevel.ERROR, "/ClinicalDocument", "0" );
+			ContentValidationResult rs = new ContentValidationResult(ContentValidationMessage.VALUE_TIME_NOT_REQUIRED,
+					ContentValidationResultLevel.ERROR, "/ClinicalDocument", "0", elementName);
 			results.add(rs);
 		}
 		else {
@@ -168,6 +141,16 @@ public class CCDAEffTime {
 		}
 	}
 	
+	/*
+	 * Whether compareValueElement would report nothing, without building its messages
+	 */
+	public boolean valueElementMatches(CCDAEffTime subTime) {
+		if (valuePresent && subTime.getValuePresent()) {
+			return getValueTime().datePrefixMatches(subTime.getValueTime());
+		}
+		return !valuePresent && !subTime.getValuePresent();
+	}
+	
 	public void compareValueElementWithExactMatchFullPrecision(CCDAEffTime subTime, ArrayList<ContentValidationResult> results, String elementName) {
 		
 		String refTime;
@@ -185,22 +168,17 @@ public class CCDAEffTime {
 				log.info("Value Time element matches");
 			}
 			else {
-				String error = "The " + elementName + " (Effective Time: Value ) is " + value.getValue()
-						+ " , but submitted CCDA (Effective Time: Value ) is " + subTime.getValue().getValue()
-						+ " which does not match ";
-				ContentValidationResult rs = new ContentValidationResult(error, ContentValidationResultLevel.ERROR,
-						"/ClinicalDocument", "0");
+				ContentValidationResult rs = new ContentValidationResult(ContentValidationMessage.VALUE_TIME_EXACT_MISMATCH,
+						ContentValidationResultLevel.ERROR, "/ClinicalDocument", "0", elementName, value.getValue(),
+						subTime.getValue().getValue());
 				results.add(rs);
 			}
 
 		}
 		else if(valuePresent && !subTime.getValuePresent()) {
 
-			String error = "The " + elementName
-					+ " (value time element ) is required, but submitted CCDA does not contain the (value time element) for "
-					+ elementName;
-			ContentValidationResult rs = new ContentValidationResult(error, ContentValidationResultLevel.ERROR,
-					"/ClinicalDocument", "0");
+			ContentValidationResult rs = new ContentValidationResult(ContentValidationMessage.VALUE_TIME_MISSING,
+					ContentValidationResultLevel.ERROR, "/ClinicalDocument", "0", elementName);
 			results.add(rs);
 		}
 		else if(!valuePresent && subTime.getValuePresent()) {
@@ -214,56 +192,44 @@ public class CCDAEffTime {
 	
 	public void validateValueLengthDateTimeAndTimezoneDependingOnPrecision(ArrayList<ContentValidationResult> results,
 			String localElName, String parentElName, int index, boolean isSub) {
-		System.out.println("!!: ENTER validateValueLengthDateTimeAndTimezoneDependingOnPrecision");				
+		log.debug("Entering validateValueLengthDateTimeAndTimezoneDependingOnPrecision");				
 					
 		if (valuePresent) {
 			log.info(" Validating Times for " + localElName);
 			final String timeDocType = isSub ? "submitted" : "scenario";
-			final String errorPrefix = "The " + timeDocType + " Provenance (Time: Value) ";
 			final boolean isDisplayIndex = index > -1 && !parentElName.equalsIgnoreCase("Document Level"); 
 
 			// validate date only in first 8 chars so we can have more specific errors returned
 			// This validation fails for letters, symbols, or being too short. Too long ends up in the next validation.
 			// instead of one big RegEx with an or condition and one mixed less-specific error
-			String dateOnly8CharTime;
-			if (value.getValue().length() > 8) {
-				log.info("!!: time > 8: " + value.getValue() != null ? value.getValue() : "null");
-				// we only have > 8 characters, store only the 1st 8
-				dateOnly8CharTime = value.getValue().substring(0, 8);
-			} else {
-				log.info("!!: time < 9: " + value.getValue() != null ? value.getValue() : "null");
-				// we only have 8 characters, store them all
-				dateOnly8CharTime = value.getValue();
-			}			
-			System.out.println("!!: stored dateOnly8CharTime: " + dateOnly8CharTime);
-			// validate dateOnly8CharTime with RegEx for 1st 8 chars
+			HL7Timestamp time = getValueTime();
+			// validate the 1st 8 chars as the RegEx below would
 //			^[0-9]{8}$
 //			^ asserts position at start of a line
 //			Match a single character present in the list below [0-9]
 //			{8} matches the previous token exactly 8 times
 //			0-9 matches a single character in the range between 0 (index 48) and 9 (index 57) (case sensitive)
 //			$ asserts position at the end of a line			
-			Pattern baseDatePattern = Pattern.compile("^[0-9]{8}$");
-			Matcher baseDateMatcher = baseDatePattern.matcher(dateOnly8CharTime);
-			if (baseDateMatcher.find()) {
+			if (time.hasEightDigitDate()) {
 				log.info("We have a validly formatted base 8 character date");
 			} else {
+				// we only have > 8 characters, keep only the 1st 8, otherwise keep them all
+				String dateOnly8CharTime = time.isLongerThanDate() ? value.getValue().substring(0, 8) : value.getValue();
+				Matcher baseDateMatcher = BASE_DATE_PATTERN.matcher(dateOnly8CharTime);
 				log.info("!! The date portion of the " + timeDocType + " time element value " + dateOnly8CharTime + " is invalid data as per RegEx");
-				String error = errorPrefix + value.getValue() + " at " + parentElName + (isDisplayIndex ? " index " + (index + 1) : "")
-						+ ", is invalid. Please ensure the value starts with an 8-digit date. "
-						+ "The invalid date portion of the value is " + baseDateMatcher + ".";
-
-				ContentValidationResult rs = new ContentValidationResult(error,
-						ContentValidationResultLevel.ERROR, "/ClinicalDocument", "0");
+				ContentValidationResult rs = isDisplayIndex
+						? new ContentValidationResult(ContentValidationMessage.PROVENANCE_TIME_DATE_INVALID_AT_INDEX,
+								ContentValidationResultLevel.ERROR, "/ClinicalDocument", "0", timeDocType, value.getValue(),
+								parentElName, index + 1, String.valueOf(baseDateMatcher))
+						: new ContentValidationResult(ContentValidationMessage.PROVENANCE_TIME_DATE_INVALID,
+								ContentValidationResultLevel.ERROR, "/ClinicalDocument", "0", timeDocType, value.getValue(),
+								parentElName, String.valueOf(baseDateMatcher));
 				results.add(rs);						
 			}
 						
 			// validate time and time-zone portions specifically
-			if (value.getValue().length() > 8) {
-				log.info("!!: time > 8 in time and time-zone validation: " + value.getValue() != null ? value.getValue() : "null");
-				String timeAndTimeZone = value.getValue().substring(8);
-				System.out.println("!!: stored timeAndTimeZone: " + timeAndTimeZone);
-				// validate timeAndTimeZone with RegEx for chars after first 8
+			if (time.isLongerThanDate()) {
+				// validate the chars after the first 8 as the RegEx below would
 				// Note: If there is an issue where the base date > 8 chars, that error will show up in the time portion.
 				// This is a perfectly reasonable result as the time zone is supposed to start after 8 chars and if it does not it's invalid
 //				^([0-9]{4}|[0-9]{6})(-|\+)([0-9]{4})$
@@ -287,18 +253,18 @@ public class CCDAEffTime {
 //				{4} matches the previous token exactly 4 times
 //				0-9 matches a single character in the range between 0 (index 48) and 9 (index 57) (case sensitive)
 //				$ asserts position at the end of a line
-				Pattern timeAndTimeZoneDatePattern = Pattern.compile("^([0-9]{4}|[0-9]{6})(-|\\+)([0-9]{4})$");
-				Matcher timeAndTimeZoneDateMatcher = timeAndTimeZoneDatePattern.matcher(timeAndTimeZone);
-				if (timeAndTimeZoneDateMatcher.find()) {
+				if (time.hasWellFormedTimeAndTimezone()) {
 					log.info("We have a validly formatted base 8 character date");
 				} else {
+					String timeAndTimeZone = value.getValue().substring(8);
 					log.info("!! The time and time-zone portion of the " + timeDocType + " time element value " + timeAndTimeZone + " is invalid data as per RegEx");
-					String error = errorPrefix + value.getValue() + " at " + parentElName + (isDisplayIndex ? " index " + (index + 1) : "") 
-							+ " is invalid. Please ensure the time and time-zone starts with a 4 or 6-digit time, "
-							+ "followed by a '+' or a '-', and finally, a 4-digit time-zone. "
-							+ "The invalid time and time-zone portion of the value is " + timeAndTimeZone + ".";
-					ContentValidationResult rs = new ContentValidationResult(error,
-							ContentValidationResultLevel.ERROR, "/ClinicalDocument", "0");
+					ContentValidationResult rs = isDisplayIndex
+							? new ContentValidationResult(ContentValidationMessage.PROVENANCE_TIME_ZONE_INVALID_AT_INDEX,
+									ContentValidationResultLevel.ERROR, "/ClinicalDocument", "0", timeDocType, value.getValue(),
+									parentElName, index + 1, timeAndTimeZone)
+							: new ContentValidationResult(ContentValidationMessage.PROVENANCE_TIME_ZONE_INVALID,
+									ContentValidationResultLevel.ERROR, "/ClinicalDocument", "0", timeDocType, value.getValue(),
+									parentElName, timeAndTimeZone);
 					results.add(rs);
 				}				
 			}
@@ -307,6 +273,27 @@ public class CCDAEffTime {
 		
 	}
 	
+	public HL7Timestamp getLowTime() {
+		if (lowTime == null || lowTime.getValue() != low.getValue()) {
+			lowTime = HL7Timestamp.parse(low.getValue());
+		}
+		return lowTime;
+	}
+	
+	public HL7Timestamp getHighTime() {
+		if (highTime == null || highTime.getValue() != high.getValue()) {
+			highTime = HL7Timestamp.parse(high.getValue());
+		}
+		return highTime;
+	}
+	
+	public HL7Timestamp getValueTime() {
+		if (valueTime == null || valueTime.getValue() != value.getValue()) {
+			valueTime = HL7Timestamp.parse(value.getValue());
+		}
+		return valueTime;
+	}
+	
 	public void log() {
 		
 		log.info("Eff Time Low = " + (lowPresent ? low.getValue() : "No Low"));
@@ -333,6 +320,7 @@ public class CCDAEffTime {
 		{
 			this.low = l;
 			lowPresent = true;
+			lowTime = HL7Timestamp.parse(l.getValue());
 		}
 	}
 
@@ -350,6 +338,7 @@ public class CCDAEffTime {
 		{
 			this.high = h;
 			highPresent = true;
+			highTime = HL7Timestamp.parse(h.getValue());
 		}
 	}
 
@@ -367,6 +356,7 @@ public class CCDAEffTime {
 		{
 			this.value = v;
 			valuePresent = true;
+			valueTime = HL7Timestamp.parse(v.getValue());
 		}
 	}
 
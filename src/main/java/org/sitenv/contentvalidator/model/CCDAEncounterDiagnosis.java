@@ -3,9 +3,10 @@ package org.sitenv.contentvalidator.model;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 
-public class CCDAEncounterDiagnosis {
+public class CCDAEncounterDiagnosis implements Serializable {
 	
 	private static Logger log = LoggerFactory.getLogger(CCDAEncounterDiagnosis.class.getName());
 	
@@ -3,7 +3,9 @@ package org.sitenv.contentvalidator.model;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-public class CCDAFrequency {
+import java.io.Serializable;
+
+public class CCDAFrequency implements Serializable {
 	
 	private static Logger log = LoggerFactory.getLogger(CCDAFrequency.class.getName());
 	
@@ -3,10 +3,11 @@ package org.sitenv.contentvalidator.model;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.HashMap;
 
-public class CCDAGoals {
+public class CCDAGoals implements Serializable {
 
 	private static Logger log = LoggerFactory.getLogger(CCDAGoals.class.getName());
 	
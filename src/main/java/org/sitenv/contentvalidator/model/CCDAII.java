@@ -4,6 +4,7 @@ import java.util.ArrayList;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.sitenv.contentvalidator.parsers.ParserUtilities;
 
 public class CCDAII extends CCDADataElement{
 	
@@ -12,6 +13,9 @@ public class CCDAII extends CCDADataElement{
 	private String  rootValue;
 	private String  extValue;
 	
+	// The identity key, worked out on first use and again after a setter changed the values
+	private transient String identityKey;
+	
 	public CCDAII() {
 		
 	}
@@ -27,32 +31,36 @@ public class CCDAII extends CCDADataElement{
 	
 	public Boolean isPartOf(ArrayList<CCDAII> list) {
 		
+		String key = getIdentityKey();
+		if (key == null) {
+			return false;
+		}
 		for( CCDAII item : list) {
-			
-			//this.log();
-			//item.log();
-			
-			// Both Root and Extensions are present.
-			if( (rootValue != null) && (item.getRootValue() != null) && 
-				(extValue != null)  && (item.getExtValue() != null) && 
-				(rootValue.equalsIgnoreCase(item.getRootValue())) && 
-				(extValue.equalsIgnoreCase(item.getExtValue()))) {
-				return true;
-			}
-			// Only Root value are present
-			else if( (rootValue != null) && (item.getRootValue() != null) && 
-					(extValue == null)  && (item.getExtValue() == null) && 
-					(rootValue.equalsIgnoreCase(item.getRootValue()))) {
+			if (key.equals(item.getIdentityKey())) {
 				return true;
 			}
-			
-			// continue through the list
 		}
 		
 		//if we never hit the postive case
 		return false;
 	}
 	
+	/*
+	 * The root and the extension in one string, so that identifiers can be kept in hash sets. Two identifiers have
+	 * the same key exactly when isPartOf matches them: both roots are present and equal ignoring case, and either
+	 * both extensions are absent or both are present and equal ignoring case. Without a root there is no key.
+	 */
+	public String getIdentityKey() {
+		String key = identityKey;
+		if (key == null && rootValue != null) {
+			String root = ParserUtilities.foldCase(rootValue);
+			// The length of the root keeps it apart from the extension, and an empty extension apart from none
+			key = root.length() + ":" + root + ((extValue != null) ? "^" + ParserUtilities.foldCase(extValue) : "");
+			identityKey = key;
+		}
+		return key;
+	}
+	
 	public void log() { 
 		
 		log.info(" *** Intance Identifier *** ");
@@ -68,6 +76,7 @@ public class CCDAII extends CCDADataElement{
 
 	public void setRootValue(String rootValue) {
 		this.rootValue = rootValue;
+		this.identityKey = null;
 	}
 
 	public String getExtValue() {
@@ -76,6 +85,7 @@ public class CCDAII extends CCDADataElement{
 
 	public void setExtValue(String extValue) {
 		this.extValue = extValue;
+		this.identityKey = null;
 	}
 
 }
@@ -3,14 +3,16 @@ package org.sitenv.contentvalidator.model;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.sitenv.contentvalidator.dto.ContentValidationResult;
+import org.sitenv.contentvalidator.dto.enums.ContentValidationMessage;
 import org.sitenv.contentvalidator.dto.enums.ContentValidationResultLevel;
 import org.sitenv.contentvalidator.parsers.ParserUtilities;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Map;
 
-public class CCDALabResultObs {
+public class CCDALabResultObs implements Serializable {
 
 	private static Logger log = LoggerFactory.getLogger(CCDALabResultObs.class.getName());
 	
@@ -52,9 +54,8 @@ public class CCDALabResultObs {
 
 			} else {
 				// Error
-				String error = "The scenario contains Lab Result data with code " + ent.getKey() +
-						" , however there is no matching data in the submitted CCDA. ";
-				ContentValidationResult rs = new ContentValidationResult(error, ContentValidationResultLevel.ERROR, "/ClinicalDocument", "0" );
+				ContentValidationResult rs = new ContentValidationResult(ContentValidationMessage.CODED_DATA_NOT_MATCHED,
+						ContentValidationResultLevel.ERROR, "/ClinicalDocument", "0", "Lab Result data", ent.getKey());
 				results.add(rs);
 			}
 		}
@@ -4,10 +4,11 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.sitenv.contentvalidator.parsers.ParserUtilities;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.HashMap;
 
-public class CCDALabResultOrg {
+public class CCDALabResultOrg implements Serializable {
 
 	private static Logger log = LoggerFactory.getLogger(CCDALabResultOrg.class.getName());
 	
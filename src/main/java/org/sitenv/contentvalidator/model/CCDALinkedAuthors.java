@@ -0,0 +1,79 @@
+package org.sitenv.contentvalidator.model;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/*
+ * The authors of a document with linked reference data, indexed by their ids (root and extension) so that resolving
+ * the linked author of a submitted author costs a lookup per id of that author instead of a scan over every id of
+ * every linked author. The index is built on the first lookup and again whenever the list has changed since.
+ */
+public class CCDALinkedAuthors extends ArrayList<CCDAAuthor> {
+
+	// Not serialized, a list read back from a snapshot indexes itself again on the first lookup
+	private transient volatile Index index;
+
+	public CCDALinkedAuthors() {
+	}
+
+	public CCDALinkedAuthors(Collection<CCDAAuthor> authors) {
+		super(authors);
+	}
+
+	/*
+	 * The list itself when it is already indexed, otherwise an indexed copy of it
+	 */
+	public static CCDALinkedAuthors of(ArrayList<CCDAAuthor> authors) {
+		if (authors == null || authors instanceof CCDALinkedAuthors) {
+			return (CCDALinkedAuthors) authors;
+		}
+		return new CCDALinkedAuthors(authors);
+	}
+
+	/*
+	 * The first author in the list holding the first id of the submitted author that any of them holds, or null.
+	 * Only ids with both a root and an extension link authors.
+	 */
+	public CCDAAuthor find(CCDAAuthor subAuthor) {
+		if (subAuthor == null || subAuthor.getAuthorIds() == null) {
+			return null;
+		}
+		Index current = index;
+		if (current == null || current.modCount != modCount) {
+			current = new Index(this, modCount);
+			index = current;
+		}
+		for (CCDAII subAuthorId : subAuthor.getAuthorIds()) {
+			if (subAuthorId.getRootValue() != null && subAuthorId.getExtValue() != null) {
+				Map<String, CCDAAuthor> byExt = current.byRoot.get(subAuthorId.getRootValue());
+				CCDAAuthor linked = byExt != null ? byExt.get(subAuthorId.getExtValue()) : null;
+				if (linked != null) {
+					return linked;
+				}
+			}
+		}
+		return null;
+	}
+
+	private static final class Index {
+		private final int modCount;
+		private final Map<String, Map<String, CCDAAuthor>> byRoot = new HashMap<>();
+
+		Index(ArrayList<CCDAAuthor> authors, int modCount) {
+			this.modCount = modCount;
+			for (CCDAAuthor author : authors) {
+				if (author.getAuthorIds() == null) {
+					continue;
+				}
+				for (CCDAII id : author.getAuthorIds()) {
+					if (id.getRootValue() != null && id.getExtValue() != null) {
+						// The first author holding an id keeps it, as the scan in list order found it first
+						byRoot.computeIfAbsent(id.getRootValue(), root -> new HashMap<>()).putIfAbsent(id.getExtValue(), author);
+					}
+				}
+			}
+		}
+	}
+}
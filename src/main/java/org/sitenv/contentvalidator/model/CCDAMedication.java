@@ -6,11 +6,12 @@ import org.sitenv.contentvalidator.dto.ContentValidationResult;
 import org.sitenv.contentvalidator.dto.enums.ContentValidationResultLevel;
 import org.sitenv.contentvalidator.parsers.ParserUtilities;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Map;
 
-public class CCDAMedication {
+public class CCDAMedication implements Serializable {
 	
 	private static Logger log = LoggerFactory.getLogger(CCDAMedication.class.getName());
 	
@@ -3,14 +3,16 @@ package org.sitenv.contentvalidator.model;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.sitenv.contentvalidator.dto.ContentValidationResult;
+import org.sitenv.contentvalidator.dto.enums.ContentValidationMessage;
 import org.sitenv.contentvalidator.dto.enums.ContentValidationResultLevel;
 import org.sitenv.contentvalidator.parsers.ParserUtilities;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Map;
 
-public class CCDAMedicationActivity {
+public class CCDAMedicationActivity implements Serializable {
 
 	private static Logger log = LoggerFactory.getLogger(CCDAMedicationActivity.class.getName());
 	
@@ -42,9 +44,8 @@ public class CCDAMedicationActivity {
 
 			} else {
 				// Error
-				String error = "The scenario contains Medication Activity data for Medication with code " + ent.getKey() +
-						" , however there is no matching data in the submitted CCDA. ";
-				ContentValidationResult rs = new ContentValidationResult(error, ContentValidationResultLevel.ERROR, "/ClinicalDocument", "0" );
+				ContentValidationResult rs = new ContentValidationResult(ContentValidationMessage.CODED_DATA_NOT_MATCHED,
+						ContentValidationResultLevel.ERROR, "/ClinicalDocument", "0", "Medication Activity data for Medication", ent.getKey());
 				results.add(rs);
 			}
 		}
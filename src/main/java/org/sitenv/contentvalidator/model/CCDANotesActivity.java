@@ -1,5 +1,6 @@
 package org.sitenv.contentvalidator.model;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
@@ -8,10 +9,11 @@ import java.util.Map;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.sitenv.contentvalidator.dto.ContentValidationResult;
+import org.sitenv.contentvalidator.dto.enums.ContentValidationMessage;
 import org.sitenv.contentvalidator.dto.enums.ContentValidationResultLevel;
 import org.sitenv.contentvalidator.parsers.ParserUtilities;
 
-public class CCDANotesActivity {
+public class CCDANotesActivity implements Serializable {
 
 	private static Logger log = LoggerFactory.getLogger(CCDANotesActivity.class.getName());
 	
@@ -46,9 +48,8 @@ public class CCDANotesActivity {
 						submittedAuthorsWithLinkedReferenceData);
 			} else {
 				// Error
-				String error = "The scenario contains Notes data with code " + ent.getKey() +
-						" , however there is no matching data in the submitted CCDA. ";
-				ContentValidationResult rs = new ContentValidationResult(error, ContentValidationResultLevel.ERROR, "/ClinicalDocument", "0" );
+				ContentValidationResult rs = new ContentValidationResult(ContentValidationMessage.CODED_DATA_NOT_MATCHED,
+						ContentValidationResultLevel.ERROR, "/ClinicalDocument", "0", "Notes data", ent.getKey());
 				results.add(rs);
 			}
 			
@@ -192,10 +193,8 @@ public class CCDANotesActivity {
 				subNotes.get(ent.getKey()).compare(ent.getValue(), results, context, true);
 			} else {
 				// Fire Error
-				String error = "The scenario contains Notes Activity Entry data with code " + ent.getKey()
-						+ " , however there is no matching data in the submitted CCDA. ";
-				ContentValidationResult rs = new ContentValidationResult(error, ContentValidationResultLevel.ERROR,
-						"/ClinicalDocument", "0");
+				ContentValidationResult rs = new ContentValidationResult(ContentValidationMessage.CODED_DATA_NOT_MATCHED,
+						ContentValidationResultLevel.ERROR, "/ClinicalDocument", "0", "Notes Activity Entry data", ent.getKey());
 				results.add(rs);
 			}
 			
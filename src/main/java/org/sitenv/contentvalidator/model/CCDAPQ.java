@@ -5,7 +5,9 @@ import java.util.ArrayList;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.sitenv.contentvalidator.dto.ContentValidationResult;
+import org.sitenv.contentvalidator.dto.enums.ContentValidationMessage;
 import org.sitenv.contentvalidator.dto.enums.ContentValidationResultLevel;
+import org.sitenv.contentvalidator.parsers.ParserUtilities;
 
 public class CCDAPQ extends CCDADataElement {
 	
@@ -16,31 +18,29 @@ public class CCDAPQ extends CCDADataElement {
 	private String  units;
 	private String  xsiType;
 	
+	// The value and units parsed whenever they are set, parsed again should they be read back from a snapshot
+	private transient Quantity quantity;
+	
 	public Boolean compare(CCDAPQ subValue, ArrayList<ContentValidationResult> results, String elementName) {
 		
-		Boolean exception = false;
-		
 		Boolean valueComp = false;
 		Boolean unitComp = false;
 		
-		//Compare Values by converting to doubles.
+		//Compare Values as the doubles they were parsed to.
+		Quantity refQuantity = getQuantity();
+		Quantity subQuantity = subValue.getQuantity();
 		if( (value != null) && (subValue.getValue() != null) ){
 			
-			try {
-				Double refval = Double.parseDouble(value);
-				Double subval = Double.parseDouble(subValue.getValue());
-				log.info(" Ref Val = " + refval);
-				log.info(" Sub Val = " + subval);
+			if(refQuantity.numberValid && subQuantity.numberValid) {
+				log.info(" Ref Val = " + refQuantity.number);
+				log.info(" Sub Val = " + subQuantity.number);
 				
-				if(Math.abs(refval-subval) < delta) {
+				if(Math.abs(refQuantity.number - subQuantity.number) < delta) {
 					log.info(" Values Match with actual values");
 					valueComp = true;
 				}
 				
 			}
-			catch(NumberFormatException e) {
-				exception = true;
-			}
 			
 		}
 		else if ( (value == null) && (subValue.getValue() == null)) {
@@ -48,19 +48,13 @@ public class CCDAPQ extends CCDADataElement {
 			valueComp = true;
 		}
 		
-		// Compare units accounting for "unity"
+		// Compare units accounting for "unity", which the canonical units already do
 		if( (units != null) && (subValue.getUnits() != null) ){
 			
 			log.info(" Units = " + units);
 			log.info(" Sub Units = " + units);
-			if(units.equalsIgnoreCase(subValue.getUnits())) {
-				log.info(" Units Match with actual units ");
-				unitComp = true;
-			}
-			else if( (units.equalsIgnoreCase("1") || units.equalsIgnoreCase("")) &&
-					 (subValue.getUnits().equalsIgnoreCase("1") || subValue.getUnits().equalsIgnoreCase("")) )
-			{
-				log.info(" Units Match with default units ");
+			if(refQuantity.canonicalUnits.equals(subQuantity.canonicalUnits)) {
+				log.info(" Units Match ");
 				unitComp = true;
 			}
 			
@@ -72,12 +66,12 @@ public class CCDAPQ extends CCDADataElement {
 		
 		if(!valueComp || !unitComp) {
 			log.info(" Value and/or Units did not match ");
-			String error = "The " + elementName + " : Value PQ - value = " + ((value != null)?value:"None Specified") 
-				       + " and Units = " + ((units != null)?units:"None Specified")
-				       + "  , do not match the submitted CCDA : Value PQ - value = " + ((subValue.getValue() != null)?subValue.getValue():"None Specified") 
-				       + " , and Units = " + ((subValue.getUnits() != null)?subValue.getUnits():"None Specified") + ".";
-
-			ContentValidationResult rs = new ContentValidationResult(error, ContentValidationResultLevel.ERROR, "/ClinicalDocument", "0" );
+			ContentValidationResult rs = new ContentValidationResult(ContentValidationMessage.QUANTITY_MISMATCH,
+					ContentValidationResultLevel.ERROR, "/ClinicalDocument", "0", elementName,
+					(value != null)?value:"None Specified",
+					(units != null)?units:"None Specified",
+					(subValue.getValue() != null)?subValue.getValue():"None Specified",
+					(subValue.getUnits() != null)?subValue.getUnits():"None Specified");
 			results.add(rs);
 			return false;
 			
@@ -108,31 +102,26 @@ public class CCDAPQ extends CCDADataElement {
 	
 	public Boolean compareWithTolerance(CCDAPQ subValue, ArrayList<ContentValidationResult> results, String elementName, Double tolerancePercentage) {
 		
-		Boolean exception = false;
-		
 		Boolean valueComp = false;
 		Boolean unitComp = false;
 		
-		//Compare Values by converting to doubles.
+		//Compare Values as the doubles they were parsed to.
+		Quantity refQuantity = getQuantity();
+		Quantity subQuantity = subValue.getQuantity();
 		if( (value != null) && (subValue.getValue() != null) ){
 			
-			try {
-				Double refval = Double.parseDouble(value);
-				Double subval = Double.parseDouble(subValue.getValue());
-				log.info(" Ref Val = " + refval);
-				log.info(" Sub Val = " + subval);
+			if(refQuantity.numberValid && subQuantity.numberValid) {
+				log.info(" Ref Val = " + refQuantity.number);
+				log.info(" Sub Val = " + subQuantity.number);
 				
-				Double toleranceLimit = refval * tolerancePercentage;
+				double toleranceLimit = refQuantity.number * tolerancePercentage;
 				
-				if(Math.abs(refval-subval) < toleranceLimit) {
+				if(Math.abs(refQuantity.number - subQuantity.number) < toleranceLimit) {
 					log.info(" Values Match with actual values");
 					valueComp = true;
 				}
 				
 			}
-			catch(NumberFormatException e) {
-				exception = true;
-			}
 			
 		}
 		else if ( (value == null) && (subValue.getValue() == null)) {
@@ -140,19 +129,13 @@ public class CCDAPQ extends CCDADataElement {
 			valueComp = true;
 		}
 		
-		// Compare units accounting for "unity"
+		// Compare units accounting for "unity", which the canonical units already do
 		if( (units != null) && (subValue.getUnits() != null) ){
 			
 			log.info(" Units = " + units);
 			log.info(" Sub Units = " + units);
-			if(units.equalsIgnoreCase(subValue.getUnits())) {
-				log.info(" Units Match with actual units ");
-				unitComp = true;
-			}
-			else if( (units.equalsIgnoreCase("1") || units.equalsIgnoreCase("")) &&
-					 (subValue.getUnits().equalsIgnoreCase("1") || subValue.getUnits().equalsIgnoreCase("")) )
-			{
-				log.info(" Units Match with default units ");
+			if(refQuantity.canonicalUnits.equals(subQuantity.canonicalUnits)) {
+				log.info(" Units Match ");
 				unitComp = true;
 			}
 			
@@ -164,14 +147,12 @@ public class CCDAPQ extends CCDADataElement {
 		
 		if(!valueComp || !unitComp) {
 			log.info(" Value and/or Units did not match ");
-			String error = "The " + elementName + " : Value PQ - value = " + ((value != null)?value:"None Specified") 
-				       + " and Units = " + ((units != null)?units:"None Specified")
-				       + "  , do not match the submitted CCDA : Value PQ - value = " + ((subValue.getValue() != null)?subValue.getValue():"None Specified") 
-				       + " , and Units = " + ((subValue.getUnits() != null)?subValue.getUnits():"None Specified") + ".";
-			
-			error += " If the CEHRT vendor believes the submitted C-CDA values are accurate, please work with your ATL to verify the values submitted explaining the reason for not matching.";
-
-			ContentValidationResult rs = new ContentValidationResult(error, ContentValidationResultLevel.ERROR, "/ClinicalDocument", "0" );
+			ContentValidationResult rs = new ContentValidationResult(ContentValidationMessage.QUANTITY_TOLERANCE_MISMATCH,
+					ContentValidationResultLevel.ERROR, "/ClinicalDocument", "0", elementName,
+					(value != null)?value:"None Specified",
+					(units != null)?units:"None Specified",
+					(subValue.getValue() != null)?subValue.getValue():"None Specified",
+					(subValue.getUnits() != null)?subValue.getUnits():"None Specified");
 			results.add(rs);
 			return false;
 			
@@ -181,6 +162,81 @@ public class CCDAPQ extends CCDADataElement {
 		
 	}
 	
+	/*
+	 * The parsed number of the value, NaN when there is none or it is not a number, see isNumeric
+	 */
+	public double getNumericValue() {
+		return getQuantity().number;
+	}
+	
+	/*
+	 * Whether the value is present and parses as a double
+	 */
+	public boolean isNumeric() {
+		return getQuantity().numberValid;
+	}
+	
+	/*
+	 * The units compared ignoring case, with "1" (unity) and no units at all the same, or null without units
+	 */
+	public String getCanonicalUnits() {
+		return getQuantity().canonicalUnits;
+	}
+	
+	private Quantity getQuantity() {
+		Quantity current = quantity;
+		if (current == null || current.value != value || current.units != units) {
+			current = new Quantity(value, units, current);
+			quantity = current;
+		}
+		return current;
+	}
+	
+	/*
+	 * The value and units of a quantity parsed once, a number that does not parse is kept as invalid
+	 */
+	private static final class Quantity {
+		private final String value;
+		private final String units;
+		private final double number;
+		private final boolean numberValid;
+		private final String canonicalUnits;
+		
+		Quantity(String value, String units, Quantity previous) {
+			this.value = value;
+			this.units = units;
+			if (previous != null && previous.value == value) {
+				this.number = previous.number;
+				this.numberValid = previous.numberValid;
+			} else {
+				double parsed = Double.NaN;
+				boolean valid = false;
+				// Most quantities are created without a value first, which need not go through an exception
+				if (value != null && !value.isEmpty()) {
+					try {
+						parsed = Double.parseDouble(value);
+						valid = true;
+					} catch (NumberFormatException e) {
+						// not a number, left invalid
+					}
+				}
+				this.number = parsed;
+				this.numberValid = valid;
+			}
+			this.canonicalUnits = canonicalUnits(units);
+		}
+		
+		private static String canonicalUnits(String units) {
+			if (units == null) {
+				return null;
+			}
+			if (units.isEmpty() || units.equals("1")) {
+				return "";
+			}
+			return ParserUtilities.foldCase(units);
+		}
+	}
+	
 	public void log() {
 		
 		log.info(" Value = " + value);
@@ -196,6 +252,7 @@ public class CCDAPQ extends CCDADataElement {
 
 	public void setValue(String value) {
 		this.value = value;
+		getQuantity();
 	}
 
 
@@ -208,6 +265,7 @@ public class CCDAPQ extends CCDADataElement {
 
 	public void setUnits(String units) {
 		this.units = units;
+		getQuantity();
 	}
 
 	public CCDAPQ(String value)
@@ -215,6 +273,7 @@ public class CCDAPQ extends CCDADataElement {
 		this.value = value;
 		this.xsiType = "";
 		this.units = "";
+		getQuantity();
 	}
 	
 	public CCDAPQ(String value, String xsiType)
@@ -222,6 +281,7 @@ public class CCDAPQ extends CCDADataElement {
 	  this.value = value;
 	  this.xsiType = xsiType;
 	  this.units = "";
+	  getQuantity();
 	}
 	
 	public String getXsiType() {
@@ -241,6 +301,7 @@ public class CCDAPQ extends CCDADataElement {
 		value = "";
 		units = "";
 		xsiType = "";
+		getQuantity();
 	}
 
 
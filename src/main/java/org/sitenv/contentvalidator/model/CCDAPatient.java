@@ -3,11 +3,13 @@ package org.sitenv.contentvalidator.model;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.sitenv.contentvalidator.dto.ContentValidationResult;
+import org.sitenv.contentvalidator.dto.enums.ContentValidationMessage;
 import org.sitenv.contentvalidator.dto.enums.ContentValidationResultLevel;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 
-public class CCDAPatient {
+public class CCDAPatient implements Serializable {
 	
 	private static Logger log = LoggerFactory.getLogger(CCDAPatient.class.getName());
 	
@@ -408,10 +410,8 @@ public class CCDAPatient {
 		for(CCDACode c : raceCodes) {
 			if(!patient.containsRaceCode(c))
 			{
-				String errorMessage = "Patient Race Code = " + c.getCode() 
-						+ " expected but, submitted file does not contain the expected race code";
-				ContentValidationResult rs = new ContentValidationResult(errorMessage, ContentValidationResultLevel.ERROR,
-						"/ClinicalDocument", "0");
+				ContentValidationResult rs = new ContentValidationResult(ContentValidationMessage.PATIENT_RACE_CODE_MISSING,
+						ContentValidationResultLevel.ERROR, "/ClinicalDocument", "0", c.getCode());
 				results.add(rs);
 			}
 		}
@@ -421,10 +421,8 @@ public class CCDAPatient {
 		for(CCDACode c : raceCodeExt) {
 			if(!patient.containsRaceCodeExt(c))
 			{
-				String errorMessage = "Patient Granular Race Code = " + c.getCode() 
-						+ " expected in sdtc:raceCode extension but, submitted file does not contain the expected granular race code";
-				ContentValidationResult rs = new ContentValidationResult(errorMessage, ContentValidationResultLevel.ERROR, 
-						"/ClinicalDocument", "0");
+				ContentValidationResult rs = new ContentValidationResult(ContentValidationMessage.PATIENT_GRANULAR_RACE_CODE_MISSING,
+						ContentValidationResultLevel.ERROR, "/ClinicalDocument", "0", c.getCode());
 				results.add(rs);
 			}
 		}
@@ -434,10 +432,8 @@ public class CCDAPatient {
 		if((ethnicity != null) && (patient.getEthnicity() != null) ) {
 			if( !(ethnicity.getCode().equalsIgnoreCase(patient.getEthnicity().getCode())))
 			{
-				String errorMessage = "Patient Ethnicity code Expected = " + ethnicity.getCode() 
-				+ " but, submitted file contains ethnicity code of " + patient.getEthnicity().getCode();
-				ContentValidationResult rs = new ContentValidationResult(errorMessage, ContentValidationResultLevel.ERROR, 
-						"/ClinicalDocument", "0");
+				ContentValidationResult rs = new ContentValidationResult(ContentValidationMessage.PATIENT_ETHNICITY_MISMATCH,
+						ContentValidationResultLevel.ERROR, "/ClinicalDocument", "0", ethnicity.getCode(), patient.getEthnicity().getCode());
 				results.add(rs);
 			}					
 		}
@@ -463,10 +459,8 @@ public class CCDAPatient {
 		if((dob != null) && (patient.getDob() != null) ) {
 			if( !(dob.getValue().equalsIgnoreCase(patient.getDob().getValue())))
 			{
-				String errorMessage = "Patient Date of Birth Expected = " + dob.getValue() 
-				+ " but, submitted file contains Date of Birth of " + patient.getDob().getValue();
-				ContentValidationResult rs = new ContentValidationResult(errorMessage, ContentValidationResultLevel.ERROR, 
-						"/ClinicalDocument", "0");
+				ContentValidationResult rs = new ContentValidationResult(ContentValidationMessage.PATIENT_DOB_MISMATCH,
+						ContentValidationResultLevel.ERROR, "/ClinicalDocument", "0", dob.getValue(), patient.getDob().getValue());
 				results.add(rs);
 			}					
 		}
@@ -491,10 +485,8 @@ public class CCDAPatient {
 		for(CCDAPreferredLanguage lang : languageCommunication) {
 			if(!patient.containsLanguage(lang))
 			{
-				String errorMessage = "Patient Language = " + lang.getLanguageCode().getCode() 
-				+ " expected but, submitted file does not contain the expected language code";
-				ContentValidationResult rs = new ContentValidationResult(errorMessage, ContentValidationResultLevel.ERROR, 
-						"/ClinicalDocument", "0");
+				ContentValidationResult rs = new ContentValidationResult(ContentValidationMessage.PATIENT_LANGUAGE_MISSING,
+						ContentValidationResultLevel.ERROR, "/ClinicalDocument", "0", lang.getLanguageCode().getCode());
 				results.add(rs);
 			}
 		}
@@ -521,10 +513,8 @@ public class CCDAPatient {
 		if((firstName != null) && (patient.getFirstName() != null) ) {
 			if( !(firstName.getValue().equalsIgnoreCase(patient.getFirstName().getValue())))
 			{
-				String errorMessage = "Patient First Name Expected = " + firstName.getValue() 
-					+ " but, submitted file contains first name of " + patient.getFirstName().getValue();
-				ContentValidationResult rs = new ContentValidationResult(errorMessage, ContentValidationResultLevel.ERROR, 
-						"/ClinicalDocument", "0");
+				ContentValidationResult rs = new ContentValidationResult(ContentValidationMessage.PATIENT_FIRST_NAME_MISMATCH,
+						ContentValidationResultLevel.ERROR, "/ClinicalDocument", "0", firstName.getValue(), patient.getFirstName().getValue());
 				results.add(rs);
 			}					
 		}
@@ -545,10 +535,8 @@ public class CCDAPatient {
 		if((lastName != null) && (patient.getLastName() != null) ) {
 			if( !(lastName.getValue().equalsIgnoreCase(patient.getLastName().getValue())))
 			{
-				String errorMessage = "Patient Last Name Expected = " + lastName.getValue() 
-					+ " but, submitted file contains last name of " + patient.getLastName().getValue();
-				ContentValidationResult rs = new ContentValidationResult(errorMessage, ContentValidationResultLevel.ERROR, 
-						"/ClinicalDocument", "0");
+				ContentValidationResult rs = new ContentValidationResult(ContentValidationMessage.PATIENT_LAST_NAME_MISMATCH,
+						ContentValidationResultLevel.ERROR, "/ClinicalDocument", "0", lastName.getValue(), patient.getLastName().getValue());
 				results.add(rs);
 			}					
 		}
@@ -569,10 +557,8 @@ public class CCDAPatient {
 		if((middleName != null) && (patient.getMiddleName() != null) ) {
 			if( !(middleName.getValue().equalsIgnoreCase(patient.getMiddleName().getValue())))
 			{
-				String errorMessage = "Patient Middle Name Expected = " + middleName.getValue() 
-				+ " but, submitted file contains middle name of " + patient.getMiddleName().getValue();
-				ContentValidationResult rs = new ContentValidationResult(errorMessage, ContentValidationResultLevel.ERROR, 
-						"/ClinicalDocument", "0");
+				ContentValidationResult rs = new ContentValidationResult(ContentValidationMessage.PATIENT_MIDDLE_NAME_MISMATCH,
+						ContentValidationResultLevel.ERROR, "/ClinicalDocument", "0", middleName.getValue(), patient.getMiddleName().getValue());
 				results.add(rs);
 			}					
 		}
@@ -593,10 +579,8 @@ public class CCDAPatient {
 		if((previousName != null) && (patient.getPreviousName() != null) ) {
 			if( !(previousName.getValue().equalsIgnoreCase(patient.getPreviousName().getValue())))
 			{
-				String errorMessage = "Patient Previous Name Expected = " + previousName.getValue() 
-				+ " but, submitted file contains previous name of " + patient.getPreviousName().getValue();
-				ContentValidationResult rs = new ContentValidationResult(errorMessage, ContentValidationResultLevel.ERROR, 
-						"/ClinicalDocument", "0");
+				ContentValidationResult rs = new ContentValidationResult(ContentValidationMessage.PATIENT_PREVIOUS_NAME_MISMATCH,
+						ContentValidationResultLevel.ERROR, "/ClinicalDocument", "0", previousName.getValue(), patient.getPreviousName().getValue());
 				results.add(rs);
 			}					
 		}
@@ -624,10 +608,8 @@ public class CCDAPatient {
 		if((suffix != null) && (patient.getSuffix() != null) ) {
 			if( !(suffix.getValue().equalsIgnoreCase(patient.getSuffix().getValue())))
 			{
-				String errorMessage = "Patient Suffix Expected = " + suffix.getValue() 
-				+ " but, submitted file contains suffix of " + patient.getSuffix().getValue();
-				ContentValidationResult rs = new ContentValidationResult(errorMessage, ContentValidationResultLevel.ERROR, 
-						"/ClinicalDocument", "0");
+				ContentValidationResult rs = new ContentValidationResult(ContentValidationMessage.PATIENT_SUFFIX_MISMATCH,
+						ContentValidationResultLevel.ERROR, "/ClinicalDocument", "0", suffix.getValue(), patient.getSuffix().getValue());
 				results.add(rs);
 			}					
 		}
@@ -650,17 +632,16 @@ public class CCDAPatient {
 		log.info("Comparing Patient's telecom/@use and telecom/@value");
 		for (CCDATelecom tel : telecom) {
 			if (!patient.containsTelecomUseAndValue(tel)) {
-				String message = "Patient Telecom in the submitted file does not match the expected Telecom. "
-						+ "The following values are expected: " + "telecom/@use = " + tel.getUseAttribute()
-						+ " and telecom/@value = " + tel.getValueAttribute();
 				if (curesUpdate) {
-					ContentValidationResult rs = new ContentValidationResult(message,
-							ContentValidationResultLevel.ERROR, "/ClinicalDocument", "0");
+					ContentValidationResult rs = new ContentValidationResult(ContentValidationMessage.PATIENT_TELECOM_MISMATCH,
+							ContentValidationResultLevel.ERROR, "/ClinicalDocument", "0", tel.getUseAttribute(),
+							tel.getValueAttribute());
 					results.add(rs);
 				} else {
 					if (submittedCCDA.warningsPermitted()) {
-						ContentValidationResult rs = new ContentValidationResult(message,
-								ContentValidationResultLevel.WARNING, "/ClinicalDocument", "0");
+						ContentValidationResult rs = new ContentValidationResult(ContentValidationMessage.PATIENT_TELECOM_MISMATCH,
+								ContentValidationResultLevel.WARNING, "/ClinicalDocument", "0", tel.getUseAttribute(),
+								tel.getValueAttribute());
 						results.add(rs);
 					} else {
 						log.info(
@@ -3,10 +3,11 @@ package org.sitenv.contentvalidator.model;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.HashMap;
 
-public class CCDAPlanOfTreatment {
+public class CCDAPlanOfTreatment implements Serializable {
 
 	private static Logger log = LoggerFactory.getLogger(CCDAPlanOfTreatment.class.getName());
 	
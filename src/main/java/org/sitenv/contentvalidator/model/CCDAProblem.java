@@ -3,14 +3,16 @@ package org.sitenv.contentvalidator.model;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.sitenv.contentvalidator.dto.ContentValidationResult;
+import org.sitenv.contentvalidator.dto.enums.ContentValidationMessage;
 import org.sitenv.contentvalidator.dto.enums.ContentValidationResultLevel;
 import org.sitenv.contentvalidator.parsers.ParserUtilities;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Map;
 
-public class CCDAProblem {
+public class CCDAProblem implements Serializable {
 
 	private static Logger log = LoggerFactory.getLogger(CCDAProblem.class.getName());
 	
@@ -113,10 +115,11 @@ public class CCDAProblem {
 			else 
 			{
 			
-				String error = "The scenario contains problem observation for " + 
-							((refPo.getProblemCode() != null)?((refPo.getProblemCode().getDisplayName()) + " Code: " + refPo.getProblemCode().getCode()) :" Unknown Observation ") +
-							" , however there is no matching observation in the submitted CCDA. ";
-				ContentValidationResult rs = new ContentValidationResult(error, ContentValidationResultLevel.ERROR, "/ClinicalDocument", "0" );
+				ContentValidationResult rs = (refPo.getProblemCode() != null)
+						? new ContentValidationResult(ContentValidationMessage.PROBLEM_OBSERVATION_NOT_MATCHED, ContentValidationResultLevel.ERROR,
+								"/ClinicalDocument", "0", refPo.getProblemCode().getDisplayName(), refPo.getProblemCode().getCode())
+						: new ContentValidationResult(ContentValidationMessage.UNKNOWN_PROBLEM_OBSERVATION_NOT_MATCHED,
+								ContentValidationResultLevel.ERROR, "/ClinicalDocument", "0");
 				results.add(rs);
 			}
 		}
@@ -5,10 +5,11 @@ import org.slf4j.LoggerFactory;
 import org.sitenv.contentvalidator.dto.ContentValidationResult;
 import org.sitenv.contentvalidator.parsers.ParserUtilities;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.HashMap;
 
-public class CCDAProblemConcern {
+public class CCDAProblemConcern implements Serializable {
 	
 	private static Logger log = LoggerFactory.getLogger(CCDAProblemConcern.class.getName());
 
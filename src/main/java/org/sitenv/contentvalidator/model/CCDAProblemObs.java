@@ -3,14 +3,16 @@ package org.sitenv.contentvalidator.model;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.sitenv.contentvalidator.dto.ContentValidationResult;
+import org.sitenv.contentvalidator.dto.enums.ContentValidationMessage;
 import org.sitenv.contentvalidator.dto.enums.ContentValidationResultLevel;
 import org.sitenv.contentvalidator.parsers.ParserUtilities;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Map;
 
-public class CCDAProblemObs {
+public class CCDAProblemObs implements Serializable {
 
 	private static Logger log = LoggerFactory.getLogger(CCDAProblemObs.class.getName());
 	
@@ -29,6 +31,9 @@ public class CCDAProblemObs {
 
 		log.info(" Start Comparing Problem Observations for " + context);
 		
+		// Built on the first reference problem whose code is not a key of the submitted problems
+		CCDACodeIndex subCodes = null;
+		
 		// For each problem Observation in the Ref Model, check if it is present in the subCCDA Model.
 		for(Map.Entry<String, CCDAProblemObs> ent: refProblems.entrySet()) {
 
@@ -41,13 +46,13 @@ public class CCDAProblemObs {
 
 			} 
 			// Handle the cases where the codes are present in translation elements in either submitted or reference ccda.
-			else if(!checkCodeAndTrans(ent.getValue(),subProblems)) {
+			else if(!checkCodeAndTrans(ent.getValue(),
+					subCodes != null ? subCodes : (subCodes = indexProblemCodes(subProblems)))) {
 				// Error
 				
-				String error = "The scenario contains Encounter Diagnosis data with code(s) " + 
-				        ((ent.getValue().getProblemCode() != null)?ent.getValue().getProblemCode().getDebugCodeString():"") +
-						" , however there is no matching data in the submitted CCDA. ";
-				ContentValidationResult rs = new ContentValidationResult(error, ContentValidationResultLevel.ERROR, "/ClinicalDocument", "0" );
+				ContentValidationResult rs = new ContentValidationResult(ContentValidationMessage.ENCOUNTER_DIAGNOSIS_NOT_MATCHED,
+						ContentValidationResultLevel.ERROR, "/ClinicalDocument", "0",
+						(ent.getValue().getProblemCode() != null) ? ent.getValue().getProblemCode().getDebugCodeString() : "");
 				results.add(rs);
 			}
 		/*	else {
@@ -196,7 +201,7 @@ public class CCDAProblemObs {
 		this.dateOfDiagnosis = dateOfDiagnosis;
 	}
 
-	static Boolean checkCodeAndTrans(CCDAProblemObs refObs, HashMap<String, CCDAProblemObs> subProblems) {
+	static Boolean checkCodeAndTrans(CCDAProblemObs refObs, CCDACodeIndex subCodes) {
 		
 		/*
 		 * Need to check the following conditions
@@ -206,20 +211,26 @@ public class CCDAProblemObs {
 		 * Code is not present, but translation of code is present in the submitted code translation element
 		 */
 		
-		CCDACode refCode = refObs.getProblemCode();
-		
-		for(Map.Entry<String,CCDAProblemObs> ent : subProblems.entrySet()) {
-			
-			Boolean retVal = ent.getValue().compareCodesAndTranslations(refCode);
-			
-			if(retVal)
-				return true;
-			
+		if(subCodes.containsCodeOrTranslation(refObs.getProblemCode())) {
+			log.info(" Ref code or one of its translations is present in the Submitted codes ");
+			return true;
 		}
 		
+		log.info(" Could not find the Ref Code or Translation code in the Submitted codes ");
 		return false;
 	}
 	
+	/*
+	 * The problem codes of the problems with their translations, for checkCodeAndTrans
+	 */
+	public static CCDACodeIndex indexProblemCodes(HashMap<String, CCDAProblemObs> problems) {
+		CCDACodeIndex codes = new CCDACodeIndex();
+		for(CCDAProblemObs obs : problems.values()) {
+			codes.add(obs.getProblemCode());
+		}
+		return codes;
+	}
+	
 	public Boolean compareCodesAndTranslations(CCDACode refCode) {
 		
 		return ParserUtilities.compareCodesAndTranlations(refCode, this.getProblemCode()); 
@@ -257,9 +268,8 @@ public class CCDAProblemObs {
 					}
 					else {
 						
-						String error = "The scenario contains Health Concern Act with Problem Observation data with code " + entry.getKey() + 
-								" , however there is no matching data in the submitted CCDA.";
-						ContentValidationResult rs = new ContentValidationResult(error, ContentValidationResultLevel.ERROR, "/ClinicalDocument", "0" );
+						ContentValidationResult rs = new ContentValidationResult(ContentValidationMessage.CODED_ENTRY_NOT_MATCHED,
+								ContentValidationResultLevel.ERROR, "/ClinicalDocument", "0", "Health Concern Act with Problem Observation data", entry.getKey());
 						results.add(rs);
 					}
 					
@@ -2,17 +2,29 @@ package org.sitenv.contentvalidator.model;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.sitenv.contentvalidator.dto.ContentValidationOptions;
 import org.sitenv.contentvalidator.dto.ContentValidationResult;
+import org.sitenv.contentvalidator.dto.ContentValidationResults;
+import org.sitenv.contentvalidator.dto.enums.ContentValidationMessage;
 import org.sitenv.contentvalidator.dto.enums.ContentValidationResultLevel;
 import org.sitenv.contentvalidator.dto.enums.SeverityLevel;
 import org.sitenv.contentvalidator.parsers.CCDAConstants;
+import org.sitenv.contentvalidator.parsers.CCDAParsePlan;
+import org.sitenv.contentvalidator.parsers.CCDAParsePlan.Section;
 import org.sitenv.contentvalidator.parsers.ParserUtilities;
 
+import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Consumer;
 
-public class CCDARefModel {
+public class CCDARefModel implements Serializable {
 	
 	private static Logger log = LoggerFactory.getLogger(CCDARefModel.class.getName());
 	
@@ -53,12 +65,16 @@ public class CCDARefModel {
 	private ArrayList<CCDANotes> notes;
 	private ArrayList<CCDANotesActivity> notesEntries;
 	
+	// Built by freeze, not serialized, so a model read back from a snapshot is frozen again
+	private transient ComparisonIndex comparisonIndex;
+	
 	
 	public ArrayList<CCDAAuthor> getAuthorsFromHeader() {
 		return authorsFromHeader;
 	}
 
 	public void setAuthorsFromHeader(ArrayList<CCDAAuthor> author) {
+		checkNotFrozen();
 		this.authorsFromHeader = author;
 	}
 	
@@ -67,7 +83,8 @@ public class CCDARefModel {
 	}
 	
 	public void setAuthorsWithLinkedReferenceData(ArrayList<CCDAAuthor> authorsWithLinkedReferenceData) {
-		this.authorsWithLinkedReferenceData = authorsWithLinkedReferenceData;		
+		checkNotFrozen();
+		this.authorsWithLinkedReferenceData = CCDALinkedAuthors.of(authorsWithLinkedReferenceData);		
 	}
 
 	public ArrayList<CCDANotesActivity> getNotesEntries() {
@@ -75,6 +92,7 @@ public class CCDARefModel {
 	}
 
 	public void setNotesEntries(ArrayList<CCDANotesActivity> notesEntries) {
+		checkNotFrozen();
 		this.notesEntries = notesEntries;
 	}
 
@@ -83,6 +101,7 @@ public class CCDARefModel {
 	}
 
 	public void setNotes(ArrayList<CCDANotes> notes) {
+		checkNotFrozen();
 		this.notes = notes;
 	}
 
@@ -91,10 +110,12 @@ public class CCDARefModel {
 	}
 
 	public void setHeader(CCDAHeaderElements header) {
+		checkNotFrozen();
 		this.header = header;
 	}
 
 	public void setSocialHistory(CCDASocialHistory socialHistory) {
+		checkNotFrozen();
 		this.socialHistory = socialHistory;
 	}
 
@@ -103,6 +124,7 @@ public class CCDARefModel {
 	}
 
 	public void setCareTeamSectionMembers(CCDACareTeamMember sectionMembers) {
+		checkNotFrozen();
 		this.careTeamSectionMembers = sectionMembers;
 	}
 
@@ -116,7 +138,7 @@ public class CCDARefModel {
 		notes = new ArrayList<CCDANotes>();
 		notesEntries = new ArrayList<CCDANotesActivity>();
 		authorsFromHeader = new ArrayList<CCDAAuthor>();
-		authorsWithLinkedReferenceData = new ArrayList<CCDAAuthor>();
+		authorsWithLinkedReferenceData = new CCDALinkedAuthors();
 		
 		ccdTemplates = new ArrayList<CCDAII>();
 		ccdTemplates.add(new CCDAII(CCDAConstants.US_REALM_TEMPLATE, CCDAConstants.CCDA_2015_AUG_EXT));
@@ -135,45 +157,222 @@ public class CCDARefModel {
 		cpTemplates.add(new CCDAII(CCDAConstants.CP_TEMPLATE, CCDAConstants.CCDA_2015_AUG_EXT));
 	}
 	
+	/*
+	 * Called once a reference model is fully built, ScenarioLoader freezes every model it publishes.
+	 * The keyed collections compare reads from the reference side are built here once instead of on every validation,
+	 * and the setters of this class refuse any change from then on. The freeze is shallow: the sections and lists
+	 * the getters return are still the live objects the index was built from, so they must only be read once frozen.
+	 */
+	public void freeze() {
+		if (comparisonIndex == null) {
+			comparisonIndex = new ComparisonIndex(this);
+		}
+	}
+	
+	public boolean isFrozen() {
+		return comparisonIndex != null;
+	}
+	
+	private void checkNotFrozen() {
+		if (comparisonIndex != null) {
+			throw new IllegalStateException("The reference model is frozen and can no longer be changed");
+		}
+	}
+	
+	/*
+	 * The reference side collections, only ever read, compare must not change them
+	 */
+	private static final class ComparisonIndex {
+		private final HashMap<String, CCDAMedicationActivity> medActivities;
+		private final HashMap<String, CCDAImmunizationActivity> immunizations;
+		private final HashMap<String, CCDALabResultObs> labResultObs;
+		private final HashMap<String, CCDAVitalObs> vitalObs;
+		private final ArrayList<CCDAUDI> udis;
+		private final HashMap<String, CCDAProcActProc> procedures;
+		private final HashMap<String, CCDANotes> notes;
+		private final HashMap<String, AssessmentScaleObservation> sdohData;
+		private final HashMap<String, CCDANotesActivity> notesActivities;
+		private final HashMap<String, CCDASmokingStatus> smokingStatuses;
+		private final HashMap<String, CCDAProblemObs> encounterDiagnoses;
+		
+		ComparisonIndex(CCDARefModel model) {
+			medActivities = model.getAllMedActivities();
+			immunizations = model.getAllImmunizations();
+			labResultObs = model.getAllLabResultObs();
+			vitalObs = model.getAllVitalObs();
+			udis = model.getAllUDIs();
+			procedures = model.getAllProcedures();
+			notes = model.getAllNotes();
+			sdohData = model.getAllSdohData();
+			notesActivities = model.getAllNotesActivities();
+			smokingStatuses = model.getAllSmokingStatuses();
+			encounterDiagnoses = model.getAllEncounterDiagnoses(false);
+		}
+	}
+	
+	private HashMap<String, CCDAMedicationActivity> referenceMedActivities() {
+		return comparisonIndex != null ? comparisonIndex.medActivities : getAllMedActivities();
+	}
+	
+	private HashMap<String, CCDAImmunizationActivity> referenceImmunizations() {
+		return comparisonIndex != null ? comparisonIndex.immunizations : getAllImmunizations();
+	}
+	
+	private HashMap<String, CCDALabResultObs> referenceLabResultObs() {
+		return comparisonIndex != null ? comparisonIndex.labResultObs : getAllLabResultObs();
+	}
+	
+	private HashMap<String, CCDAVitalObs> referenceVitalObs() {
+		return comparisonIndex != null ? comparisonIndex.vitalObs : getAllVitalObs();
+	}
+	
+	private ArrayList<CCDAUDI> referenceUDIs() {
+		return comparisonIndex != null ? comparisonIndex.udis : getAllUDIs();
+	}
+	
+	private HashMap<String, CCDAProcActProc> referenceProcedures() {
+		return comparisonIndex != null ? comparisonIndex.procedures : getAllProcedures();
+	}
+	
+	private HashMap<String, CCDANotes> referenceNotes() {
+		return comparisonIndex != null ? comparisonIndex.notes : getAllNotes();
+	}
+	
+	private HashMap<String, AssessmentScaleObservation> referenceSdohData() {
+		return comparisonIndex != null ? comparisonIndex.sdohData : getAllSdohData();
+	}
+	
+	private HashMap<String, CCDANotesActivity> referenceNotesActivities() {
+		return comparisonIndex != null ? comparisonIndex.notesActivities : getAllNotesActivities();
+	}
+	
+	private HashMap<String, CCDASmokingStatus> referenceSmokingStatuses() {
+		return comparisonIndex != null ? comparisonIndex.smokingStatuses : getAllSmokingStatuses();
+	}
+	
+	private HashMap<String, CCDAProblemObs> referenceEncounterDiagnoses() {
+		return comparisonIndex != null ? comparisonIndex.encounterDiagnoses : getAllEncounterDiagnoses(false);
+	}
+	
 	public ArrayList<ContentValidationResult> compare(String validationObjective, CCDARefModel submittedCCDA,
 			boolean curesUpdate, boolean svap2022) {
+		return compare(validationObjective, submittedCCDA, curesUpdate, svap2022, ContentValidationOptions.ALL);
+	}
+	
+	/*
+	 * Stops once the error budget of the options is spent, whichever checks the objective runs. A check already
+	 * under way runs to its end, the results past the last error of the budget are dropped and the results are
+	 * marked truncated.
+	 */
+	public ContentValidationResults compare(String validationObjective, CCDARefModel submittedCCDA,
+			boolean curesUpdate, boolean svap2022, ContentValidationOptions options) {
 		
-		ArrayList<ContentValidationResult> results = new ArrayList<ContentValidationResult>();
+		ContentValidationResults results = new ContentValidationResults();
+		ErrorCount errorCount = new ErrorCount(options.getErrorBudget());
 		
 		if(doesObjectiveRequireCCDS(validationObjective))
 		{
 			log.info(" Performing CCDS checks ");
-			compareCCDS(validationObjective, submittedCCDA, results, curesUpdate, svap2022);
+			compareCCDS(validationObjective, submittedCCDA, results, curesUpdate, svap2022, options, errorCount);
 		}
 		else if(doesObjectiveRequireCIRI(validationObjective))
 		{
 			log.info(" Performing CIRI checks ");
-			performCIRIValidation(validationObjective, submittedCCDA, results, curesUpdate, svap2022);
+			performCIRIValidation(validationObjective, submittedCCDA, results, curesUpdate, svap2022, options,
+					errorCount);
 		}
 		else if(doesObjectiveRequireCarePlan(validationObjective))
 		{
 			log.info(" Performing Care Plan checks ");
-			performCarePlanValidation(validationObjective, submittedCCDA, results, curesUpdate, svap2022);
+			performCarePlanValidation(validationObjective, submittedCCDA, results, curesUpdate, svap2022, options,
+					errorCount);
 		}
 		else if(doesObjectiveRequireDS4P(validationObjective))
 		{
 			log.info(" Performing DS4P checks ");
-			performDS4PValidation(validationObjective, submittedCCDA, results, curesUpdate, svap2022);
+			performDS4PValidation(validationObjective, submittedCCDA, results, curesUpdate, svap2022, options,
+					errorCount);
 		}
 		else 
 		{
 			log.info(" Not Performing any content validation checks ");
 		}
 		
-		log.info(" Compare non CCDS Structured Data ");
-		compareNonCCDSStructuredData(validationObjective, submittedCCDA, results, curesUpdate, svap2022);
+		if(!errorCount.isBudgetSpent(results)) {
+			log.info(" Compare non CCDS Structured Data ");
+			compareNonCCDSStructuredData(validationObjective, submittedCCDA, results, curesUpdate, svap2022);
+		}
 		
-		validateDocElements(validationObjective,submittedCCDA, results, curesUpdate, svap2022);
+		if(!errorCount.isBudgetSpent(results)) {
+			validateDocElements(validationObjective,submittedCCDA, results, curesUpdate, svap2022);
+		}
+		
+		if(errorCount.isBudgetSpent(results)) {
+			truncateAfterErrorBudget(results, options.getErrorBudget());
+		}
 		
 		log.info(" Total Number of Content Validation Issues " + results.size());
 		return results;
 	}
 	
+	private static void truncateAfterErrorBudget(ContentValidationResults results, int errorBudget) {
+		int errors = 0;
+		for (int i = 0; i < results.size(); i++) {
+			if (results.get(i).getContentValidationResultLevel() == ContentValidationResultLevel.ERROR
+					&& ++errors == errorBudget) {
+				results.subList(i + 1, results.size()).clear();
+				break;
+			}
+		}
+		results.setTruncated(true);
+		log.info("Stopped the comparison after " + errorBudget + " error(s), the results are truncated");
+	}
+	
+	/*
+	 * The body sections of the submitted document that compare reads for the objective, following the same branches.
+	 * The patient and the header are always parsed. Sections only ever read from the reference model,
+	 * such as lab tests and the header care team members, are never needed from the submitted document.
+	 */
+	public static CCDAParsePlan getParsePlan(String validationObjective, boolean curesUpdate, boolean svap2022) {
+		
+		if(validationObjective == null) {
+			return CCDAParsePlan.ALL;
+		}
+		
+		EnumSet<Section> sections = EnumSet.noneOf(Section.class);
+		
+		if(doesObjectiveRequireCCDS(validationObjective))
+		{
+			sections.addAll(EnumSet.of(Section.SOCIAL_HISTORY, Section.PROBLEMS, Section.ALLERGIES, Section.MEDICATIONS,
+					Section.LAB_RESULTS, Section.VITAL_SIGNS, Section.PROCEDURES, Section.MEDICAL_EQUIPMENT, Section.IMMUNIZATIONS));
+			
+			// compareCCDS treats svap2022 as implying curesUpdate
+			if(curesUpdate || svap2022) {
+				// Notes activities, authors, care team, and the encounter for section and entry level provenance
+				sections.addAll(EnumSet.of(Section.NOTES, Section.AUTHORS, Section.CARE_TEAM_SECTION, Section.ENCOUNTERS));
+			}
+			
+			if(svap2022) {
+				sections.addAll(EnumSet.of(Section.GOALS, Section.HEALTH_CONCERNS, Section.PLAN_OF_TREATMENT));
+			}
+		}
+		else if(doesObjectiveRequireCIRI(validationObjective))
+		{
+			sections.addAll(EnumSet.of(Section.PROBLEMS, Section.ALLERGIES, Section.MEDICATIONS));
+		}
+		else if(doesObjectiveRequireCarePlan(validationObjective))
+		{
+			sections.add(Section.CARE_PLAN_SECTIONS);
+		}
+		
+		if(doesObjectiveRequireEncounterDiagnosis(validationObjective))
+		{
+			sections.add(Section.ENCOUNTERS);
+		}
+		
+		return CCDAParsePlan.of(sections);
+	}
+	
 	public void validateDocElements(String valObj, CCDARefModel submittedCCDA, 
 			ArrayList<ContentValidationResult> results, boolean curesUpdate, boolean svap2022) 
 	{
@@ -293,46 +492,41 @@ public class CCDARefModel {
 	
 	public void compareCCDS(String validationObjective, CCDARefModel submittedCCDA,
 			ArrayList<ContentValidationResult> results, boolean curesUpdate, boolean svap2022) {
-		
-		if(svap2022) {
-			curesUpdate = true;
-		}
-		
-		log.info("Comparing Patient Data ");
-		comparePatients(submittedCCDA, results, curesUpdate, svap2022);
-		
-		log.info("Comparing Social History Smoking Status ");
-		validateSmokingStatus(submittedCCDA, results, curesUpdate, svap2022);
-		
-		log.info("Validating Social History Birth Sex ");
-		validateBirthSex(submittedCCDA, results, curesUpdate, svap2022);
-		
-		log.info("Comparing Problems ");
-		compareProblems(validationObjective, submittedCCDA, results, curesUpdate, svap2022);
-		
-		log.info("Comparing Allergies ");
-		compareAllergies(validationObjective, submittedCCDA, results, curesUpdate, svap2022);
-		
-		log.info("Comparing Medications ");
-		compareMedications(validationObjective, submittedCCDA, results, curesUpdate, svap2022);
-		
-		log.info("Comparing Lab Results "); 
-		compareLabResults(validationObjective, submittedCCDA, results, curesUpdate, svap2022);
-		
-		log.info("Comparing Vital Signs ");
-		compareVitalObs(validationObjective, submittedCCDA, results, curesUpdate, svap2022);
-		
-		log.info("Comparing Procedures ");
-		compareProcedures(validationObjective, submittedCCDA, results, curesUpdate, svap2022);
-		
-		log.info("Comparing Udis ");
-		compareUdis(validationObjective, submittedCCDA, results, curesUpdate, svap2022);
-		
-		log.info("Comparing Immunizations ");
-		compareImmunizations(validationObjective, submittedCCDA, results, curesUpdate, svap2022);
-		
-		
-		if(curesUpdate) {
+		compareCCDS(validationObjective, submittedCCDA, results, curesUpdate, svap2022, ContentValidationOptions.ALL,
+				new ErrorCount(0));
+	}
+	
+	private void compareCCDS(String validationObjective, CCDARefModel submittedCCDA,
+			ArrayList<ContentValidationResult> results, boolean curesUpdate, boolean svap2022,
+			ContentValidationOptions options, ErrorCount errorCount) {
+		
+		final boolean cures = curesUpdate || svap2022;
+		ArrayList<ComparisonCheck> checks = new ArrayList<ComparisonCheck>();
+		
+		checks.add(new ComparisonCheck("Comparing Patient Data ", ContentValidationResultLevel.ERROR,
+				r -> comparePatients(submittedCCDA, r, cures, svap2022)));
+		checks.add(new ComparisonCheck("Comparing Social History Smoking Status ", ContentValidationResultLevel.ERROR,
+				r -> validateSmokingStatus(submittedCCDA, r, cures, svap2022)));
+		checks.add(new ComparisonCheck("Validating Social History Birth Sex ", ContentValidationResultLevel.ERROR,
+				r -> validateBirthSex(submittedCCDA, r, cures, svap2022)));
+		checks.add(new ComparisonCheck("Comparing Problems ", ContentValidationResultLevel.ERROR,
+				r -> compareProblems(validationObjective, submittedCCDA, r, cures, svap2022)));
+		checks.add(new ComparisonCheck("Comparing Allergies ", ContentValidationResultLevel.ERROR,
+				r -> compareAllergies(validationObjective, submittedCCDA, r, cures, svap2022)));
+		checks.add(new ComparisonCheck("Comparing Medications ", ContentValidationResultLevel.ERROR,
+				r -> compareMedications(validationObjective, submittedCCDA, r, cures, svap2022)));
+		checks.add(new ComparisonCheck("Comparing Lab Results ", ContentValidationResultLevel.ERROR,
+				r -> compareLabResults(validationObjective, submittedCCDA, r, cures, svap2022)));
+		checks.add(new ComparisonCheck("Comparing Vital Signs ", ContentValidationResultLevel.ERROR,
+				r -> compareVitalObs(validationObjective, submittedCCDA, r, cures, svap2022)));
+		checks.add(new ComparisonCheck("Comparing Procedures ", ContentValidationResultLevel.ERROR,
+				r -> compareProcedures(validationObjective, submittedCCDA, r, cures, svap2022)));
+		checks.add(new ComparisonCheck("Comparing Udis ", ContentValidationResultLevel.ERROR,
+				r -> compareUdis(validationObjective, submittedCCDA, r, cures, svap2022)));
+		checks.add(new ComparisonCheck("Comparing Immunizations ", ContentValidationResultLevel.ERROR,
+				r -> compareImmunizations(validationObjective, submittedCCDA, r, cures, svap2022)));
+		
+		if(cures) {
 			
 			log.info(" Comparing data for Cures Update (USCDI v1) specific entries ");
 			
@@ -341,46 +535,171 @@ public class CCDARefModel {
 					? submittedCCDA.getAuthorsWithLinkedReferenceData()
 					: null;
 			logSubmittedAuthorsWithLinkedReferenceData(submittedAuthorsWithLinkedReferenceData);			
+			final ArrayList<CCDAAuthor> linkedAuthors = submittedAuthorsWithLinkedReferenceData;
 			
-			log.info(" Comparing Notes ");
-			compareNotesActivities(validationObjective, submittedCCDA, results, curesUpdate,
-					submittedAuthorsWithLinkedReferenceData, svap2022);
-			
-			log.info(" Comparing Author ");
-			compareAuthorEntries(validationObjective, submittedCCDA, results, curesUpdate,
-					submittedAuthorsWithLinkedReferenceData, svap2022);
-			
-			log.info(" Comparing Care Team ");
-			compareCareTeamMembers(validationObjective, submittedCCDA, results, curesUpdate, svap2022);
+			checks.add(new ComparisonCheck(" Comparing Notes ", ContentValidationResultLevel.ERROR,
+					r -> compareNotesActivities(validationObjective, submittedCCDA, r, cures, linkedAuthors, svap2022)));
+			checks.add(new ComparisonCheck(" Comparing Author ", ContentValidationResultLevel.ERROR,
+					r -> compareAuthorEntries(validationObjective, submittedCCDA, r, cures, linkedAuthors, svap2022)));
+			// Only ever reports warnings
+			checks.add(new ComparisonCheck(" Comparing Care Team ", ContentValidationResultLevel.WARNING,
+					r -> compareCareTeamMembers(validationObjective, submittedCCDA, r, cures, svap2022)));
 		}
 		
 		if(svap2022) {
 			
 			log.info(" Comparing data for Cures Update (USCDI v2) specific entries ");
 			
-			log.info(" Comparing Sexual Orientation ");
-			compareSexOrientation(validationObjective, submittedCCDA, results, curesUpdate, svap2022);
-			
-			log.info(" Comparing Gender Identity ");
-			compareGenderIdentity(validationObjective, submittedCCDA, results, curesUpdate, svap2022);
-			
-			log.info(" Comparing SDOH Data ");
-			compareSdohData(validationObjective, submittedCCDA, results, curesUpdate, svap2022);
-			
-			log.info(" Comparing Goals Data ");
-			compareGoalsData(validationObjective, submittedCCDA, results, curesUpdate, svap2022);
-			
-			log.info(" Comparing HealthConcerns Data ");
-			compareHealthConcernsData(validationObjective, submittedCCDA, results, curesUpdate, svap2022);
-			
-			log.info(" Comparing Plan of Treatment Data ");
-			comparePlanOfTreatmentData(validationObjective, submittedCCDA, results, curesUpdate, svap2022);
+			checks.add(new ComparisonCheck(" Comparing Sexual Orientation ", ContentValidationResultLevel.ERROR,
+					r -> compareSexOrientation(validationObjective, submittedCCDA, r, cures, svap2022)));
+			checks.add(new ComparisonCheck(" Comparing Gender Identity ", ContentValidationResultLevel.ERROR,
+					r -> compareGenderIdentity(validationObjective, submittedCCDA, r, cures, svap2022)));
+			checks.add(new ComparisonCheck(" Comparing SDOH Data ", ContentValidationResultLevel.ERROR,
+					r -> compareSdohData(validationObjective, submittedCCDA, r, cures, svap2022)));
+			checks.add(new ComparisonCheck(" Comparing Goals Data ", ContentValidationResultLevel.ERROR,
+					r -> compareGoalsData(validationObjective, submittedCCDA, r, cures, svap2022)));
+			checks.add(new ComparisonCheck(" Comparing HealthConcerns Data ", ContentValidationResultLevel.ERROR,
+					r -> compareHealthConcernsData(validationObjective, submittedCCDA, r, cures, svap2022)));
+			checks.add(new ComparisonCheck(" Comparing Plan of Treatment Data ", ContentValidationResultLevel.ERROR,
+					r -> comparePlanOfTreatmentData(validationObjective, submittedCCDA, r, cures, svap2022)));
 		}
 		
+		runChecks(checks, submittedCCDA, results, options, errorCount);
+		
 		log.info("Finished comparison, returning results");
 		
 	}
 	
+	/*
+	 * Runs the checks in order. A check whose results could only be of a level the submitted model's severity level
+	 * leaves out is not run at all, and no check is run once the error budget of the options is spent.
+	 */
+	private static void runChecks(ArrayList<ComparisonCheck> checks, CCDARefModel submittedCCDA,
+			ArrayList<ContentValidationResult> results, ContentValidationOptions options, ErrorCount errorCount) {
+		ArrayList<ComparisonCheck> permitted = new ArrayList<ComparisonCheck>(checks.size());
+		for (ComparisonCheck check : checks) {
+			if (submittedCCDA.permits(check.highestLevel)) {
+				permitted.add(check);
+			} else {
+				log.info("Skipping '" + check.description.trim() + "' check due to severityLevel: "
+						+ submittedCCDA.getSeverityLevelName());
+			}
+		}
+		
+		if (options.isParallelComparison()) {
+			runChecksInParallel(permitted, results, options, errorCount, ForkJoinPool.commonPool());
+			return;
+		}
+		for (int i = 0; i < permitted.size(); i++) {
+			if (errorCount.isBudgetSpent(results)) {
+				logErrorBudgetSpent(permitted.get(i), options);
+				return;
+			}
+			log.info(permitted.get(i).description);
+			permitted.get(i).check.accept(results);
+		}
+	}
+	
+	/*
+	 * Runs the checks as fork/join tasks on the pool, each into its own list, and adds those lists to the results
+	 * in the order of the checks, so the results are the same as when run in order. The checks only ever read
+	 * the two models. With an error budget no more checks are submitted than the pool runs at once ahead of the one
+	 * whose results are added next, so once the budget is spent only those few have run past it. The ones not
+	 * started yet are cancelled and the results of all of them dropped.
+	 */
+	private static void runChecksInParallel(ArrayList<ComparisonCheck> checks, ArrayList<ContentValidationResult> results,
+			ContentValidationOptions options, ErrorCount errorCount, ForkJoinPool pool) {
+		int ahead = options.getErrorBudget() > 0 ? pool.getParallelism() : checks.size();
+		List<ForkJoinTask<ArrayList<ContentValidationResult>>> tasks =
+				new ArrayList<ForkJoinTask<ArrayList<ContentValidationResult>>>(checks.size());
+		
+		for (int i = 0; i < checks.size(); i++) {
+			if (errorCount.isBudgetSpent(results)) {
+				logErrorBudgetSpent(checks.get(i), options);
+				cancelFrom(tasks, i);
+				return;
+			}
+			while (tasks.size() < Math.min(checks.size(), i + ahead)) {
+				ComparisonCheck check = checks.get(tasks.size());
+				tasks.add(pool.submit(() -> {
+					log.info(check.description);
+					ArrayList<ContentValidationResult> checkResults = new ArrayList<ContentValidationResult>();
+					check.check.accept(checkResults);
+					return checkResults;
+				}));
+			}
+			try {
+				results.addAll(tasks.get(i).get());
+			} catch (InterruptedException e) {
+				cancelFrom(tasks, i);
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException("Interrupted while comparing sections", e);
+			} catch (ExecutionException e) {
+				// The tasks only write to their own lists, the ones still running can be left to finish
+				cancelFrom(tasks, i);
+				if (e.getCause() instanceof RuntimeException) {
+					throw (RuntimeException) e.getCause();
+				} else if (e.getCause() instanceof Error) {
+					throw (Error) e.getCause();
+				}
+				throw new IllegalStateException(e.getCause());
+			}
+		}
+	}
+	
+	private static void cancelFrom(List<ForkJoinTask<ArrayList<ContentValidationResult>>> tasks, int first) {
+		for (int i = first; i < tasks.size(); i++) {
+			tasks.get(i).cancel(false);
+		}
+	}
+	
+	private static void logErrorBudgetSpent(ComparisonCheck next, ContentValidationOptions options) {
+		log.info("Skipping '" + next.description.trim() + "' and the remaining checks, the error budget of "
+				+ options.getErrorBudget() + " is spent");
+	}
+	
+	/*
+	 * The errors among the results so far, against an error budget of 0 for none. The checks only ever add
+	 * to the end of the results, so each call counts just the results added since the one before.
+	 */
+	private static final class ErrorCount {
+		private final int errorBudget;
+		private int counted;
+		private int errors;
+		
+		ErrorCount(int errorBudget) {
+			this.errorBudget = errorBudget;
+		}
+		
+		boolean isBudgetSpent(List<ContentValidationResult> results) {
+			if (errorBudget == 0) {
+				return false;
+			}
+			for (; counted < results.size(); counted++) {
+				if (results.get(counted).getContentValidationResultLevel() == ContentValidationResultLevel.ERROR) {
+					errors++;
+				}
+			}
+			return errors >= errorBudget;
+		}
+	}
+	
+	/*
+	 * One step of a comparison, with the highest level of result it can report
+	 */
+	private static final class ComparisonCheck {
+		private final String description;
+		private final ContentValidationResultLevel highestLevel;
+		private final Consumer<ArrayList<ContentValidationResult>> check;
+		
+		ComparisonCheck(String description, ContentValidationResultLevel highestLevel,
+				Consumer<ArrayList<ContentValidationResult>> check) {
+			this.description = description;
+			this.highestLevel = highestLevel;
+			this.check = check;
+		}
+	}
+	
 	private void compareProblems(String validationObjective, CCDARefModel submittedCCDA, 
 			ArrayList<ContentValidationResult> results, boolean curesUpdate, boolean svap2022) {
 		
@@ -484,7 +803,7 @@ public class CCDARefModel {
 			ArrayList<ContentValidationResult> results, boolean curesUpdate, boolean svap2022) {
 		
 		log.info("Retrieving Medication Activities for comparison ");
-		HashMap<String, CCDAMedicationActivity> refActivities = this.getAllMedActivities();
+		HashMap<String, CCDAMedicationActivity> refActivities = referenceMedActivities();
 		HashMap<String, CCDAMedicationActivity> subActivities = submittedCCDA.getAllMedActivities();
 		
 		if( (refActivities != null && refActivities.size() > 0) &&  
@@ -518,7 +837,7 @@ public class CCDARefModel {
 			ArrayList<ContentValidationResult> results, boolean curesUpdate, boolean svap2022) {
 		
 		log.info("Retrieving Immunization Activities for comparison ");
-		HashMap<String, CCDAImmunizationActivity> refActivities = this.getAllImmunizations();
+		HashMap<String, CCDAImmunizationActivity> refActivities = referenceImmunizations();
 		HashMap<String, CCDAImmunizationActivity> subActivities = submittedCCDA.getAllImmunizations();
 		
 		if( (refActivities != null && refActivities.size() > 0) &&  
@@ -553,7 +872,7 @@ public class CCDARefModel {
 			ArrayList<ContentValidationResult> results, boolean curesUpdate, boolean svap2022) {
 		
 		log.info("Retrieving Lab Results for comparison ");
-		HashMap<String, CCDALabResultObs> refResults = this.getAllLabResultObs();
+		HashMap<String, CCDALabResultObs> refResults = referenceLabResultObs();
 		HashMap<String, CCDALabResultObs> subResults = submittedCCDA.getAllLabResultObs();
 		
 		if( (refResults != null && refResults.size() > 0) &&  
@@ -587,7 +906,7 @@ public class CCDARefModel {
 			ArrayList<ContentValidationResult> results, boolean curesUpdate, boolean svap2022) {
 		
 		log.info("Retrieving Vital Observations for comparison ");
-		HashMap<String, CCDAVitalObs> refVitals = this.getAllVitalObs();
+		HashMap<String, CCDAVitalObs> refVitals = referenceVitalObs();
 		HashMap<String, CCDAVitalObs> subVitals = submittedCCDA.getAllVitalObs();
 		
 		if( (refVitals != null && refVitals.size() > 0) &&  
@@ -621,7 +940,7 @@ public class CCDARefModel {
 			ArrayList<ContentValidationResult> results, boolean curesUpdate, boolean svap2022) {
 		
 		log.info("Retrieving Udis for comparison ");
-		ArrayList<CCDAUDI> refUdis = this.getAllUDIs();
+		ArrayList<CCDAUDI> refUdis = referenceUDIs();
 		ArrayList<CCDAUDI> subUdis = submittedCCDA.getAllUDIs();
 		
 		if( (refUdis != null && refUdis.size() > 0) &&  
@@ -655,7 +974,7 @@ public class CCDARefModel {
 			ArrayList<ContentValidationResult> results, boolean curesUpdate, boolean svap2022) {
 		
 		log.info("Retrieving Procedure Acts for comparison ");
-		HashMap<String, CCDAProcActProc> refProcs = this.getAllProcedures();
+		HashMap<String, CCDAProcActProc> refProcs = referenceProcedures();
 		HashMap<String, CCDAProcActProc> subProcs = submittedCCDA.getAllProcedures();
 		
 		if( (refProcs != null && refProcs.size() > 0) &&  
@@ -689,7 +1008,7 @@ public class CCDARefModel {
 			ArrayList<ContentValidationResult> results, boolean curesUpdate, boolean svap2022) {
 		
 		log.info("Retrieving Notes Section for comparison ");
-		HashMap<String, CCDANotes> refNotes = this.getAllNotes();
+		HashMap<String, CCDANotes> refNotes = referenceNotes();
 		HashMap<String, CCDANotes> subNotes= submittedCCDA.getAllNotes();
 		
 		if( (refNotes != null && refNotes.size() > 0) &&  
@@ -799,7 +1118,7 @@ public class CCDARefModel {
 			ArrayList<ContentValidationResult> results, boolean curesUpdate, boolean svap2022) {
 		
 		log.info("Retrieving SDOH Data for comparison ");
-		HashMap<String, AssessmentScaleObservation> refSdohData = this.getAllSdohData();
+		HashMap<String, AssessmentScaleObservation> refSdohData = referenceSdohData();
 		HashMap<String, AssessmentScaleObservation> subSdohData = submittedCCDA.getAllSdohData();
 		
 		if( (refSdohData != null && refSdohData.size() > 0) &&  
@@ -1061,7 +1380,7 @@ public class CCDARefModel {
 		
 		log.info("Retrieving Notes Section for comparison ");
 		
-		HashMap<String, CCDANotesActivity> refNotesActs = this.getAllNotesActivities();
+		HashMap<String, CCDANotesActivity> refNotesActs = referenceNotesActivities();
 		HashMap<String, CCDANotesActivity> subNotesActs= submittedCCDA.getAllNotesActivities();
 		
 		if( (refNotesActs != null && refNotesActs.size() > 0) &&  
@@ -1077,10 +1396,8 @@ public class CCDARefModel {
 			
 			// handle the case where the Notes section does not exist in the submitted CCDA
 			for(Map.Entry<String, CCDANotesActivity> entries : refNotesActs.entrySet() ) {
-				String errorMsg = "The scenario requires data related to patient's Notes for " + entries.getKey() 
-								+ " , but the submitted C-CDA does not contain corresponding clinical Notes data.";
-				
-				ContentValidationResult rs = new ContentValidationResult(errorMsg, ContentValidationResultLevel.ERROR, "/ClinicalDocument", "0" );
+				ContentValidationResult rs = new ContentValidationResult(ContentValidationMessage.NOTES_NOT_MATCHED,
+						ContentValidationResultLevel.ERROR, "/ClinicalDocument", "0", entries.getKey());
 				results.add(rs);
 				log.info(" Scenario requires Notes data, but submitted document does not contain Notes data");
 			}
@@ -1391,7 +1708,7 @@ public class CCDARefModel {
 			boolean curesUpdate, boolean svap2022) {
 		
 		log.info("Retrieving Smoking Status for comparison ");
-		HashMap<String, CCDASmokingStatus> refStatus = this.getAllSmokingStatuses();
+		HashMap<String, CCDASmokingStatus> refStatus = referenceSmokingStatuses();
 		HashMap<String, CCDASmokingStatus> subStatus = submittedCCDA.getAllSmokingStatuses();
 		
 		if( (refStatus != null && refStatus.size() > 0) &&  
@@ -1518,7 +1835,7 @@ public class CCDARefModel {
 		if(!validationObjective.equalsIgnoreCase("170.315_e1_VDT_Amb") &&
 		   !validationObjective.equalsIgnoreCase("170.315_e1_VDT_Inp") ) {
 			log.info("Retrieving Procedure Acts for comparison ");
-			HashMap<String, CCDAProblemObs> refDiags = this.getAllEncounterDiagnoses(false);
+			HashMap<String, CCDAProblemObs> refDiags = referenceEncounterDiagnoses();
 			HashMap<String, CCDAProblemObs> subDiags = submittedCCDA.getAllEncounterDiagnoses(false);
 			
 			if( (refDiags != null && refDiags.size() > 0) &&  
@@ -1583,7 +1900,7 @@ public class CCDARefModel {
 		}
 	}	
 
-	public Boolean doesObjectiveRequireCCDS(String valObj) {
+	public static Boolean doesObjectiveRequireCCDS(String valObj) {
 		
 		if(valObj.equalsIgnoreCase("170.315_b1_ToC_Amb") || 
 			valObj.equalsIgnoreCase("170.315_b1_ToC_Inp") ||
@@ -1600,7 +1917,7 @@ public class CCDARefModel {
 			return false;
 	}
 	
-	public Boolean doesObjectiveRequireCIRI(String valObj) {
+	public static Boolean doesObjectiveRequireCIRI(String valObj) {
 		
 		if(valObj.equalsIgnoreCase("170.315_b2_CIRI_Amb") || 
 			valObj.equalsIgnoreCase("170.315_b2_CIRI_Inp") )
@@ -1609,7 +1926,7 @@ public class CCDARefModel {
 			return false;
 	}
 	
-	public Boolean doesObjectiveRequireCarePlan(String valObj) {
+	public static Boolean doesObjectiveRequireCarePlan(String valObj) {
 		
 		if(valObj.equalsIgnoreCase("170.315_b9_CP_Amb") || 
 			valObj.equalsIgnoreCase("170.315_b9_CP_Inp") )
@@ -1618,7 +1935,20 @@ public class CCDARefModel {
 			return false;
 	}
 	
-	public Boolean doesObjectiveRequireDS4P(String valObj) {
+	public static Boolean doesObjectiveRequireEncounterDiagnosis(String valObj) {
+		
+		if(valObj.equalsIgnoreCase("170.315_b1_ToC_Amb") || 
+			valObj.equalsIgnoreCase("170.315_b1_ToC_Inp") ||
+			valObj.equalsIgnoreCase("170.315_b4_CCDS_Amb") ||
+			valObj.equalsIgnoreCase("170.315_b4_CCDS_Inp") ||
+			valObj.equalsIgnoreCase("170.315_b6_DE_Amb") ||
+			valObj.equalsIgnoreCase("170.315_b6_DE_Inp") )
+				return true;
+		else
+			return false;
+	}
+	
+	public static Boolean doesObjectiveRequireDS4P(String valObj) {
 		
 		if(valObj.equalsIgnoreCase("170.315_b7_DS4P_Amb") || 
 			valObj.equalsIgnoreCase("170.315_b7_DS4P_Inp") )
@@ -1747,6 +2077,7 @@ public class CCDARefModel {
 	}
 
 	public void setAdmissionDiagnosis(CCDAAdmissionDiagnosis admissionDiagnosis) {
+		checkNotFrozen();
 		this.admissionDiagnosis = admissionDiagnosis;
 	}
 
@@ -1754,102 +2085,119 @@ public class CCDARefModel {
 		return patient;
 	}
 	public void setPatient(CCDAPatient patient) {
+		checkNotFrozen();
 		this.patient = patient;
 	}
 	public CCDACareTeamMember getMembers() {
 		return members;
 	}
 	public void setMembers(CCDACareTeamMember members) {
+		checkNotFrozen();
 		this.members = members;
 	}
 	public CCDACarePlanSections getCarePlanSections() {
 		return carePlanSections;
 	}
 	public void setCarePlanSections(CCDACarePlanSections carePlanSections) {
+		checkNotFrozen();
 		this.carePlanSections = carePlanSections;
 	}
 	public CCDAEncounter getEncounter() {
 		return encounter;
 	}
 	public void setEncounter(CCDAEncounter encounter) {
+		checkNotFrozen();
 		this.encounter = encounter;
 	}
 	public CCDAAllergy getAllergy() {
 		return allergy;
 	}
 	public void setAllergy(CCDAAllergy allergy) {
+		checkNotFrozen();
 		this.allergy = allergy;
 	}
 	public CCDAMedication getMedication() {
 		return medication;
 	}
 	public void setMedication(CCDAMedication medication) {
+		checkNotFrozen();
 		this.medication = medication;
 	}
 	public CCDAImmunization getImmunization() {
 		return immunization;
 	}
 	public void setImmunization(CCDAImmunization immunization) {
+		checkNotFrozen();
 		this.immunization = immunization;
 	}
 	public CCDALabResult getLabResults() {
 		return labResults;
 	}
 	public void setLabResults(CCDALabResult labResults) {
+		checkNotFrozen();
 		this.labResults = labResults;
 	}
 	public CCDALabResult getLabTests() {
 		return labTests;
 	}
 	public void setLabTests(CCDALabResult labTests) {
+		checkNotFrozen();
 		this.labTests = labTests;
 	}
 	public CCDAProcedure getProcedure() {
 		return procedure;
 	}
 	public void setProcedure(CCDAProcedure procedure) {
+		checkNotFrozen();
 		this.procedure = procedure;
 	}
 	public CCDASocialHistory getSocialHistory() {
 		return socialHistory;
 	}
 	public void setSmokingStatus(CCDASocialHistory sh) {
+		checkNotFrozen();
 		this.socialHistory = sh;
 	}
 	public CCDAVitalSigns getVitalSigns() {
 		return vitalSigns;
 	}
 	public void setVitalSigns(CCDAVitalSigns vitalSigns) {
+		checkNotFrozen();
 		this.vitalSigns = vitalSigns;
 	}
 	public CCDAProblem getProblem() {
 		return problem;
 	}
 	public void setProblem(CCDAProblem problem) {
+		checkNotFrozen();
 		this.problem = problem;
 	}
 	public CCDAPlanOfTreatment getPlanOfTreatment() {
 		return planOfTreatment;
 	}
 	public void setPlanOfTreatment(CCDAPlanOfTreatment planOfTreatment) {
+		checkNotFrozen();
 		this.planOfTreatment = planOfTreatment;
 	}
 	public CCDAGoals getGoals() {
 		return goals;
 	}
 	public void setGoals(CCDAGoals goals) {
+		checkNotFrozen();
 		this.goals = goals;
 	}
 	public CCDAHealthConcerns getHcs() {
 		return hcs;
 	}
 	public void setHcs(CCDAHealthConcerns hcs) {
+		checkNotFrozen();
 		this.hcs = hcs;
 	}
 	public ArrayList<CCDAUDI> getUdi() {
 		return udi;
 	}
 	public void setUdi(ArrayList<CCDAUDI> udis) {
+		checkNotFrozen();
 		
 		if(udis != null)
 			this.udi = udis;
@@ -1993,23 +2341,31 @@ public class CCDARefModel {
 	}
 
 	public void setDischargeMedication(CCDADischargeMedication dischargeMedication) {
+		checkNotFrozen();
 		this.dischargeMedication = dischargeMedication;
 	}
 
 	public void performCIRIValidation(String validationObjective, CCDARefModel submittedCCDA, 
 			ArrayList<ContentValidationResult> results, boolean curesUpdate, boolean svap2022) 
 	{
-		log.info("Comparing Patient Data ");
-		comparePatients(submittedCCDA, results, curesUpdate, svap2022);
-		
-		log.info("Comparing Problems ");
-		compareProblems(validationObjective, submittedCCDA, results, curesUpdate, svap2022);
-		
-		log.info("Comparing Allergies ");
-		compareAllergies(validationObjective, submittedCCDA, results, curesUpdate, svap2022);
-		
-		log.info("Comparing Medications ");
-		compareMedications(validationObjective, submittedCCDA, results, curesUpdate, svap2022);
+		performCIRIValidation(validationObjective, submittedCCDA, results, curesUpdate, svap2022,
+				ContentValidationOptions.ALL, new ErrorCount(0));
+	}
+	
+	private void performCIRIValidation(String validationObjective, CCDARefModel submittedCCDA, 
+			ArrayList<ContentValidationResult> results, boolean curesUpdate, boolean svap2022,
+			ContentValidationOptions options, ErrorCount errorCount) 
+	{
+		ArrayList<ComparisonCheck> checks = new ArrayList<ComparisonCheck>();
+		checks.add(new ComparisonCheck("Comparing Patient Data ", ContentValidationResultLevel.ERROR,
+				r -> comparePatients(submittedCCDA, r, curesUpdate, svap2022)));
+		checks.add(new ComparisonCheck("Comparing Problems ", ContentValidationResultLevel.ERROR,
+				r -> compareProblems(validationObjective, submittedCCDA, r, curesUpdate, svap2022)));
+		checks.add(new ComparisonCheck("Comparing Allergies ", ContentValidationResultLevel.ERROR,
+				r -> compareAllergies(validationObjective, submittedCCDA, r, curesUpdate, svap2022)));
+		checks.add(new ComparisonCheck("Comparing Medications ", ContentValidationResultLevel.ERROR,
+				r -> compareMedications(validationObjective, submittedCCDA, r, curesUpdate, svap2022)));
+		runChecks(checks, submittedCCDA, results, options, errorCount);
 		
 		log.info("Finished comparison , returning results");
 		
@@ -2018,11 +2374,20 @@ public class CCDARefModel {
 	public void performCarePlanValidation(String validationObjective, CCDARefModel submittedCCDA, 
 			ArrayList<ContentValidationResult> results, boolean curesUpdate, boolean svap2022) 
 	{
-		log.info("Comparing Patient Data ");
-		comparePatients(submittedCCDA, results, curesUpdate, svap2022);
-		
-		log.info("Comparing CarePlan Sections");
-		compareCarePlanSections(submittedCCDA, results);
+		performCarePlanValidation(validationObjective, submittedCCDA, results, curesUpdate, svap2022,
+				ContentValidationOptions.ALL, new ErrorCount(0));
+	}
+	
+	private void performCarePlanValidation(String validationObjective, CCDARefModel submittedCCDA, 
+			ArrayList<ContentValidationResult> results, boolean curesUpdate, boolean svap2022,
+			ContentValidationOptions options, ErrorCount errorCount) 
+	{
+		ArrayList<ComparisonCheck> checks = new ArrayList<ComparisonCheck>();
+		checks.add(new ComparisonCheck("Comparing Patient Data ", ContentValidationResultLevel.ERROR,
+				r -> comparePatients(submittedCCDA, r, curesUpdate, svap2022)));
+		checks.add(new ComparisonCheck("Comparing CarePlan Sections", ContentValidationResultLevel.ERROR,
+				r -> compareCarePlanSections(submittedCCDA, r)));
+		runChecks(checks, submittedCCDA, results, options, errorCount);
 		
 		log.info("Finished comparison , returning results");
 		
@@ -2031,8 +2396,18 @@ public class CCDARefModel {
 	public void performDS4PValidation(String validationObjective, CCDARefModel submittedCCDA, 
 			ArrayList<ContentValidationResult> results, boolean curesUpdate, boolean svap2022) 
 	{
-		log.info("Comparing Patient Data ");
-		comparePatients(submittedCCDA, results, curesUpdate, svap2022);
+		performDS4PValidation(validationObjective, submittedCCDA, results, curesUpdate, svap2022,
+				ContentValidationOptions.ALL, new ErrorCount(0));
+	}
+	
+	private void performDS4PValidation(String validationObjective, CCDARefModel submittedCCDA, 
+			ArrayList<ContentValidationResult> results, boolean curesUpdate, boolean svap2022,
+			ContentValidationOptions options, ErrorCount errorCount) 
+	{
+		ArrayList<ComparisonCheck> checks = new ArrayList<ComparisonCheck>();
+		checks.add(new ComparisonCheck("Comparing Patient Data ", ContentValidationResultLevel.ERROR,
+				r -> comparePatients(submittedCCDA, r, curesUpdate, svap2022)));
+		runChecks(checks, submittedCCDA, results, options, errorCount);
 		
 		log.info("Finished comparison , returning results");
 		
@@ -2042,12 +2417,7 @@ public class CCDARefModel {
 			ArrayList<ContentValidationResult> results, boolean curesUpdate, boolean svap2022)
 	{
 		// validate encounter diagnosis.
-		if(valObj.equalsIgnoreCase("170.315_b1_ToC_Amb") || 
-				valObj.equalsIgnoreCase("170.315_b1_ToC_Inp") ||
-				valObj.equalsIgnoreCase("170.315_b4_CCDS_Amb") ||
-				valObj.equalsIgnoreCase("170.315_b4_CCDS_Inp") ||
-				valObj.equalsIgnoreCase("170.315_b6_DE_Amb") ||
-				valObj.equalsIgnoreCase("170.315_b6_DE_Inp") ) {
+		if(doesObjectiveRequireEncounterDiagnosis(valObj)) {
 			
 			log.info("Comparing Encounter Diagnosis for b1, b4, and b6 ");
 			compareEncounterDiagnosis(valObj, submittedCCDA, results, svap2022);	
@@ -2059,6 +2429,7 @@ public class CCDARefModel {
 	}
 
 	public void setDischargeDiagnosis(CCDADischargeDiagnosis dischargeDiagnosis) {
+		checkNotFrozen();
 		this.dischargeDiagnosis = dischargeDiagnosis;
 	}
 
@@ -2067,6 +2438,7 @@ public class CCDARefModel {
 	}
 
 	public void setMedEquipments(CCDAMedicalEquipment medEquipments) {
+		checkNotFrozen();
 		this.medEquipments = medEquipments;
 	}
 	
@@ -2077,6 +2449,20 @@ public class CCDARefModel {
 	public boolean infoPermitted() {
 		return severityLevel == SeverityLevel.INFO;				
 	}
+	
+	/*
+	 * Whether results of the level are reported at this model's severity level
+	 */
+	public boolean permits(ContentValidationResultLevel level) {
+		switch (level) {
+		case INFO:
+			return infoPermitted();
+		case WARNING:
+			return warningsPermitted();
+		default:
+			return true;
+		}
+	}
 
 	public String getSeverityLevelName() {
 		return severityLevel.name();
@@ -3,13 +3,15 @@ package org.sitenv.contentvalidator.model;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.sitenv.contentvalidator.dto.ContentValidationResult;
+import org.sitenv.contentvalidator.dto.enums.ContentValidationMessage;
 import org.sitenv.contentvalidator.dto.enums.ContentValidationResultLevel;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Map;
 
-public class CCDASmokingStatus {
+public class CCDASmokingStatus implements Serializable {
 
 	private static Logger log = LoggerFactory.getLogger(CCDASmokingStatus.class.getName());
 	
@@ -32,9 +34,8 @@ public class CCDASmokingStatus {
 
 			} else {
 				// Error
-				String error = "The scenario contains Smoking Status data with code " + ent.getKey() +
-						" , however there is no matching data in the submitted CCDA. ";
-				ContentValidationResult rs = new ContentValidationResult(error, ContentValidationResultLevel.ERROR, "/ClinicalDocument", "0" );
+				ContentValidationResult rs = new ContentValidationResult(ContentValidationMessage.CODED_DATA_NOT_MATCHED,
+						ContentValidationResultLevel.ERROR, "/ClinicalDocument", "0", "Smoking Status data", ent.getKey());
 				results.add(rs);
 			}
 		}
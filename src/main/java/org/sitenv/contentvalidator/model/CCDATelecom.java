@@ -4,7 +4,9 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.util.StringUtils;
 
-public class CCDATelecom {
+import java.io.Serializable;
+
+public class CCDATelecom implements Serializable {
 
 	private static Logger log = LoggerFactory.getLogger(CCDATelecom.class.getName());
 	
@@ -3,11 +3,13 @@ package org.sitenv.contentvalidator.model;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory; 
 import org.sitenv.contentvalidator.dto.ContentValidationResult;
+import org.sitenv.contentvalidator.dto.enums.ContentValidationMessage;
 import org.sitenv.contentvalidator.dto.enums.ContentValidationResultLevel;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 
-public class CCDAUDI {
+public class CCDAUDI implements Serializable {
 	
 	private static Logger log = LoggerFactory.getLogger(CCDAUDI.class.getName());
 	
@@ -73,7 +75,8 @@ public class CCDAUDI {
 			}
 			else {
 				log.info(" Did not find the UDI " + refii.getRootValue() + " : " + refii.getExtValue());
-				ContentValidationResult rs = new ContentValidationResult("The scenario requires data related to patient's UDI: Root = " + refii.getRootValue() + " Extension = " + refii.getExtValue() + ", but the submitted C-CDA does not contain UDI data.", ContentValidationResultLevel.ERROR, "/ClinicalDocument", "0" );
+				ContentValidationResult rs = new ContentValidationResult(ContentValidationMessage.UDI_MISSING,
+						ContentValidationResultLevel.ERROR, "/ClinicalDocument", "0", refii.getRootValue(), refii.getExtValue());
 				results.add(rs);
 				return false; // If we dont find even one of them..then the data is not matching.
 			}
@@ -3,9 +3,10 @@ package org.sitenv.contentvalidator.model;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 
-public class CCDAVitalOrg {
+public class CCDAVitalOrg implements Serializable {
 	
 	private static Logger log = LoggerFactory.getLogger(CCDAVitalOrg.class.getName());
 
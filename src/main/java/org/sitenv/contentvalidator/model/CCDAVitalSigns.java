@@ -4,10 +4,11 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.sitenv.contentvalidator.dto.ContentValidationResult;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.HashMap;
 
-public class CCDAVitalSigns {
+public class CCDAVitalSigns implements Serializable {
 	
 	private static Logger log = LoggerFactory.getLogger(CCDAVitalSigns.class.getName());
 	
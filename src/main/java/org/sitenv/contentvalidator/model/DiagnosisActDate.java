@@ -1,14 +1,16 @@
 package org.sitenv.contentvalidator.model;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 
 import org.sitenv.contentvalidator.dto.ContentValidationResult;
+import org.sitenv.contentvalidator.dto.enums.ContentValidationMessage;
 import org.sitenv.contentvalidator.dto.enums.ContentValidationResultLevel;
 import org.sitenv.contentvalidator.parsers.ParserUtilities;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-public class DiagnosisActDate {
+public class DiagnosisActDate implements Serializable {
 
 private static Logger log = LoggerFactory.getLogger(DiagnosisActDate.class.getName());
 	
@@ -80,9 +82,8 @@ private static Logger log = LoggerFactory.getLogger(DiagnosisActDate.class.getNa
 				ParserUtilities.compareCode(diagnosisActCode, subDateOfDiagnosis.getDiagnosisActCode(), results, elementNameVal);
 		}
 		else {
-			String error = "The scenario contains Date of Diagnosis Act data " + context + 
-					" , however there is no matching data in the submitted CCDA. ";
-			ContentValidationResult rs = new ContentValidationResult(error, ContentValidationResultLevel.ERROR, "/ClinicalDocument", "0" );
+			ContentValidationResult rs = new ContentValidationResult(ContentValidationMessage.DIAGNOSIS_ACT_DATE_NOT_MATCHED,
+					ContentValidationResultLevel.ERROR, "/ClinicalDocument", "0", context);
 			results.add(rs);
 		}
 	}
@@ -1,16 +1,18 @@
 package org.sitenv.contentvalidator.model;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Map;
 
 import org.sitenv.contentvalidator.dto.ContentValidationResult;
+import org.sitenv.contentvalidator.dto.enums.ContentValidationMessage;
 import org.sitenv.contentvalidator.dto.enums.ContentValidationResultLevel;
 import org.sitenv.contentvalidator.parsers.ParserUtilities;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-public class GoalObservation {
+public class GoalObservation implements Serializable {
 
 private static Logger log = LoggerFactory.getLogger(GoalObservation.class.getName());
 	
@@ -139,9 +141,8 @@ private static Logger log = LoggerFactory.getLogger(GoalObservation.class.getNam
 			}
 			else {
 				
-				String error = "The scenario contains Goal Observation data with code " + entry.getKey() + 
-						" , however there is no matching data in the submitted CCDA.";
-				ContentValidationResult rs = new ContentValidationResult(error, ContentValidationResultLevel.ERROR, "/ClinicalDocument", "0" );
+				ContentValidationResult rs = new ContentValidationResult(ContentValidationMessage.CODED_ENTRY_NOT_MATCHED,
+						ContentValidationResultLevel.ERROR, "/ClinicalDocument", "0", "Goal Observation data", entry.getKey());
 				results2.add(rs);
 			}
 			
@@ -0,0 +1,161 @@
+package org.sitenv.contentvalidator.model;
+
+import java.io.Serializable;
+
+/*
+ * An HL7 TS value (YYYYMMDD[HHMM[SS]][+/-ZZZZ]) parsed once, so that comparing and validating times reads primitive
+ * fields and the original string in place instead of taking substrings and running regular expressions every time.
+ * Values that are not well formed are kept as well, every check answers for them as the string checks it replaces.
+ */
+public final class HL7Timestamp implements Serializable {
+
+	private static final int DATE_LENGTH = 8;
+
+	private final String value;
+	// The number of digits the value starts with, 8 for a date, 12 for a date with hours and minutes
+	private final int precision;
+	// The leading digits of the date portion, at most 8 of them, as a number, or -1 when it holds other characters
+	private final int date;
+	// The hours, minutes and seconds as written (HHMM or HHMMSS), or -1 without a well formed time and time zone
+	private final int time;
+	private final boolean timezonePresent;
+	private final int timezoneOffsetMinutes;
+	private final boolean eightDigitDate;
+	private final boolean timeAndTimezoneWellFormed;
+
+	private HL7Timestamp(String value) {
+		this.value = value;
+		int length = value.length();
+
+		int digits = 0;
+		while (digits < length && isDigit(value.charAt(digits))) {
+			digits++;
+		}
+		this.precision = digits;
+
+		int dateLength = Math.min(length, DATE_LENGTH);
+		this.date = digits >= dateLength ? parseDigits(value, 0, dateLength) : -1;
+		this.eightDigitDate = digits >= DATE_LENGTH;
+
+		// As "^([0-9]{4}|[0-9]{6})(-|\+)([0-9]{4})$" matches what follows the date, $ allowing a final line terminator
+		int end = length - finalLineTerminatorLength(value);
+		int timeLength = end - DATE_LENGTH - 5;
+		int sign = DATE_LENGTH + timeLength;
+		boolean wellFormed = (timeLength == 4 || timeLength == 6) && allDigits(value, DATE_LENGTH, sign)
+				&& isSign(value.charAt(sign)) && allDigits(value, sign + 1, end);
+		this.timeAndTimezoneWellFormed = wellFormed;
+		if (wellFormed) {
+			int offset = parseDigits(value, sign + 1, sign + 3) * 60 + parseDigits(value, sign + 3, end);
+			this.time = parseDigits(value, DATE_LENGTH, sign);
+			this.timezonePresent = true;
+			this.timezoneOffsetMinutes = value.charAt(sign) == '-' ? -offset : offset;
+		} else {
+			this.time = -1;
+			this.timezonePresent = false;
+			this.timezoneOffsetMinutes = 0;
+		}
+	}
+
+	/*
+	 * The parsed value, or null for a null value
+	 */
+	public static HL7Timestamp parse(String value) {
+		return value != null ? new HL7Timestamp(value) : null;
+	}
+
+	/*
+	 * Whether the first 8 characters of both values, or all of a shorter one, are the same ignoring case,
+	 * as comparing their substrings with equalsIgnoreCase did
+	 */
+	public boolean datePrefixMatches(HL7Timestamp other) {
+		int length = Math.min(value.length(), DATE_LENGTH);
+		if (length != Math.min(other.value.length(), DATE_LENGTH)) {
+			return false;
+		}
+		if (date >= 0 && other.date >= 0) {
+			return date == other.date;
+		}
+		return value.regionMatches(true, 0, other.value, 0, length);
+	}
+
+	/*
+	 * Whether the value starts with an 8-digit date, as "^[0-9]{8}$" matches its first 8 characters
+	 */
+	public boolean hasEightDigitDate() {
+		return eightDigitDate;
+	}
+
+	/*
+	 * Whether what follows the date is a 4 or 6-digit time followed by a '+' or a '-' and a 4-digit time zone
+	 */
+	public boolean hasWellFormedTimeAndTimezone() {
+		return timeAndTimezoneWellFormed;
+	}
+
+	public boolean isLongerThanDate() {
+		return value.length() > DATE_LENGTH;
+	}
+
+	public String getValue() {
+		return value;
+	}
+
+	public int getPrecision() {
+		return precision;
+	}
+
+	public int getDate() {
+		return date;
+	}
+
+	public int getTime() {
+		return time;
+	}
+
+	public boolean isTimezonePresent() {
+		return timezonePresent;
+	}
+
+	public int getTimezoneOffsetMinutes() {
+		return timezoneOffsetMinutes;
+	}
+
+	private static boolean isDigit(char c) {
+		return c >= '0' && c <= '9';
+	}
+
+	private static boolean isSign(char c) {
+		return c == '-' || c == '+';
+	}
+
+	private static boolean allDigits(String value, int from, int to) {
+		for (int i = from; i < to; i++) {
+			if (!isDigit(value.charAt(i))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static int parseDigits(String value, int from, int to) {
+		int number = 0;
+		for (int i = from; i < to; i++) {
+			number = number * 10 + (value.charAt(i) - '0');
+		}
+		return number;
+	}
+
+	private static int finalLineTerminatorLength(String value) {
+		int length = value.length();
+		if (length >= 2 && value.charAt(length - 2) == '\r' && value.charAt(length - 1) == '\n') {
+			return 2;
+		}
+		if (length >= 1) {
+			char last = value.charAt(length - 1);
+			if (last == '\n' || last == '\r' || last == '\u0085' || last == '\u2028' || last == '\u2029') {
+				return 1;
+			}
+		}
+		return 0;
+	}
+}
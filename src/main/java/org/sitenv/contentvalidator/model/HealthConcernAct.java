@@ -1,12 +1,13 @@
 package org.sitenv.contentvalidator.model;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.HashMap;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-public class HealthConcernAct {
+public class HealthConcernAct implements Serializable {
 
 private static Logger log = LoggerFactory.getLogger(HealthConcernAct.class.getName());
     
@@ -26,7 +26,7 @@ public class AllergiesParser {
 	public static CCDAAllergy retrieveAllergiesDetails(Document doc) throws XPathExpressionException
 	{
 		CCDAAllergy allergies = null;
-		Element sectionElement = (Element) CCDAConstants.ALLERGIES_EXPRESSION.evaluate(doc, XPathConstants.NODE);
+		Element sectionElement = CCDADocumentIndex.forDocument(doc).getSectionByCode(CCDAConstants.ALLERGIES_SECTION_CODE);
 		
 		if(sectionElement != null)
 		{
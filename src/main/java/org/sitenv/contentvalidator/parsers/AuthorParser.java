@@ -1,6 +1,7 @@
 package org.sitenv.contentvalidator.parsers;
 
 import java.util.ArrayList;
+import java.util.List;
 
 import javax.xml.xpath.XPathConstants;
 import javax.xml.xpath.XPathExpressionException;
@@ -8,9 +9,11 @@ import javax.xml.xpath.XPathExpressionException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.sitenv.contentvalidator.model.CCDAAuthor;
+import org.sitenv.contentvalidator.model.CCDALinkedAuthors;
 import org.sitenv.contentvalidator.model.CCDARefModel;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
+import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
 
 public class AuthorParser {
@@ -49,12 +52,11 @@ public class AuthorParser {
 		return auths;
 	}
 	
-	public static ArrayList<CCDAAuthor> retrieveAuthorsWithLinkedReferenceData(Document doc)
+	public static CCDALinkedAuthors retrieveAuthorsWithLinkedReferenceData(Document doc)
 			throws XPathExpressionException {
-		ArrayList<CCDAAuthor> auths = new ArrayList<CCDAAuthor>();
+		CCDALinkedAuthors auths = new CCDALinkedAuthors();
 		CCDAAuthor auth = null;
-		NodeList bodyAuths = (NodeList) 
-				CCDAConstants.AUTHORS_WITH_LINKED_REFERENCE_DATA_EXP.evaluate(doc, XPathConstants.NODESET);
+		NodeList bodyAuths = new ElementNodeList(findAuthorsWithLinkedReferenceData(doc));
 
 		for (int i = 0; i < bodyAuths.getLength(); i++) {
 			log.info(
@@ -69,6 +71,54 @@ public class AuthorParser {
 		}
 
 		return auths;
-	}	
+	}
+	
+	/*
+	 * Same selection as AUTHORS_WITH_LINKED_REFERENCE_DATA_EXP, checked against the authors collected by the document index
+	 * because evaluating the predicate through XPath for each author would again cost a pass over the document
+	 */
+	static List<Element> findAuthorsWithLinkedReferenceData(Document doc) {
+		List<Element> auths = new ArrayList<>();
+		for (Element author : CCDADocumentIndex.forDocument(doc).getAuthors()) {
+			if (!DomNames.hasAttribute(author, "nullFlavor") && hasLinkedReferenceData(author)) {
+				auths.add(author);
+			}
+		}
+		return auths;
+	}
+	
+	private static boolean hasLinkedReferenceData(Element author) {
+		for (Node assignedAuthor = author.getFirstChild(); assignedAuthor != null; assignedAuthor = assignedAuthor.getNextSibling()) {
+			if (DomNames.isElement(assignedAuthor, "assignedAuthor") && !DomNames.hasAttribute((Element) assignedAuthor, "nullFlavor")
+					&& hasChild((Element) assignedAuthor, "id", true)
+					&& (hasChild((Element) assignedAuthor, "code", false) || hasChild((Element) assignedAuthor, "addr", false)
+						|| hasChild((Element) assignedAuthor, "telecom", false) || hasChild((Element) assignedAuthor, "assignedPerson", false)
+						|| hasChild((Element) assignedAuthor, "representedOrganization", false))) {
+				return true;
+			}
+		}
+		return false;
+	}
+	
+	/*
+	 * True when the parent has a child of that name without a nullFlavor, and with a root and extension if they are required
+	 */
+	private static boolean hasChild(Element parent, String localName, boolean rootAndExtensionRequired) {
+		for (Node child = parent.getFirstChild(); child != null; child = child.getNextSibling()) {
+			if (DomNames.isElement(child, localName) && !DomNames.hasAttribute((Element) child, "nullFlavor")
+					&& (!rootAndExtensionRequired || (hasValue((Element) child, "root") && hasValue((Element) child, "extension")))) {
+				return true;
+			}
+		}
+		return false;
+	}
+	
+	/*
+	 * XPath string(@name), any value other than the empty string counts
+	 */
+	private static boolean hasValue(Element element, String attributeName) {
+		String value = DomNames.attributeValue(element, attributeName);
+		return value != null && !value.isEmpty();
+	}
 
 }
@@ -3,81 +3,150 @@ package org.sitenv.contentvalidator.parsers;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.sitenv.contentvalidator.model.CCDARefModel;
+import org.sitenv.contentvalidator.parsers.CCDAParsePlan.Section;
 import org.w3c.dom.Document;
 
 import javax.xml.xpath.XPathExpressionException;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
 public class CCDABodyParser {
 	
 	private static Logger log = LoggerFactory.getLogger(CCDABodyParser.class.getName());
 	
+	/*
+	 * One section parser, each of them sets its own fields of the model and only reads the document
+	 */
+	private interface SectionParser {
+		void parse(Document doc, CCDARefModel model, boolean curesUpdate, boolean svap2022) throws XPathExpressionException;
+	}
+	
+	private static final class BodyStep {
+		private final String name;
+		private final Section section;
+		private final SectionParser parser;
+		
+		BodyStep(String name, Section section, SectionParser parser) {
+			this.name = name;
+			this.section = section;
+			this.parser = parser;
+		}
+	}
+	
+	private static final List<BodyStep> STEPS = Arrays.asList(
+			new BodyStep("Encounters", Section.ENCOUNTERS, EncounterParser::parse),
+			new BodyStep("Problems", Section.PROBLEMS, ProblemParser::parse),
+			new BodyStep("Medications", Section.MEDICATIONS, MedicationParser::parse),
+			new BodyStep("Allergies", Section.ALLERGIES, AllergiesParser::parse),
+			new BodyStep("Social History", Section.SOCIAL_HISTORY, SocialHistoryParser::parse),
+			new BodyStep("lab Results", Section.LAB_RESULTS, LabResultParser::parse),
+			new BodyStep("lab tests", Section.LAB_TESTS, LabTestParser::parse),
+			new BodyStep("Vitals", Section.VITAL_SIGNS, VitalSignParser::parse),
+			new BodyStep("Procedures", Section.PROCEDURES, ProcedureParser::parse),
+			new BodyStep("Care Team Members", Section.CARE_TEAM_MEMBERS, CareTeamMemberParser::parse),
+			new BodyStep("CarePlan Sections", Section.CARE_PLAN_SECTIONS, CarePlanSectionsParser::parse),
+			new BodyStep("Immunizations", Section.IMMUNIZATIONS, ImmunizationParser::parse),
+			new BodyStep("Medical Equipments", Section.MEDICAL_EQUIPMENT, MedicalEquipmentParser::parse),
+			new BodyStep("Notes Section", Section.NOTES, NotesParser::parse),
+			// Not required by the spec but required by our scenarios due to them having authors in the header
+			new BodyStep("Doc Author", Section.AUTHORS, AuthorParser::parse),
+			new BodyStep("Care Team Section", Section.CARE_TEAM_SECTION, CareTeamMemberParser::parseCareTeamSection),
+			new BodyStep("Goals", Section.GOALS, GoalParser::parse),
+			new BodyStep("Health Concerns", Section.HEALTH_CONCERNS, HealthConcernParser::parse),
+			new BodyStep("Plan of Treatment", Section.PLAN_OF_TREATMENT, PlanOfTreatmentParser::parse));
+	
 	static public void parseBody(Document doc, CCDARefModel model, boolean curesUpdate, boolean svap2022)
 			throws XPathExpressionException {
+		parseBody(doc, model, curesUpdate, svap2022, CCDAParsePlan.ALL);
+	}
 	
-		log.info(" Parsing Encounters ");
-		EncounterParser.parse(doc,model, curesUpdate, svap2022);
-		
-		log.info(" Parsing Problems ");
-		ProblemParser.parse(doc, model, curesUpdate, svap2022);
-		
-		log.info(" Parsing Medications ");
-		MedicationParser.parse(doc, model, curesUpdate, svap2022);
-		
-		log.info("Parsing Allergies ");
-		AllergiesParser.parse(doc,model, curesUpdate, svap2022);
-		
-		log.info("Parsing Social History ");
-		SocialHistoryParser.parse(doc, model, curesUpdate, svap2022);
-		
-		log.info(" Parsing lab Results ");
-		LabResultParser.parse(doc, model, curesUpdate, svap2022);
-		
-		log.info(" Parsing lab tests ");
-		LabTestParser.parse(doc, model, curesUpdate, svap2022);
-		
-		log.info("Parsing Vitals ");
-		VitalSignParser.parse(doc, model, curesUpdate, svap2022);
-		
-		log.info("Parsing Procedures "); 
-		ProcedureParser.parse(doc, model, curesUpdate, svap2022);
+	static public void parseBody(Document doc, CCDARefModel model, boolean curesUpdate, boolean svap2022, CCDAParsePlan plan)
+			throws XPathExpressionException {
 		
-		log.info("Parsing Care Team Members ");
-		CareTeamMemberParser.parse(doc, model, curesUpdate, svap2022);
+		logUscdiTypesStatus(curesUpdate, svap2022);
 		
-		log.info("Parsing CarePlan Sections ");
-		CarePlanSectionsParser.parse(doc, model, curesUpdate, svap2022);
+		for (BodyStep step : planned(plan)) {
+			log.info(" Parsing " + step.name + " ");
+			step.parser.parse(doc, model, curesUpdate, svap2022);
+		}
+	}
+	
+	/*
+	 * Runs the section parsers as fork/join tasks on the pool. The document must not change while they run
+	 * and must be fully expanded, which is the case for the documents built by the DocumentBuilderPool,
+	 * and its CCDADocumentIndex must already be built so the tasks only ever read it.
+	 */
+	static public void parseBodyInParallel(Document doc, CCDARefModel model, boolean curesUpdate, boolean svap2022,
+			ForkJoinPool pool) throws XPathExpressionException {
+		parseBodyInParallel(doc, model, curesUpdate, svap2022, CCDAParsePlan.ALL, pool);
+	}
+	
+	static public void parseBodyInParallel(Document doc, CCDARefModel model, boolean curesUpdate, boolean svap2022,
+			CCDAParsePlan plan, ForkJoinPool pool) throws XPathExpressionException {
 		
-		log.info("Parsing Immunizations ");
-		ImmunizationParser.parse(doc, model, curesUpdate, svap2022);
+		logUscdiTypesStatus(curesUpdate, svap2022);
+		CCDADocumentIndex.forDocument(doc);
 		
-		log.info("Parsing Medical Equipments");
-		MedicalEquipmentParser.parse(doc, model, curesUpdate, svap2022);
+		List<BodyStep> steps = planned(plan);
+		List<ForkJoinTask<Void>> tasks = new ArrayList<>(steps.size());
+		// The sections are evaluated the way the calling parse evaluates, see CCDAParser.setDirectDomNavigation
+		boolean xpathOnly = ThreadLocalXPathExpression.isXPathOnly();
+		for (BodyStep step : steps) {
+			tasks.add(pool.submit(() -> {
+				log.info(" Parsing " + step.name + " ");
+				boolean previous = ThreadLocalXPathExpression.setXPathOnly(xpathOnly);
+				try {
+					step.parser.parse(doc, model, curesUpdate, svap2022);
+				} finally {
+					ThreadLocalXPathExpression.setXPathOnly(previous);
+				}
+				return null;
+			}));
+		}
 		
-		logUscdiTypesStatus(curesUpdate, svap2022);
+		Throwable failure = null;
+		for (ForkJoinTask<Void> task : tasks) {
+			try {
+				task.get();
+			} catch (InterruptedException e) {
+				for (ForkJoinTask<Void> other : tasks) {
+					other.cancel(false);
+				}
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException("Interrupted while parsing sections", e);
+			} catch (ExecutionException e) {
+				// Wait for the other tasks before failing, so none of them is still writing to the model
+				if (failure == null) {
+					failure = e.getCause();
+				}
+			}
+		}
+		if (failure instanceof XPathExpressionException) {
+			throw (XPathExpressionException) failure;
+		} else if (failure instanceof RuntimeException) {
+			throw (RuntimeException) failure;
+		} else if (failure instanceof Error) {
+			throw (Error) failure;
+		} else if (failure != null) {
+			throw new XPathExpressionException(failure);
+		}
+	}
 	
-			log.info(" Parsing Notes Section ");
-			NotesParser.parse(doc, model, curesUpdate, svap2022);
-
-			// Not required by the spec but required by our scenarios due to them having authors in the header
-			log.info(" Parsing Doc Author ");
-			AuthorParser.parse(doc, model, curesUpdate, svap2022);
-
-			log.info(" Parsing Care Team Section ");
-			CareTeamMemberParser.parseCareTeamSection(doc, model, curesUpdate, svap2022);
-
-		
-		log.info("Parsing Goals");
-		GoalParser.parse(doc, model, curesUpdate, svap2022);
-			
-			log.info(" Parsing Health Concerns ");
-			HealthConcernParser.parse(doc, model, curesUpdate, svap2022);
-			
-			log.info(" Parsing Plan of Treatment ");
-			PlanOfTreatmentParser.parse(doc, model, curesUpdate, svap2022);	
-			
-			if(svap2022)
-				curesUpdate = true;
-			
+	private static List<BodyStep> planned(CCDAParsePlan plan) {
+		List<BodyStep> steps = new ArrayList<>(STEPS.size());
+		for (BodyStep step : STEPS) {
+			if (plan.includes(step.section)) {
+				steps.add(step);
+			} else {
+				log.info(" Skipping " + step.name + ", not in the parse plan ");
+			}
+		}
+		return steps;
 	}
 	
 	private static void logUscdiTypesStatus(boolean curesUpdate, boolean svap2022) {
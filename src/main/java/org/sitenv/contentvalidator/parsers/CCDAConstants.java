@@ -12,6 +12,7 @@ public class CCDAConstants {
 
     private final static CCDAConstants constants = new CCDAConstants(); 
     
+	// Not thread safe, the expressions below are compiled per thread through ThreadLocalXPathExpression
 	static public XPath CCDAXPATH;
 	static public XPathExpression DOC_TEMPLATE_EXP;
 	static public XPathExpression DOC_TYPE_EXP;
@@ -202,6 +203,31 @@ public class CCDAConstants {
 
 	public static final String PROVENANCE_TEMPLATE_ID_ROOT = "2.16.840.1.113883.10.20.22.5.6";
 	public static final String PROVENANCE_TEMPLATE_ID_EXT = "2019-10-01";
+
+	// Section codes and templates, used by the section expressions and by CCDADocumentIndex lookups
+	public static final String ENCOUNTER_SECTION_CODE = "46240-8";
+	public static final String ADMISSION_DIAG_SECTION_CODE = "46241-6";
+	public static final String DISCHARGE_DIAG_SECTION_CODE = "11535-2";
+	public static final String PROBLEM_SECTION_CODE = "11450-4";
+	public static final String PAST_ILLNESS_SECTION_CODE = "11348-0";
+	public static final String MEDICATION_SECTION_CODE = "10160-0";
+	public static final String ADM_MEDICATION_SECTION_CODE = "42346-7";
+	public static final String DM_MEDICATION_SECTION_CODE = "10183-2";
+	public static final String ALLERGIES_SECTION_CODE = "48765-2";
+	public static final String SOCIAL_HISTORY_SECTION_CODE = "29762-2";
+	public static final String RESULTS_SECTION_CODE = "30954-2";
+	public static final String IMMUNIZATION_SECTION_CODE = "11369-6";
+	public static final String VITALSIGNS_SECTION_CODE = "8716-3";
+	public static final String MEDICAL_EQUIPMENT_SECTION_CODE = "46264-8";
+	public static final String PROCEDURE_SECTION_CODE = "47519-4";
+	public static final String CARE_TEAM_SECTION_CODE = "85847-2";
+	public static final String GOALS_SECTION_CODE = "61146-7";
+	public static final String HEALTH_CONCERNS_SECTION_CODE = "75310-3";
+	public static final String PLAN_OF_TREATMENT_SECTION_CODE = "18776-5";
+	public static final String INTERVENTIONS_SECTION_V3_TEMPLATE = "2.16.840.1.113883.10.20.21.2.3";
+	public static final String HEALTH_STATUS_EVALUATIONS_AND_OUTCOMES_SECTION_TEMPLATE = "2.16.840.1.113883.10.20.22.2.61";
+	public static final String NOTES_SECTION_TEMPLATE = "2.16.840.1.113883.10.20.22.2.65";
+	public static final String NOTES_ACTIVITY_TEMPLATE = "2.16.840.1.113883.10.20.22.4.202";
 	
 	
 	private CCDAConstants()
@@ -220,166 +246,166 @@ public class CCDAConstants {
 		
 		try {
 			
-			DOC_TEMPLATE_EXP = CCDAConstants.CCDAXPATH.compile("/ClinicalDocument/templateId[not(@nullFlavor)]");
-			DOC_TYPE_EXP = CCDAConstants.CCDAXPATH.compile("/ClinicalDocument/code[not(@nullFlavor)]");
-			PATIENT_ROLE_EXP = CCDAConstants.CCDAXPATH.compile("/ClinicalDocument/recordTarget/patientRole[not(@nullFlavor)]");
-			REL_ADDR_EXP = CCDAConstants.CCDAXPATH.compile("./addr[not(@nullFlavor)]");
-			REL_STREET_ADDR1_EXP = CCDAConstants.CCDAXPATH.compile("./streetAddressLine[not(@nullFlavor)]");
-			REL_STREET_ADDR2_EXP = CCDAConstants.CCDAXPATH.compile("./streetAddressLine2[not(@nullFlavor)]");
-			REL_CITY_EXP = CCDAConstants.CCDAXPATH.compile("./city[not(@nullFlavor)]");
-			REL_STATE_EXP = CCDAConstants.CCDAXPATH.compile("./state[not(@nullFlavor)]");
-			REL_POSTAL_EXP = CCDAConstants.CCDAXPATH.compile("./postalCode[not(@nullFlavor)]");
-			REL_COUNTRY_EXP = CCDAConstants.CCDAXPATH.compile("./country[not(@nullFlavor)]");
-			REL_PATIENT_BIRTHPLACE_EXP = CCDAConstants.CCDAXPATH.compile("./patient/birthplace/place/addr[not(@nullFlavor)]");
-			REL_PATIENT_NAME_EXP = CCDAConstants.CCDAXPATH.compile("(./patient/name[not(@nullFlavor)])[1]");
-			REL_PATIENT_PREV_NAME_EXP = CCDAConstants.CCDAXPATH.compile("(./patient/name[not(@nullFlavor)])[2]");
-			REL_PLAY_ENTITY_NAME_EXP = CCDAConstants.CCDAXPATH.compile("./playingEntity/name[not(@nullFlavor)]");
-			REL_GIVEN_NAME_EXP = CCDAConstants.CCDAXPATH.compile("(./given[not(@nullFlavor)])[1]");
-			REL_MIDDLE_NAME_EXP = CCDAConstants.CCDAXPATH.compile("(./given[not(@nullFlavor)])[2]");
-			REL_GIVEN_PREV_NAME_EXP = CCDAConstants.CCDAXPATH.compile("(./given[not(@nullFlavor) and @qualifier='BR'])[1]");
-			REL_FAMILY_NAME_EXP = CCDAConstants.CCDAXPATH.compile("./family[not(@nullFlavor)]");
-			REL_SUFFIX_EXP = CCDAConstants.CCDAXPATH.compile("./suffix[not(@nullFlavor)]");
-			REL_PATIENT_ADMINGEN_EXP = CCDAConstants.CCDAXPATH.compile("./patient/administrativeGenderCode[not(@nullFlavor)]");
-			REL_PATIENT_BIRTHTIME_EXP = CCDAConstants.CCDAXPATH.compile("./patient/birthTime[not(@nullFlavor)]");
-			REL_PATIENT_MARITAL_EXP = CCDAConstants.CCDAXPATH.compile("./patient/maritalStatusCode[not(@nullFlavor)]");
-			REL_PATIENT_RELIGION_EXP = CCDAConstants.CCDAXPATH.compile("./patient/religiousAffiliationCode[not(@nullFlavor)]");
-			REL_PATIENT_RACE_EXP = CCDAConstants.CCDAXPATH.compile("./patient/raceCode[not(@nullFlavor)]");
-			REL_PATIENT_ETHNICITY_EXP = CCDAConstants.CCDAXPATH.compile("./patient/ethnicGroupCode[not(@nullFlavor)]");
-			REL_PATIENT_LANGUAGE_EXP = CCDAConstants.CCDAXPATH.compile("./patient/languageCommunication[not(@nullFlavor)]");
-			REL_LANG_CODE_EXP = CCDAConstants.CCDAXPATH.compile("./languageCode[not(@nullFlavor)]");
-			REL_LANG_MODE_EXP = CCDAConstants.CCDAXPATH.compile("./modeCode[not(@nullFlavor)]");
-			REL_LANG_PREF_EXP = CCDAConstants.CCDAXPATH.compile("./preferenceInd[not(@nullFlavor)]");
-			REL_TELECOM_EXP = CCDAConstants.CCDAXPATH.compile("./telecom[not(@nullFlavor)]");
-			REL_TEXT_EXP = CCDAConstants.CCDAXPATH.compile("./text[not(@nullFlavor)]");
-			AUTHORS_FROM_HEADER_EXP = CCDAConstants.CCDAXPATH.compile("/ClinicalDocument/author[not(@nullFlavor)]");
-			AUTHORS_WITH_LINKED_REFERENCE_DATA_EXP = CCDAConstants.CCDAXPATH.compile("/ClinicalDocument//author[not(@nullFlavor) "
+			DOC_TEMPLATE_EXP = ThreadLocalXPathExpression.compile("/ClinicalDocument/templateId[not(@nullFlavor)]");
+			DOC_TYPE_EXP = ThreadLocalXPathExpression.compile("/ClinicalDocument/code[not(@nullFlavor)]");
+			PATIENT_ROLE_EXP = ThreadLocalXPathExpression.compile("/ClinicalDocument/recordTarget/patientRole[not(@nullFlavor)]");
+			REL_ADDR_EXP = ThreadLocalXPathExpression.compile("./addr[not(@nullFlavor)]");
+			REL_STREET_ADDR1_EXP = ThreadLocalXPathExpression.compile("./streetAddressLine[not(@nullFlavor)]");
+			REL_STREET_ADDR2_EXP = ThreadLocalXPathExpression.compile("./streetAddressLine2[not(@nullFlavor)]");
+			REL_CITY_EXP = ThreadLocalXPathExpression.compile("./city[not(@nullFlavor)]");
+			REL_STATE_EXP = ThreadLocalXPathExpression.compile("./state[not(@nullFlavor)]");
+			REL_POSTAL_EXP = ThreadLocalXPathExpression.compile("./postalCode[not(@nullFlavor)]");
+			REL_COUNTRY_EXP = ThreadLocalXPathExpression.compile("./country[not(@nullFlavor)]");
+			REL_PATIENT_BIRTHPLACE_EXP = ThreadLocalXPathExpression.compile("./patient/birthplace/place/addr[not(@nullFlavor)]");
+			REL_PATIENT_NAME_EXP = ThreadLocalXPathExpression.compile("(./patient/name[not(@nullFlavor)])[1]");
+			REL_PATIENT_PREV_NAME_EXP = ThreadLocalXPathExpression.compile("(./patient/name[not(@nullFlavor)])[2]");
+			REL_PLAY_ENTITY_NAME_EXP = ThreadLocalXPathExpression.compile("./playingEntity/name[not(@nullFlavor)]");
+			REL_GIVEN_NAME_EXP = ThreadLocalXPathExpression.compile("(./given[not(@nullFlavor)])[1]");
+			REL_MIDDLE_NAME_EXP = ThreadLocalXPathExpression.compile("(./given[not(@nullFlavor)])[2]");
+			REL_GIVEN_PREV_NAME_EXP = ThreadLocalXPathExpression.compile("(./given[not(@nullFlavor) and @qualifier='BR'])[1]");
+			REL_FAMILY_NAME_EXP = ThreadLocalXPathExpression.compile("./family[not(@nullFlavor)]");
+			REL_SUFFIX_EXP = ThreadLocalXPathExpression.compile("./suffix[not(@nullFlavor)]");
+			REL_PATIENT_ADMINGEN_EXP = ThreadLocalXPathExpression.compile("./patient/administrativeGenderCode[not(@nullFlavor)]");
+			REL_PATIENT_BIRTHTIME_EXP = ThreadLocalXPathExpression.compile("./patient/birthTime[not(@nullFlavor)]");
+			REL_PATIENT_MARITAL_EXP = ThreadLocalXPathExpression.compile("./patient/maritalStatusCode[not(@nullFlavor)]");
+			REL_PATIENT_RELIGION_EXP = ThreadLocalXPathExpression.compile("./patient/religiousAffiliationCode[not(@nullFlavor)]");
+			REL_PATIENT_RACE_EXP = ThreadLocalXPathExpression.compile("./patient/raceCode[not(@nullFlavor)]");
+			REL_PATIENT_ETHNICITY_EXP = ThreadLocalXPathExpression.compile("./patient/ethnicGroupCode[not(@nullFlavor)]");
+			REL_PATIENT_LANGUAGE_EXP = ThreadLocalXPathExpression.compile("./patient/languageCommunication[not(@nullFlavor)]");
+			REL_LANG_CODE_EXP = ThreadLocalXPathExpression.compile("./languageCode[not(@nullFlavor)]");
+			REL_LANG_MODE_EXP = ThreadLocalXPathExpression.compile("./modeCode[not(@nullFlavor)]");
+			REL_LANG_PREF_EXP = ThreadLocalXPathExpression.compile("./preferenceInd[not(@nullFlavor)]");
+			REL_TELECOM_EXP = ThreadLocalXPathExpression.compile("./telecom[not(@nullFlavor)]");
+			REL_TEXT_EXP = ThreadLocalXPathExpression.compile("./text[not(@nullFlavor)]");
+			AUTHORS_FROM_HEADER_EXP = ThreadLocalXPathExpression.compile("/ClinicalDocument/author[not(@nullFlavor)]");
+			AUTHORS_WITH_LINKED_REFERENCE_DATA_EXP = ThreadLocalXPathExpression.compile("/ClinicalDocument//author[not(@nullFlavor) "
 					+ "and assignedAuthor[not(@nullFlavor) and id[not(@nullFlavor) and string(@root) and string(@extension)] "
 					+ "and (code[not(@nullFlavor)] or addr[not(@nullFlavor)] or telecom[not(@nullFlavor)] or assignedPerson[not(@nullFlavor)] or representedOrganization[not(@nullFlavor)]) ] ]");			
-			REL_AUTHOR_EXP = CCDAConstants.CCDAXPATH.compile("./author[not(@nullFlavor)]");
-			REL_ASSIGNED_AUTHOR_EXP = CCDAConstants.CCDAXPATH.compile("./assignedAuthor[not(@nullFlavor)]");
-			REL_ASSIGNED_PERSON_EXP = CCDAConstants.CCDAXPATH.compile("./assignedPerson[not(@nullFlavor)]");
+			REL_AUTHOR_EXP = ThreadLocalXPathExpression.compile("./author[not(@nullFlavor)]");
+			REL_ASSIGNED_AUTHOR_EXP = ThreadLocalXPathExpression.compile("./assignedAuthor[not(@nullFlavor)]");
+			REL_ASSIGNED_PERSON_EXP = ThreadLocalXPathExpression.compile("./assignedPerson[not(@nullFlavor)]");
 			
 			
-			ENCOUNTER_EXPRESSION = CCDAConstants.CCDAXPATH.compile("/ClinicalDocument/component/structuredBody/component/section[not(@nullFlavor) and code[@code='46240-8']]");
-			ADMISSION_DIAG_EXP = CCDAConstants.CCDAXPATH.compile("/ClinicalDocument/component/structuredBody/component/section[not(@nullFlavor) and code[@code='46241-6']]");
-			DISCHARGE_DIAG_EXP = CCDAConstants.CCDAXPATH.compile("/ClinicalDocument/component/structuredBody/component/section[not(@nullFlavor) and code[@code='11535-2']]");
+			ENCOUNTER_EXPRESSION = ThreadLocalXPathExpression.compile("/ClinicalDocument/component/structuredBody/component/section[not(@nullFlavor) and code[@code='" + ENCOUNTER_SECTION_CODE + "']]");
+			ADMISSION_DIAG_EXP = ThreadLocalXPathExpression.compile("/ClinicalDocument/component/structuredBody/component/section[not(@nullFlavor) and code[@code='" + ADMISSION_DIAG_SECTION_CODE + "']]");
+			DISCHARGE_DIAG_EXP = ThreadLocalXPathExpression.compile("/ClinicalDocument/component/structuredBody/component/section[not(@nullFlavor) and code[@code='" + DISCHARGE_DIAG_SECTION_CODE + "']]");
 			
-			REL_HOSPITAL_ADMISSION_DIAG_EXP = CCDAConstants.CCDAXPATH.compile("./entry/act[not(@nullFlavor) and templateId[@root='2.16.840.1.113883.10.20.22.4.34']]");
-			REL_HOSPITAL_DISCHARGE_DIAG_EXP = CCDAConstants.CCDAXPATH.compile("./entry/act[not(@nullFlavor) and templateId[@root='2.16.840.1.113883.10.20.22.4.33']]");
-			REL_ENC_ENTRY_EXP = CCDAConstants.CCDAXPATH.compile("./entry/encounter[not(@nullFlavor)]");
-			PROBLEM_EXPRESSION = CCDAConstants.CCDAXPATH.compile("/ClinicalDocument/component/structuredBody/component/section[not(@nullFlavor) and code[@code='11450-4']]");
-			PAST_ILLNESS_EXP = CCDAConstants.CCDAXPATH.compile("/ClinicalDocument/component/structuredBody/component/section[not(@nullFlavor) and code[@code='11348-0']]");
-			PAST_ILLNESS_PROBLEM_OBS_EXPRESSION = CCDAConstants.CCDAXPATH.compile("./entry/observation[not(@nullFlavor) and templateId[@root='2.16.840.1.113883.10.20.22.4.4']]");			
-			REL_PROBLEM_OBS_EXPRESSION = CCDAConstants.CCDAXPATH.compile("./entryRelationship/observation[not(@nullFlavor) and templateId[@root='2.16.840.1.113883.10.20.22.4.4']]");
-			REL_DIAGNOSIS_DATE_ACT_EXP = CCDAConstants.CCDAXPATH.compile("./entryRelationship/act[not(@nullFlavor) and templateId[@root='2.16.840.1.113883.10.20.22.4.502']]");
-			MEDICATION_EXPRESSION = CCDAConstants.CCDAXPATH.compile("/ClinicalDocument/component/structuredBody/component/section[not(@nullFlavor) and code[@code='10160-0']]");
-			ADM_MEDICATION_EXPRESSION = CCDAConstants.CCDAXPATH.compile("/ClinicalDocument/component/structuredBody/component/section[not(@nullFlavor) and code[@code='42346-7']]");
-			DM_MEDICATION_EXPRESSION = CCDAConstants.CCDAXPATH.compile("/ClinicalDocument/component/structuredBody/component/section[not(@nullFlavor) and code[@code='10183-2']]");
-			REL_MED_ENTRY_EXP = CCDAConstants.CCDAXPATH.compile("./entry/substanceAdministration[not(@nullFlavor)]");
-			DM_ENTRY_EXP = CCDAConstants.CCDAXPATH.compile("./entry/act/entryRelationship/substanceAdministration[not(@nullFlavor)]");
-			DM_MED_ACT_EXP = CCDAConstants.CCDAXPATH.compile("./entry/substanceAdministration[not(@nullFlavor)]");
-			REL_ROUTE_CODE_EXP = CCDAConstants.CCDAXPATH.compile("./routeCode[not(@nullFlavor)]");
-			REL_DOSE_EXP = CCDAConstants.CCDAXPATH.compile("./doseQuantity[not(@nullFlavor)]");
-			REL_RATE_EXP = CCDAConstants.CCDAXPATH.compile("./rateQuantity[not(@nullFlavor)]");
-			REL_APP_SITE_CODE_EXP = CCDAConstants.CCDAXPATH.compile("./approachSiteCode[not(@nullFlavor)]");
-			REL_ADMIN_UNIT_CODE_EXP = CCDAConstants.CCDAXPATH.compile("./administrationUnitCode[not(@nullFlavor)]");
-			REL_CONSUM_EXP = CCDAConstants.CCDAXPATH.compile("./consumable/manufacturedProduct[not(@nullFlavor)]");
-			REL_MMAT_CODE_EXP = CCDAConstants.CCDAXPATH.compile("./manufacturedMaterial/code[not(@nullFlavor)]");
-			REL_MMAT_CODE_TRANS_EXP = CCDAConstants.CCDAXPATH.compile("./manufacturedMaterial/code/translation[not(@nullFlavor)]");
-			REL_MANU_ORG_NAME_EXP = CCDAConstants.CCDAXPATH.compile("./manufacturerOrganization/name[not(@nullFlavor)]");
-			REL_MMAT_LOT_EXP = CCDAConstants.CCDAXPATH.compile("./manufacturedMaterial/lotNumberText[not(@nullFlavor)]");
-			ALLERGIES_EXPRESSION = CCDAConstants.CCDAXPATH.compile("/ClinicalDocument/component/structuredBody/component/section[not(@nullFlavor) and code[@code='48765-2']]");
-			REL_ALLERGY_REACTION_EXPRESSION = CCDAConstants.CCDAXPATH.compile("./entryRelationship/observation[not(@nullFlavor) and templateId[@root='2.16.840.1.113883.10.20.22.4.9']]");
-		    REL_ALLERGY_SEVERITY_EXPRESSION = CCDAConstants.CCDAXPATH.compile("./entryRelationship/observation[not(@nullFlavor) and templateId[@root='2.16.840.1.113883.10.20.22.4.8']]");
+			REL_HOSPITAL_ADMISSION_DIAG_EXP = ThreadLocalXPathExpression.compile("./entry/act[not(@nullFlavor) and templateId[@root='2.16.840.1.113883.10.20.22.4.34']]");
+			REL_HOSPITAL_DISCHARGE_DIAG_EXP = ThreadLocalXPathExpression.compile("./entry/act[not(@nullFlavor) and templateId[@root='2.16.840.1.113883.10.20.22.4.33']]");
+			REL_ENC_ENTRY_EXP = ThreadLocalXPathExpression.compile("./entry/encounter[not(@nullFlavor)]");
+			PROBLEM_EXPRESSION = ThreadLocalXPathExpression.compile("/ClinicalDocument/component/structuredBody/component/section[not(@nullFlavor) and code[@code='" + PROBLEM_SECTION_CODE + "']]");
+			PAST_ILLNESS_EXP = ThreadLocalXPathExpression.compile("/ClinicalDocument/component/structuredBody/component/section[not(@nullFlavor) and code[@code='" + PAST_ILLNESS_SECTION_CODE + "']]");
+			PAST_ILLNESS_PROBLEM_OBS_EXPRESSION = ThreadLocalXPathExpression.compile("./entry/observation[not(@nullFlavor) and templateId[@root='2.16.840.1.113883.10.20.22.4.4']]");			
+			REL_PROBLEM_OBS_EXPRESSION = ThreadLocalXPathExpression.compile("./entryRelationship/observation[not(@nullFlavor) and templateId[@root='2.16.840.1.113883.10.20.22.4.4']]");
+			REL_DIAGNOSIS_DATE_ACT_EXP = ThreadLocalXPathExpression.compile("./entryRelationship/act[not(@nullFlavor) and templateId[@root='2.16.840.1.113883.10.20.22.4.502']]");
+			MEDICATION_EXPRESSION = ThreadLocalXPathExpression.compile("/ClinicalDocument/component/structuredBody/component/section[not(@nullFlavor) and code[@code='" + MEDICATION_SECTION_CODE + "']]");
+			ADM_MEDICATION_EXPRESSION = ThreadLocalXPathExpression.compile("/ClinicalDocument/component/structuredBody/component/section[not(@nullFlavor) and code[@code='" + ADM_MEDICATION_SECTION_CODE + "']]");
+			DM_MEDICATION_EXPRESSION = ThreadLocalXPathExpression.compile("/ClinicalDocument/component/structuredBody/component/section[not(@nullFlavor) and code[@code='" + DM_MEDICATION_SECTION_CODE + "']]");
+			REL_MED_ENTRY_EXP = ThreadLocalXPathExpression.compile("./entry/substanceAdministration[not(@nullFlavor)]");
+			DM_ENTRY_EXP = ThreadLocalXPathExpression.compile("./entry/act/entryRelationship/substanceAdministration[not(@nullFlavor)]");
+			DM_MED_ACT_EXP = ThreadLocalXPathExpression.compile("./entry/substanceAdministration[not(@nullFlavor)]");
+			REL_ROUTE_CODE_EXP = ThreadLocalXPathExpression.compile("./routeCode[not(@nullFlavor)]");
+			REL_DOSE_EXP = ThreadLocalXPathExpression.compile("./doseQuantity[not(@nullFlavor)]");
+			REL_RATE_EXP = ThreadLocalXPathExpression.compile("./rateQuantity[not(@nullFlavor)]");
+			REL_APP_SITE_CODE_EXP = ThreadLocalXPathExpression.compile("./approachSiteCode[not(@nullFlavor)]");
+			REL_ADMIN_UNIT_CODE_EXP = ThreadLocalXPathExpression.compile("./administrationUnitCode[not(@nullFlavor)]");
+			REL_CONSUM_EXP = ThreadLocalXPathExpression.compile("./consumable/manufacturedProduct[not(@nullFlavor)]");
+			REL_MMAT_CODE_EXP = ThreadLocalXPathExpression.compile("./manufacturedMaterial/code[not(@nullFlavor)]");
+			REL_MMAT_CODE_TRANS_EXP = ThreadLocalXPathExpression.compile("./manufacturedMaterial/code/translation[not(@nullFlavor)]");
+			REL_MANU_ORG_NAME_EXP = ThreadLocalXPathExpression.compile("./manufacturerOrganization/name[not(@nullFlavor)]");
+			REL_MMAT_LOT_EXP = ThreadLocalXPathExpression.compile("./manufacturedMaterial/lotNumberText[not(@nullFlavor)]");
+			ALLERGIES_EXPRESSION = ThreadLocalXPathExpression.compile("/ClinicalDocument/component/structuredBody/component/section[not(@nullFlavor) and code[@code='" + ALLERGIES_SECTION_CODE + "']]");
+			REL_ALLERGY_REACTION_EXPRESSION = ThreadLocalXPathExpression.compile("./entryRelationship/observation[not(@nullFlavor) and templateId[@root='2.16.840.1.113883.10.20.22.4.9']]");
+		    REL_ALLERGY_SEVERITY_EXPRESSION = ThreadLocalXPathExpression.compile("./entryRelationship/observation[not(@nullFlavor) and templateId[@root='2.16.840.1.113883.10.20.22.4.8']]");
 			
-		    SOCIAL_HISTORY_EXPRESSION = CCDAConstants.CCDAXPATH.compile("/ClinicalDocument/component/structuredBody/component/section[not(@nullFlavor) and code[@code='29762-2']]");
-		    REL_SMOKING_STATUS_EXP = CCDAConstants.CCDAXPATH.compile("./entry/observation[not(@nullFlavor) and templateId[@root='2.16.840.1.113883.10.20.22.4.78']]");
-		    REL_TOBACCO_USE_EXP = CCDAConstants.CCDAXPATH.compile("./entry/observation[not(@nullFlavor) and templateId[@root='2.16.840.1.113883.10.20.22.4.85']]");
-		    REL_BIRTHSEX_OBS_EXP = CCDAConstants.CCDAXPATH.compile("./entry/observation[not(@nullFlavor) and templateId[@root='2.16.840.1.113883.10.20.22.4.200']]");
-		    REL_SEX_ORIENTATION_EXP = CCDAConstants.CCDAXPATH.compile("./entry/observation[not(@nullFlavor) and templateId[@root='2.16.840.1.113883.10.20.22.4.501']]");
-		    REL_GENDER_IDENTITY_EXP = CCDAConstants.CCDAXPATH.compile("./entry/observation[not(@nullFlavor) and templateId[@root='2.16.840.1.113883.10.20.34.3.45']]");
-		    REL_SOCIAL_HISTORY_OBS_EXP = CCDAConstants.CCDAXPATH.compile("./entry/observation[not(@nullFlavor) and templateId[@root='2.16.840.1.113883.10.20.22.4.38']]");
-		    REL_ASSESSMENT_SCALE_OBS_EXP = CCDAConstants.CCDAXPATH.compile("./entryRelationship/observation[not(@nullFlavor) and templateId[@root='2.16.840.1.113883.10.20.22.4.69']]");
-		    REL_ASSESSMENT_SCALE_SUP_OBS_EXP = CCDAConstants.CCDAXPATH.compile("./entryRelationship/observation[not(@nullFlavor) and templateId[@root='2.16.840.1.113883.10.20.22.4.86']]");
+		    SOCIAL_HISTORY_EXPRESSION = ThreadLocalXPathExpression.compile("/ClinicalDocument/component/structuredBody/component/section[not(@nullFlavor) and code[@code='" + SOCIAL_HISTORY_SECTION_CODE + "']]");
+		    REL_SMOKING_STATUS_EXP = ThreadLocalXPathExpression.compile("./entry/observation[not(@nullFlavor) and templateId[@root='2.16.840.1.113883.10.20.22.4.78']]");
+		    REL_TOBACCO_USE_EXP = ThreadLocalXPathExpression.compile("./entry/observation[not(@nullFlavor) and templateId[@root='2.16.840.1.113883.10.20.22.4.85']]");
+		    REL_BIRTHSEX_OBS_EXP = ThreadLocalXPathExpression.compile("./entry/observation[not(@nullFlavor) and templateId[@root='2.16.840.1.113883.10.20.22.4.200']]");
+		    REL_SEX_ORIENTATION_EXP = ThreadLocalXPathExpression.compile("./entry/observation[not(@nullFlavor) and templateId[@root='2.16.840.1.113883.10.20.22.4.501']]");
+		    REL_GENDER_IDENTITY_EXP = ThreadLocalXPathExpression.compile("./entry/observation[not(@nullFlavor) and templateId[@root='2.16.840.1.113883.10.20.34.3.45']]");
+		    REL_SOCIAL_HISTORY_OBS_EXP = ThreadLocalXPathExpression.compile("./entry/observation[not(@nullFlavor) and templateId[@root='2.16.840.1.113883.10.20.22.4.38']]");
+		    REL_ASSESSMENT_SCALE_OBS_EXP = ThreadLocalXPathExpression.compile("./entryRelationship/observation[not(@nullFlavor) and templateId[@root='2.16.840.1.113883.10.20.22.4.69']]");
+		    REL_ASSESSMENT_SCALE_SUP_OBS_EXP = ThreadLocalXPathExpression.compile("./entryRelationship/observation[not(@nullFlavor) and templateId[@root='2.16.840.1.113883.10.20.22.4.86']]");
 		    
-		    RESULTS_EXPRESSION = CCDAConstants.CCDAXPATH.compile("/ClinicalDocument/component/structuredBody/component/section[not(@nullFlavor) and code[@code='30954-2']]");
-		    REL_LAB_RESULT_ORG_EXPRESSION = CCDAConstants.CCDAXPATH.compile("./entry/organizer[not(@nullFlavor) and statusCode[@code='completed']]");
-		    REL_LAB_TEST_ORG_EXPRESSION = CCDAConstants.CCDAXPATH.compile("./entry/organizer[not(@nullFlavor) and statusCode[@code='active']]");
-		    REL_COMP_OBS_EXP = CCDAConstants.CCDAXPATH.compile("./component/observation[not(@nullFlavor)]");
-		    IMMUNIZATION_EXPRESSION = CCDAConstants.CCDAXPATH.compile("/ClinicalDocument/component/structuredBody/component/section[not(@nullFlavor) and code[@code='11369-6']]");
-		    VITALSIGNS_EXPRESSION = CCDAConstants.CCDAXPATH.compile("/ClinicalDocument/component/structuredBody/component/section[not(@nullFlavor) and code[@code='8716-3']]");
-		    REL_VITAL_ORG_EXPRESSION = CCDAConstants.CCDAXPATH.compile("./entry/organizer[not(@nullFlavor)]");
+		    RESULTS_EXPRESSION = ThreadLocalXPathExpression.compile("/ClinicalDocument/component/structuredBody/component/section[not(@nullFlavor) and code[@code='" + RESULTS_SECTION_CODE + "']]");
+		    REL_LAB_RESULT_ORG_EXPRESSION = ThreadLocalXPathExpression.compile("./entry/organizer[not(@nullFlavor) and statusCode[@code='completed']]");
+		    REL_LAB_TEST_ORG_EXPRESSION = ThreadLocalXPathExpression.compile("./entry/organizer[not(@nullFlavor) and statusCode[@code='active']]");
+		    REL_COMP_OBS_EXP = ThreadLocalXPathExpression.compile("./component/observation[not(@nullFlavor)]");
+		    IMMUNIZATION_EXPRESSION = ThreadLocalXPathExpression.compile("/ClinicalDocument/component/structuredBody/component/section[not(@nullFlavor) and code[@code='" + IMMUNIZATION_SECTION_CODE + "']]");
+		    VITALSIGNS_EXPRESSION = ThreadLocalXPathExpression.compile("/ClinicalDocument/component/structuredBody/component/section[not(@nullFlavor) and code[@code='" + VITALSIGNS_SECTION_CODE + "']]");
+		    REL_VITAL_ORG_EXPRESSION = ThreadLocalXPathExpression.compile("./entry/organizer[not(@nullFlavor)]");
 		   
-		    MEDICAL_EQUIPMENT_EXPRESSION = CCDAConstants.CCDAXPATH.compile("/ClinicalDocument/component/structuredBody/component/section[not(@nullFlavor) and code[@code='46264-8']]");
-		    MEDICAL_EQUIPMENT_ORG_EXPRESSION = CCDAConstants.CCDAXPATH.compile("./entry/organizer[not(@nullFlavor) and not(@negationInd='true')]");
-		    MEDICAL_EQUIPMENT_ORG_PAP_EXPRESSION = CCDAConstants.CCDAXPATH.compile("./component/procedure[not(@nullFlavor) and not(@negationInd='true')]");
-		    PROCEDURE_EXPRESSION = CCDAConstants.CCDAXPATH.compile("/ClinicalDocument/component/structuredBody/component/section[not(@nullFlavor) and code[@code='47519-4']]");
-		    REL_PROCEDURE_UDI_EXPRESSION = CCDAConstants.CCDAXPATH.compile("./participant[not(@nullFlavor) and @typeCode='DEV']/participantRole[not(@nullFlavor)]");
-		    REL_PROCEDURE_SDL_EXPRESSION = CCDAConstants.CCDAXPATH.compile("./participant[not(@nullFlavor) and @typeCode='LOC']/participantRole[not(@nullFlavor)]");
-		    REL_PROC_ACT_PROC_EXP = CCDAConstants.CCDAXPATH.compile("./entry/procedure[not(@nullFlavor) and not(@negationInd='true')]");
-		    REL_PROC_ACT_ACT_EXP = CCDAConstants.CCDAXPATH.compile("./entry/act[not(@nullFlavor) and not(@negationInd='true') and templateId[@root='2.16.840.1.113883.10.20.22.4.12']]");
-		    REL_TARGET_SITE_CODE_EXP = CCDAConstants.CCDAXPATH.compile("./targetSiteCode[not(@nullFlavor)]");
-		    REL_PERF_ENTITY_EXP = CCDAConstants.CCDAXPATH.compile("./performer/assignedEntity[not(@nullFlavor)]");
-		    REL_PERF_ENTITY_ORG_EXP = CCDAConstants.CCDAXPATH.compile("./performer/assignedEntity/representedOrganization[not(@nullFlavor)]");
-		    REL_REP_ORG_EXP = CCDAConstants.CCDAXPATH.compile("./representedOrganization[not(@nullFlavor)]");
-		    REL_NAME_EXP = CCDAConstants.CCDAXPATH.compile("./name[not(@nullFlavor)]");
-		    REL_ID_EXP = CCDAConstants.CCDAXPATH.compile("./id[not(@nullFlavor)]");
-		    REL_PLAYING_DEV_CODE_EXP = CCDAConstants.CCDAXPATH.compile("./playingDevice/code[not(@nullFlavor)]");
-		    REL_SCOPING_ENTITY_ID_EXP = CCDAConstants.CCDAXPATH.compile("./scopingEntity/id[not(@nullFlavor)]");
+		    MEDICAL_EQUIPMENT_EXPRESSION = ThreadLocalXPathExpression.compile("/ClinicalDocument/component/structuredBody/component/section[not(@nullFlavor) and code[@code='" + MEDICAL_EQUIPMENT_SECTION_CODE + "']]");
+		    MEDICAL_EQUIPMENT_ORG_EXPRESSION = ThreadLocalXPathExpression.compile("./entry/organizer[not(@nullFlavor) and not(@negationInd='true')]");
+		    MEDICAL_EQUIPMENT_ORG_PAP_EXPRESSION = ThreadLocalXPathExpression.compile("./component/procedure[not(@nullFlavor) and not(@negationInd='true')]");
+		    PROCEDURE_EXPRESSION = ThreadLocalXPathExpression.compile("/ClinicalDocument/component/structuredBody/component/section[not(@nullFlavor) and code[@code='" + PROCEDURE_SECTION_CODE + "']]");
+		    REL_PROCEDURE_UDI_EXPRESSION = ThreadLocalXPathExpression.compile("./participant[not(@nullFlavor) and @typeCode='DEV']/participantRole[not(@nullFlavor)]");
+		    REL_PROCEDURE_SDL_EXPRESSION = ThreadLocalXPathExpression.compile("./participant[not(@nullFlavor) and @typeCode='LOC']/participantRole[not(@nullFlavor)]");
+		    REL_PROC_ACT_PROC_EXP = ThreadLocalXPathExpression.compile("./entry/procedure[not(@nullFlavor) and not(@negationInd='true')]");
+		    REL_PROC_ACT_ACT_EXP = ThreadLocalXPathExpression.compile("./entry/act[not(@nullFlavor) and not(@negationInd='true') and templateId[@root='2.16.840.1.113883.10.20.22.4.12']]");
+		    REL_TARGET_SITE_CODE_EXP = ThreadLocalXPathExpression.compile("./targetSiteCode[not(@nullFlavor)]");
+		    REL_PERF_ENTITY_EXP = ThreadLocalXPathExpression.compile("./performer/assignedEntity[not(@nullFlavor)]");
+		    REL_PERF_ENTITY_ORG_EXP = ThreadLocalXPathExpression.compile("./performer/assignedEntity/representedOrganization[not(@nullFlavor)]");
+		    REL_REP_ORG_EXP = ThreadLocalXPathExpression.compile("./representedOrganization[not(@nullFlavor)]");
+		    REL_NAME_EXP = ThreadLocalXPathExpression.compile("./name[not(@nullFlavor)]");
+		    REL_ID_EXP = ThreadLocalXPathExpression.compile("./id[not(@nullFlavor)]");
+		    REL_PLAYING_DEV_CODE_EXP = ThreadLocalXPathExpression.compile("./playingDevice/code[not(@nullFlavor)]");
+		    REL_SCOPING_ENTITY_ID_EXP = ThreadLocalXPathExpression.compile("./scopingEntity/id[not(@nullFlavor)]");
 		    
-		    CARE_TEAM_EXPRESSION = CCDAConstants.CCDAXPATH.compile("/ClinicalDocument/documentationOf/serviceEvent/performer[not(@nullFlavor)]");
-		    CARE_TEAM_SECTION_EXPRESSION = CCDAConstants.CCDAXPATH.compile("/ClinicalDocument/component/structuredBody/component/section[not(@nullFlavor) and code[@code='85847-2']]");
-		    REL_CARE_TEAM_ORG_EXPRESSION = CCDAConstants.CCDAXPATH.compile("./entry/organizer[not(@nullFlavor)]");
-		    REL_CARE_TEAM_MEMBER_ACT_EXPRESSION = CCDAConstants.CCDAXPATH.compile("./component/act[not(@nullFlavor) and templateId[@root='2.16.840.1.113883.10.20.22.4.500.1']]");
+		    CARE_TEAM_EXPRESSION = ThreadLocalXPathExpression.compile("/ClinicalDocument/documentationOf/serviceEvent/performer[not(@nullFlavor)]");
+		    CARE_TEAM_SECTION_EXPRESSION = ThreadLocalXPathExpression.compile("/ClinicalDocument/component/structuredBody/component/section[not(@nullFlavor) and code[@code='" + CARE_TEAM_SECTION_CODE + "']]");
+		    REL_CARE_TEAM_ORG_EXPRESSION = ThreadLocalXPathExpression.compile("./entry/organizer[not(@nullFlavor)]");
+		    REL_CARE_TEAM_MEMBER_ACT_EXPRESSION = ThreadLocalXPathExpression.compile("./component/act[not(@nullFlavor) and templateId[@root='2.16.840.1.113883.10.20.22.4.500.1']]");
 		    		    
-		    GOALS_EXPRESSION = CCDAConstants.CCDAXPATH.compile("/ClinicalDocument/component/structuredBody/component/section[not(@nullFlavor) and code[@code='61146-7']]");
-		    HEALTH_CONCERNS_EXPRESSION = CCDAConstants.CCDAXPATH.compile("/ClinicalDocument/component/structuredBody/component/section[not(@nullFlavor) and code[@code='75310-3']]");
-		    PLAN_OF_TREATMENT_EXPRESSION = CCDAConstants.CCDAXPATH.compile("/ClinicalDocument/component/structuredBody/component/section[not(@nullFlavor) and code[@code='18776-5']]");
-		    REL_PLANNED_PROCEDURE_EXP = CCDAConstants.CCDAXPATH.compile("./entry/procedure[not(@nullFlavor) and templateId[@root='2.16.840.1.113883.10.20.22.4.41']]");
-		    REL_GOAL_OBSERVATION_EXP = CCDAConstants.CCDAXPATH.compile("./entry/observation[not(@nullFlavor) and templateId[@root='2.16.840.1.113883.10.20.22.4.121']]");
-		    REL_HEALTH_CONCERN_ACT_EXP = CCDAConstants.CCDAXPATH.compile("./entry/act[not(@nullFlavor) and templateId[@root='2.16.840.1.113883.10.20.22.4.132']]");
+		    GOALS_EXPRESSION = ThreadLocalXPathExpression.compile("/ClinicalDocument/component/structuredBody/component/section[not(@nullFlavor) and code[@code='" + GOALS_SECTION_CODE + "']]");
+		    HEALTH_CONCERNS_EXPRESSION = ThreadLocalXPathExpression.compile("/ClinicalDocument/component/structuredBody/component/section[not(@nullFlavor) and code[@code='" + HEALTH_CONCERNS_SECTION_CODE + "']]");
+		    PLAN_OF_TREATMENT_EXPRESSION = ThreadLocalXPathExpression.compile("/ClinicalDocument/component/structuredBody/component/section[not(@nullFlavor) and code[@code='" + PLAN_OF_TREATMENT_SECTION_CODE + "']]");
+		    REL_PLANNED_PROCEDURE_EXP = ThreadLocalXPathExpression.compile("./entry/procedure[not(@nullFlavor) and templateId[@root='2.16.840.1.113883.10.20.22.4.41']]");
+		    REL_GOAL_OBSERVATION_EXP = ThreadLocalXPathExpression.compile("./entry/observation[not(@nullFlavor) and templateId[@root='2.16.840.1.113883.10.20.22.4.121']]");
+		    REL_HEALTH_CONCERN_ACT_EXP = ThreadLocalXPathExpression.compile("./entry/act[not(@nullFlavor) and templateId[@root='2.16.840.1.113883.10.20.22.4.132']]");
 		    
-			REL_TEMPLATE_ID_EXP = CCDAConstants.CCDAXPATH.compile("./templateId[not(@nullFlavor)]");
-			REL_CODE_EXP = CCDAConstants.CCDAXPATH.compile("./code[not(@nullFlavor)]");
-			REL_CODE_WITH_TRANS_EXP = CCDAConstants.CCDAXPATH.compile("./code[not(@nullFlavor) or @nullFlavor='OTH']");
-			REL_CODE_TRANS_EXP = CCDAConstants.CCDAXPATH.compile("./code/translation[not(@nullFlavor)]");
-			REL_TRANS_EXP = CCDAConstants.CCDAXPATH.compile("./translation[not(@nullFlavor)]");
-			REL_VAL_EXP = CCDAConstants.CCDAXPATH.compile("./value[not(@nullFlavor)]");
-			REL_VAL_WITH_NF_EXP = CCDAConstants.CCDAXPATH.compile("./value");
-			REL_VAL__WITH_TRANS_EXP = CCDAConstants.CCDAXPATH.compile("./value[not(@nullFlavor) or @nullFlavor='OTH']");
-			REL_STATUS_CODE_EXP = CCDAConstants.CCDAXPATH.compile("./statusCode[not(@nullFlavor)]");
-			REL_INT_CODE_EXP = CCDAConstants.CCDAXPATH.compile("./interpretationCode[not(@nullFlavor)]");
-			REL_REF_RANGE_EXP = CCDAConstants.CCDAXPATH.compile("./referenceRange/observationRange/value[@type='IVL_PQ']");
-			REL_LOW_EXP = CCDAConstants.CCDAXPATH.compile("./low[not(@nullFlavor)]");
-			REL_HIGH_EXP = CCDAConstants.CCDAXPATH.compile("./high[not(@nullFlavor)]");
-			REL_PERFORMER_EXP = CCDAConstants.CCDAXPATH.compile("./performer[not(@nullFlavor)]");
-			REL_PARTICIPANT_EXP = CCDAConstants.CCDAXPATH.compile("./participant[not(@nullFlavor) and @typeCode='IND']");
+			REL_TEMPLATE_ID_EXP = ThreadLocalXPathExpression.compile("./templateId[not(@nullFlavor)]");
+			REL_CODE_EXP = ThreadLocalXPathExpression.compile("./code[not(@nullFlavor)]");
+			REL_CODE_WITH_TRANS_EXP = ThreadLocalXPathExpression.compile("./code[not(@nullFlavor) or @nullFlavor='OTH']");
+			REL_CODE_TRANS_EXP = ThreadLocalXPathExpression.compile("./code/translation[not(@nullFlavor)]");
+			REL_TRANS_EXP = ThreadLocalXPathExpression.compile("./translation[not(@nullFlavor)]");
+			REL_VAL_EXP = ThreadLocalXPathExpression.compile("./value[not(@nullFlavor)]");
+			REL_VAL_WITH_NF_EXP = ThreadLocalXPathExpression.compile("./value");
+			REL_VAL__WITH_TRANS_EXP = ThreadLocalXPathExpression.compile("./value[not(@nullFlavor) or @nullFlavor='OTH']");
+			REL_STATUS_CODE_EXP = ThreadLocalXPathExpression.compile("./statusCode[not(@nullFlavor)]");
+			REL_INT_CODE_EXP = ThreadLocalXPathExpression.compile("./interpretationCode[not(@nullFlavor)]");
+			REL_REF_RANGE_EXP = ThreadLocalXPathExpression.compile("./referenceRange/observationRange/value[@type='IVL_PQ']");
+			REL_LOW_EXP = ThreadLocalXPathExpression.compile("./low[not(@nullFlavor)]");
+			REL_HIGH_EXP = ThreadLocalXPathExpression.compile("./high[not(@nullFlavor)]");
+			REL_PERFORMER_EXP = ThreadLocalXPathExpression.compile("./performer[not(@nullFlavor)]");
+			REL_PARTICIPANT_EXP = ThreadLocalXPathExpression.compile("./participant[not(@nullFlavor) and @typeCode='IND']");
 			
-			INTERVENTIONS_SECTION_V3_EXP = CCDAConstants.CCDAXPATH.compile("/ClinicalDocument/component/structuredBody/component"
-					+ "/section[not(@nullFlavor) and templateId[@root='2.16.840.1.113883.10.20.21.2.3' and @extension='2015-08-01']]");			
-			HEALTH_STATUS_EVALUATIONS_AND_OUTCOMES_SECTION_EXP = CCDAConstants.CCDAXPATH.compile("/ClinicalDocument/component/structuredBody/component"
-					+ "/section[not(@nullFlavor) and templateId[@root='2.16.840.1.113883.10.20.22.2.61']]");			
+			INTERVENTIONS_SECTION_V3_EXP = ThreadLocalXPathExpression.compile("/ClinicalDocument/component/structuredBody/component"
+					+ "/section[not(@nullFlavor) and templateId[@root='" + INTERVENTIONS_SECTION_V3_TEMPLATE + "' and @extension='" + CCDA_2015_AUG_EXT + "']]");			
+			HEALTH_STATUS_EVALUATIONS_AND_OUTCOMES_SECTION_EXP = ThreadLocalXPathExpression.compile("/ClinicalDocument/component/structuredBody/component"
+					+ "/section[not(@nullFlavor) and templateId[@root='" + HEALTH_STATUS_EVALUATIONS_AND_OUTCOMES_SECTION_TEMPLATE + "']]");			
 			
-			REL_ACT_ENTRY_EXP = CCDAConstants.CCDAXPATH.compile("./entry/act[not(@nullFlavor)]");
-			REL_ENTRY_EXP = CCDAConstants.CCDAXPATH.compile("./entry[not(@nullFlavor)]");
-			REL_SBDM_ENTRY_EXP = CCDAConstants.CCDAXPATH.compile("./substanceAdministration[not(@nullFlavor)]");
-			REL_ENTRY_RELSHIP_ACT_EXP = CCDAConstants.CCDAXPATH.compile("./entryRelationship/act[not(@nullFlavor)]");
-			REL_PART_ROLE_EXP = CCDAConstants.CCDAXPATH.compile("./participant/participantRole[not(@nullFlavor)]");
-			REL_PART_PLAY_ENTITY_CODE_EXP = CCDAConstants.CCDAXPATH.compile("./participant/participantRole/playingEntity/code[not(@nullFlavor)]");
-			REL_EFF_TIME_EXP = CCDAConstants.CCDAXPATH.compile("./effectiveTime[not(@nullFlavor)]");
-			REL_EFF_TIME_LOW_EXP = CCDAConstants.CCDAXPATH.compile("./low[not(@nullFlavor)]");
-			REL_EFF_TIME_HIGH_EXP = CCDAConstants.CCDAXPATH.compile("./high[not(@nullFlavor)]");
-			REL_TIME_EXP = CCDAConstants.CCDAXPATH.compile("./time[not(@nullFlavor)]");
-			REL_ENTRY_RELSHIP_OBS_EXP = CCDAConstants.CCDAXPATH.compile("./entryRelationship/observation[not(@nullFlavor)]");
-			REL_ASSN_ENTITY_ADDR = CCDAConstants.CCDAXPATH.compile("./assignedEntity/addr[not(@nullFlavor)]");
-			REL_ASSN_ENTITY_PERSON_NAME = CCDAConstants.CCDAXPATH.compile("./assignedEntity/assignedPerson/name[not(@nullFlavor)]");
-			REL_ASSN_ENTITY_TEL_EXP = CCDAConstants.CCDAXPATH.compile("./assignedEntity/telecom[not(@nullFlavor)]");
+			REL_ACT_ENTRY_EXP = ThreadLocalXPathExpression.compile("./entry/act[not(@nullFlavor)]");
+			REL_ENTRY_EXP = ThreadLocalXPathExpression.compile("./entry[not(@nullFlavor)]");
+			REL_SBDM_ENTRY_EXP = ThreadLocalXPathExpression.compile("./substanceAdministration[not(@nullFlavor)]");
+			REL_ENTRY_RELSHIP_ACT_EXP = ThreadLocalXPathExpression.compile("./entryRelationship/act[not(@nullFlavor)]");
+			REL_PART_ROLE_EXP = ThreadLocalXPathExpression.compile("./participant/participantRole[not(@nullFlavor)]");
+			REL_PART_PLAY_ENTITY_CODE_EXP = ThreadLocalXPathExpression.compile("./participant/participantRole/playingEntity/code[not(@nullFlavor)]");
+			REL_EFF_TIME_EXP = ThreadLocalXPathExpression.compile("./effectiveTime[not(@nullFlavor)]");
+			REL_EFF_TIME_LOW_EXP = ThreadLocalXPathExpression.compile("./low[not(@nullFlavor)]");
+			REL_EFF_TIME_HIGH_EXP = ThreadLocalXPathExpression.compile("./high[not(@nullFlavor)]");
+			REL_TIME_EXP = ThreadLocalXPathExpression.compile("./time[not(@nullFlavor)]");
+			REL_ENTRY_RELSHIP_OBS_EXP = ThreadLocalXPathExpression.compile("./entryRelationship/observation[not(@nullFlavor)]");
+			REL_ASSN_ENTITY_ADDR = ThreadLocalXPathExpression.compile("./assignedEntity/addr[not(@nullFlavor)]");
+			REL_ASSN_ENTITY_PERSON_NAME = ThreadLocalXPathExpression.compile("./assignedEntity/assignedPerson/name[not(@nullFlavor)]");
+			REL_ASSN_ENTITY_TEL_EXP = ThreadLocalXPathExpression.compile("./assignedEntity/telecom[not(@nullFlavor)]");
 			
-			NOTES_EXPRESSION = CCDAConstants.CCDAXPATH.compile("/ClinicalDocument/component/structuredBody/component/section[not(@nullFlavor) and templateId[@root='2.16.840.1.113883.10.20.22.2.65']]");
-			REL_COMPONENT_ACTIVITY_EXPRESSION = CCDAConstants.CCDAXPATH.compile("./component/act[not(@nullFlavor) and templateId[@root='2.16.840.1.113883.10.20.22.4.202']]");
-			REL_NOTES_ACTIVITY_EXPRESSION = CCDAConstants.CCDAXPATH.compile("./entry/act[not(@nullFlavor) and templateId[@root='2.16.840.1.113883.10.20.22.4.202']]");
-			REL_ENTRY_REL_NOTES_ACTIVITY_EXPRESSION = CCDAConstants.CCDAXPATH.compile("./entryRelationship/act[not(@nullFlavor) and templateId[@root='2.16.840.1.113883.10.20.22.4.202']]");
-			NOTES_ACTIVITY_EXPRESSION = CCDAConstants.CCDAXPATH.compile("//act[not(@nullFlavor) and templateId[@root='2.16.840.1.113883.10.20.22.4.202']]");
+			NOTES_EXPRESSION = ThreadLocalXPathExpression.compile("/ClinicalDocument/component/structuredBody/component/section[not(@nullFlavor) and templateId[@root='" + NOTES_SECTION_TEMPLATE + "']]");
+			REL_COMPONENT_ACTIVITY_EXPRESSION = ThreadLocalXPathExpression.compile("./component/act[not(@nullFlavor) and templateId[@root='2.16.840.1.113883.10.20.22.4.202']]");
+			REL_NOTES_ACTIVITY_EXPRESSION = ThreadLocalXPathExpression.compile("./entry/act[not(@nullFlavor) and templateId[@root='2.16.840.1.113883.10.20.22.4.202']]");
+			REL_ENTRY_REL_NOTES_ACTIVITY_EXPRESSION = ThreadLocalXPathExpression.compile("./entryRelationship/act[not(@nullFlavor) and templateId[@root='2.16.840.1.113883.10.20.22.4.202']]");
+			NOTES_ACTIVITY_EXPRESSION = ThreadLocalXPathExpression.compile("//act[not(@nullFlavor) and templateId[@root='" + NOTES_ACTIVITY_TEMPLATE + "']]");
 			
 
 		} catch (XPathExpressionException e) {
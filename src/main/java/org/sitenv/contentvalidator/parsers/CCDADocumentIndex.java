@@ -0,0 +1,183 @@
+package org.sitenv.contentvalidator.parsers;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+
+/*
+ * Index of a parsed C-CDA, built the first time it is requested and then kept on the Document itself,
+ * so the parsers can find what they need without their own absolute or descendant XPath scans.
+ * Sections are indexed the way the section expressions in CCDAConstants select them, that is
+ * /ClinicalDocument/component/structuredBody/component/section[not(@nullFlavor) and code[@code=...]] or templateId[@root=...],
+ * with the first section in document order winning for single section lookups.
+ * A single walk over the whole document also indexes every element by the roots of its templateIds
+ * and collects every author element, in document order.
+ */
+public class CCDADocumentIndex {
+
+	private static Logger log = LoggerFactory.getLogger(CCDADocumentIndex.class.getName());
+
+	private static final String USER_DATA_KEY = CCDADocumentIndex.class.getName();
+
+	private final HashMap<String, Element> sectionsByCode = new HashMap<>();
+	private final HashMap<String, List<Element>> sectionsByTemplateId = new HashMap<>();
+	private final HashMap<String, List<Element>> sectionsByTemplateIdAndExtension = new HashMap<>();
+	private final HashMap<String, List<Element>> elementsByTemplateId = new HashMap<>();
+	private final List<Element> authors = new ArrayList<>();
+
+	private CCDADocumentIndex(Document doc) {
+		Element clinicalDocument = doc.getDocumentElement();
+		if (clinicalDocument != null && DomNames.hasLocalName(clinicalDocument, "ClinicalDocument")) {
+			for (Element component : children(clinicalDocument, "component")) {
+				for (Element structuredBody : children(component, "structuredBody")) {
+					for (Element bodyComponent : children(structuredBody, "component")) {
+						for (Element section : children(bodyComponent, "section")) {
+							if (!DomNames.hasAttribute(section, "nullFlavor")) {
+								addSection(section);
+							}
+						}
+					}
+				}
+			}
+			indexElements(clinicalDocument);
+		}
+		log.info("Indexed " + sectionsByCode.size() + " section codes, " + sectionsByTemplateId.size() + " section templates, "
+				+ elementsByTemplateId.size() + " element templates and " + authors.size() + " authors");
+	}
+
+	/*
+	 * Returns the index for the document, building it on first use
+	 */
+	public static CCDADocumentIndex forDocument(Document doc) {
+		synchronized (doc) {
+			CCDADocumentIndex index = (CCDADocumentIndex) doc.getUserData(USER_DATA_KEY);
+			if (index == null) {
+				index = new CCDADocumentIndex(doc);
+				doc.setUserData(USER_DATA_KEY, index, null);
+			}
+			return index;
+		}
+	}
+
+	private void addSection(Element section) {
+		for (Node child = section.getFirstChild(); child != null; child = child.getNextSibling()) {
+			if (DomNames.isElement(child, "code")) {
+				String code = DomNames.attributeValue((Element) child, "code");
+				if (code != null) {
+					sectionsByCode.putIfAbsent(code, section);
+				}
+			} else if (DomNames.isElement(child, "templateId")) {
+				String root = DomNames.attributeValue((Element) child, "root");
+				if (root != null) {
+					addOnce(sectionsByTemplateId, root, section);
+					String extension = DomNames.attributeValue((Element) child, "extension");
+					if (extension != null) {
+						addOnce(sectionsByTemplateIdAndExtension, root + ':' + extension, section);
+					}
+				}
+			}
+		}
+	}
+
+	/*
+	 * Walks the tree under the root in document order without recursion, since entries can nest deeply
+	 */
+	private void indexElements(Element root) {
+		Node node = root;
+		while (node != null) {
+			if (node.getNodeType() == Node.ELEMENT_NODE) {
+				Element element = (Element) node;
+				if (node != root && DomNames.hasLocalName(element, "author")) {
+					authors.add(element);
+				}
+				for (Node child = element.getFirstChild(); child != null; child = child.getNextSibling()) {
+					if (DomNames.isElement(child, "templateId")) {
+						String templateRoot = DomNames.attributeValue((Element) child, "root");
+						if (templateRoot != null) {
+							addOnce(elementsByTemplateId, templateRoot, element);
+						}
+					}
+				}
+				if (element.getFirstChild() != null) {
+					node = element.getFirstChild();
+					continue;
+				}
+			}
+			while (node != root && node.getNextSibling() == null) {
+				node = node.getParentNode();
+			}
+			node = node == root ? null : node.getNextSibling();
+		}
+	}
+
+	private static void addOnce(HashMap<String, List<Element>> index, String key, Element element) {
+		List<Element> elements = index.computeIfAbsent(key, k -> new ArrayList<>());
+		// An element repeating the same templateId must still only be returned once
+		if (elements.isEmpty() || elements.get(elements.size() - 1) != element) {
+			elements.add(element);
+		}
+	}
+
+	static List<Element> children(Element parent, String localName) {
+		List<Element> children = new ArrayList<>();
+		for (Node child = parent.getFirstChild(); child != null; child = child.getNextSibling()) {
+			if (DomNames.isElement(child, localName)) {
+				children.add((Element) child);
+			}
+		}
+		return children;
+	}
+
+	/*
+	 * First section whose code matches the LOINC section code, or null
+	 */
+	public Element getSectionByCode(String code) {
+		return sectionsByCode.get(code);
+	}
+
+	/*
+	 * First section carrying a templateId with the root, or null
+	 */
+	public Element getSectionByTemplateId(String root) {
+		List<Element> sections = sectionsByTemplateId.get(root);
+		return sections == null ? null : sections.get(0);
+	}
+
+	/*
+	 * First section carrying a templateId with the root and extension, or null
+	 */
+	public Element getSectionByTemplateId(String root, String extension) {
+		List<Element> sections = sectionsByTemplateIdAndExtension.get(root + ':' + extension);
+		return sections == null ? null : sections.get(0);
+	}
+
+	/*
+	 * All sections carrying a templateId with the root, in document order
+	 */
+	public List<Element> getSectionsByTemplateId(String root) {
+		List<Element> sections = sectionsByTemplateId.get(root);
+		return sections == null ? Collections.<Element>emptyList() : Collections.unmodifiableList(sections);
+	}
+
+	/*
+	 * All elements anywhere in the document carrying a templateId with the root, in document order
+	 */
+	public List<Element> getElementsByTemplateId(String root) {
+		List<Element> elements = elementsByTemplateId.get(root);
+		return elements == null ? Collections.<Element>emptyList() : Collections.unmodifiableList(elements);
+	}
+
+	/*
+	 * All author elements below ClinicalDocument, header and body alike, in document order
+	 */
+	public List<Element> getAuthors() {
+		return Collections.unmodifiableList(authors);
+	}
+}
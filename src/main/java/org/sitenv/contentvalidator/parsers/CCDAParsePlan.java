@@ -0,0 +1,65 @@
+package org.sitenv.contentvalidator.parsers;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+/*
+ * The body sections a parse reads. The patient and the header are always read, the sections left out of the plan
+ * are not parsed at all and keep whatever the model starts with.
+ * Reference models are parsed with ALL, submitted documents with the plan their validation objective needs,
+ * see CCDARefModel.getParsePlan.
+ */
+public final class CCDAParsePlan {
+
+	/*
+	 * One per section parser run by CCDABodyParser
+	 */
+	public enum Section {
+		ENCOUNTERS,
+		PROBLEMS,
+		MEDICATIONS,
+		ALLERGIES,
+		SOCIAL_HISTORY,
+		LAB_RESULTS,
+		LAB_TESTS,
+		VITAL_SIGNS,
+		PROCEDURES,
+		CARE_TEAM_MEMBERS,
+		CARE_PLAN_SECTIONS,
+		IMMUNIZATIONS,
+		MEDICAL_EQUIPMENT,
+		NOTES,
+		AUTHORS,
+		CARE_TEAM_SECTION,
+		GOALS,
+		HEALTH_CONCERNS,
+		PLAN_OF_TREATMENT
+	}
+
+	public static final CCDAParsePlan ALL = new CCDAParsePlan(EnumSet.allOf(Section.class));
+
+	private final Set<Section> sections;
+
+	private CCDAParsePlan(EnumSet<Section> sections) {
+		this.sections = Collections.unmodifiableSet(sections);
+	}
+
+	public static CCDAParsePlan of(Collection<Section> sections) {
+		return new CCDAParsePlan(sections.isEmpty() ? EnumSet.noneOf(Section.class) : EnumSet.copyOf(sections));
+	}
+
+	public boolean includes(Section section) {
+		return sections.contains(section);
+	}
+
+	public Set<Section> getSections() {
+		return sections;
+	}
+
+	@Override
+	public String toString() {
+		return "CCDAParsePlan " + sections;
+	}
+}
@@ -1,12 +1,17 @@
 package org.sitenv.contentvalidator.parsers;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
 
-import javax.xml.XMLConstants;
 import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLStreamException;
 import javax.xml.xpath.XPathExpressionException;
 
 import org.apache.commons.io.IOUtils;
@@ -15,33 +20,128 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.sitenv.contentvalidator.dto.enums.SeverityLevel;
 import org.sitenv.contentvalidator.model.CCDARefModel;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
 import org.springframework.stereotype.Component;
 import org.w3c.dom.Document;
 import org.xml.sax.SAXException;
 
 @Component
-public class CCDAParser {
+public class CCDAParser implements DisposableBean {
 	
 	private static Logger log = LoggerFactory.getLogger(CCDAParser.class.getName());
 	
-	private DocumentBuilder        builder;
-	private Document               doc;
+	private static final int DEFAULT_POOL_SIZE = Runtime.getRuntime().availableProcessors();
 	
-	public void initDoc(String ccdaFile) throws ParserConfigurationException, SAXException, IOException {
+	/*
+	 * DOM builds the whole document before parsing it, STAX builds one body section at a time
+	 */
+	public enum Engine { DOM, STAX }
+	
+	private final DocumentBuilderPool builderPool;
+	
+	private final CCDAStreamingParser streamingParser = new CCDAStreamingParser();
+	
+	private volatile Engine engine = Engine.DOM;
+	
+	private volatile boolean parallelSectionParsing = false;
+	
+	private volatile boolean directDomNavigation = true;
+	
+	public CCDAParser() {
+		this(DEFAULT_POOL_SIZE);
+	}
+	
+	@Autowired
+	public CCDAParser(Environment environment) {
+		this(environment.getProperty("content.parserPoolSize", Integer.class, DEFAULT_POOL_SIZE));
+		setEngine(environment.getProperty("content.parserEngine", Engine.class, Engine.DOM));
+		setParallelSectionParsing(environment.getProperty("content.parallelSectionParsing", Boolean.class, false));
+		setDirectDomNavigation(environment.getProperty("content.directDomNavigation", Boolean.class, true));
+	}
+	
+	public CCDAParser(int poolSize) {
+		try {
+			builderPool = new DocumentBuilderPool(poolSize);
+		} catch (ParserConfigurationException e) {
+			throw new IllegalStateException("Unable to create the DocumentBuilder pool", e);
+		}
+	}
+	
+	public DocumentBuilderPool getBuilderPool() {
+		return builderPool;
+	}
+	
+	/*
+	 * Reports how often parses waited for a builder over the life of the application
+	 */
+	@Override
+	public void destroy() {
+		log.info("Shutting down with " + builderPool);
+	}
+	
+	public Engine getEngine() {
+		return engine;
+	}
+	
+	public void setEngine(Engine engine) {
+		log.info("Using the " + engine + " parser engine");
+		this.engine = engine;
+	}
+	
+	public boolean isParallelSectionParsing() {
+		return parallelSectionParsing;
+	}
+	
+	/*
+	 * Runs the body section parsers of the DOM engine side by side on the common fork/join pool,
+	 * which lowers the latency of large documents on hosts with spare cores
+	 */
+	public void setParallelSectionParsing(boolean parallelSectionParsing) {
+		this.parallelSectionParsing = parallelSectionParsing;
+	}
+	
+	public boolean isDirectDomNavigation() {
+		return directDomNavigation;
+	}
+	
+	/*
+	 * Lets the CCDAConstants paths that are plain child navigation walk the DOM instead of going through XPath,
+	 * on by default. Turned off, every expression is evaluated with XPath.
+	 */
+	public void setDirectDomNavigation(boolean directDomNavigation) {
+		this.directDomNavigation = directDomNavigation;
+	}
+	
+	/*
+	 * The parser is a shared singleton, so the parsed document is kept local to each call
+	 * and the builder is borrowed from the pool only for the duration of the parse.
+	 */
+	public Document initDoc(String ccdaFile) throws ParserConfigurationException, SAXException, IOException {
+		return initDoc(IOUtils.toInputStream(ccdaFile, StandardCharsets.UTF_8));
+	}
+	
+	/*
+	 * Parses straight from the stream, without holding the whole file in memory as a String first
+	 */
+	public Document initDoc(InputStream ccdaFile) throws ParserConfigurationException, SAXException, IOException {
 		log.info("Initializing Document ");
-		DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance(
-				"com.sun.org.apache.xerces.internal.jaxp.DocumentBuilderFactoryImpl",
-				ClassLoader.getSystemClassLoader());
-		factory.setAttribute(XMLConstants.ACCESS_EXTERNAL_DTD, "");
-		factory.setAttribute(XMLConstants.ACCESS_EXTERNAL_SCHEMA, "");
-		factory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
-		factory.setFeature("http://xml.org/sax/features/external-general-entities", false);
-		factory.setFeature("http://xml.org/sax/features/external-parameter-entities", false);
-		factory.setFeature("http://apache.org/xml/features/nonvalidating/load-external-dtd", false);
-		factory.setXIncludeAware(false);
-		factory.setExpandEntityReferences(false);		
-		builder = factory.newDocumentBuilder();
-		doc = builder.parse(new BOMInputStream(IOUtils.toInputStream(ccdaFile, StandardCharsets.UTF_8.name())));
+		DocumentBuilder builder = borrowBuilder();
+		try {
+			return builder.parse(new BOMInputStream(ccdaFile));
+		} finally {
+			builderPool.release(builder);
+		}
+	}
+	
+	private DocumentBuilder borrowBuilder() throws InterruptedIOException {
+		try {
+			return builderPool.borrow();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted while waiting for a DocumentBuilder");
+		}
 	}
 	
 	/*
@@ -51,6 +151,10 @@ public class CCDAParser {
 		return parse(ccdaFile, SeverityLevel.INFO, curesUpdate, svap2022);
 	}
 	
+	public CCDARefModel parse(Path ccdaFile, boolean curesUpdate, boolean svap2022) {
+		return parse(ccdaFile, SeverityLevel.INFO, curesUpdate, svap2022);
+	}
+	
 	/*
 	 * Called by scenario loader on application start, parses scenarios themselves
 	 */
@@ -62,18 +166,80 @@ public class CCDAParser {
 	 * Called by each validation, on the users file
 	 */	
 	public CCDARefModel parse(String ccdaFile, SeverityLevel severityLevel, boolean curesUpdate, boolean svap2022) {
+		return parse(ccdaFile, severityLevel, curesUpdate, svap2022, CCDAParsePlan.ALL);
+	}
+	
+	public CCDARefModel parse(String ccdaFile, SeverityLevel severityLevel, boolean curesUpdate, boolean svap2022,
+			CCDAParsePlan plan) {
+		return parse(IOUtils.toInputStream(ccdaFile, StandardCharsets.UTF_8), severityLevel, curesUpdate, svap2022, plan);
+	}
+	
+	public CCDARefModel parse(byte[] ccdaFile, SeverityLevel severityLevel, boolean curesUpdate, boolean svap2022) {
+		return parse(ccdaFile, severityLevel, curesUpdate, svap2022, CCDAParsePlan.ALL);
+	}
+	
+	public CCDARefModel parse(byte[] ccdaFile, SeverityLevel severityLevel, boolean curesUpdate, boolean svap2022,
+			CCDAParsePlan plan) {
+		return parse(new ByteArrayInputStream(ccdaFile), severityLevel, curesUpdate, svap2022, plan);
+	}
+	
+	public CCDARefModel parse(Path ccdaFile, SeverityLevel severityLevel, boolean curesUpdate, boolean svap2022) {
+		return parse(ccdaFile, severityLevel, curesUpdate, svap2022, CCDAParsePlan.ALL);
+	}
+	
+	public CCDARefModel parse(Path ccdaFile, SeverityLevel severityLevel, boolean curesUpdate, boolean svap2022,
+			CCDAParsePlan plan) {
+		try (InputStream in = Files.newInputStream(ccdaFile)) {
+			return parse(in, severityLevel, curesUpdate, svap2022, plan);
+		} catch (IOException e) {
+			log.error("Unable to read C-CDA file " + ccdaFile, e);
+		}
+		
+		return null;
+	}
+	
+	public CCDARefModel parse(InputStream ccdaFile, SeverityLevel severityLevel, boolean curesUpdate, boolean svap2022) {
+		return parse(ccdaFile, severityLevel, curesUpdate, svap2022, CCDAParsePlan.ALL);
+	}
+	
+	/*
+	 * Called by each validation on the users file, the caller remains responsible for closing the stream.
+	 * Only the body sections in the plan are parsed.
+	 */
+	public CCDARefModel parse(InputStream ccdaFile, SeverityLevel severityLevel, boolean curesUpdate, boolean svap2022,
+			CCDAParsePlan plan) {
+		boolean previous = ThreadLocalXPathExpression.setXPathOnly(!directDomNavigation);
+		try {
+			return parseDocument(ccdaFile, severityLevel, curesUpdate, svap2022, plan);
+		} finally {
+			ThreadLocalXPathExpression.setXPathOnly(previous);
+		}
+	}
+	
+	private CCDARefModel parseDocument(InputStream ccdaFile, SeverityLevel severityLevel, boolean curesUpdate,
+			boolean svap2022, CCDAParsePlan plan) {
+		log.info("Parsing with " + plan);
+		if (engine == Engine.STAX) {
+			return parseStreaming(ccdaFile, severityLevel, curesUpdate, svap2022, plan);
+		}
 		
 		try {
 			//log.info(" Parsing File " + ccdaFile);
-			initDoc(ccdaFile);
+			Document doc = initDoc(ccdaFile);
 			CCDAConstants.getInstance();
+			// Index sections, templateIds and authors up front, in one pass, while the document is fresh
+			CCDADocumentIndex.forDocument(doc);
 		
 			log.info("Creating Model");
 			CCDARefModel model = new CCDARefModel(severityLevel);
 			
 			model.setPatient(CCDAHeaderParser.getPatient(doc, curesUpdate, svap2022));
 			model.setHeader(CCDAHeaderParser.getHeaderElements(doc, curesUpdate, svap2022));
-			CCDABodyParser.parseBody(doc, model, curesUpdate, svap2022);
+			if (parallelSectionParsing) {
+				CCDABodyParser.parseBodyInParallel(doc, model, curesUpdate, svap2022, plan, ForkJoinPool.commonPool());
+			} else {
+				CCDABodyParser.parseBody(doc, model, curesUpdate, svap2022, plan);
+			}
 		
 			log.info("Returning Parsed Model");
 			// model.log();
@@ -96,4 +262,23 @@ public class CCDAParser {
 		return null;
 	}
 	
+	private CCDARefModel parseStreaming(InputStream ccdaFile, SeverityLevel severityLevel, boolean curesUpdate, boolean svap2022,
+			CCDAParsePlan plan) {
+		DocumentBuilder builder = null;
+		try {
+			builder = borrowBuilder();
+			return streamingParser.parse(ccdaFile, builder, severityLevel, curesUpdate, svap2022, plan);
+		} catch (XMLStreamException e) {
+			log.error("Unable to stream the C-CDA document", e);
+		} catch (IOException e) {
+			log.error("Unable to read the C-CDA document", e);
+		} catch (XPathExpressionException e) {
+			log.error("Unable to evaluate an XPath expression on a C-CDA section", e);
+		} finally {
+			builderPool.release(builder);
+		}
+		
+		return null;
+	}
+	
 }
@@ -0,0 +1,432 @@
+package org.sitenv.contentvalidator.parsers;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Predicate;
+
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.xpath.XPathExpressionException;
+
+import org.apache.commons.io.input.BOMInputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.sitenv.contentvalidator.dto.enums.SeverityLevel;
+import org.sitenv.contentvalidator.model.CCDALinkedAuthors;
+import org.sitenv.contentvalidator.model.CCDANotes;
+import org.sitenv.contentvalidator.model.CCDANotesActivity;
+import org.sitenv.contentvalidator.model.CCDARefModel;
+import org.sitenv.contentvalidator.parsers.CCDAParsePlan.Section;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+
+/*
+ * Builds the CCDARefModel from a StAX event stream instead of from a DOM of the whole file.
+ * Everything outside the body sections goes into a small header document. Each
+ * /ClinicalDocument/component/structuredBody/component/section is built as a document of its own, under shallow copies
+ * of its ancestors so the section lookups still hold, handed to the section parsers as soon as its end tag is read
+ * and then dropped. Memory is bounded by the largest section instead of by the file.
+ * As with the DOM parse the first section with a given code or template wins, and anything not found is read
+ * from the header document so it gets exactly the value the DOM parse gives a document without that section.
+ */
+public class CCDAStreamingParser {
+
+	private static Logger log = LoggerFactory.getLogger(CCDAStreamingParser.class.getName());
+
+	private static final String[] SECTION_PATH = { "ClinicalDocument", "component", "structuredBody", "component", "section" };
+	private static final String REPORT_CDATA_EVENT = "http://java.sun.com/xml/stream/properties/report-cdata-event";
+
+	private final XMLInputFactory inputFactory;
+
+	public CCDAStreamingParser() {
+		inputFactory = XMLInputFactory.newInstance();
+		inputFactory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, true);
+		inputFactory.setProperty(XMLInputFactory.IS_COALESCING, false);
+		inputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+		inputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+		// Keep CDATA apart from the text around it, as the DocumentBuilder does
+		if (inputFactory.isPropertySupported(REPORT_CDATA_EVENT)) {
+			inputFactory.setProperty(REPORT_CDATA_EVENT, true);
+		}
+	}
+
+	/*
+	 * The builder is only used to create the documents and is not kept past the call
+	 */
+	public CCDARefModel parse(InputStream ccdaFile, DocumentBuilder builder, SeverityLevel severityLevel,
+			boolean curesUpdate, boolean svap2022, CCDAParsePlan plan) throws XMLStreamException, XPathExpressionException {
+		CCDAConstants.getInstance();
+		XMLStreamReader reader = inputFactory.createXMLStreamReader(new BOMInputStream(ccdaFile));
+		try {
+			return new StreamingParse(builder, severityLevel, curesUpdate, svap2022, plan).run(reader);
+		} finally {
+			reader.close();
+		}
+	}
+
+	private interface SectionReader<T> {
+		T read(Document doc) throws XPathExpressionException;
+	}
+
+	/*
+	 * One value of the model that comes from a single section, read from the first section that has it
+	 */
+	private static final class SectionSlot<T> {
+		private final Section section;
+		private final Predicate<CCDADocumentIndex> present;
+		private final SectionReader<T> reader;
+		private final BiConsumer<CCDARefModel, T> setter;
+		private boolean claimed;
+		private T value;
+
+		SectionSlot(Section section, Predicate<CCDADocumentIndex> present, SectionReader<T> reader, BiConsumer<CCDARefModel, T> setter) {
+			this.section = section;
+			this.present = present;
+			this.reader = reader;
+			this.setter = setter;
+		}
+
+		void offer(Document section, CCDADocumentIndex index) throws XPathExpressionException {
+			if (!claimed && present.test(index)) {
+				value = reader.read(section);
+				claimed = true;
+			}
+		}
+
+		void apply(Document header, CCDARefModel model) throws XPathExpressionException {
+			setter.accept(model, claimed ? value : reader.read(header));
+		}
+	}
+
+	private static Predicate<CCDADocumentIndex> code(String code) {
+		return index -> index.getSectionByCode(code) != null;
+	}
+
+	/*
+	 * State of one parse
+	 */
+	private static final class StreamingParse {
+		private final DocumentBuilder builder;
+		private final SeverityLevel severityLevel;
+		private final boolean curesUpdate;
+		private final boolean svap2022;
+		private final CCDAParsePlan plan;
+
+		// In the order the model is filled, the past illness problems need the problem section before them
+		private final List<SectionSlot<?>> slots;
+		// False when the plan needs nothing from the body sections, which are then skipped unread
+		private final boolean readsSections;
+
+		private final Predicate<CCDADocumentIndex> interventions = index -> index.getSectionByTemplateId(
+				CCDAConstants.INTERVENTIONS_SECTION_V3_TEMPLATE, CCDAConstants.CCDA_2015_AUG_EXT) != null;
+		private final Predicate<CCDADocumentIndex> healthStatusEvaluations = index -> index.getSectionByTemplateId(
+				CCDAConstants.HEALTH_STATUS_EVALUATIONS_AND_OUTCOMES_SECTION_TEMPLATE) != null;
+		private boolean interventionsClaimed;
+		private boolean healthStatusEvaluationsClaimed;
+		// The care plan sections parser reads both sections together, so the ones it needs are kept for the end
+		private Document carePlanDoc;
+
+		private ArrayList<CCDANotes> notes;
+		private final ArrayList<CCDANotesActivity> notesActivities = new ArrayList<>();
+		private final CCDALinkedAuthors authorsWithLinkedReferenceData = new CCDALinkedAuthors();
+
+		private Document header;
+		private Document section;
+		private Node current;
+		// Header element the open section hangs from
+		private Node sectionParent;
+		private int depth;
+		private int sectionDepth;
+		// Number of open elements that match the start of SECTION_PATH
+		private int matched;
+		private final StringBuilder text = new StringBuilder();
+
+		StreamingParse(DocumentBuilder builder, SeverityLevel severityLevel, boolean curesUpdate, boolean svap2022,
+				CCDAParsePlan plan) {
+			this.builder = builder;
+			this.severityLevel = severityLevel;
+			this.curesUpdate = curesUpdate;
+			this.svap2022 = svap2022;
+			this.plan = plan;
+			List<SectionSlot<?>> allSlots = Arrays.<SectionSlot<?>>asList(
+					new SectionSlot<>(Section.ENCOUNTERS, code(CCDAConstants.ENCOUNTER_SECTION_CODE),
+							doc -> EncounterParser.retrieveEncounterDetails(doc, curesUpdate, svap2022), CCDARefModel::setEncounter),
+					new SectionSlot<>(Section.ENCOUNTERS, code(CCDAConstants.ADMISSION_DIAG_SECTION_CODE),
+							EncounterParser::retrieveAdmissionDiagnosisDetails, CCDARefModel::setAdmissionDiagnosis),
+					new SectionSlot<>(Section.ENCOUNTERS, code(CCDAConstants.DISCHARGE_DIAG_SECTION_CODE),
+							EncounterParser::retrieveDischargeDiagnosisDetails, CCDARefModel::setDischargeDiagnosis),
+					new SectionSlot<>(Section.PROBLEMS, code(CCDAConstants.PROBLEM_SECTION_CODE),
+							ProblemParser::retrieveProblemDetails, CCDARefModel::setProblem),
+					new SectionSlot<>(Section.PROBLEMS, code(CCDAConstants.PAST_ILLNESS_SECTION_CODE),
+							ProblemParser::readPastIllnessProblems, (model, problems) -> {
+								if (model.getProblem() != null) {
+									model.getProblem().setPastIllnessProblems(problems);
+								}
+							}),
+					new SectionSlot<>(Section.MEDICATIONS, code(CCDAConstants.MEDICATION_SECTION_CODE),
+							MedicationParser::retrieveMedicationDetails, CCDARefModel::setMedication),
+					new SectionSlot<>(Section.MEDICATIONS, code(CCDAConstants.DM_MEDICATION_SECTION_CODE),
+							MedicationParser::retrieveDischargeMedicationDetails, CCDARefModel::setDischargeMedication),
+					new SectionSlot<>(Section.ALLERGIES, code(CCDAConstants.ALLERGIES_SECTION_CODE),
+							AllergiesParser::retrieveAllergiesDetails, CCDARefModel::setAllergy),
+					new SectionSlot<>(Section.SOCIAL_HISTORY, code(CCDAConstants.SOCIAL_HISTORY_SECTION_CODE),
+							SocialHistoryParser::retrieveSmokingStatusDetails, CCDARefModel::setSmokingStatus),
+					new SectionSlot<>(Section.LAB_RESULTS, code(CCDAConstants.RESULTS_SECTION_CODE),
+							LabResultParser::retrieveLabResults, CCDARefModel::setLabResults),
+					new SectionSlot<>(Section.LAB_TESTS, code(CCDAConstants.RESULTS_SECTION_CODE),
+							LabTestParser::retrieveLabTests, CCDARefModel::setLabTests),
+					new SectionSlot<>(Section.VITAL_SIGNS, code(CCDAConstants.VITALSIGNS_SECTION_CODE),
+							VitalSignParser::retrieveVitalSigns, CCDARefModel::setVitalSigns),
+					new SectionSlot<>(Section.PROCEDURES, code(CCDAConstants.PROCEDURE_SECTION_CODE),
+							ProcedureParser::retrieveProcedureDetails, CCDARefModel::setProcedure),
+					new SectionSlot<>(Section.IMMUNIZATIONS, code(CCDAConstants.IMMUNIZATION_SECTION_CODE),
+							ImmunizationParser::retrieveImmunizationDetails, CCDARefModel::setImmunization),
+					new SectionSlot<>(Section.MEDICAL_EQUIPMENT, code(CCDAConstants.MEDICAL_EQUIPMENT_SECTION_CODE),
+							MedicalEquipmentParser::retrieveMedicalEquipments, CCDARefModel::setMedEquipments),
+					new SectionSlot<>(Section.CARE_TEAM_SECTION, code(CCDAConstants.CARE_TEAM_SECTION_CODE),
+							CareTeamMemberParser::retrieveCareTeamSectionDetails, CCDARefModel::setCareTeamSectionMembers),
+					new SectionSlot<>(Section.GOALS, code(CCDAConstants.GOALS_SECTION_CODE),
+							GoalParser::retrieveGoals, CCDARefModel::setGoals),
+					new SectionSlot<>(Section.HEALTH_CONCERNS, code(CCDAConstants.HEALTH_CONCERNS_SECTION_CODE),
+							HealthConcernParser::retrieveHealthConcerns, CCDARefModel::setHcs),
+					new SectionSlot<>(Section.PLAN_OF_TREATMENT, code(CCDAConstants.PLAN_OF_TREATMENT_SECTION_CODE),
+							PlanOfTreatmentParser::retrievePlanOfTreatment, CCDARefModel::setPlanOfTreatment));
+			slots = new ArrayList<>(allSlots.size());
+			for (SectionSlot<?> slot : allSlots) {
+				if (plan.includes(slot.section)) {
+					slots.add(slot);
+				}
+			}
+			readsSections = !slots.isEmpty() || plan.includes(Section.CARE_PLAN_SECTIONS)
+					|| plan.includes(Section.NOTES) || plan.includes(Section.AUTHORS);
+		}
+
+		CCDARefModel run(XMLStreamReader reader) throws XMLStreamException, XPathExpressionException {
+			header = builder.newDocument();
+			current = header;
+			while (reader.hasNext()) {
+				switch (reader.next()) {
+				case XMLStreamConstants.START_ELEMENT:
+					flushText();
+					startElement(reader);
+					break;
+				case XMLStreamConstants.END_ELEMENT:
+					flushText();
+					endElement();
+					break;
+				case XMLStreamConstants.CHARACTERS:
+				case XMLStreamConstants.SPACE:
+					text.append(reader.getTextCharacters(), reader.getTextStart(), reader.getTextLength());
+					break;
+				case XMLStreamConstants.CDATA:
+					flushText();
+					current.appendChild(document().createCDATASection(reader.getText()));
+					break;
+				case XMLStreamConstants.COMMENT:
+					flushText();
+					current.appendChild(document().createComment(reader.getText()));
+					break;
+				case XMLStreamConstants.PROCESSING_INSTRUCTION:
+					flushText();
+					current.appendChild(document().createProcessingInstruction(reader.getPITarget(), reader.getPIData()));
+					break;
+				case XMLStreamConstants.DTD:
+					throw new XMLStreamException("DOCTYPE is not allowed", reader.getLocation());
+				default:
+					break;
+				}
+			}
+			return buildModel();
+		}
+
+		private Document document() {
+			return section != null ? section : header;
+		}
+
+		private void startElement(XMLStreamReader reader) throws XMLStreamException {
+			String localName = reader.getLocalName();
+			if (matched == depth && depth < SECTION_PATH.length && localName.equals(SECTION_PATH[depth])) {
+				matched++;
+				if (matched == SECTION_PATH.length && section == null) {
+					if (!readsSections) {
+						skipElement(reader);
+						matched = depth;
+						return;
+					}
+					startSection();
+				}
+			}
+			Element element = document().createElement(qualifiedName(reader.getPrefix(), localName));
+			for (int i = 0; i < reader.getNamespaceCount(); i++) {
+				String prefix = reader.getNamespacePrefix(i);
+				element.setAttribute(prefix == null || prefix.isEmpty() ? "xmlns" : "xmlns:" + prefix,
+						reader.getNamespaceURI(i) == null ? "" : reader.getNamespaceURI(i));
+			}
+			for (int i = 0; i < reader.getAttributeCount(); i++) {
+				element.setAttribute(qualifiedName(reader.getAttributePrefix(i), reader.getAttributeLocalName(i)),
+						reader.getAttributeValue(i));
+			}
+			current.appendChild(element);
+			current = element;
+			depth++;
+		}
+
+		/*
+		 * Reads past the rest of the element the reader is on, without building anything
+		 */
+		private void skipElement(XMLStreamReader reader) throws XMLStreamException {
+			int open = 1;
+			while (open > 0) {
+				int event = reader.next();
+				if (event == XMLStreamConstants.START_ELEMENT) {
+					open++;
+				} else if (event == XMLStreamConstants.END_ELEMENT) {
+					open--;
+				}
+			}
+		}
+
+		private void endElement() throws XPathExpressionException {
+			depth--;
+			if (matched > depth) {
+				matched = depth;
+			}
+			current = current.getParentNode();
+			if (section != null && depth == sectionDepth) {
+				endSection();
+			}
+		}
+
+		private void flushText() {
+			if (text.length() > 0) {
+				// Whitespace around the root element is not part of the DOM either
+				if (current.getNodeType() != Node.DOCUMENT_NODE) {
+					current.appendChild(document().createTextNode(text.toString()));
+				}
+				text.setLength(0);
+			}
+		}
+
+		/*
+		 * Starts a document for the section, under shallow copies of the open header elements
+		 */
+		private void startSection() {
+			List<Node> ancestors = new ArrayList<>();
+			for (Node node = current; node != header; node = node.getParentNode()) {
+				ancestors.add(0, node);
+			}
+			sectionParent = current;
+			section = builder.newDocument();
+			Node parent = section;
+			for (Node ancestor : ancestors) {
+				parent = parent.appendChild(section.importNode(ancestor, false));
+			}
+			current = parent;
+			sectionDepth = depth;
+		}
+
+		private void endSection() throws XPathExpressionException {
+			Document doc = section;
+			section = null;
+			current = sectionParent;
+			readSection(doc);
+		}
+
+		private void readSection(Document doc) throws XPathExpressionException {
+			CCDADocumentIndex index = CCDADocumentIndex.forDocument(doc);
+			for (SectionSlot<?> slot : slots) {
+				slot.offer(doc, index);
+			}
+			if (plan.includes(Section.CARE_PLAN_SECTIONS)) {
+				boolean carePlanSection = false;
+				if (!interventionsClaimed && interventions.test(index)) {
+					interventionsClaimed = true;
+					carePlanSection = true;
+				}
+				if (!healthStatusEvaluationsClaimed && healthStatusEvaluations.test(index)) {
+					healthStatusEvaluationsClaimed = true;
+					carePlanSection = true;
+				}
+				if (carePlanSection) {
+					keepForCarePlan(doc);
+				}
+			}
+
+			if (plan.includes(Section.NOTES)) {
+				ArrayList<CCDANotes> sectionNotes = NotesParser.retrieveNotesDetails(doc);
+				if (sectionNotes != null) {
+					if (notes == null) {
+						notes = new ArrayList<>();
+					}
+					notes.addAll(sectionNotes);
+				}
+				ArrayList<CCDANotesActivity> sectionNotesActivities = NotesParser.retrieveNotesActivities(doc);
+				if (sectionNotesActivities != null) {
+					notesActivities.addAll(sectionNotesActivities);
+				}
+			}
+			if (plan.includes(Section.AUTHORS)) {
+				authorsWithLinkedReferenceData.addAll(AuthorParser.retrieveAuthorsWithLinkedReferenceData(doc));
+			}
+		}
+
+		private void keepForCarePlan(Document doc) {
+			Element sectionComponent = (Element) doc.getDocumentElement().getFirstChild().getFirstChild().getFirstChild();
+			if (carePlanDoc == null) {
+				carePlanDoc = builder.newDocument();
+				Node parent = carePlanDoc;
+				for (Node ancestor = doc.getDocumentElement(); ancestor != sectionComponent; ancestor = ancestor.getFirstChild()) {
+					parent = parent.appendChild(carePlanDoc.importNode(ancestor, false));
+				}
+			}
+			carePlanDoc.getDocumentElement().getFirstChild().getFirstChild().appendChild(carePlanDoc.importNode(sectionComponent, true));
+		}
+
+		private CCDARefModel buildModel() throws XPathExpressionException {
+			log.info("Creating Model");
+			CCDARefModel model = new CCDARefModel(severityLevel);
+			model.setPatient(CCDAHeaderParser.getPatient(header, curesUpdate, svap2022));
+			model.setHeader(CCDAHeaderParser.getHeaderElements(header, curesUpdate, svap2022));
+
+			for (SectionSlot<?> slot : slots) {
+				slot.apply(header, model);
+			}
+			if (plan.includes(Section.CARE_TEAM_MEMBERS)) {
+				model.setMembers(CareTeamMemberParser.retrieveCTMDetails(header));
+			}
+			if (plan.includes(Section.CARE_PLAN_SECTIONS)) {
+				CarePlanSectionsParser.parse(carePlanDoc != null ? carePlanDoc : header, model, curesUpdate, svap2022);
+			}
+
+			if (plan.includes(Section.NOTES)) {
+				model.setNotes(notes);
+				// Whatever the header holds comes first in document order
+				ArrayList<CCDANotesActivity> headerNotesActivities = NotesParser.retrieveNotesActivities(header);
+				if (headerNotesActivities != null) {
+					notesActivities.addAll(0, headerNotesActivities);
+				}
+				model.setNotesEntries(notesActivities.isEmpty() ? null : notesActivities);
+			}
+
+			if (plan.includes(Section.AUTHORS)) {
+				model.setAuthorsFromHeader(AuthorParser.retrieveAuthorsFromHeader(header));
+				authorsWithLinkedReferenceData.addAll(0, AuthorParser.retrieveAuthorsWithLinkedReferenceData(header));
+				model.setAuthorsWithLinkedReferenceData(authorsWithLinkedReferenceData);
+			}
+
+			log.info("Returning Parsed Model");
+			return model;
+		}
+	}
+
+	private static String qualifiedName(String prefix, String localName) {
+		return prefix == null || prefix.isEmpty() ? localName : prefix + ":" + localName;
+	}
+}
@@ -29,7 +29,8 @@ public class CarePlanSectionsParser {
 	private static CCDACarePlanSections getSuggestedSections(Document doc) throws XPathExpressionException {
 		CCDACarePlanSections carePlanSections = new CCDACarePlanSections();
 		
-		Element interventions = (Element) CCDAConstants.INTERVENTIONS_SECTION_V3_EXP.evaluate(doc, XPathConstants.NODE);				
+		Element interventions = CCDADocumentIndex.forDocument(doc).getSectionByTemplateId(
+				CCDAConstants.INTERVENTIONS_SECTION_V3_TEMPLATE, CCDAConstants.CCDA_2015_AUG_EXT);				
 		if(interventions != null) {
 			log.info("interventions tagName: " + interventions.getTagName());
 			log.info("Setting: Document HAS Interventions Section (V3) 2.16.840.1.113883.10.20.21.2.3:2015-08-01");
@@ -41,8 +42,8 @@ public class CarePlanSectionsParser {
 			log.info("Document does NOT have Interventions Section (V3) 2.16.840.1.113883.10.20.21.2.3:2015-08-01");
 		}
 		
-		Element healthStatusEvals = (Element) CCDAConstants.HEALTH_STATUS_EVALUATIONS_AND_OUTCOMES_SECTION_EXP
-				.evaluate(doc, XPathConstants.NODE);
+		Element healthStatusEvals = CCDADocumentIndex.forDocument(doc).getSectionByTemplateId(
+				CCDAConstants.HEALTH_STATUS_EVALUATIONS_AND_OUTCOMES_SECTION_TEMPLATE);
 		if(healthStatusEvals != null) {
 			log.info("healthStatusEvals tagName: " + healthStatusEvals.getTagName());
 			log.info("Setting: Document HAS Health Status Evaluations and Outcomes Section 2.16.840.1.113883.10.20.22.2.61");
@@ -33,7 +33,7 @@ public class CareTeamMemberParser {
     public static CCDACareTeamMember retrieveCareTeamSectionDetails(Document doc) throws XPathExpressionException 
     {
     	CCDACareTeamMember careTeamMember = null;
-		Element sectionElement = (Element) CCDAConstants.CARE_TEAM_SECTION_EXPRESSION.evaluate(doc, XPathConstants.NODE);
+		Element sectionElement = CCDADocumentIndex.forDocument(doc).getSectionByCode(CCDAConstants.CARE_TEAM_SECTION_CODE);
 		
 		if(sectionElement != null)
 		{
@@ -0,0 +1,136 @@
+package org.sitenv.contentvalidator.parsers;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.xml.XMLConstants;
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/*
+ * Bounded pool of hardened DocumentBuilders, all created up front so that parsing a document
+ * does not pay for the factory lookup and the security configuration.
+ * Builders are reset when they are returned. A caller that finds the pool empty waits for a builder
+ * to come back, and that wait is recorded so the pool size can be tuned under load.
+ * The counters are logged every STATS_LOG_INTERVAL borrows and by CCDAParser at shutdown.
+ */
+public class DocumentBuilderPool {
+
+	private static Logger log = LoggerFactory.getLogger(DocumentBuilderPool.class.getName());
+
+	static final long STATS_LOG_INTERVAL = 1000;
+
+	private final int size;
+	private final BlockingQueue<DocumentBuilder> builders;
+
+	private final AtomicLong borrowCount = new AtomicLong();
+	private final AtomicLong waitCount = new AtomicLong();
+	private final AtomicLong totalWaitNanos = new AtomicLong();
+	private final AtomicLong maxWaitNanos = new AtomicLong();
+
+	public DocumentBuilderPool(int size) throws ParserConfigurationException {
+		if (size < 1) {
+			throw new IllegalArgumentException("DocumentBuilder pool size must be at least 1, was " + size);
+		}
+		this.size = size;
+		this.builders = new ArrayBlockingQueue<>(size);
+		DocumentBuilderFactory factory = createFactory();
+		for (int i = 0; i < size; i++) {
+			builders.add(factory.newDocumentBuilder());
+		}
+		log.info("Created DocumentBuilder pool of size " + size);
+	}
+
+	static DocumentBuilderFactory createFactory() throws ParserConfigurationException {
+		DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance(
+				"com.sun.org.apache.xerces.internal.jaxp.DocumentBuilderFactoryImpl",
+				ClassLoader.getSystemClassLoader());
+		factory.setAttribute(XMLConstants.ACCESS_EXTERNAL_DTD, "");
+		factory.setAttribute(XMLConstants.ACCESS_EXTERNAL_SCHEMA, "");
+		factory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
+		factory.setFeature("http://xml.org/sax/features/external-general-entities", false);
+		factory.setFeature("http://xml.org/sax/features/external-parameter-entities", false);
+		factory.setFeature("http://apache.org/xml/features/nonvalidating/load-external-dtd", false);
+		// Every node gets read anyway, and a fully built DOM is safe to read from several threads at once
+		factory.setFeature("http://apache.org/xml/features/dom/defer-node-expansion", false);
+		factory.setXIncludeAware(false);
+		factory.setExpandEntityReferences(false);
+		return factory;
+	}
+
+	/*
+	 * Takes a builder from the pool, waiting if all of them are in use
+	 */
+	public DocumentBuilder borrow() throws InterruptedException {
+		long borrows = borrowCount.incrementAndGet();
+		DocumentBuilder builder = builders.poll();
+		if (builder == null) {
+			long start = System.nanoTime();
+			builder = builders.take();
+			recordWait(System.nanoTime() - start);
+		}
+		if (borrows % STATS_LOG_INTERVAL == 0) {
+			log.info(toString());
+		}
+		return builder;
+	}
+
+	/*
+	 * Resets the builder and puts it back in the pool
+	 */
+	public void release(DocumentBuilder builder) {
+		if (builder != null) {
+			builder.reset();
+			builders.offer(builder);
+		}
+	}
+
+	private void recordWait(long nanos) {
+		waitCount.incrementAndGet();
+		totalWaitNanos.addAndGet(nanos);
+		long max = maxWaitNanos.get();
+		while (nanos > max && !maxWaitNanos.compareAndSet(max, nanos)) {
+			max = maxWaitNanos.get();
+		}
+	}
+
+	public int getSize() {
+		return size;
+	}
+
+	public int getAvailable() {
+		return builders.size();
+	}
+
+	public long getBorrowCount() {
+		return borrowCount.get();
+	}
+
+	/*
+	 * Number of borrows that found the pool empty and had to wait
+	 */
+	public long getWaitCount() {
+		return waitCount.get();
+	}
+
+	public long getTotalWaitMillis() {
+		return TimeUnit.NANOSECONDS.toMillis(totalWaitNanos.get());
+	}
+
+	public long getMaxWaitMillis() {
+		return TimeUnit.NANOSECONDS.toMillis(maxWaitNanos.get());
+	}
+
+	@Override
+	public String toString() {
+		return "DocumentBuilderPool [size=" + size + ", available=" + getAvailable() + ", borrowCount="
+				+ getBorrowCount() + ", waitCount=" + getWaitCount() + ", totalWaitMillis=" + getTotalWaitMillis()
+				+ ", maxWaitMillis=" + getMaxWaitMillis() + "]";
+	}
+}
@@ -0,0 +1,94 @@
+package org.sitenv.contentvalidator.parsers;
+
+import org.w3c.dom.Attr;
+import org.w3c.dom.Element;
+import org.w3c.dom.NamedNodeMap;
+import org.w3c.dom.Node;
+
+/*
+ * Name tests that match the way XPath sees our documents.
+ * The DocumentBuilder is not namespace aware, so XPath compares element and attribute names on the part after
+ * any prefix: "raceCode" matches sdtc:raceCode and "@type" matches xsi:type, while xmlns declarations are never attributes.
+ * Code that walks the DOM directly in place of an XPath expression uses these so that it selects the same nodes.
+ */
+final class DomNames {
+
+	private DomNames() {
+	}
+
+	static String localName(Node node) {
+		String name = node.getNodeName();
+		int colon = name.indexOf(':');
+		return colon < 0 ? name : name.substring(colon + 1);
+	}
+
+	static boolean hasLocalName(Node node, String localName) {
+		String name = node.getNodeName();
+		int colon = name.indexOf(':');
+		if (colon < 0) {
+			return name.equals(localName);
+		}
+		return name.length() - colon - 1 == localName.length() && name.startsWith(localName, colon + 1);
+	}
+
+	static boolean isElement(Node node, String localName) {
+		return node.getNodeType() == Node.ELEMENT_NODE && hasLocalName(node, localName);
+	}
+
+	/*
+	 * Equivalent of the XPath test @name
+	 */
+	static boolean hasAttribute(Element element, String localName) {
+		if (element.hasAttribute(localName)) {
+			return true;
+		}
+		NamedNodeMap attributes = element.getAttributes();
+		for (int i = 0; i < attributes.getLength(); i++) {
+			if (isAttribute(attributes.item(i), localName)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/*
+	 * Equivalent of the XPath test @name='value', true when any attribute with that local name has the value
+	 */
+	static boolean attributeEquals(Element element, String localName, String value) {
+		Attr attribute = element.getAttributeNode(localName);
+		if (attribute != null && value.equals(attribute.getValue())) {
+			return true;
+		}
+		NamedNodeMap attributes = element.getAttributes();
+		for (int i = 0; i < attributes.getLength(); i++) {
+			Node node = attributes.item(i);
+			if (node != attribute && isAttribute(node, localName) && value.equals(node.getNodeValue())) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/*
+	 * Value of the first attribute with the given local name, or null
+	 */
+	static String attributeValue(Element element, String localName) {
+		Attr attribute = element.getAttributeNode(localName);
+		if (attribute != null) {
+			return attribute.getValue();
+		}
+		NamedNodeMap attributes = element.getAttributes();
+		for (int i = 0; i < attributes.getLength(); i++) {
+			Node node = attributes.item(i);
+			if (isAttribute(node, localName)) {
+				return node.getNodeValue();
+			}
+		}
+		return null;
+	}
+
+	private static boolean isAttribute(Node attribute, String localName) {
+		String name = attribute.getNodeName();
+		return !name.equals("xmlns") && !name.startsWith("xmlns:") && hasLocalName(attribute, localName);
+	}
+}
@@ -0,0 +1,330 @@
+package org.sitenv.contentvalidator.parsers;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+
+/*
+ * Compiled form of the simple location paths that make up most of CCDAConstants, evaluated by walking DOM children
+ * instead of going through the XPath engine. Supported are child steps with predicates built from
+ * @attr, @attr='literal', child[predicate], not(...), and, or, in relative ("./a/b[...]") or absolute ("/a/b") form,
+ * optionally wrapped as "(path)[n]". compile returns null for anything else, and the caller keeps using XPath for it.
+ * Names are matched through DomNames so the walk selects exactly the nodes XPath would on our documents.
+ */
+final class DomPath {
+
+	private final boolean absolute;
+	private final Step[] steps;
+	// 1 based position from "(path)[n]", 0 when the whole result is wanted
+	private final int position;
+
+	private DomPath(boolean absolute, Step[] steps, int position) {
+		this.absolute = absolute;
+		this.steps = steps;
+		this.position = position;
+	}
+
+	/*
+	 * First selected node in document order, or null
+	 */
+	Node selectNode(Node context) {
+		Node start = startNode(context);
+		if (start == null) {
+			return null;
+		}
+		if (position == 0) {
+			return first(start, 0);
+		}
+		List<Element> selected = selectNodes(context);
+		return selected.isEmpty() ? null : selected.get(0);
+	}
+
+	/*
+	 * All selected nodes in document order
+	 */
+	List<Element> selectNodes(Node context) {
+		List<Element> selected = new ArrayList<>();
+		Node start = startNode(context);
+		if (start != null) {
+			collect(start, 0, selected);
+		}
+		if (position > 0) {
+			List<Element> single = new ArrayList<>(1);
+			if (selected.size() >= position) {
+				single.add(selected.get(position - 1));
+			}
+			return single;
+		}
+		return selected;
+	}
+
+	private Node startNode(Node context) {
+		if (!absolute) {
+			return context;
+		}
+		return context.getNodeType() == Node.DOCUMENT_NODE ? context : context.getOwnerDocument();
+	}
+
+	private Element first(Node parent, int stepIndex) {
+		Step step = steps[stepIndex];
+		for (Node child = parent.getFirstChild(); child != null; child = child.getNextSibling()) {
+			if (step.matches(child)) {
+				if (stepIndex == steps.length - 1) {
+					return (Element) child;
+				}
+				Element found = first(child, stepIndex + 1);
+				if (found != null) {
+					return found;
+				}
+			}
+		}
+		return null;
+	}
+
+	private void collect(Node parent, int stepIndex, List<Element> selected) {
+		Step step = steps[stepIndex];
+		for (Node child = parent.getFirstChild(); child != null; child = child.getNextSibling()) {
+			if (step.matches(child)) {
+				if (stepIndex == steps.length - 1) {
+					selected.add((Element) child);
+				} else {
+					collect(child, stepIndex + 1, selected);
+				}
+			}
+		}
+	}
+
+	static DomPath compile(String expression) {
+		try {
+			return new Compiler(expression).compile();
+		} catch (IllegalArgumentException e) {
+			return null;
+		}
+	}
+
+	private static final class Step {
+		private final String name;
+		private final Predicate predicate;
+
+		Step(String name, Predicate predicate) {
+			this.name = name;
+			this.predicate = predicate;
+		}
+
+		boolean matches(Node node) {
+			return DomNames.isElement(node, name) && (predicate == null || predicate.test((Element) node));
+		}
+	}
+
+	private interface Predicate {
+		boolean test(Element element);
+	}
+
+	/*
+	 * Recursive descent over the small grammar above, throwing IllegalArgumentException on anything outside it
+	 */
+	private static final class Compiler {
+		private final String text;
+		private int pos;
+
+		Compiler(String text) {
+			this.text = text;
+		}
+
+		DomPath compile() {
+			skipSpaces();
+			boolean wrapped = accept("(");
+			boolean absolute;
+			if (accept("./")) {
+				absolute = false;
+			} else if (peek('/') && !text.startsWith("//", pos)) {
+				pos++;
+				absolute = true;
+			} else {
+				throw unsupported();
+			}
+			List<Step> steps = new ArrayList<>();
+			steps.add(step());
+			while (peek('/')) {
+				if (text.startsWith("//", pos)) {
+					throw unsupported();
+				}
+				pos++;
+				steps.add(step());
+			}
+			int position = 0;
+			if (wrapped) {
+				expect(")");
+				expect("[");
+				position = number();
+				expect("]");
+			}
+			skipSpaces();
+			if (pos != text.length()) {
+				throw unsupported();
+			}
+			return new DomPath(absolute, steps.toArray(new Step[steps.size()]), position);
+		}
+
+		private Step step() {
+			String name = name();
+			Predicate predicate = null;
+			if (accept("[")) {
+				predicate = or();
+				expect("]");
+			}
+			return new Step(name, predicate);
+		}
+
+		private Predicate or() {
+			Predicate left = and();
+			while (acceptKeyword("or")) {
+				Predicate a = left;
+				Predicate b = and();
+				left = e -> a.test(e) || b.test(e);
+			}
+			return left;
+		}
+
+		private Predicate and() {
+			Predicate left = term();
+			while (acceptKeyword("and")) {
+				Predicate a = left;
+				Predicate b = term();
+				left = e -> a.test(e) && b.test(e);
+			}
+			return left;
+		}
+
+		private Predicate term() {
+			skipSpaces();
+			if (accept("not(")) {
+				Predicate inner = or();
+				expect(")");
+				return e -> !inner.test(e);
+			}
+			if (accept("(")) {
+				Predicate inner = or();
+				expect(")");
+				return inner;
+			}
+			if (accept("@")) {
+				String attribute = name();
+				if (accept("=")) {
+					String value = literal();
+					return e -> DomNames.attributeEquals(e, attribute, value);
+				}
+				return e -> DomNames.hasAttribute(e, attribute);
+			}
+			String child = name();
+			Predicate childPredicate = null;
+			if (accept("[")) {
+				childPredicate = or();
+				expect("]");
+			}
+			Step childStep = new Step(child, childPredicate);
+			return e -> {
+				for (Node node = e.getFirstChild(); node != null; node = node.getNextSibling()) {
+					if (childStep.matches(node)) {
+						return true;
+					}
+				}
+				return false;
+			};
+		}
+
+		private String name() {
+			skipSpaces();
+			int start = pos;
+			// A name starts with a letter or '_', so a position such as [1] is left to XPath
+			if (pos < text.length() && (Character.isLetter(text.charAt(pos)) || text.charAt(pos) == '_')) {
+				pos++;
+				while (pos < text.length() && (Character.isLetterOrDigit(text.charAt(pos)) || text.charAt(pos) == '_')) {
+					pos++;
+				}
+			}
+			if (start == pos) {
+				throw unsupported();
+			}
+			String name = text.substring(start, pos);
+			skipSpaces();
+			// Function calls and axes are left to XPath
+			if (peek('(') || peek(':')) {
+				throw unsupported();
+			}
+			return name;
+		}
+
+		private String literal() {
+			skipSpaces();
+			if (!peek('\'') && !peek('"')) {
+				throw unsupported();
+			}
+			char quote = text.charAt(pos++);
+			int end = text.indexOf(quote, pos);
+			if (end < 0) {
+				throw unsupported();
+			}
+			String value = text.substring(pos, end);
+			pos = end + 1;
+			return value;
+		}
+
+		private int number() {
+			skipSpaces();
+			int start = pos;
+			while (pos < text.length() && Character.isDigit(text.charAt(pos))) {
+				pos++;
+			}
+			if (start == pos) {
+				throw unsupported();
+			}
+			int number = Integer.parseInt(text.substring(start, pos));
+			if (number < 1) {
+				throw unsupported();
+			}
+			return number;
+		}
+
+		private boolean acceptKeyword(String keyword) {
+			skipSpaces();
+			int end = pos + keyword.length();
+			if (text.startsWith(keyword, pos) && end < text.length() && !Character.isLetterOrDigit(text.charAt(end))) {
+				pos = end;
+				return true;
+			}
+			return false;
+		}
+
+		private boolean accept(String token) {
+			skipSpaces();
+			if (text.startsWith(token, pos)) {
+				pos += token.length();
+				return true;
+			}
+			return false;
+		}
+
+		private void expect(String token) {
+			if (!accept(token)) {
+				throw unsupported();
+			}
+		}
+
+		private boolean peek(char c) {
+			return pos < text.length() && text.charAt(pos) == c;
+		}
+
+		private void skipSpaces() {
+			while (pos < text.length() && Character.isWhitespace(text.charAt(pos))) {
+				pos++;
+			}
+		}
+
+		private IllegalArgumentException unsupported() {
+			return new IllegalArgumentException("Unsupported expression " + text + " at " + pos);
+		}
+	}
+}
@@ -0,0 +1,29 @@
+package org.sitenv.contentvalidator.parsers;
+
+import java.util.List;
+
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+
+/*
+ * NodeList over elements found without XPath, so they can be handed to the readers in ParserUtilities that take a NodeList
+ */
+final class ElementNodeList implements NodeList {
+
+	private final List<Element> elements;
+
+	ElementNodeList(List<Element> elements) {
+		this.elements = elements;
+	}
+
+	@Override
+	public Node item(int index) {
+		return index >= 0 && index < elements.size() ? elements.get(index) : null;
+	}
+
+	@Override
+	public int getLength() {
+		return elements.size();
+	}
+}
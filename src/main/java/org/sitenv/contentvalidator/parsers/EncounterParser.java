@@ -27,7 +27,7 @@ public class EncounterParser {
     
 	public static CCDAEncounter retrieveEncounterDetails(Document doc, boolean curesUpdate, boolean svap2022)
 			throws XPathExpressionException {
-		Element sectionElement = (Element) CCDAConstants.ENCOUNTER_EXPRESSION.evaluate(doc, XPathConstants.NODE);
+		Element sectionElement = CCDADocumentIndex.forDocument(doc).getSectionByCode(CCDAConstants.ENCOUNTER_SECTION_CODE);
 		CCDAEncounter encounters = null;
 		
 		if(sectionElement != null)
@@ -183,7 +183,7 @@ public class EncounterParser {
 
 	public static CCDAAdmissionDiagnosis retrieveAdmissionDiagnosisDetails(Document doc) throws XPathExpressionException
 	{
-		Element sectionElement = (Element) CCDAConstants.ADMISSION_DIAG_EXP.evaluate(doc, XPathConstants.NODE);
+		Element sectionElement = CCDADocumentIndex.forDocument(doc).getSectionByCode(CCDAConstants.ADMISSION_DIAG_SECTION_CODE);
 		CCDAAdmissionDiagnosis admDiag = null;
 		
 		if(sectionElement != null)
@@ -233,7 +233,7 @@ public class EncounterParser {
 
     public static CCDADischargeDiagnosis retrieveDischargeDiagnosisDetails(Document doc) throws XPathExpressionException
 	{
-		Element sectionElement = (Element) CCDAConstants.DISCHARGE_DIAG_EXP.evaluate(doc, XPathConstants.NODE);
+		Element sectionElement = CCDADocumentIndex.forDocument(doc).getSectionByCode(CCDAConstants.DISCHARGE_DIAG_SECTION_CODE);
 		CCDADischargeDiagnosis dischargeDiag = null;
 		
 		if(sectionElement != null)
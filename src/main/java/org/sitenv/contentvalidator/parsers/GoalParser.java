@@ -31,7 +31,7 @@ public class GoalParser {
 	
 	public static CCDAGoals retrieveGoals(Document doc) throws XPathExpressionException
 	{
-		Element sectionElement = (Element) CCDAConstants.GOALS_EXPRESSION.evaluate(doc, XPathConstants.NODE);
+		Element sectionElement = CCDADocumentIndex.forDocument(doc).getSectionByCode(CCDAConstants.GOALS_SECTION_CODE);
 		
 		CCDAGoals goals = null;
 		if(sectionElement != null)
@@ -28,7 +28,7 @@ private static Logger log = LoggerFactory.getLogger(CareTeamMemberParser.class.g
 	
 	public static CCDAHealthConcerns retrieveHealthConcerns(Document doc) throws XPathExpressionException
 	{
-		Element sectionElement = (Element) CCDAConstants.HEALTH_CONCERNS_EXPRESSION.evaluate(doc, XPathConstants.NODE);
+		Element sectionElement = CCDADocumentIndex.forDocument(doc).getSectionByCode(CCDAConstants.HEALTH_CONCERNS_SECTION_CODE);
 		
 		CCDAHealthConcerns hc = null;
 		if(sectionElement != null)
@@ -27,7 +27,7 @@ public class ImmunizationParser {
 	public static CCDAImmunization retrieveImmunizationDetails(Document doc) throws XPathExpressionException
 	{
 		CCDAImmunization immunizations = null;
-		Element sectionElement = (Element) CCDAConstants.IMMUNIZATION_EXPRESSION.evaluate(doc, XPathConstants.NODE);
+		Element sectionElement = CCDADocumentIndex.forDocument(doc).getSectionByCode(CCDAConstants.IMMUNIZATION_SECTION_CODE);
 		
 		if(sectionElement != null)
 		{
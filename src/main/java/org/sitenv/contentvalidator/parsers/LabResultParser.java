@@ -24,7 +24,7 @@ public class LabResultParser {
 	public static CCDALabResult retrieveLabResults(Document doc) throws XPathExpressionException
 	{
 		CCDALabResult labResults = null;
-		Element sectionElement = (Element) CCDAConstants.RESULTS_EXPRESSION.evaluate(doc, XPathConstants.NODE);
+		Element sectionElement = CCDADocumentIndex.forDocument(doc).getSectionByCode(CCDAConstants.RESULTS_SECTION_CODE);
 		
 		if(sectionElement != null)
 		{
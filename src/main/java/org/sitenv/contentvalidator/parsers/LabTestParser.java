@@ -26,7 +26,7 @@ public class LabTestParser {
 	{
 		CCDALabResult labTests = null;
 		
-		Element sectionElement = (Element) CCDAConstants.RESULTS_EXPRESSION.evaluate(doc, XPathConstants.NODE);
+		Element sectionElement = CCDADocumentIndex.forDocument(doc).getSectionByCode(CCDAConstants.RESULTS_SECTION_CODE);
 		if(sectionElement != null)
 		{
 			log.info("Lab Test Created ");
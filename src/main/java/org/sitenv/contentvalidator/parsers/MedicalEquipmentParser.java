@@ -27,7 +27,7 @@ public class MedicalEquipmentParser {
 	public static CCDAMedicalEquipment retrieveMedicalEquipments(Document doc) throws XPathExpressionException
 	{
 		CCDAMedicalEquipment meq = null;
-		Element sectionElement = (Element) CCDAConstants.MEDICAL_EQUIPMENT_EXPRESSION.evaluate(doc, XPathConstants.NODE);
+		Element sectionElement = CCDADocumentIndex.forDocument(doc).getSectionByCode(CCDAConstants.MEDICAL_EQUIPMENT_SECTION_CODE);
 		if(sectionElement !=null)
 		{
 			log.info("Adding Medical Equipment ");
@@ -26,7 +26,7 @@ public class MedicationParser {
 	public static CCDAMedication retrieveMedicationDetails(Document doc) throws XPathExpressionException
 	{
 		CCDAMedication medications = null;
-		Element sectionElement = (Element) CCDAConstants.MEDICATION_EXPRESSION.evaluate(doc, XPathConstants.NODE);
+		Element sectionElement = CCDADocumentIndex.forDocument(doc).getSectionByCode(CCDAConstants.MEDICATION_SECTION_CODE);
 		
 		if(sectionElement != null)
 		{
@@ -50,7 +50,7 @@ public class MedicationParser {
 	public static CCDAMedication retrieveAdmissionMedicationDetails(Document doc) throws XPathExpressionException
 	{
 		CCDAMedication medications = null;
-		Element sectionElement = (Element) CCDAConstants.MEDICATION_EXPRESSION.evaluate(doc, XPathConstants.NODE);
+		Element sectionElement = CCDADocumentIndex.forDocument(doc).getSectionByCode(CCDAConstants.MEDICATION_SECTION_CODE);
 		
 		if(sectionElement != null)
 		{
@@ -74,7 +74,7 @@ public class MedicationParser {
 	public static CCDADischargeMedication retrieveDischargeMedicationDetails(Document doc) throws XPathExpressionException
 	{
 		CCDADischargeMedication medications = null;
-		Element sectionElement = (Element) CCDAConstants.DM_MEDICATION_EXPRESSION.evaluate(doc, XPathConstants.NODE);
+		Element sectionElement = CCDADocumentIndex.forDocument(doc).getSectionByCode(CCDAConstants.DM_MEDICATION_SECTION_CODE);
 		
 		if(sectionElement != null)
 		{
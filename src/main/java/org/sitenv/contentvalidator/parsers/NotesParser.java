@@ -1,6 +1,7 @@
 package org.sitenv.contentvalidator.parsers;
 
 import java.util.ArrayList;
+import java.util.List;
 
 import javax.xml.xpath.XPathConstants;
 import javax.xml.xpath.XPathExpressionException;
@@ -31,7 +32,7 @@ private static Logger log = LoggerFactory.getLogger(NotesParser.class.getName())
 	public static ArrayList<CCDANotesActivity> retrieveNotesActivities(Document doc) throws XPathExpressionException {
 		
 		ArrayList<CCDANotesActivity> notesActivities = null;
-		NodeList notesActivityNodes = (NodeList) CCDAConstants.NOTES_ACTIVITY_EXPRESSION.evaluate(doc, XPathConstants.NODESET);
+		NodeList notesActivityNodes = new ElementNodeList(findNotesActivities(doc));
 		
 		if( !ParserUtilities.isNodeListEmpty(notesActivityNodes)) {		
 		
@@ -46,19 +47,32 @@ private static Logger log = LoggerFactory.getLogger(NotesParser.class.getName())
 		return notesActivities;
 	}
 	
+	/*
+	 * Same selection as NOTES_ACTIVITY_EXPRESSION, read from the templateId index instead of a scan of the whole document
+	 */
+	static List<Element> findNotesActivities(Document doc) {
+		List<Element> notesActivities = new ArrayList<>();
+		for (Element element : CCDADocumentIndex.forDocument(doc).getElementsByTemplateId(CCDAConstants.NOTES_ACTIVITY_TEMPLATE)) {
+			if (DomNames.hasLocalName(element, "act") && !DomNames.hasAttribute(element, "nullFlavor")) {
+				notesActivities.add(element);
+			}
+		}
+		return notesActivities;
+	}
+	
 	public static ArrayList<CCDANotes> retrieveNotesDetails(Document doc) throws XPathExpressionException {
 		
 		ArrayList<CCDANotes> notes = null;
-		NodeList sectionNodes = (NodeList) CCDAConstants.NOTES_EXPRESSION.evaluate(doc, XPathConstants.NODESET);
+		List<Element> sectionNodes = CCDADocumentIndex.forDocument(doc).getSectionsByTemplateId(CCDAConstants.NOTES_SECTION_TEMPLATE);
 		
-		if( !ParserUtilities.isNodeListEmpty(sectionNodes)) {		
+		if( !sectionNodes.isEmpty()) {		
 		
 			notes = new ArrayList<CCDANotes>();
 			log.info(" Found Notes sections ");
 			
-			for(int i = 0; i < sectionNodes.getLength(); i++) {
+			for(int i = 0; i < sectionNodes.size(); i++) {
 				
-				Element elem = (Element)sectionNodes.item(i);
+				Element elem = sectionNodes.get(i);
 				
 				CCDANotes note = new CCDANotes();
 				
@@ -3,6 +3,7 @@ package org.sitenv.contentvalidator.parsers;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.sitenv.contentvalidator.dto.ContentValidationResult;
+import org.sitenv.contentvalidator.dto.enums.ContentValidationMessage;
 import org.sitenv.contentvalidator.dto.enums.ContentValidationResultLevel;
 import org.sitenv.contentvalidator.model.*;
 import org.w3c.dom.Element;
@@ -13,6 +14,7 @@ import javax.xml.xpath.XPathExpressionException;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 
 public class ParserUtilities {
 	
@@ -27,9 +29,8 @@ public class ParserUtilities {
 		} else if ((refAuthor == null) && (subAuthor != null)) {
 			log.info(" Getting additional author information which is allowed ");
 		} else if ((refAuthor != null) && (subAuthor == null)) {
-			ContentValidationResult rs = new ContentValidationResult("The scenario requires " + elementName
-					+ " data, but submitted file does not contain " + elementName + " data",
-					ContentValidationResultLevel.ERROR, "/ClinicalDocument", "0");
+			ContentValidationResult rs = new ContentValidationResult(ContentValidationMessage.SCENARIO_REQUIRES,
+					ContentValidationResultLevel.ERROR, "/ClinicalDocument", "0", elementName);
 			results.add(rs);
 		} else {
 			// do nothing since both are null.
@@ -50,11 +51,9 @@ public class ParserUtilities {
 				// both ref and sub not null and not equal - so for example, inline data exists,
 				// but is mismatched, triggers an error:
 				ContentValidationResult rs = new ContentValidationResult(
-						"The scenario requires Provenance Org Name of: (" + refDe.getValue() + ") for: " + elementName
-								+ ", but submitted file contains Provenance Org Name of: ("
-								+ subAuthor.getOrgName().getValue()
-								+ ") which does not match the inline author data.",
-						ContentValidationResultLevel.ERROR, "/ClinicalDocument", "0");
+						ContentValidationMessage.PROVENANCE_ORG_NAME_INLINE_MISMATCH,
+						ContentValidationResultLevel.ERROR, "/ClinicalDocument", "0", refDe.getValue(), elementName,
+						subAuthor.getOrgName().getValue());
 				results.add(rs);
 			}
 		} else if ((refDe == null) && (subAuthor.getOrgName() != null)) {
@@ -76,11 +75,9 @@ public class ParserUtilities {
 					// the value in the author will be empty if there wasn't a match as per findLinkedSubAuth
 					if (!isValidLinkedRefAndMatch) {
 						ContentValidationResult rs = new ContentValidationResult(
-								"The scenario requires Provenance Org Name (" + refDe.getValue() + ") as part of: " + elementName
-										+ " data, but submitted file contains Provenance Org Name (" 
-										+ curLinkedSubAuth.getOrgName().getValue() 
-										+ ") in the linked reference, which does not match.",
-								ContentValidationResultLevel.ERROR, "/ClinicalDocument", "0");
+								ContentValidationMessage.PROVENANCE_ORG_NAME_LINKED_MISMATCH,
+								ContentValidationResultLevel.ERROR, "/ClinicalDocument", "0", refDe.getValue(), elementName,
+								curLinkedSubAuth.getOrgName().getValue());
 						results.add(rs);
 					} else {
 						log.info("Passed Note Activity Provenance Org Name due to linked reference match");
@@ -89,11 +86,8 @@ public class ParserUtilities {
 					// if either of these are null then there's no way there could be a valid linked
 					// reference so it fails
 					ContentValidationResult rs = new ContentValidationResult(
-							"The scenario requires Provenance Org Name as part of: " + elementName
-									+ " data, but submitted file does not contain Provenance Org Name as part of: "
-									+ elementName
-									+ " which does not match since the linked reference or id link is missing or invalid.",
-							ContentValidationResultLevel.ERROR, "/ClinicalDocument", "0");
+							ContentValidationMessage.PROVENANCE_ORG_NAME_LINKED_MISSING,
+							ContentValidationResultLevel.ERROR, "/ClinicalDocument", "0", elementName);
 					results.add(rs);
 				}
 			} else {
@@ -115,11 +109,9 @@ public class ParserUtilities {
 			}
 			else {
 				// both ref and sub not null and not equal - so for example, inline data exists, but is mismatched, triggers an error:
-				ContentValidationResult rs = new ContentValidationResult(
-						"The scenario requires Provenance Org Name of: (" + refDe.getValue() + ") for: " + elementName
-								+ ", but submitted file contains Provenance Org Name of: (" + subDe.getValue()
-								+ ") which does not match.",
-						ContentValidationResultLevel.ERROR, "/ClinicalDocument", "0");
+				ContentValidationResult rs = new ContentValidationResult(ContentValidationMessage.PROVENANCE_ORG_NAME_MISMATCH,
+						ContentValidationResultLevel.ERROR, "/ClinicalDocument", "0", refDe.getValue(), elementName,
+						subDe.getValue());
 				results.add(rs);				
 			}
 		}
@@ -128,11 +120,8 @@ public class ParserUtilities {
 		}
 		else if ((refDe != null) && (subDe == null)) {
 			// ref not null and sub is null
-			ContentValidationResult rs = new ContentValidationResult(
-					"The scenario requires Provenance Org Name as part of: " + elementName
-							+ " data, but submitted file does not contain Provenance Org Name as part of: "
-							+ elementName + " which does not match.",
-					ContentValidationResultLevel.ERROR, "/ClinicalDocument", "0");
+			ContentValidationResult rs = new ContentValidationResult(ContentValidationMessage.PROVENANCE_ORG_NAME_MISSING,
+					ContentValidationResultLevel.ERROR, "/ClinicalDocument", "0", elementName);
 			results.add(rs);
 		} 
 		else {
@@ -141,6 +130,28 @@ public class ParserUtilities {
 		}
 	}
 
+	/*
+	 * Whether compareDataElementText would report nothing, without building its messages
+	 */
+	public static boolean dataElementTextMatches(CCDADataElement refDe, CCDADataElement subDe) {
+		if ((refDe != null) && (subDe != null) && (refDe.getValue() != null) && (subDe.getValue() != null)) {
+			return subDe.getValue().equalsIgnoreCase(refDe.getValue());
+		}
+		return refDe == null || subDe != null;
+	}
+
+	/*
+	 * Two strings fold to the same string exactly when equalsIgnoreCase holds for them, which compares
+	 * character by character and takes characters as equal when their upper cases or the lower cases of those are
+	 */
+	public static String foldCase(String value) {
+		char[] chars = value.toCharArray();
+		for (int i = 0; i < chars.length; i++) {
+			chars[i] = Character.toLowerCase(Character.toUpperCase(chars[i]));
+		}
+		return new String(chars);
+	}
+
 	public static void compareDataElement(CCDADataElement refCode, CCDADataElement submittedCode,
 										  ArrayList<ContentValidationResult> results, String elementName) {
 		// handle nulls.
@@ -153,14 +164,12 @@ public class ParserUtilities {
 
 		}
 		else if ((refCode == null) && (submittedCode != null)) {
-			ContentValidationResult rs = new ContentValidationResult("The scenario does not require " + elementName
-					+ " data, but submitted file does have " + elementName + " data",
-					ContentValidationResultLevel.ERROR, "/ClinicalDocument", "0");
+			ContentValidationResult rs = new ContentValidationResult(ContentValidationMessage.SCENARIO_DOES_NOT_REQUIRE,
+					ContentValidationResultLevel.ERROR, "/ClinicalDocument", "0", elementName);
 			results.add(rs);
 		} else if ((refCode != null) && (submittedCode == null)) {
-			ContentValidationResult rs = new ContentValidationResult("The scenario requires " + elementName
-					+ " data, but submitted file does not contain " + elementName + " data",
-					ContentValidationResultLevel.ERROR, "/ClinicalDocument", "0");
+			ContentValidationResult rs = new ContentValidationResult(ContentValidationMessage.SCENARIO_REQUIRES,
+					ContentValidationResultLevel.ERROR, "/ClinicalDocument", "0", elementName);
 			results.add(rs);
 		} else {
 			// do nothing since both are null.
@@ -178,11 +187,13 @@ public class ParserUtilities {
 
 		}
 		else if ((refTime == null) && (submittedTime != null && submittedTime.hasValidData()) ) {
-			ContentValidationResult rs = new ContentValidationResult("The scenario does not require " + elementName + " data, but submitted file does have " + elementName + " data", ContentValidationResultLevel.ERROR, "/ClinicalDocument", "0" );
+			ContentValidationResult rs = new ContentValidationResult(ContentValidationMessage.SCENARIO_DOES_NOT_REQUIRE,
+					ContentValidationResultLevel.ERROR, "/ClinicalDocument", "0", elementName);
 			results.add(rs);
 		}
 		else if((refTime != null && refTime.hasValidData()) && (submittedTime == null)){
-			ContentValidationResult rs = new ContentValidationResult("The scenario requires " + elementName + " data, but submitted file does not contain " + elementName + " data", ContentValidationResultLevel.ERROR, "/ClinicalDocument", "0" );
+			ContentValidationResult rs = new ContentValidationResult(ContentValidationMessage.SCENARIO_REQUIRES,
+					ContentValidationResultLevel.ERROR, "/ClinicalDocument", "0", elementName);
 			results.add(rs);
 		} 
 		else {
@@ -201,15 +212,13 @@ public class ParserUtilities {
 		
 		}
 		else if ((refTime == null) && (submittedTime != null && submittedTime.hasValidData()) ) {
-			ContentValidationResult rs = new ContentValidationResult("The scenario does not require " + elementName
-					+ " data, but submitted file does have " + elementName + " data",
-					ContentValidationResultLevel.ERROR, "/ClinicalDocument", "0");
+			ContentValidationResult rs = new ContentValidationResult(ContentValidationMessage.SCENARIO_DOES_NOT_REQUIRE,
+					ContentValidationResultLevel.ERROR, "/ClinicalDocument", "0", elementName);
 			results.add(rs);
 		}
 		else if ((refTime != null && refTime.hasValidData()) && (submittedTime == null)){
-			ContentValidationResult rs = new ContentValidationResult("The scenario requires " + elementName
-					+ " data, but submitted file does not contain " + elementName + " data",
-					ContentValidationResultLevel.ERROR, "/ClinicalDocument", "0");
+			ContentValidationResult rs = new ContentValidationResult(ContentValidationMessage.SCENARIO_REQUIRES,
+					ContentValidationResultLevel.ERROR, "/ClinicalDocument", "0", elementName);
 			results.add(rs);
 		} 
 		else {
@@ -218,6 +227,19 @@ public class ParserUtilities {
 		}
 	}
 	
+	/*
+	 * Whether compareEffectiveTimeValue would report nothing, without building its messages
+	 */
+	public static boolean effectiveTimeValueMatches(CCDAEffTime refTime, CCDAEffTime submittedTime) {
+		if ((refTime != null) && (submittedTime != null)) {
+			return refTime.valueElementMatches(submittedTime);
+		}
+		if (refTime == null) {
+			return submittedTime == null || !submittedTime.hasValidData();
+		}
+		return !refTime.hasValidData();
+	}
+	
 	public static void compareEffectiveTimeValueWithExactMatchFullPrecision(CCDAEffTime refTime, CCDAEffTime submittedTime,
 			ArrayList<ContentValidationResult> results, String elementName) {
 
@@ -233,7 +255,8 @@ public class ParserUtilities {
 			log.info(" Submitted CCDA File can have time values even if not present in the Ref C-CDA ");
 		}
 		else if((refTime != null && refTime.hasValidData()) && (submittedTime == null)){
-			ContentValidationResult rs = new ContentValidationResult("The scenario requires " + elementName + " data, but submitted file does not contain " + elementName + " data", ContentValidationResultLevel.ERROR, "/ClinicalDocument", "0" );
+			ContentValidationResult rs = new ContentValidationResult(ContentValidationMessage.SCENARIO_REQUIRES,
+					ContentValidationResultLevel.ERROR, "/ClinicalDocument", "0", elementName);
 			results.add(rs);
 		} 
 		else {
@@ -301,11 +324,13 @@ public class ParserUtilities {
 			
 		}
 		else if ((refCode == null) && (submittedCode != null)) {
-			ContentValidationResult rs = new ContentValidationResult("The scenario does not require " + elementName + " data, but submitted file does have " + elementName + " data", ContentValidationResultLevel.ERROR, "/ClinicalDocument", "0" );
+			ContentValidationResult rs = new ContentValidationResult(ContentValidationMessage.SCENARIO_DOES_NOT_REQUIRE,
+					ContentValidationResultLevel.ERROR, "/ClinicalDocument", "0", elementName);
 			results.add(rs);
 		}
 		else if((refCode != null) && (submittedCode == null)){
-			ContentValidationResult rs = new ContentValidationResult("The scenario requires " + elementName + " data, but submitted file does not contain " + elementName + " data", ContentValidationResultLevel.ERROR, "/ClinicalDocument", "0" );
+			ContentValidationResult rs = new ContentValidationResult(ContentValidationMessage.SCENARIO_REQUIRES,
+					ContentValidationResultLevel.ERROR, "/ClinicalDocument", "0", elementName);
 			results.add(rs);
 		} 
 		else {
@@ -327,11 +352,13 @@ public class ParserUtilities {
 		
 		}
 		else if ((refCode == null) && (submittedCode != null)) {
-			ContentValidationResult rs = new ContentValidationResult("The scenario does not require " + elementName + " data, but submitted file does have " + elementName + " data", ContentValidationResultLevel.ERROR, "/ClinicalDocument", "0" );
+			ContentValidationResult rs = new ContentValidationResult(ContentValidationMessage.SCENARIO_DOES_NOT_REQUIRE,
+					ContentValidationResultLevel.ERROR, "/ClinicalDocument", "0", elementName);
 			results.add(rs);
 		}
 		else if((refCode != null) && (submittedCode == null)){
-			ContentValidationResult rs = new ContentValidationResult("The scenario requires " + elementName + " data, but submitted file does not contain " + elementName + " data", ContentValidationResultLevel.ERROR, "/ClinicalDocument", "0" );
+			ContentValidationResult rs = new ContentValidationResult(ContentValidationMessage.SCENARIO_REQUIRES,
+					ContentValidationResultLevel.ERROR, "/ClinicalDocument", "0", elementName);
 			results.add(rs);
 		} 
 		else {
@@ -353,11 +380,13 @@ public class ParserUtilities {
 
 		}
 		else if ((refCode == null) && (submittedCode != null)) {
-			ContentValidationResult rs = new ContentValidationResult("The scenario does not require " + elementName + " data, but submitted file does have " + elementName + " data", ContentValidationResultLevel.ERROR, "/ClinicalDocument", "0" );
+			ContentValidationResult rs = new ContentValidationResult(ContentValidationMessage.SCENARIO_DOES_NOT_REQUIRE,
+					ContentValidationResultLevel.ERROR, "/ClinicalDocument", "0", elementName);
 			results.add(rs);
 		}
 		else if((refCode != null) && (submittedCode == null)){
-			ContentValidationResult rs = new ContentValidationResult("The scenario requires " + elementName + " data, but submitted file does not contain " + elementName + " data", ContentValidationResultLevel.ERROR, "/ClinicalDocument", "0" );
+			ContentValidationResult rs = new ContentValidationResult(ContentValidationMessage.SCENARIO_REQUIRES,
+					ContentValidationResultLevel.ERROR, "/ClinicalDocument", "0", elementName);
 			results.add(rs);
 		} 
 		else {
@@ -379,11 +408,13 @@ public class ParserUtilities {
 
 		}
 		else if ((refCode == null) && (submittedCode != null)) {
-			ContentValidationResult rs = new ContentValidationResult("The scenario does not require " + elementName + " data, but submitted file does have " + elementName + " data", ContentValidationResultLevel.ERROR, "/ClinicalDocument", "0" );
+			ContentValidationResult rs = new ContentValidationResult(ContentValidationMessage.SCENARIO_DOES_NOT_REQUIRE,
+					ContentValidationResultLevel.ERROR, "/ClinicalDocument", "0", elementName);
 			results.add(rs);
 		}
 		else if((refCode != null) && (submittedCode == null)){
-			ContentValidationResult rs = new ContentValidationResult("The scenario requires " + elementName + " data, but submitted file does not contain " + elementName + " data", ContentValidationResultLevel.ERROR, "/ClinicalDocument", "0" );
+			ContentValidationResult rs = new ContentValidationResult(ContentValidationMessage.SCENARIO_REQUIRES,
+					ContentValidationResultLevel.ERROR, "/ClinicalDocument", "0", elementName);
 			results.add(rs);
 		} 
 		else {
@@ -405,11 +436,13 @@ public class ParserUtilities {
 
 		}
 		else if ((refQuantity == null) && (subQuantity != null)) {
-			ContentValidationResult rs = new ContentValidationResult("The scenario does not require " + elementName + " data, but submitted file does have " + elementName + " data", ContentValidationResultLevel.ERROR, "/ClinicalDocument", "0" );
+			ContentValidationResult rs = new ContentValidationResult(ContentValidationMessage.SCENARIO_DOES_NOT_REQUIRE,
+					ContentValidationResultLevel.ERROR, "/ClinicalDocument", "0", elementName);
 			results.add(rs);
 		}
 		else if((refQuantity != null) && (subQuantity == null)){
-			ContentValidationResult rs = new ContentValidationResult("The scenario requires " + elementName + " data, but submitted file does not contain " + elementName + " data", ContentValidationResultLevel.ERROR, "/ClinicalDocument", "0" );
+			ContentValidationResult rs = new ContentValidationResult(ContentValidationMessage.SCENARIO_REQUIRES,
+					ContentValidationResultLevel.ERROR, "/ClinicalDocument", "0", elementName);
 			results.add(rs);
 		} 
 		else {
@@ -431,11 +464,13 @@ public class ParserUtilities {
 
 		}
 		else if ((refQuantity == null) && (subQuantity != null)) {
-			ContentValidationResult rs = new ContentValidationResult("The scenario does not require " + elementName + " data, but submitted file does have " + elementName + " data", ContentValidationResultLevel.ERROR, "/ClinicalDocument", "0" );
+			ContentValidationResult rs = new ContentValidationResult(ContentValidationMessage.SCENARIO_DOES_NOT_REQUIRE,
+					ContentValidationResultLevel.ERROR, "/ClinicalDocument", "0", elementName);
 			results.add(rs);
 		}
 		else if((refQuantity != null) && (subQuantity == null)){
-			ContentValidationResult rs = new ContentValidationResult("The scenario requires " + elementName + " data, but submitted file does not contain " + elementName + " data", ContentValidationResultLevel.ERROR, "/ClinicalDocument", "0" );
+			ContentValidationResult rs = new ContentValidationResult(ContentValidationMessage.SCENARIO_REQUIRES,
+					ContentValidationResultLevel.ERROR, "/ClinicalDocument", "0", elementName);
 			results.add(rs);
 		} 
 		else {
@@ -460,30 +495,24 @@ public class ParserUtilities {
 			}
 			else {
 				
-				String error = "";
-				
-				if(refPQ) {
-					error += "The " + elementName + " : Value PQ - value = " + ((quantity.getValue() != null)?quantity.getValue():"None Specified")
-							+ "  , does not match the submitted CCDA : ST - value = " + val; 
-				}
-				else {
-					error += "The " + elementName + " : Value PQ - value = " + ((quantity.getValue() != null)?quantity.getValue():"None Specified")
-							+ "  , does not match the test data provided : ST - value = " + val; 
-				
-				}
-				
-				ContentValidationResult rs = new ContentValidationResult(error, ContentValidationResultLevel.ERROR, "/ClinicalDocument", "0" );
+				ContentValidationResult rs = new ContentValidationResult(
+						refPQ ? ContentValidationMessage.QUANTITY_STRING_MISMATCH
+								: ContentValidationMessage.QUANTITY_STRING_TEST_DATA_MISMATCH,
+						ContentValidationResultLevel.ERROR, "/ClinicalDocument", "0", elementName,
+						(quantity.getValue() != null)?quantity.getValue():"None Specified", val);
 				results.add(rs);
 
 			}
 		
 		}
 		else if ((quantity == null) && (val != null)) {
-			ContentValidationResult rs = new ContentValidationResult("The scenario does not require " + elementName + " data, but submitted file does have " + elementName + " data", ContentValidationResultLevel.ERROR, "/ClinicalDocument", "0" );
+			ContentValidationResult rs = new ContentValidationResult(ContentValidationMessage.SCENARIO_DOES_NOT_REQUIRE,
+					ContentValidationResultLevel.ERROR, "/ClinicalDocument", "0", elementName);
 			results.add(rs);
 		}
 		else if((quantity != null) && (val == null)){
-			ContentValidationResult rs = new ContentValidationResult("The scenario requires " + elementName + " data, but submitted file does not contain " + elementName + " data", ContentValidationResultLevel.ERROR, "/ClinicalDocument", "0" );
+			ContentValidationResult rs = new ContentValidationResult(ContentValidationMessage.SCENARIO_REQUIRES,
+					ContentValidationResultLevel.ERROR, "/ClinicalDocument", "0", elementName);
 			results.add(rs);
 		} 
 		else {
@@ -504,18 +533,21 @@ public class ParserUtilities {
 				log.info(" Both Submitted and Ref strings match for " + elementName);
 			}
 			else {
-				ContentValidationResult rs = new ContentValidationResult("The String value (" + refString + ") does not match the string value (" + subString + ") in submitted C-CDA for: " + elementName, ContentValidationResultLevel.ERROR, "/ClinicalDocument", "0" );
+				ContentValidationResult rs = new ContentValidationResult(ContentValidationMessage.STRING_MISMATCH,
+						ContentValidationResultLevel.ERROR, "/ClinicalDocument", "0", refString, subString, elementName);
 				results.add(rs);
 			}
 				
 
 		}
 		else if ((refString == null) && (subString != null)) {
-			ContentValidationResult rs = new ContentValidationResult("The scenario does not require " + elementName + " data, but submitted file does have " + elementName + " data", ContentValidationResultLevel.ERROR, "/ClinicalDocument", "0" );
+			ContentValidationResult rs = new ContentValidationResult(ContentValidationMessage.SCENARIO_DOES_NOT_REQUIRE,
+					ContentValidationResultLevel.ERROR, "/ClinicalDocument", "0", elementName);
 			results.add(rs);
 		}
 		else if((refString != null) && (subString == null)){
-			ContentValidationResult rs = new ContentValidationResult("The scenario requires " + elementName + " data, but submitted file does not contain " + elementName + " data", ContentValidationResultLevel.ERROR, "/ClinicalDocument", "0" );
+			ContentValidationResult rs = new ContentValidationResult(ContentValidationMessage.SCENARIO_REQUIRES,
+					ContentValidationResultLevel.ERROR, "/ClinicalDocument", "0", elementName);
 			results.add(rs);
 		} 
 		else {
@@ -532,9 +564,10 @@ public class ParserUtilities {
 
 			// Check to see if each of the templates in the reflist are part of
 			// the submitted list.
+			HashSet<String> submittedKeys = templateIdKeys(submittedList);
 			for (CCDAII r : refList) {
 
-				if (!r.isPartOf(submittedList)) {
+				if (r.getIdentityKey() == null || !submittedKeys.contains(r.getIdentityKey())) {
 					return false;
 				}
 			}
@@ -551,19 +584,33 @@ public class ParserUtilities {
 		}
 	}
 	
+	/*
+	 * The identity keys of the template ids, those without a root have none and are left out
+	 */
+	private static HashSet<String> templateIdKeys(ArrayList<CCDAII> templateIds) {
+		HashSet<String> keys = new HashSet<String>();
+		for (CCDAII templateId : templateIds) {
+			if (templateId.getIdentityKey() != null) {
+				keys.add(templateId.getIdentityKey());
+			}
+		}
+		return keys;
+	}
+	
 	public static void compareTemplateIds(ArrayList<CCDAII> refList, ArrayList<CCDAII> submittedList,
 										  ArrayList<ContentValidationResult> results, String elementName) {
 		
 		if((refList != null) && (submittedList != null)) {
 		
 			// Check to see if each of the templates in the reflist are part of the submitted list.
+			HashSet<String> submittedKeys = templateIdKeys(submittedList);
 			for(CCDAII r : refList) {
 			
-				if(!r.isPartOf(submittedList)) {
-					String error = "The " + elementName + " : element - template id, Root Value = " 
-							+ ((r.getRootValue() != null)?r.getRootValue():"None specified") + " and Extension Value = " 
-					        + ((r.getExtValue() != null)?r.getExtValue():"No Extension value") + " is not present in the submitted CCDA's ";
-					ContentValidationResult rs = new ContentValidationResult(error, ContentValidationResultLevel.ERROR, "/ClinicalDocument", "0" );
+				if(r.getIdentityKey() == null || !submittedKeys.contains(r.getIdentityKey())) {
+					ContentValidationResult rs = new ContentValidationResult(ContentValidationMessage.TEMPLATE_ID_MISSING,
+							ContentValidationResultLevel.ERROR, "/ClinicalDocument", "0", elementName,
+							(r.getRootValue() != null)?r.getRootValue():"None specified",
+							(r.getExtValue() != null)?r.getExtValue():"No Extension value");
 					results.add(rs);
 				}
 				else {
@@ -574,11 +621,13 @@ public class ParserUtilities {
 		}
 		else if((refList == null) && (submittedList != null)) {
 
-			ContentValidationResult rs = new ContentValidationResult("The scenario does not require " + elementName + " template ids, but submitted file does contain " + elementName + " template ids", ContentValidationResultLevel.ERROR, "/ClinicalDocument", "0" );
+			ContentValidationResult rs = new ContentValidationResult(ContentValidationMessage.TEMPLATE_IDS_NOT_REQUIRED,
+					ContentValidationResultLevel.ERROR, "/ClinicalDocument", "0", elementName);
 			results.add(rs);
 		}
 		else if ((refList != null) && (submittedList == null)){
-			ContentValidationResult rs = new ContentValidationResult("The scenario requires " + elementName + " template ids, but submitted file does not containt " + elementName + " template ids", ContentValidationResultLevel.ERROR, "/ClinicalDocument", "0" );
+			ContentValidationResult rs = new ContentValidationResult(ContentValidationMessage.TEMPLATE_IDS_REQUIRED,
+					ContentValidationResultLevel.ERROR, "/ClinicalDocument", "0", elementName);
 			results.add(rs);
 		} 
 		else {
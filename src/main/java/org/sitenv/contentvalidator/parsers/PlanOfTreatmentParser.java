@@ -28,7 +28,7 @@ private static Logger log = LoggerFactory.getLogger(CareTeamMemberParser.class.g
 	
 	public static CCDAPlanOfTreatment retrievePlanOfTreatment(Document doc) throws XPathExpressionException
 	{
-		Element sectionElement = (Element) CCDAConstants.PLAN_OF_TREATMENT_EXPRESSION.evaluate(doc, XPathConstants.NODE);
+		Element sectionElement = CCDADocumentIndex.forDocument(doc).getSectionByCode(CCDAConstants.PLAN_OF_TREATMENT_SECTION_CODE);
 		
 		CCDAPlanOfTreatment pot = null;
 		if(sectionElement != null)
@@ -35,7 +35,7 @@ public class ProblemParser {
 	{
     	ArrayList<CCDAProblemObs> probs = new ArrayList<CCDAProblemObs>();
     	
-    	Element sectionElement = (Element) CCDAConstants.PAST_ILLNESS_EXP.evaluate(doc, XPathConstants.NODE);
+    	Element sectionElement = CCDADocumentIndex.forDocument(doc).getSectionByCode(CCDAConstants.PAST_ILLNESS_SECTION_CODE);
 		
 		if(sectionElement != null)
 		{
@@ -51,7 +51,7 @@ public class ProblemParser {
 	public static CCDAProblem retrieveProblemDetails(Document doc) throws XPathExpressionException
 	{
 		CCDAProblem problems = null;
-		Element sectionElement = (Element) CCDAConstants.PROBLEM_EXPRESSION.evaluate(doc, XPathConstants.NODE);
+		Element sectionElement = CCDADocumentIndex.forDocument(doc).getSectionByCode(CCDAConstants.PROBLEM_SECTION_CODE);
 		
 		if(sectionElement != null)
 		{
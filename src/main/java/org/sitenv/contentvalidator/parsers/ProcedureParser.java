@@ -24,7 +24,7 @@ public class ProcedureParser {
 	public static CCDAProcedure retrieveProcedureDetails(Document doc) throws XPathExpressionException
 	{
 		CCDAProcedure procedures = null;
-		Element sectionElement = (Element) CCDAConstants.PROCEDURE_EXPRESSION.evaluate(doc, XPathConstants.NODE);
+		Element sectionElement = CCDADocumentIndex.forDocument(doc).getSectionByCode(CCDAConstants.PROCEDURE_SECTION_CODE);
 		if(sectionElement !=null)
 		{
 			log.info("Adding Procedures");
@@ -24,7 +24,7 @@ public class SocialHistoryParser {
 	public static CCDASocialHistory retrieveSmokingStatusDetails(Document doc) throws XPathExpressionException
 	{
 		CCDASocialHistory socialHistory = null;
-		Element sectionElement = (Element) CCDAConstants.SOCIAL_HISTORY_EXPRESSION.evaluate(doc, XPathConstants.NODE);
+		Element sectionElement = CCDADocumentIndex.forDocument(doc).getSectionByCode(CCDAConstants.SOCIAL_HISTORY_SECTION_CODE);
 		if(sectionElement != null)
 		{
 			log.info("Adding Social History ");
@@ -0,0 +1,126 @@
+package org.sitenv.contentvalidator.parsers;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.xml.namespace.QName;
+import javax.xml.xpath.XPath;
+import javax.xml.xpath.XPathConstants;
+import javax.xml.xpath.XPathExpression;
+import javax.xml.xpath.XPathExpressionException;
+import javax.xml.xpath.XPathFactory;
+
+import org.w3c.dom.Node;
+import org.xml.sax.InputSource;
+
+/*
+ * XPathExpression that keeps one compiled copy of its expression per thread.
+ * JAXP XPath and XPathExpression objects are not thread safe, so the expressions in CCDAConstants
+ * cannot be shared between concurrent parses. Every expression gets a slot in a registry, and each
+ * thread lazily fills its own array of compiled expressions, which it then reuses for every document it parses.
+ * Expressions that are plain child navigation are also compiled to a DomPath, and NODE and NODESET evaluations
+ * against a DOM node walk the children directly without touching the XPath engine at all, unless the parse running
+ * on the thread was started by a CCDAParser with direct DOM navigation turned off.
+ */
+public class ThreadLocalXPathExpression implements XPathExpression {
+
+	private static final AtomicInteger registrySize = new AtomicInteger();
+
+	private static final ThreadLocal<Boolean> threadXPathOnly = ThreadLocal.withInitial(() -> Boolean.FALSE);
+
+	private static final ThreadLocal<XPath> threadXPath =
+			ThreadLocal.withInitial(() -> XPathFactory.newInstance().newXPath());
+
+	private static final ThreadLocal<XPathExpression[]> threadExpressions =
+			ThreadLocal.withInitial(() -> new XPathExpression[registrySize.get()]);
+
+	private final String expression;
+	private final int index;
+	private final DomPath domPath;
+
+	protected ThreadLocalXPathExpression(String expression) throws XPathExpressionException {
+		// Compile once on the registering thread so a bad expression fails at startup, not in a worker
+		threadXPath.get().compile(expression);
+		this.expression = expression;
+		this.index = registrySize.getAndIncrement();
+		this.domPath = DomPath.compile(expression);
+	}
+
+	public static ThreadLocalXPathExpression compile(String expression) throws XPathExpressionException {
+		return new ThreadLocalXPathExpression(expression);
+	}
+
+	public String getExpression() {
+		return expression;
+	}
+
+	/*
+	 * True when NODE and NODESET evaluations against DOM nodes bypass XPath
+	 */
+	public boolean isDirectDomNavigation() {
+		return domPath != null;
+	}
+
+	/*
+	 * Evaluates every expression on the current thread with XPath, or not, and returns the previous setting,
+	 * which the caller puts back once its parse is done
+	 */
+	static boolean setXPathOnly(boolean xpathOnly) {
+		boolean previous = threadXPathOnly.get();
+		threadXPathOnly.set(xpathOnly);
+		return previous;
+	}
+
+	static boolean isXPathOnly() {
+		return threadXPathOnly.get();
+	}
+
+	/*
+	 * Returns the compiled expression owned by the current thread, compiling it on first use
+	 */
+	protected XPathExpression compiled() throws XPathExpressionException {
+		XPathExpression[] expressions = threadExpressions.get();
+		if (index >= expressions.length) {
+			expressions = Arrays.copyOf(expressions, registrySize.get());
+			threadExpressions.set(expressions);
+		}
+		XPathExpression compiled = expressions[index];
+		if (compiled == null) {
+			compiled = threadXPath.get().compile(expression);
+			expressions[index] = compiled;
+		}
+		return compiled;
+	}
+
+	@Override
+	public Object evaluate(Object item, QName returnType) throws XPathExpressionException {
+		if (domPath != null && item instanceof Node && !threadXPathOnly.get()) {
+			if (XPathConstants.NODE.equals(returnType)) {
+				return domPath.selectNode((Node) item);
+			} else if (XPathConstants.NODESET.equals(returnType)) {
+				return new ElementNodeList(domPath.selectNodes((Node) item));
+			}
+		}
+		return compiled().evaluate(item, returnType);
+	}
+
+	@Override
+	public String evaluate(Object item) throws XPathExpressionException {
+		return compiled().evaluate(item);
+	}
+
+	@Override
+	public Object evaluate(InputSource source, QName returnType) throws XPathExpressionException {
+		return compiled().evaluate(source, returnType);
+	}
+
+	@Override
+	public String evaluate(InputSource source) throws XPathExpressionException {
+		return compiled().evaluate(source);
+	}
+
+	@Override
+	public String toString() {
+		return expression;
+	}
+}
@@ -25,7 +25,7 @@ public class VitalSignParser {
 	public static CCDAVitalSigns retrieveVitalSigns(Document doc) throws XPathExpressionException
 	{
 		CCDAVitalSigns vitalSigns = null;
-		Element sectionElement = (Element) CCDAConstants.VITALSIGNS_EXPRESSION.evaluate(doc, XPathConstants.NODE);
+		Element sectionElement = CCDADocumentIndex.forDocument(doc).getSectionByCode(CCDAConstants.VITALSIGNS_SECTION_CODE);
 		if(sectionElement != null)
 		{
 			log.info("Creating Vital Sign ");
@@ -2,18 +2,22 @@ package org.sitenv.contentvalidator.service;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.sitenv.contentvalidator.configuration.ScenarioRegistry;
+import org.sitenv.contentvalidator.dto.ContentValidationOptions;
 import org.sitenv.contentvalidator.dto.ContentValidationResult;
+import org.sitenv.contentvalidator.dto.ContentValidationResults;
 import org.sitenv.contentvalidator.dto.enums.SeverityLevel;
 import org.sitenv.contentvalidator.model.CCDARefModel;
+import org.sitenv.contentvalidator.parsers.CCDAParsePlan;
 import org.sitenv.contentvalidator.parsers.CCDAParser;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
-import javax.annotation.Resource;
-
+import java.io.InputStream;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.Set;
+import java.util.function.Function;
 
 @Component
 public class ContentValidatorService {		
@@ -21,14 +25,17 @@ public class ContentValidatorService {
 	
 	@Autowired
 	private CCDAParser parser;
-	@Resource
-	HashMap<String, CCDARefModel> refModelHashMap;
+	@Autowired
+	ScenarioRegistry scenarioRegistry;
 	
 	public ContentValidatorService() {
 	}
 	
+	/*
+	 * Validates against the models as they are when the service is created
+	 */
 	public ContentValidatorService(final HashMap<String, CCDARefModel> refModelHashMap) {
-		this.refModelHashMap = refModelHashMap;
+		this.scenarioRegistry = new ScenarioRegistry(refModelHashMap);
 		parser = new CCDAParser();
 	}
 	
@@ -39,17 +46,75 @@ public class ContentValidatorService {
 	
 	public ArrayList<ContentValidationResult> validate(String validationObjective, String referenceFileName,
 			String ccdaFile, boolean curesUpdate, boolean svap2022, SeverityLevel severityLevel) {
+		return validate(validationObjective, referenceFileName, ccdaFile, curesUpdate, svap2022, severityLevel,
+				ContentValidationOptions.ALL);
+	}
+	
+	public ContentValidationResults validate(String validationObjective, String referenceFileName,
+			String ccdaFile, boolean curesUpdate, boolean svap2022, SeverityLevel severityLevel,
+			ContentValidationOptions options) {
+		return validate(validationObjective, referenceFileName,
+				plan -> parser.parse(ccdaFile, severityLevel, curesUpdate, svap2022, plan), curesUpdate, svap2022, options);
+	}
+	
+	public ArrayList<ContentValidationResult> validate(String validationObjective, String referenceFileName,
+			byte[] ccdaFile, boolean curesUpdate, boolean svap2022, SeverityLevel severityLevel) {
+		return validate(validationObjective, referenceFileName, ccdaFile, curesUpdate, svap2022, severityLevel,
+				ContentValidationOptions.ALL);
+	}
+	
+	public ContentValidationResults validate(String validationObjective, String referenceFileName,
+			byte[] ccdaFile, boolean curesUpdate, boolean svap2022, SeverityLevel severityLevel,
+			ContentValidationOptions options) {
+		return validate(validationObjective, referenceFileName,
+				plan -> parser.parse(ccdaFile, severityLevel, curesUpdate, svap2022, plan), curesUpdate, svap2022, options);
+	}
+	
+	public ArrayList<ContentValidationResult> validate(String validationObjective, String referenceFileName,
+			InputStream ccdaFile, boolean curesUpdate, boolean svap2022, SeverityLevel severityLevel) {
+		return validate(validationObjective, referenceFileName, ccdaFile, curesUpdate, svap2022, severityLevel,
+				ContentValidationOptions.ALL);
+	}
+	
+	public ContentValidationResults validate(String validationObjective, String referenceFileName,
+			InputStream ccdaFile, boolean curesUpdate, boolean svap2022, SeverityLevel severityLevel,
+			ContentValidationOptions options) {
+		return validate(validationObjective, referenceFileName,
+				plan -> parser.parse(ccdaFile, severityLevel, curesUpdate, svap2022, plan), curesUpdate, svap2022, options);
+	}
+	
+	public ArrayList<ContentValidationResult> validate(String validationObjective, String referenceFileName,
+			Path ccdaFile, boolean curesUpdate, boolean svap2022, SeverityLevel severityLevel) {
+		return validate(validationObjective, referenceFileName, ccdaFile, curesUpdate, svap2022, severityLevel,
+				ContentValidationOptions.ALL);
+	}
+	
+	public ContentValidationResults validate(String validationObjective, String referenceFileName,
+			Path ccdaFile, boolean curesUpdate, boolean svap2022, SeverityLevel severityLevel,
+			ContentValidationOptions options) {
+		return validate(validationObjective, referenceFileName,
+				plan -> parser.parse(ccdaFile, severityLevel, curesUpdate, svap2022, plan), curesUpdate, svap2022, options);
+	}
+	
+	/*
+	 * The submitted file is only parsed once the objective is known to need content validation,
+	 * and then only for the sections the comparison for that objective reads
+	 */
+	private ContentValidationResults validate(String validationObjective, String referenceFileName,
+			Function<CCDAParsePlan, CCDARefModel> submittedParser, boolean curesUpdate, boolean svap2022,
+			ContentValidationOptions options) {
 		log.info(" ***** CAME INTO THE REFERENCE VALIDATOR *****");
 		log.info("testing");
 		
-		ArrayList<ContentValidationResult> results = new ArrayList<>();
+		ContentValidationResults results = new ContentValidationResults();
 		if (!isObjectiveValidForContentValidation(validationObjective)) {
 			log.warn("Content Validation not performed for objective " + validationObjective);
 		} else {
 			log.info(" Val Obj " + validationObjective + " Ref File " + referenceFileName);
 
 			// Parse passed in File
-			CCDARefModel submittedCCDA = parser.parse(ccdaFile, severityLevel, curesUpdate, svap2022);
+			CCDARefModel submittedCCDA = submittedParser.apply(
+					CCDARefModel.getParsePlan(validationObjective, curesUpdate, svap2022));
 
 			CCDARefModel ref = null;
 			if( (referenceFileName != null)
@@ -60,7 +125,7 @@ public class ContentValidatorService {
 
 			if((ref != null) && (submittedCCDA != null)) {
 				log.info("Comparing the Ref Model to the Submitted Model, parameters: referenceFile: {}, curesUpdate: {}, uscdiv2: {}", referenceFileName, curesUpdate, svap2022);
-				results = ref.compare(validationObjective, submittedCCDA, curesUpdate, svap2022);
+				results = ref.compare(validationObjective, submittedCCDA, curesUpdate, svap2022, options);
 			}
 			else {
 				log.error(" Submitted Model = " + ((submittedCCDA==null)?" Model is null":submittedCCDA.toString()));
@@ -93,20 +158,12 @@ public class ContentValidatorService {
 			return false;
 	}
 	
+	/*
+	 * The reference model whose scenario name the file name contains, the longest such name when several match
+	 */
 	public CCDARefModel getCCDARefModel(String scenarioName)
 	{
-		Set<String> keys = refModelHashMap.keySet();
-		
-		for (String s : keys) {
-		    
-			log.info("Comparing " + scenarioName + " to " + s);
-			if(scenarioName.contains(s)) {
-				log.info("Returning Content Model for Comparison " + s );
-				return refModelHashMap.get(s);
-			}
-		}
-		
-		return null;
+		return scenarioRegistry.resolve(scenarioName);
 	}
 
 }
@@ -0,0 +1,82 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+import org.sitenv.contentvalidator.dto.ContentValidationResult;
+import org.sitenv.contentvalidator.model.CCDAAuthor;
+import org.sitenv.contentvalidator.model.CCDADataElement;
+import org.sitenv.contentvalidator.model.CCDAEffTime;
+import org.sitenv.contentvalidator.model.CCDAII;
+import org.sitenv.contentvalidator.model.CCDALinkedAuthors;
+import org.sitenv.contentvalidator.parsers.ParserUtilities;
+
+public class CCDAAuthorTest extends ContentValidatorTester {
+
+	@Test
+	public void findLinkedSubAuthReturnsFirstLinkedAuthorTest() {
+		printHeader(new Object() {}.getClass().getEnclosingMethod().getName());
+		CCDAAuthor first = author(new CCDAII("1.2.3", "a"), new CCDAII("1.2.3", "b"));
+		CCDAAuthor second = author(new CCDAII("1.2.3", "b"), new CCDAII("4.5.6", "c"));
+		CCDAAuthor rootOnly = author(new CCDAII("7.8.9"));
+		CCDALinkedAuthors linked = new CCDALinkedAuthors(Arrays.asList(first, second, rootOnly));
+
+		assertSame(first, CCDAAuthor.findLinkedSubAuth(linked, author(new CCDAII("1.2.3", "b"))));
+		assertSame(second, CCDAAuthor.findLinkedSubAuth(linked, author(new CCDAII("4.5.6", "c"), new CCDAII("1.2.3", "a"))));
+		// Without a link an empty author comes back, and an id without an extension never links
+		assertTrue(CCDAAuthor.findLinkedSubAuth(linked, author(new CCDAII("7.8.9"))).getAuthorIds().isEmpty());
+		assertTrue(CCDAAuthor.findLinkedSubAuth(linked, author(new CCDAII("1.2.3", "z"))).getAuthorIds().isEmpty());
+
+		// Changes to the list after a lookup are seen by the next one
+		CCDAAuthor added = author(new CCDAII("1.2.3", "z"));
+		linked.add(0, added);
+		assertSame(added, CCDAAuthor.findLinkedSubAuth(linked, author(new CCDAII("1.2.3", "z"))));
+
+		// A plain list resolves the same way
+		assertSame(first, CCDAAuthor.findLinkedSubAuth(new ArrayList<>(Arrays.asList(first, second)),
+				author(new CCDAII("1.2.3", "b"))));
+	}
+
+	@Test
+	public void provenancePredicatesAgreeWithComparisonsTest() {
+		printHeader(new Object() {}.getClass().getEnclosingMethod().getName());
+		List<CCDAEffTime> times = new ArrayList<>(Arrays.asList(null, new CCDAEffTime(), time("20200301"),
+				time("20200301101500-0500"), time("20200302"), time("2020"), time("2020T"), time("")));
+		CCDAEffTime lowOnly = new CCDAEffTime();
+		lowOnly.setLow(new CCDADataElement("20200301"));
+		times.add(lowOnly);
+		List<CCDADataElement> names = Arrays.asList(null, new CCDADataElement(), new CCDADataElement("Community Health"),
+				new CCDADataElement("COMMUNITY HEALTH"), new CCDADataElement("Other Clinic"));
+
+		for (CCDAEffTime refTime : times) {
+			for (CCDAEffTime subTime : times) {
+				ArrayList<ContentValidationResult> results = new ArrayList<>();
+				ParserUtilities.compareEffectiveTimeValue(refTime, subTime, results, "time");
+				assertEquals(results.isEmpty(), ParserUtilities.effectiveTimeValueMatches(refTime, subTime));
+			}
+		}
+		for (CCDADataElement refName : names) {
+			for (CCDADataElement subName : names) {
+				ArrayList<ContentValidationResult> results = new ArrayList<>();
+				ParserUtilities.compareDataElementText(refName, subName, results, "name");
+				assertEquals(results.isEmpty(), ParserUtilities.dataElementTextMatches(refName, subName));
+			}
+		}
+	}
+
+	private static CCDAEffTime time(String value) {
+		CCDAEffTime time = new CCDAEffTime();
+		time.setValue(new CCDADataElement(value));
+		return time;
+	}
+
+	private static CCDAAuthor author(CCDAII... ids) {
+		CCDAAuthor author = new CCDAAuthor();
+		author.setAuthorIds(new ArrayList<>(Arrays.asList(ids)));
+		return author;
+	}
+}
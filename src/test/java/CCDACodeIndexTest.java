@@ -0,0 +1,61 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+
+import org.junit.Test;
+import org.sitenv.contentvalidator.model.CCDACode;
+import org.sitenv.contentvalidator.model.CCDACodeIndex;
+import org.sitenv.contentvalidator.model.CCDAProblemObs;
+
+public class CCDACodeIndexTest extends ContentValidatorTester {
+
+	@Test
+	public void codeIndexAgreesWithTranslationScanTest() {
+		printHeader(new Object() {}.getClass().getEnclosingMethod().getName());
+		List<CCDACode> codes = Arrays.asList(null, new CCDACode(), new CCDACode("44054006", "2.16.840.1.113883.6.96"),
+				new CCDACode("e11.9", "2.16.840.1.113883.6.90"), new CCDACode("E11.9", "2.16.840.1.113883.6.90"),
+				new CCDACode("44054006", null), new CCDACode("4405400", "62.16.840.1.113883.6.96"),
+				new CCDACode("\u0131", "x"), new CCDACode("I", "X"), new CCDACode("i", "x"),
+				code("59621000", "2.16.840.1.113883.6.96", new CCDACode("I10", "2.16.840.1.113883.6.90")),
+				code("38341003", "2.16.840.1.113883.6.96", new CCDACode("i10", "2.16.840.1.113883.6.90"),
+						new CCDACode(null, "2.16.840.1.113883.6.90")),
+				code(null, null, new CCDACode("E11.9", "2.16.840.1.113883.6.90")));
+
+		int found = 0;
+		for (CCDACode first : codes) {
+			for (CCDACode second : codes) {
+				HashMap<String, CCDAProblemObs> subProblems = new HashMap<>();
+				subProblems.put("first", problem(first));
+				subProblems.put("second", problem(second));
+				CCDACodeIndex index = CCDAProblemObs.indexProblemCodes(subProblems);
+				for (CCDACode refCode : codes) {
+					boolean scanned = false;
+					for (CCDAProblemObs subProblem : subProblems.values()) {
+						scanned |= subProblem.compareCodesAndTranslations(refCode);
+					}
+					assertEquals(String.valueOf(refCode), scanned, index.containsCodeOrTranslation(refCode));
+					if (scanned) {
+						found++;
+					}
+				}
+			}
+		}
+		assertTrue(found > 0);
+	}
+
+	private static CCDAProblemObs problem(CCDACode problemCode) {
+		CCDAProblemObs problem = new CCDAProblemObs();
+		problem.setProblemCode(problemCode);
+		return problem;
+	}
+
+	private static CCDACode code(String cd, String cs, CCDACode... translations) {
+		CCDACode code = new CCDACode(cd, cs);
+		code.setTranslations(new ArrayList<>(Arrays.asList(translations)));
+		return code;
+	}
+}
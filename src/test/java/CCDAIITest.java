@@ -0,0 +1,66 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+import org.sitenv.contentvalidator.dto.ContentValidationResult;
+import org.sitenv.contentvalidator.model.CCDAII;
+import org.sitenv.contentvalidator.parsers.ParserUtilities;
+
+public class CCDAIITest extends ContentValidatorTester {
+
+	@Test
+	public void templateIdsMatchByRootAndOptionalExtensionTest() {
+		printHeader(new Object() {}.getClass().getEnclosingMethod().getName());
+		List<CCDAII> ids = Arrays.asList(new CCDAII(), new CCDAII("2.16.840.1.113883.10.20.22.4.4"),
+				new CCDAII("2.16.840.1.113883.10.20.22.4.4", "2015-08-01"),
+				new CCDAII("2.16.840.1.113883.10.20.22.4.4", "2015-08-01".toUpperCase()),
+				new CCDAII("2.16.840.1.113883.10.20.22.4.4", ""), new CCDAII("2.16.840.1.113883.10.20.22.4.42015-08-01"),
+				new CCDAII("2.16.840.1.113883.10.20.22.4.4", "2014-06-09"), new CCDAII(null, "2015-08-01"),
+				new CCDAII("abc"), new CCDAII("ABC"));
+		for (CCDAII ref : ids) {
+			for (CCDAII sub : ids) {
+				boolean expected = ref.getRootValue() != null && sub.getRootValue() != null
+						&& ref.getRootValue().equalsIgnoreCase(sub.getRootValue())
+						&& (ref.getExtValue() == null ? sub.getExtValue() == null
+								: sub.getExtValue() != null && ref.getExtValue().equalsIgnoreCase(sub.getExtValue()));
+				ArrayList<CCDAII> subList = new ArrayList<>(Arrays.asList(new CCDAII("1.2.3"), sub));
+				ArrayList<CCDAII> refList = new ArrayList<>(Arrays.asList(ref));
+				assertEquals(ref + " " + sub, expected, ref.isPartOf(subList));
+				assertEquals(expected, ParserUtilities.templateIdsAreFound(refList, subList));
+				ArrayList<ContentValidationResult> results = new ArrayList<>();
+				ParserUtilities.compareTemplateIds(refList, subList, results, "Problem Observation");
+				assertEquals(expected, results.isEmpty());
+			}
+		}
+
+		// A changed value is seen by the next comparison
+		CCDAII changing = new CCDAII("2.16.840.1.113883.10.20.22.4.4");
+		ArrayList<CCDAII> withExtension = new ArrayList<>(Arrays.asList(new CCDAII("2.16.840.1.113883.10.20.22.4.4",
+				"2015-08-01")));
+		assertFalse(changing.isPartOf(withExtension));
+		changing.setExtValue("2015-08-01");
+		assertTrue(changing.isPartOf(withExtension));
+	}
+
+	@Test
+	public void missingTemplateIdMessagesAreUnchangedTest() {
+		printHeader(new Object() {}.getClass().getEnclosingMethod().getName());
+		ArrayList<ContentValidationResult> results = new ArrayList<>();
+		ParserUtilities.compareTemplateIds(
+				new ArrayList<>(Arrays.asList(new CCDAII("2.16.840.1.113883.10.20.22.4.4", "2015-08-01"),
+						new CCDAII("2.16.840.1.113883.10.20.22.4.4"), new CCDAII(null, "2015-08-01"))),
+				new ArrayList<>(Arrays.asList(new CCDAII("2.16.840.1.113883.10.20.22.4.4", "2015-08-01"))), results,
+				"Problem Observation");
+		assertEquals(2, results.size());
+		assertEquals("The Problem Observation : element - template id, Root Value = 2.16.840.1.113883.10.20.22.4.4 "
+				+ "and Extension Value = No Extension value is not present in the submitted CCDA's ",
+				results.get(0).getMessage());
+		assertEquals("The Problem Observation : element - template id, Root Value = None specified "
+				+ "and Extension Value = 2015-08-01 is not present in the submitted CCDA's ", results.get(1).getMessage());
+	}
+}
@@ -0,0 +1,90 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+import org.sitenv.contentvalidator.dto.ContentValidationResult;
+import org.sitenv.contentvalidator.model.CCDAPQ;
+
+public class CCDAPQTest extends ContentValidatorTester {
+
+	@Test
+	public void parsedQuantitiesCompareAsTheirStringsTest() {
+		printHeader(new Object() {}.getClass().getEnclosingMethod().getName());
+		List<String> values = Arrays.asList(null, "", "72", "72.0", " 72 ", "72.00005", "75", "abc", "NaN", "1e2", "100");
+		List<String> units = Arrays.asList(null, "", "1", "kg", "KG", "mm[Hg]", "MM[HG]", "%");
+
+		for (String refValue : values) {
+			for (String subValue : values) {
+				for (String refUnits : units) {
+					for (String subUnits : units) {
+						CCDAPQ ref = quantity(refValue, refUnits);
+						CCDAPQ sub = quantity(subValue, subUnits);
+						boolean unitsMatch = unitsMatch(refUnits, subUnits);
+						String context = refValue + " " + refUnits + " / " + subValue + " " + subUnits;
+
+						ArrayList<ContentValidationResult> results = new ArrayList<>();
+						assertEquals(context, valuesWithin(refValue, subValue, null) && unitsMatch,
+								ref.compare(sub, results, "Vital Sign"));
+						assertEquals(context, valuesWithin(refValue, subValue, 0.1) && unitsMatch,
+								ref.compareWithTolerance(sub, results, "Vital Sign", 0.1));
+					}
+				}
+			}
+		}
+	}
+
+	@Test
+	public void quantityIsParsedAgainAfterChangesTest() {
+		printHeader(new Object() {}.getClass().getEnclosingMethod().getName());
+		CCDAPQ quantity = new CCDAPQ();
+		assertFalse(quantity.isNumeric());
+		assertEquals("", quantity.getCanonicalUnits());
+
+		quantity.setUnits("Kg");
+		quantity.setValue("72.5");
+		assertTrue(quantity.isNumeric());
+		assertEquals(72.5, quantity.getNumericValue(), 0);
+		assertEquals("kg", quantity.getCanonicalUnits());
+
+		quantity.setValue("n/a");
+		quantity.setUnits("1");
+		assertFalse(quantity.isNumeric());
+		assertEquals("", quantity.getCanonicalUnits());
+	}
+
+	private static CCDAPQ quantity(String value, String units) {
+		CCDAPQ quantity = new CCDAPQ();
+		quantity.setValue(value);
+		quantity.setUnits(units);
+		return quantity;
+	}
+
+	// The comparisons as they were made on the strings, parsing the values on every call
+	private static boolean valuesWithin(String refValue, String subValue, Double tolerancePercentage) {
+		if (refValue == null || subValue == null) {
+			return refValue == null && subValue == null;
+		}
+		try {
+			double ref = Double.parseDouble(refValue);
+			double sub = Double.parseDouble(subValue);
+			double limit = tolerancePercentage != null ? ref * tolerancePercentage : 0.0001;
+			return Math.abs(ref - sub) < limit;
+		} catch (NumberFormatException e) {
+			return false;
+		}
+	}
+
+	private static boolean unitsMatch(String refUnits, String subUnits) {
+		if (refUnits == null || subUnits == null) {
+			return refUnits == null && subUnits == null;
+		}
+		return refUnits.equalsIgnoreCase(subUnits)
+				|| ((refUnits.equalsIgnoreCase("1") || refUnits.equalsIgnoreCase(""))
+						&& (subUnits.equalsIgnoreCase("1") || subUnits.equalsIgnoreCase("")));
+	}
+}
@@ -0,0 +1,256 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import javax.xml.xpath.XPath;
+import javax.xml.xpath.XPathConstants;
+import javax.xml.xpath.XPathExpression;
+import javax.xml.xpath.XPathFactory;
+
+import org.junit.Test;
+import org.sitenv.contentvalidator.dto.ContentValidationResult;
+import org.sitenv.contentvalidator.dto.enums.SeverityLevel;
+import org.sitenv.contentvalidator.model.CCDARefModel;
+import org.sitenv.contentvalidator.parsers.CCDABodyParser;
+import org.sitenv.contentvalidator.parsers.CCDAConstants;
+import org.sitenv.contentvalidator.parsers.CCDAParsePlan;
+import org.sitenv.contentvalidator.parsers.CCDAParser;
+import org.sitenv.contentvalidator.parsers.ThreadLocalXPathExpression;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+
+/*
+ * Proves the faster parse paths build exactly what the plain XPath and DOM parse builds, across every C-CDA in src/test/resources
+ */
+public class CCDAParserParityTest extends ContentValidatorTester {
+
+	// Checks that go through the XPath engine for every node sample documents, the node level ones contexts as well,
+	// the other model level checks cover every document
+	private static final int DOCUMENT_SAMPLE_INTERVAL = 3;
+	private static final int MAX_CONTEXTS_PER_DOCUMENT = 3;
+	private static final int PARALLEL_SECTION_THREADS = 4;
+	private static final int PARSE_PLAN_SAMPLE_INTERVAL = 15;
+	private static final String[] VALIDATION_OBJECTIVES = { "170.315_b1_ToC_Amb", "170.315_b1_ToC_Inp",
+			"170.315_b2_CIRI_Amb", "170.315_b2_CIRI_Inp", "170.315_b4_CCDS_Amb", "170.315_b4_CCDS_Inp",
+			"170.315_b6_DE_Amb", "170.315_b6_DE_Inp", "170.315_b7_DS4P_Amb", "170.315_b7_DS4P_Inp",
+			"170.315_b9_CP_Amb", "170.315_b9_CP_Inp", "170.315_e1_VDT_Amb", "170.315_e1_VDT_Inp",
+			"170.315_g9_APIAccess_Amb", "170.315_g9_APIAccess_Inp" };
+
+	private final CCDAParser parser = new CCDAParser();
+
+	@Test
+	public void positionalPredicatesAreLeftToXPathTest() throws Exception {
+		printHeader(new Object() {}.getClass().getEnclosingMethod().getName());
+		assertTrue(ThreadLocalXPathExpression.compile("./a[b]").isDirectDomNavigation());
+		assertTrue(ThreadLocalXPathExpression.compile("(./a/b)[1]").isDirectDomNavigation());
+		assertFalse(ThreadLocalXPathExpression.compile("./a[1]").isDirectDomNavigation());
+		assertFalse(ThreadLocalXPathExpression.compile("./a/b[2]/c").isDirectDomNavigation());
+		assertFalse(ThreadLocalXPathExpression.compile("./a[b and 1]").isDirectDomNavigation());
+	}
+
+	@Test
+	public void directDomNavigationSelectsSameNodesAsXPathTest() throws Exception {
+		printHeader(new Object() {}.getClass().getEnclosingMethod().getName());
+		CCDAConstants.getInstance();
+		XPath xpath = XPathFactory.newInstance().newXPath();
+		List<ThreadLocalXPathExpression> expressions = new ArrayList<>();
+		for (Field field : CCDAConstants.class.getFields()) {
+			if (Modifier.isStatic(field.getModifiers()) && field.get(null) instanceof ThreadLocalXPathExpression) {
+				ThreadLocalXPathExpression expression = (ThreadLocalXPathExpression) field.get(null);
+				if (expression.isDirectDomNavigation()) {
+					expressions.add(expression);
+				}
+			}
+		}
+		assertTrue("Expected most expressions to use direct DOM navigation", expressions.size() > 100);
+
+		int comparisons = 0;
+		List<File> files = listTestResourceXmlFiles();
+		for (int f = 0; f < files.size(); f += DOCUMENT_SAMPLE_INTERVAL) {
+			File file = files.get(f);
+			Document doc = parser.initDoc(Files.newInputStream(file.toPath()));
+			List<Element> elements = allElements(doc);
+			for (ThreadLocalXPathExpression expression : expressions) {
+				XPathExpression reference = xpath.compile(expression.getExpression());
+				for (Node context : contextsFor(doc, elements, expression.getExpression())) {
+					String where = file.getName() + " " + expression.getExpression() + " at " + context.getNodeName();
+					NodeList expected = (NodeList) reference.evaluate(context, XPathConstants.NODESET);
+					NodeList actual = (NodeList) expression.evaluate(context, XPathConstants.NODESET);
+					assertEquals(where, expected.getLength(), actual.getLength());
+					for (int i = 0; i < expected.getLength(); i++) {
+						assertSame(where, expected.item(i), actual.item(i));
+					}
+					assertSame(where, reference.evaluate(context, XPathConstants.NODE),
+							expression.evaluate(context, XPathConstants.NODE));
+					comparisons++;
+				}
+			}
+		}
+		println("Compared " + expressions.size() + " expressions in " + comparisons + " contexts");
+	}
+
+	@Test
+	public void directDomNavigationBuildsSameModelAsXPathTest() throws Exception {
+		printHeader(new Object() {}.getClass().getEnclosingMethod().getName());
+		CCDAParser xpathParser = new CCDAParser(1);
+		xpathParser.setDirectDomNavigation(false);
+		List<File> files = listTestResourceXmlFiles();
+		for (int f = 0; f < files.size(); f += DOCUMENT_SAMPLE_INTERVAL) {
+			File file = files.get(f);
+			CCDARefModel expected = xpathParser.parse(file.toPath(), SeverityLevel.INFO, true, true);
+			CCDARefModel actual = parser.parse(file.toPath(), SeverityLevel.INFO, true, true);
+			assertNotNull(file.getName(), expected);
+			assertNull(file.getName(), findModelDifference(expected, actual));
+		}
+	}
+
+	@Test
+	public void streamingParserBuildsSameModelAsDomParserTest() throws Exception {
+		printHeader(new Object() {}.getClass().getEnclosingMethod().getName());
+		CCDAParser streamingParser = new CCDAParser(1);
+		streamingParser.setEngine(CCDAParser.Engine.STAX);
+		for (File file : listTestResourceXmlFiles()) {
+			CCDARefModel expected = parser.parse(file.toPath(), SeverityLevel.INFO, true, true);
+			CCDARefModel actual = streamingParser.parse(file.toPath(), SeverityLevel.INFO, true, true);
+			assertNotNull(file.getName(), expected);
+			assertNotNull(file.getName(), actual);
+			assertNull(file.getName(), findModelDifference(expected, actual));
+		}
+	}
+
+	@Test
+	public void parallelSectionParsingBuildsSameModelAsSequentialTest() throws Exception {
+		printHeader(new Object() {}.getClass().getEnclosingMethod().getName());
+		// A pool of its own so the sections really run side by side, whatever the host has for the common pool
+		ForkJoinPool pool = new ForkJoinPool(PARALLEL_SECTION_THREADS);
+		try {
+			for (File file : listTestResourceXmlFiles()) {
+				CCDARefModel expected = new CCDARefModel(SeverityLevel.INFO);
+				CCDABodyParser.parseBody(parser.initDoc(Files.newInputStream(file.toPath())), expected, true, true);
+				CCDARefModel actual = new CCDARefModel(SeverityLevel.INFO);
+				CCDABodyParser.parseBodyInParallel(parser.initDoc(Files.newInputStream(file.toPath())), actual, true, true, pool);
+				assertNull(file.getName(), findModelDifference(expected, actual));
+			}
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	@Test
+	public void parsePlanGivesSameResultsAsFullParseTest() throws Exception {
+		printHeader(new Object() {}.getClass().getEnclosingMethod().getName());
+		List<File> files = listTestResourceXmlFiles();
+		int comparisons = 0;
+		for (int f = 0; f + 1 < files.size(); f += PARSE_PLAN_SAMPLE_INTERVAL) {
+			for (boolean[] flags : new boolean[][] { { false, false }, { true, false }, { true, true } }) {
+				boolean curesUpdate = flags[0];
+				boolean svap2022 = flags[1];
+				CCDARefModel ref = parser.parse(files.get(f).toPath(), SeverityLevel.INFO, curesUpdate, svap2022);
+				// The document against itself reports every section the plan might miss, against the next one every difference
+				for (File submittedFile : new File[] { files.get(f), files.get(f + 1) }) {
+					CCDARefModel submitted = parser.parse(submittedFile.toPath(), SeverityLevel.INFO, curesUpdate, svap2022);
+					for (String objective : VALIDATION_OBJECTIVES) {
+						CCDAParsePlan plan = CCDARefModel.getParsePlan(objective, curesUpdate, svap2022);
+						CCDARefModel planned = parser.parse(submittedFile.toPath(), SeverityLevel.INFO, curesUpdate, svap2022, plan);
+						String where = files.get(f).getName() + " / " + submittedFile.getName() + " " + objective
+								+ " cures " + curesUpdate + " svap " + svap2022;
+						assertEquals(where, describe(ref.compare(objective, submitted, curesUpdate, svap2022)),
+								describe(ref.compare(objective, planned, curesUpdate, svap2022)));
+						comparisons++;
+					}
+				}
+			}
+		}
+		println("Compared results for " + comparisons + " objective and document combinations");
+	}
+
+	@Test
+	public void frozenReferenceModelGivesSameResultsTest() throws Exception {
+		printHeader(new Object() {}.getClass().getEnclosingMethod().getName());
+		List<File> files = listTestResourceXmlFiles();
+		for (int f = 0; f + 1 < files.size(); f += PARSE_PLAN_SAMPLE_INTERVAL) {
+			// The same reference model before and after freezing, some comparisons report in identity hash order
+			CCDARefModel ref = parser.parse(files.get(f).toPath(), SeverityLevel.INFO, true, true);
+			CCDARefModel submitted = parser.parse(files.get(f + 1).toPath(), SeverityLevel.INFO, true, true);
+			List<List<String>> expected = new ArrayList<>();
+			for (String objective : VALIDATION_OBJECTIVES) {
+				expected.add(describe(ref.compare(objective, submitted, true, true)));
+			}
+			ref.freeze();
+			// Twice, comparing must not change what the frozen model hands out
+			for (int round = 0; round < 2; round++) {
+				for (int i = 0; i < VALIDATION_OBJECTIVES.length; i++) {
+					assertEquals(files.get(f).getName() + " " + VALIDATION_OBJECTIVES[i], expected.get(i),
+							describe(ref.compare(VALIDATION_OBJECTIVES[i], submitted, true, true)));
+				}
+			}
+			try {
+				ref.setNotes(null);
+				fail("Expected a frozen model to refuse changes");
+			} catch (IllegalStateException e) {
+				// expected
+			}
+		}
+	}
+
+	private static List<String> describe(List<ContentValidationResult> results) {
+		List<String> described = new ArrayList<>();
+		for (ContentValidationResult result : results) {
+			described.add(result.getContentValidationResultLevel() + " " + result.getXpath() + " " + result.getMessage());
+		}
+		return described;
+	}
+
+	private static List<Element> allElements(Document doc) {
+		List<Element> elements = new ArrayList<>();
+		NodeList all = doc.getElementsByTagName("*");
+		for (int i = 0; i < all.getLength(); i++) {
+			elements.add((Element) all.item(i));
+		}
+		return elements;
+	}
+
+	/*
+	 * The document for absolute paths, otherwise elements that have a child named like the first step
+	 */
+	private static List<Node> contextsFor(Document doc, List<Element> elements, String expression) {
+		List<Node> contexts = new ArrayList<>();
+		if (expression.startsWith("/")) {
+			contexts.add(doc);
+			contexts.add(doc.getDocumentElement());
+			return contexts;
+		}
+		String firstStep = expression.replaceFirst("^\\(?\\./", "").split("[/\\[)]")[0];
+		List<Element> candidates = new ArrayList<>();
+		for (Element element : elements) {
+			for (Node child = element.getFirstChild(); child != null; child = child.getNextSibling()) {
+				if (child.getNodeType() == Node.ELEMENT_NODE
+						&& child.getNodeName().replaceFirst("^.*:", "").equals(firstStep)) {
+					candidates.add(element);
+					break;
+				}
+			}
+		}
+		int step = Math.max(1, candidates.size() / MAX_CONTEXTS_PER_DOCUMENT);
+		for (int i = 0; i < candidates.size() && contexts.size() < MAX_CONTEXTS_PER_DOCUMENT; i += step) {
+			contexts.add(candidates.get(i));
+		}
+		// An element without the child must select nothing
+		contexts.add(doc.getDocumentElement());
+		return contexts;
+	}
+}
@@ -0,0 +1,45 @@
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+
+import org.junit.Test;
+import org.sitenv.contentvalidator.dto.ContentValidationResult;
+import org.sitenv.contentvalidator.dto.enums.ContentValidationMessage;
+import org.sitenv.contentvalidator.dto.enums.ContentValidationResultLevel;
+import org.sitenv.contentvalidator.model.CCDACode;
+import org.sitenv.contentvalidator.model.CCDADataElement;
+import org.sitenv.contentvalidator.model.CCDAEffTime;
+import org.sitenv.contentvalidator.parsers.ParserUtilities;
+
+public class ContentValidationResultTest extends ContentValidatorTester {
+
+	@Test
+	public void templateMessagesRenderAsConcatenatedTextTest() {
+		printHeader(new Object() {}.getClass().getEnclosingMethod().getName());
+		String elementName = "Problem Observation {1} Code";
+		ContentValidationResult result = new ContentValidationResult(ContentValidationMessage.SCENARIO_REQUIRES,
+				ContentValidationResultLevel.ERROR, "/ClinicalDocument", "0", elementName);
+		assertEquals("The scenario requires " + elementName + " data, but submitted file does not contain " + elementName
+				+ " data", result.getMessage());
+		assertEquals(ContentValidationResultLevel.ERROR, result.getContentValidationResultLevel());
+
+		ArrayList<ContentValidationResult> results = new ArrayList<>();
+		new CCDACode("44054006", null).matches(new CCDACode("44054006", "2.16.840.1.113883.6.96"), results, elementName);
+		ParserUtilities.compareDataElementText(new CCDADataElement("Community Health"), new CCDADataElement("Other"),
+				results, elementName);
+		CCDAEffTime refTime = new CCDAEffTime();
+		refTime.setValue(new CCDADataElement("20200301"));
+		CCDAEffTime subTime = new CCDAEffTime();
+		subTime.setValue(new CCDADataElement("20200302"));
+		ParserUtilities.compareEffectiveTimeValue(refTime, subTime, results, elementName);
+
+		assertEquals(3, results.size());
+		assertEquals("The " + elementName + " : Code = 44054006 , CodeSystem = None Specified do not match the submitted CCDA"
+				+ " : code = 44054006 , and CodeSystem = 2.16.840.1.113883.6.96", results.get(0).getMessage());
+		assertEquals("The scenario requires Provenance Org Name of: (Community Health) for: " + elementName
+				+ ", but submitted file contains Provenance Org Name of: (Other) which does not match.",
+				results.get(1).getMessage());
+		assertEquals("The " + elementName + " ( Time Value ) is : 20200301 , but submitted CCDA ( Time Value ) is : 20200302"
+				+ " which does not match ", results.get(2).getMessage());
+	}
+}
@@ -1,3 +1,4 @@
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
@@ -14,7 +15,9 @@ import java.util.ListIterator;
 
 import org.junit.Ignore;
 import org.junit.Test;
+import org.sitenv.contentvalidator.dto.ContentValidationOptions;
 import org.sitenv.contentvalidator.dto.ContentValidationResult;
+import org.sitenv.contentvalidator.dto.ContentValidationResults;
 import org.sitenv.contentvalidator.dto.enums.ContentValidationResultLevel;
 import org.sitenv.contentvalidator.dto.enums.SeverityLevel;
 import org.sitenv.contentvalidator.model.CCDARefModel;
@@ -42,6 +45,7 @@ public class ContentValidatorCuresTest extends ContentValidatorTester {
 	
 	private static final String B1_TOC_AMB_VALIDATION_OBJECTIVE = "170.315_b1_ToC_Amb";
 	private static final String B1_TOC_INP_VALIDATION_OBJECTIVE = "170.315_b1_ToC_Inp";
+	private static final String B2_CIRI_AMB_VALIDATION_OBJECTIVE = "170.315_b2_CIRI_Amb";
 	
 	private static final String E1_VDT_AMB_VALIDATION_OBJECTIVE = "170.315_e1_VDT_Amb";
 	private static final String E1_VDT_INP_VALIDATION_OBJECTIVE = "170.315_e1_VDT_Inp";
@@ -292,6 +296,136 @@ public class ContentValidatorCuresTest extends ContentValidatorTester {
 		}
 	}
 	
+	@Test
+	public void cures_errorSeverityRunsNoWarningOnlyChecksTest() {
+		printHeader(new Object() {}.getClass().getEnclosingMethod().getName());
+		int warnings = 0;
+		for (URI submitted : SUBMITTED_CCDA) {
+			String ccdaFileAsString = convertCCDAFileToString(submitted);
+			ArrayList<ContentValidationResult> allResults = validateDocumentAndReturnResultsCures(
+					B1_TOC_AMB_VALIDATION_OBJECTIVE, REF_CURES_B1_TOC_AMB_SAMPLE3_HAPPY_V5, ccdaFileAsString,
+					SeverityLevel.INFO);
+			ArrayList<ContentValidationResult> errorResults = validateDocumentAndReturnResultsCures(
+					B1_TOC_AMB_VALIDATION_OBJECTIVE, REF_CURES_B1_TOC_AMB_SAMPLE3_HAPPY_V5, ccdaFileAsString,
+					SeverityLevel.ERROR);
+			List<String> expected = new ArrayList<>();
+			for (ContentValidationResult result : allResults) {
+				if (result.getContentValidationResultLevel() == ContentValidationResultLevel.ERROR) {
+					expected.add(result.getMessage());
+				} else {
+					warnings++;
+				}
+			}
+			List<String> actual = new ArrayList<>();
+			for (ContentValidationResult result : errorResults) {
+				actual.add(result.getMessage());
+			}
+			assertEquals(submitted.toString(), expected, actual);
+		}
+		assertTrue("Expected some of the submitted files to have warnings", warnings > 0);
+	}
+	
+	@Test
+	public void cures_errorBudgetStopsAtFirstErrorsTest() {
+		printHeader(new Object() {}.getClass().getEnclosingMethod().getName());
+		int truncated = 0;
+		for (URI submitted : SUBMITTED_CCDA) {
+			String ccdaFileAsString = convertCCDAFileToString(submitted);
+			ArrayList<ContentValidationResult> allResults = validateDocumentAndReturnResultsCures(
+					B1_TOC_AMB_VALIDATION_OBJECTIVE, REF_CURES_B1_TOC_AMB_SAMPLE3_HAPPY_V5, ccdaFileAsString,
+					SeverityLevel.INFO);
+			for (ContentValidationOptions options : Arrays.asList(ContentValidationOptions.failFast(),
+					ContentValidationOptions.errorBudget(3))) {
+				ContentValidationResults results = validator.validate(B1_TOC_AMB_VALIDATION_OBJECTIVE,
+						REF_CURES_B1_TOC_AMB_SAMPLE3_HAPPY_V5, ccdaFileAsString, true, false, SeverityLevel.INFO, options);
+				// The results are the full results up to and including the last error of the budget
+				List<String> expected = new ArrayList<>();
+				int errors = 0;
+				for (ContentValidationResult result : allResults) {
+					if (errors == options.getErrorBudget()) {
+						break;
+					}
+					expected.add(result.getMessage());
+					if (result.getContentValidationResultLevel() == ContentValidationResultLevel.ERROR) {
+						errors++;
+					}
+				}
+				List<String> actual = new ArrayList<>();
+				for (ContentValidationResult result : results) {
+					actual.add(result.getMessage());
+				}
+				assertEquals(submitted.toString(), expected, actual);
+				assertEquals(submitted.toString(), errors == options.getErrorBudget(), results.isTruncated());
+				if (results.isTruncated()) {
+					truncated++;
+				}
+			}
+		}
+		assertTrue("Expected some of the submitted files to spend the error budget", truncated > 0);
+	}
+	
+	@Test
+	public void cures_errorBudgetAppliesToCiriChecksTest() {
+		printHeader(new Object() {}.getClass().getEnclosingMethod().getName());
+		int truncated = 0;
+		for (URI submitted : SUBMITTED_CCDA) {
+			String ccdaFileAsString = convertCCDAFileToString(submitted);
+			ContentValidationResults allResults = validator.validate(B2_CIRI_AMB_VALIDATION_OBJECTIVE,
+					REF_CURES_B1_TOC_AMB_SAMPLE3_HAPPY_V5, ccdaFileAsString, true, false, SeverityLevel.INFO,
+					ContentValidationOptions.ALL);
+			ContentValidationResults results = validator.validate(B2_CIRI_AMB_VALIDATION_OBJECTIVE,
+					REF_CURES_B1_TOC_AMB_SAMPLE3_HAPPY_V5, ccdaFileAsString, true, false, SeverityLevel.INFO,
+					ContentValidationOptions.failFast());
+			// The results are the full results up to and including the first error
+			List<String> expected = new ArrayList<>();
+			boolean spent = false;
+			for (ContentValidationResult result : allResults) {
+				expected.add(result.getMessage());
+				if (result.getContentValidationResultLevel() == ContentValidationResultLevel.ERROR) {
+					spent = true;
+					break;
+				}
+			}
+			List<String> actual = new ArrayList<>();
+			for (ContentValidationResult result : results) {
+				actual.add(result.getMessage());
+			}
+			assertEquals(submitted.toString(), expected, actual);
+			assertEquals(submitted.toString(), spent, results.isTruncated());
+			if (results.isTruncated()) {
+				truncated++;
+			}
+		}
+		assertTrue("Expected some of the submitted files to spend the error budget", truncated > 0);
+	}
+	
+	@Test
+	public void cures_parallelComparisonMatchesSequentialTest() {
+		printHeader(new Object() {}.getClass().getEnclosingMethod().getName());
+		for (URI submitted : SUBMITTED_CCDA) {
+			String ccdaFileAsString = convertCCDAFileToString(submitted);
+			for (ContentValidationOptions options : Arrays.asList(ContentValidationOptions.ALL,
+					ContentValidationOptions.errorBudget(3))) {
+				ContentValidationResults sequential = validator.validate(B1_TOC_AMB_VALIDATION_OBJECTIVE,
+						REF_CURES_B1_TOC_AMB_SAMPLE3_HAPPY_V5, ccdaFileAsString, true, true, SeverityLevel.INFO, options);
+				ContentValidationResults parallel = validator.validate(B1_TOC_AMB_VALIDATION_OBJECTIVE,
+						REF_CURES_B1_TOC_AMB_SAMPLE3_HAPPY_V5, ccdaFileAsString, true, true, SeverityLevel.INFO,
+						options.withParallelComparison());
+				assertEquals(submitted.toString(), describe(sequential), describe(parallel));
+				assertEquals(submitted.toString(), sequential.isTruncated(), parallel.isTruncated());
+			}
+		}
+	}
+	
+	private static List<String> describe(List<ContentValidationResult> results) {
+		List<String> described = new ArrayList<>();
+		for (ContentValidationResult result : results) {
+			described.add(result.getContentValidationResultLevel() + " " + result.getMessage() + " " + result.getXpath()
+					+ " " + result.getLineNumber());
+		}
+		return described;
+	}
+	
 	@Test
 	public void cures_matchingSubAndRefExpectNoIssuesTest() {
 		printHeader("cures_matchingSubAndRefExpectNoIssuesTest");
@@ -5,11 +5,16 @@ import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileReader;
 import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
 import java.net.URI;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.ListIterator;
+import java.util.Map;
 
 import org.sitenv.contentvalidator.configuration.ScenarioLoader;
 import org.sitenv.contentvalidator.dto.ContentValidationResult;
@@ -228,6 +233,98 @@ public class ContentValidatorTester {
 	public void removeBirthSexError(ArrayList<ContentValidationResult> results) {
 		final String issueMessage = "The scenario requires patient's birth sex to be captured as part of social history data";
 		removeSpecificIssue(results, issueMessage);
-	}	
+	}
+	
+	public static List<File> listTestResourceXmlFiles() {
+		List<File> files = new ArrayList<>();
+		addXmlFiles(new File(TEST_RESOURCES_DIRECTORY), files);
+		Collections.sort(files);
+		return files;
+	}
+	
+	private static void addXmlFiles(File dir, List<File> files) {
+		File[] list = dir.listFiles();
+		if (list != null) {
+			for (File file : list) {
+				if (file.isDirectory()) {
+					addXmlFiles(file, files);
+				} else if (file.getName().toLowerCase().endsWith(".xml")) {
+					files.add(file);
+				}
+			}
+		}
+	}
+	
+	/*
+	 * Compares two parsed model graphs field by field, returns null when they are equal
+	 * or the path to the first difference otherwise. Used to prove alternative parse paths build the same model.
+	 */
+	public static String findModelDifference(Object expected, Object actual) {
+		return findModelDifference("model", expected, actual, new IdentityHashMap<Object, Object>());
+	}
+	
+	private static String findModelDifference(String path, Object expected, Object actual, Map<Object, Object> visited) {
+		if (expected == actual) {
+			return null;
+		}
+		if (expected == null || actual == null) {
+			return path + ": expected " + expected + " but was " + actual;
+		}
+		if (expected.getClass() != actual.getClass()) {
+			return path + ": expected type " + expected.getClass().getName() + " but was " + actual.getClass().getName();
+		}
+		if (expected instanceof String || expected instanceof Number || expected instanceof Boolean
+				|| expected instanceof Character || expected instanceof Enum) {
+			return expected.equals(actual) ? null : path + ": expected " + expected + " but was " + actual;
+		}
+		if (visited.put(expected, actual) != null) {
+			return null;
+		}
+		if (expected instanceof List) {
+			List<?> expectedList = (List<?>) expected;
+			List<?> actualList = (List<?>) actual;
+			if (expectedList.size() != actualList.size()) {
+				return path + ": expected " + expectedList.size() + " items but was " + actualList.size();
+			}
+			for (int i = 0; i < expectedList.size(); i++) {
+				String difference = findModelDifference(path + "[" + i + "]", expectedList.get(i), actualList.get(i), visited);
+				if (difference != null) {
+					return difference;
+				}
+			}
+			return null;
+		}
+		if (expected instanceof Map) {
+			Map<?, ?> expectedMap = (Map<?, ?>) expected;
+			Map<?, ?> actualMap = (Map<?, ?>) actual;
+			if (!expectedMap.keySet().equals(actualMap.keySet())) {
+				return path + ": expected keys " + expectedMap.keySet() + " but was " + actualMap.keySet();
+			}
+			for (Object key : expectedMap.keySet()) {
+				String difference = findModelDifference(path + "{" + key + "}", expectedMap.get(key), actualMap.get(key), visited);
+				if (difference != null) {
+					return difference;
+				}
+			}
+			return null;
+		}
+		for (Class<?> type = expected.getClass(); type != null && type != Object.class; type = type.getSuperclass()) {
+			for (Field field : type.getDeclaredFields()) {
+				if (Modifier.isStatic(field.getModifiers()) || Modifier.isTransient(field.getModifiers())) {
+					continue;
+				}
+				field.setAccessible(true);
+				try {
+					String difference = findModelDifference(path + "." + field.getName(), field.get(expected), field.get(actual), visited);
+					if (difference != null) {
+						return difference;
+					}
+				} catch (IllegalAccessException e) {
+					return path + "." + field.getName() + ": " + e;
+				}
+			}
+		}
+		return null;
+	}
 
 }
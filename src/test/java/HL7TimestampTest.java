@@ -0,0 +1,59 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import org.junit.Test;
+import org.sitenv.contentvalidator.model.HL7Timestamp;
+
+public class HL7TimestampTest extends ContentValidatorTester {
+
+	private static final Pattern DATE = Pattern.compile("^[0-9]{8}$");
+	private static final Pattern TIME_AND_TIME_ZONE = Pattern.compile("^([0-9]{4}|[0-9]{6})(-|\\+)([0-9]{4})$");
+
+	@Test
+	public void timestampChecksAgreeWithStringChecksTest() {
+		printHeader(new Object() {}.getClass().getEnclosingMethod().getName());
+		List<String> values = Arrays.asList("", "2020", "2020T", "20200301", "20200302", "2020030", "2020030A",
+				"2020030a", "202003011015-0500", "20200301101500+0000", "20200301101500-0500\n",
+				"20200301101500-0500\r\n", "20200301101500-0500\n\n", "20200301101500-050", "202003011015000-0500",
+				"20200301101-0500", "2020-03-01T10:15", "20200301abcd-0500", "A0200301101500-0500", "202003011015",
+				"20200301 1015-0500", "20200301+1015-0500", "\u0661\u0662\u0663\u0664\u0665\u0666\u0667\u0668");
+
+		for (String ref : values) {
+			HL7Timestamp refTime = HL7Timestamp.parse(ref);
+			String refDate = ref.length() >= 8 ? ref.substring(0, 8) : ref;
+			assertEquals(ref, DATE.matcher(refDate).find(), refTime.hasEightDigitDate());
+			assertEquals(ref, ref.length() > 8, refTime.isLongerThanDate());
+			if (ref.length() > 8) {
+				assertEquals(ref, TIME_AND_TIME_ZONE.matcher(ref.substring(8)).find(),
+						refTime.hasWellFormedTimeAndTimezone());
+			}
+			for (String sub : values) {
+				String subDate = sub.length() >= 8 ? sub.substring(0, 8) : sub;
+				assertEquals(ref + " " + sub, refDate.equalsIgnoreCase(subDate),
+						refTime.datePrefixMatches(HL7Timestamp.parse(sub)));
+			}
+		}
+	}
+
+	@Test
+	public void timestampHoldsItsPartsTest() {
+		printHeader(new Object() {}.getClass().getEnclosingMethod().getName());
+		HL7Timestamp time = HL7Timestamp.parse("20200301101500-0530");
+		assertEquals(14, time.getPrecision());
+		assertEquals(20200301, time.getDate());
+		assertEquals(101500, time.getTime());
+		assertTrue(time.isTimezonePresent());
+		assertEquals(-330, time.getTimezoneOffsetMinutes());
+
+		HL7Timestamp date = HL7Timestamp.parse("20200301");
+		assertEquals(8, date.getPrecision());
+		assertEquals(20200301, date.getDate());
+		assertEquals(-1, date.getTime());
+		assertFalse(date.isTimezonePresent());
+	}
+}
@@ -0,0 +1,174 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.io.FilenameUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.sitenv.contentvalidator.configuration.ScenarioLoader;
+import org.sitenv.contentvalidator.dto.enums.SeverityLevel;
+import org.sitenv.contentvalidator.model.CCDARefModel;
+import org.sitenv.contentvalidator.parsers.CCDAParser;
+
+public class ScenarioLoaderTest extends ContentValidatorTester {
+
+	private static final String CURES_SCENARIO_DIRECTORY = TEST_RESOURCES_DIRECTORY + "/cures/ref";
+	private static final int LOADER_THREADS = 4;
+	private static final long RELOAD_QUIET_MILLIS = 200;
+	private static final long RELOAD_TIMEOUT_MILLIS = TimeUnit.SECONDS.toMillis(60);
+	private static final String[] SNAPSHOT_SCENARIOS = { "170.315_b1_toc_amb_sample2.xml",
+			"170.315_g9_api_access_inp_sample1.xml" };
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	@Test
+	public void parallelLoadPublishesSameModelsAsSequentialParseTest() throws Exception {
+		printHeader(new Object() {}.getClass().getEnclosingMethod().getName());
+		CCDAParser parser = new CCDAParser();
+		ScenarioLoader scenarioLoader = setupAndReturnScenarioLoader(parser, CURES_SCENARIO_DIRECTORY);
+		scenarioLoader.setLoaderThreads(LOADER_THREADS);
+		scenarioLoader.afterPropertiesSet();
+		HashMap<String, CCDARefModel> loaded = scenarioLoader.getRefModelHashMap();
+
+		HashMap<String, CCDARefModel> expected = new HashMap<>();
+		for (File file : new File(CURES_SCENARIO_DIRECTORY).listFiles()) {
+			if (!file.isDirectory() && !file.isHidden()) {
+				expected.put(FilenameUtils.getBaseName(file.getName()), parser.parse(file.toPath(), true, false));
+			}
+		}
+		assertTrue("Expected scenarios to be loaded", !loaded.isEmpty());
+		assertEquals(expected.keySet(), loaded.keySet());
+		for (String modelName : expected.keySet()) {
+			assertNull(modelName, findModelDifference(expected.get(modelName), loaded.get(modelName)));
+		}
+	}
+
+	@Test
+	public void snapshotReplacesParsingForUnchangedScenariosTest() throws Exception {
+		printHeader(new Object() {}.getClass().getEnclosingMethod().getName());
+		File scenarioDir = temporaryFolder.newFolder("scenarios");
+		for (String scenario : SNAPSHOT_SCENARIOS) {
+			Files.copy(new File(CURES_SCENARIO_DIRECTORY, scenario).toPath(), new File(scenarioDir, scenario).toPath(),
+					StandardCopyOption.REPLACE_EXISTING);
+		}
+		Files.write(new File(scenarioDir, "not_a_ccda.xml").toPath(), "not a C-CDA".getBytes());
+		String snapshotFile = new File(temporaryFolder.getRoot(), "snapshot/scenarios.bin").getPath();
+
+		AtomicInteger firstParses = new AtomicInteger();
+		HashMap<String, CCDARefModel> parsed = loadWithSnapshot(scenarioDir, snapshotFile, firstParses);
+		assertEquals(SNAPSHOT_SCENARIOS.length + 1, firstParses.get());
+		assertTrue("Expected the snapshot to be written", new File(snapshotFile).isFile());
+
+		AtomicInteger secondParses = new AtomicInteger();
+		HashMap<String, CCDARefModel> restored = loadWithSnapshot(scenarioDir, snapshotFile, secondParses);
+		// Only the scenario that failed to parse, and so has no snapshot entry, is parsed again
+		assertEquals(1, secondParses.get());
+		assertEquals(parsed.keySet(), restored.keySet());
+		for (String modelName : parsed.keySet()) {
+			assertNull(modelName, findModelDifference(parsed.get(modelName), restored.get(modelName)));
+		}
+
+		Files.write(new File(scenarioDir, SNAPSHOT_SCENARIOS[0]).toPath(), "\n".getBytes(), StandardOpenOption.APPEND);
+		AtomicInteger changedParses = new AtomicInteger();
+		HashMap<String, CCDARefModel> changed = loadWithSnapshot(scenarioDir, snapshotFile, changedParses);
+		assertEquals(2, changedParses.get());
+		assertNull(findModelDifference(parsed, changed));
+	}
+
+	private static HashMap<String, CCDARefModel> loadWithSnapshot(File scenarioDir, String snapshotFile,
+			AtomicInteger parses) throws Exception {
+		CCDAParser countingParser = new CCDAParser() {
+			@Override
+			public CCDARefModel parse(byte[] ccdaFile, SeverityLevel severityLevel, boolean curesUpdate, boolean svap2022) {
+				parses.incrementAndGet();
+				return super.parse(ccdaFile, severityLevel, curesUpdate, svap2022);
+			}
+		};
+		ScenarioLoader scenarioLoader = setupAndReturnScenarioLoader(countingParser, scenarioDir.getPath());
+		scenarioLoader.setSnapshotFile(snapshotFile);
+		scenarioLoader.afterPropertiesSet();
+		return scenarioLoader.getRefModelHashMap();
+	}
+
+	@Test
+	public void hotReloadSwapsInChangedScenariosTest() throws Exception {
+		printHeader(new Object() {}.getClass().getEnclosingMethod().getName());
+		File scenarioDir = temporaryFolder.newFolder("scenarios");
+		Files.copy(new File(CURES_SCENARIO_DIRECTORY, SNAPSHOT_SCENARIOS[0]).toPath(),
+				new File(scenarioDir, SNAPSHOT_SCENARIOS[0]).toPath());
+		ScenarioLoader scenarioLoader = setupAndReturnScenarioLoader(new CCDAParser(), scenarioDir.getPath());
+		scenarioLoader.setHotReload(true);
+		scenarioLoader.setReloadQuietMillis(RELOAD_QUIET_MILLIS);
+		scenarioLoader.afterPropertiesSet();
+		try {
+			Map<String, CCDARefModel> before = scenarioLoader.getScenarioRegistry().getModels();
+			String added = FilenameUtils.getBaseName(SNAPSHOT_SCENARIOS[1]);
+			String removed = FilenameUtils.getBaseName(SNAPSHOT_SCENARIOS[0]);
+
+			Files.copy(new File(CURES_SCENARIO_DIRECTORY, SNAPSHOT_SCENARIOS[1]).toPath(),
+					new File(scenarioDir, SNAPSHOT_SCENARIOS[1]).toPath());
+			awaitReload(() -> scenarioLoader.getScenarioRegistry().getModels().containsKey(added));
+			assertTrue(scenarioLoader.getReloadMetrics().getLastParseMillis().containsKey(SNAPSHOT_SCENARIOS[1]));
+			// What a validation read before the reload is left as it was
+			assertFalse(before.containsKey(added));
+			assertEquals(1, before.size());
+
+			Files.delete(new File(scenarioDir, SNAPSHOT_SCENARIOS[0]).toPath());
+			awaitReload(() -> !scenarioLoader.getScenarioRegistry().getModels().containsKey(removed));
+			// The startup map keeps the models of the first load
+			assertTrue(scenarioLoader.getRefModelHashMap().containsKey(removed));
+			assertEquals(SNAPSHOT_SCENARIOS[0], scenarioLoader.getReloadMetrics().getLastRemoved().get(0));
+			assertTrue(before.containsKey(removed));
+		} finally {
+			scenarioLoader.destroy();
+		}
+	}
+
+	@Test
+	public void hotReloadKeepsModelWhenChangedScenarioFailsToParseTest() throws Exception {
+		printHeader(new Object() {}.getClass().getEnclosingMethod().getName());
+		File scenarioDir = temporaryFolder.newFolder("scenarios");
+		File scenarioFile = new File(scenarioDir, SNAPSHOT_SCENARIOS[0]);
+		Files.copy(new File(CURES_SCENARIO_DIRECTORY, SNAPSHOT_SCENARIOS[0]).toPath(), scenarioFile.toPath());
+		ScenarioLoader scenarioLoader = setupAndReturnScenarioLoader(new CCDAParser(), scenarioDir.getPath());
+		scenarioLoader.setHotReload(true);
+		scenarioLoader.setReloadQuietMillis(RELOAD_QUIET_MILLIS);
+		scenarioLoader.afterPropertiesSet();
+		try {
+			String name = FilenameUtils.getBaseName(SNAPSHOT_SCENARIOS[0]);
+			CCDARefModel loaded = scenarioLoader.getScenarioRegistry().getModels().get(name);
+			assertNotNull(loaded);
+
+			// A save that is only partly written when the quiet period ends
+			Files.write(scenarioFile.toPath(), "<ClinicalDocument xmlns=\"urn:hl7-org:v3\"><component>".getBytes());
+			awaitReload(() -> scenarioLoader.getReloadMetrics().getFailedCount() > 0);
+			assertEquals(SNAPSHOT_SCENARIOS[0], scenarioLoader.getReloadMetrics().getLastFailed().get(0));
+			assertSame(loaded, scenarioLoader.getScenarioRegistry().getModels().get(name));
+		} finally {
+			scenarioLoader.destroy();
+		}
+	}
+
+	private static void awaitReload(BooleanSupplier reloaded) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + RELOAD_TIMEOUT_MILLIS;
+		while (!reloaded.getAsBoolean()) {
+			assertTrue("Timed out waiting for the reload", System.currentTimeMillis() < deadline);
+			Thread.sleep(RELOAD_QUIET_MILLIS);
+		}
+	}
+}
@@ -0,0 +1,55 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.commons.io.FilenameUtils;
+import org.junit.Test;
+import org.sitenv.contentvalidator.configuration.ScenarioResolver;
+
+public class ScenarioResolverTest extends ContentValidatorTester {
+
+	@Test
+	public void longestContainedScenarioWinsTest() {
+		printHeader(new Object() {}.getClass().getEnclosingMethod().getName());
+		ScenarioResolver resolver = new ScenarioResolver(Arrays.asList("170.315_b1_toc_amb_sample1",
+				"170.315_b1_toc_amb_sample1_v2", "sample1", "b_sample", "a_sample"));
+		assertEquals("170.315_b1_toc_amb_sample1_v2", resolver.resolve("170.315_b1_toc_amb_sample1_v2.xml"));
+		assertEquals("170.315_b1_toc_amb_sample1", resolver.resolve("170.315_b1_toc_amb_sample1_v1.pdf"));
+		assertEquals("sample1", resolver.resolve("sample1"));
+		// Same length, the name that sorts first
+		assertEquals("a_sample", resolver.resolve("a_sample b_sample"));
+		assertNull(resolver.resolve("170.315_b2_ciri"));
+	}
+
+	@Test
+	public void resolverMatchesScanOverScenarioNamesTest() {
+		printHeader(new Object() {}.getClass().getEnclosingMethod().getName());
+		List<String> scenarioNames = new ArrayList<>();
+		List<String> fileNames = new ArrayList<>();
+		for (File file : listTestResourceXmlFiles()) {
+			if (file.getParentFile().getName().equals("ref")) {
+				scenarioNames.add(FilenameUtils.getBaseName(file.getName()));
+			}
+			fileNames.add(file.getName());
+		}
+		ScenarioResolver resolver = new ScenarioResolver(scenarioNames);
+		for (String fileName : fileNames) {
+			assertEquals(fileName, scan(scenarioNames, fileName), resolver.resolve(fileName));
+		}
+	}
+
+	private static String scan(List<String> scenarioNames, String fileName) {
+		String best = null;
+		for (String name : scenarioNames) {
+			if (fileName.contains(name) && (best == null || name.length() > best.length()
+					|| name.length() == best.length() && name.compareTo(best) < 0)) {
+				best = name;
+			}
+		}
+		return scenarioNames.contains(fileName) ? fileName : best;
+	}
+}